@@ -0,0 +1,91 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converting data containers to and from NBT through the
+ * {@link NbtTranslator} to streaming them with {@link NbtDataWriter} and
+ * {@link NbtDataReader}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NbtDataStreamBenchmark {
+
+    private DataContainer container;
+    private byte[] data;
+
+    @Setup
+    public void setup() throws IOException {
+        this.container = NbtDataStreamTest.createContainer();
+        this.container.set(DataQuery.of("blocks"), new byte[4096]).set(DataQuery.of("heights"), new int[256]);
+        this.data = NbtDataStreamTest.write(this.container);
+    }
+
+    @Benchmark
+    public byte[] translatorWrite() throws IOException {
+        return NbtDataStreamTest.writeCompound(NbtTranslator.getInstance().translateData(this.container));
+    }
+
+    @Benchmark
+    public byte[] streamWrite() throws IOException {
+        return NbtDataStreamTest.write(this.container);
+    }
+
+    @Benchmark
+    public DataContainer translatorRead() throws IOException {
+        NBTTagCompound compound = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(this.data)));
+        return NbtTranslator.getInstance().translateFrom(compound);
+    }
+
+    @Benchmark
+    public DataContainer streamRead() throws IOException {
+        return NbtDataReader.read(new DataInputStream(new ByteArrayInputStream(this.data)));
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.api.entity.living.Living;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.common.data.ValueProcessor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares asking every processor of a key whether it supports a container
+ * to the processors cached by the {@link ValueProcessorDelegate}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValueProcessorDelegateBenchmark {
+
+    private List<ValueProcessor<Double, Value<Double>>> processors;
+    private ValueProcessorDelegate<Double, Value<Double>> delegate;
+    private Living entity;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() {
+        // A key like HEALTH or DISPLAY_NAME, which is only supported by one of
+        // the processors registered for the key
+        ImmutableList.Builder<ValueProcessor<Double, Value<Double>>> builder = ImmutableList.builder();
+        for (int i = 0; i < 15; i++) {
+            builder.add(new ValueProcessorDelegateTest.TestProcessor(ItemStack.class, 1.0D));
+        }
+        builder.add(new ValueProcessorDelegateTest.TestProcessor(Living.class, 2.0D));
+        this.processors = builder.build();
+        this.delegate = new ValueProcessorDelegate<>(mock(Key.class), this.processors);
+        this.entity = mock(Living.class);
+    }
+
+    @Benchmark
+    public double allProcessors() {
+        for (ValueProcessor<Double, Value<Double>> processor : this.processors) {
+            if (processor.supports(this.entity)) {
+                return processor.getValueFromContainer(this.entity).get();
+            }
+        }
+        return 0;
+    }
+
+    @Benchmark
+    public double cachedProcessors() {
+        return this.delegate.getValueFromContainer(this.entity).get();
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+
+import co.aikar.timings.Timing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares calling the listeners of an event in a loop to calling them
+ * through a generated {@link EventDispatcher}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventDispatcherBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int listenerCount;
+
+    private final PluginContainer plugin = mock(PluginContainer.class);
+    private final Timing timing = mock(Timing.class);
+    private final Event event = mock(Event.class);
+    private final int[] called = new int[1];
+    private List<RegisteredListener<?>> listeners;
+    private EventDispatcher dispatcher;
+
+    private RegisteredListener<Event> listener(EventListener<Event> listener) throws Exception {
+        RegisteredListener<Event> registration = new RegisteredListener<>(this.plugin, Event.class, Order.DEFAULT, listener, false);
+        // Don't create plugin timings outside of a server
+        Field timer = RegisteredListener.class.getDeclaredField("listenerTimer");
+        timer.setAccessible(true);
+        timer.set(registration, this.timing);
+        return registration;
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        this.listeners = new ArrayList<>();
+        for (int i = 0; i < this.listenerCount; i++) {
+            // Distinct listener classes, like the generated listeners of different plugins
+            switch (i % 4) {
+                case 0:
+                    this.listeners.add(listener(e -> this.called[0]++));
+                    break;
+                case 1:
+                    this.listeners.add(listener(e -> this.called[0] += 2));
+                    break;
+                case 2:
+                    this.listeners.add(listener(e -> this.called[0] += 3));
+                    break;
+                default:
+                    this.listeners.add(listener(e -> this.called[0] += 4));
+                    break;
+            }
+        }
+        this.dispatcher = new EventDispatcherFactory("org.spongepowered.common.event.dispatcher", getClass().getClassLoader())
+                .create(this.listeners);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Benchmark
+    public int loop() {
+        for (RegisteredListener<?> listener : this.listeners) {
+            try {
+                listener.getTimingsHandler().startTimingIfSync();
+                ((EventListener<Event>) listener.getListener()).handle(this.event);
+                listener.getTimingsHandler().stopTimingIfSync();
+            } catch (Throwable t) {
+                SpongeEventManager.handleListenerException(this.event, listener, t);
+            }
+        }
+        return this.called[0];
+    }
+
+    @Benchmark
+    public int dispatcher() {
+        this.dispatcher.dispatch(this.event);
+        return this.called[0];
+    }
+
+}
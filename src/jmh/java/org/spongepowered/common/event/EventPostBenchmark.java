@@ -0,0 +1,131 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.mockito.Mockito.mock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of posting an event, both on its own and while
+ * another thread keeps registering and unregistering listeners.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Group)
+public class EventPostBenchmark {
+
+    private static final int LISTENERS = 20;
+
+    private final PluginContainer plugin = mock(PluginContainer.class);
+    private SpongeEventManager eventManager;
+    private EventFilterTest.SubEvent event;
+
+    @Setup
+    public void setup() {
+        this.eventManager = new SpongeEventManager(mock(PluginManager.class));
+        for (int i = 0; i < LISTENERS; i++) {
+            this.eventManager.registerListener(this.plugin, i % 2 == 0 ? new TestListener() : new SubListener());
+        }
+        this.event = new EventFilterTest.SubEvent(Cause.source(this).build());
+    }
+
+    @Benchmark
+    @Group("idle")
+    public boolean post() throws Exception {
+        return postEvent();
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(3)
+    public boolean postWhileRegistering() throws Exception {
+        return postEvent();
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(1)
+    public void register() {
+        ChurnListener listener = new ChurnListener();
+        this.eventManager.registerListener(this.plugin, listener);
+        this.eventManager.unregisterListeners(listener);
+    }
+
+    // Calls the listeners like SpongeEventManager#post, but without the
+    // timings which need a running server
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private boolean postEvent() throws Exception {
+        for (RegisteredListener handler : this.eventManager.getHandlerCache(this.event).getListeners()) {
+            handler.handle(this.event);
+        }
+        return this.event.isCancelled();
+    }
+
+    public static class TestListener {
+
+        @Listener
+        public void onEvent(EventFilterTest.TestEvent event) {
+        }
+
+    }
+
+    public static class SubListener {
+
+        @Listener
+        public void onEvent(EventFilterTest.SubEvent event) {
+        }
+
+    }
+
+    public static class ChurnListener {
+
+        @Listener
+        public void onEvent(EventFilterTest.SubEvent event) {
+        }
+
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import static org.spongepowered.common.mixin.plugin.entityactivation.ActivationGridTest.MAX_RANGE;
+import static org.spongepowered.common.mixin.plugin.entityactivation.ActivationGridTest.chunk;
+import static org.spongepowered.common.mixin.plugin.entityactivation.ActivationGridTest.createBoxes;
+import static org.spongepowered.common.mixin.plugin.entityactivation.ActivationGridTest.createGrid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares activating the entities around the players with the
+ * {@link ActivationGrid} to visiting the chunks around every player.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ActivationGridBenchmark {
+
+    private static final int ENTITIES = 20000;
+
+    @Param({"1", "10", "80"})
+    private int players;
+    @Param({"128", "2048"})
+    private int spread;
+
+    private double[][] playerBoxes;
+    private double[][] entities;
+    private final Map<Long, List<Integer>> chunks = new HashMap<>();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.playerBoxes = createBoxes(random, this.players, this.spread, 0.6, 1.8);
+        this.entities = createBoxes(random, ENTITIES, this.spread, 0.9, 1.4);
+        for (int i = 0; i < this.entities.length; i++) {
+            double[] entity = this.entities[i];
+            long key = (long) chunk((entity[0] + entity[3]) / 2) << 32 | chunk((entity[2] + entity[5]) / 2) & 0xFFFFFFFFL;
+            this.chunks.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+    }
+
+    // Activates the entities the way the previous implementation did, visiting
+    // the chunks around every player and testing the entities in them
+    @Benchmark
+    public int perPlayer() {
+        boolean[] active = new boolean[this.entities.length];
+        int count = 0;
+        for (double[] player : this.playerBoxes) {
+            for (int chunkX = chunk(player[0] - MAX_RANGE); chunkX <= chunk(player[3] + MAX_RANGE); chunkX++) {
+                for (int chunkZ = chunk(player[2] - MAX_RANGE); chunkZ <= chunk(player[5] + MAX_RANGE); chunkZ++) {
+                    List<Integer> chunkEntities = this.chunks.get((long) chunkX << 32 | chunkZ & 0xFFFFFFFFL);
+                    if (chunkEntities == null) {
+                        continue;
+                    }
+                    for (int index : chunkEntities) {
+                        double[] entity = this.entities[index];
+                        if (!active[index] && entity[3] > player[0] - 32 && entity[0] < player[3] + 32
+                                && entity[4] > player[1] - ActivationGrid.VERTICAL_RANGE && entity[1] < player[4] + ActivationGrid.VERTICAL_RANGE
+                                && entity[5] > player[2] - 32 && entity[2] < player[5] + 32) {
+                            active[index] = true;
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int grid() {
+        ActivationGrid grid = createGrid(this.playerBoxes);
+        int count = 0;
+        for (ActivationGrid.Cell cell : grid.getCells()) {
+            List<Integer> chunkEntities = this.chunks.get((long) cell.getChunkX() << 32 | cell.getChunkZ() & 0xFFFFFFFFL);
+            if (chunkEntities == null) {
+                continue;
+            }
+            for (int index : chunkEntities) {
+                double[] entity = this.entities[index];
+                if (cell.isInRange((entity[0] + entity[3]) / 2, entity[1], (entity[2] + entity[5]) / 2,
+                        entity[0], entity[1], entity[2], entity[3], entity[4], entity[5], 32)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+}
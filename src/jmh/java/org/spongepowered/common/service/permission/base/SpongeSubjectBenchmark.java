@@ -0,0 +1,93 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures permission checks of a subject at the end of a chain of parents,
+ * with and without the permission cache of {@link SpongeSubject}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SpongeSubjectBenchmark {
+
+    private static final int PERMISSIONS = 100;
+
+    @Param({"1", "10", "50"})
+    private int depth;
+
+    private SpongeSubject leaf;
+    private final String[] permissions = new String[PERMISSIONS];
+    private int next;
+
+    @Setup
+    public void setup() {
+        SpongeSubjectTest test = new SpongeSubjectTest();
+        test.setUp();
+        List<SpongeSubjectTest.TestSubject> chain = test.createChain(this.depth);
+        chain.get(0).getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "sponge.benchmark", Tristate.TRUE);
+        this.leaf = chain.get(this.depth - 1);
+        for (int i = 0; i < PERMISSIONS; i++) {
+            this.permissions[i] = "sponge.benchmark.permission" + i;
+        }
+    }
+
+    private String nextPermission() {
+        this.next = (this.next + 1) % PERMISSIONS;
+        return this.permissions[this.next];
+    }
+
+    @Benchmark
+    public boolean cached() {
+        return this.leaf.hasPermission(SubjectData.GLOBAL_CONTEXT, nextPermission());
+    }
+
+    @Benchmark
+    public boolean uncached() {
+        this.leaf.invalidatePermissionCache();
+        return this.leaf.hasPermission(SubjectData.GLOBAL_CONTEXT, nextPermission());
+    }
+
+}
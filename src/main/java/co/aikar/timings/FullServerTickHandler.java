@@ -45,6 +45,8 @@ public class FullServerTickHandler extends TimingHandler {
 
     @Override
     public TimingHandler startTiming() {
+        TimingsManager.serverThread = Thread.currentThread();
+        TickRecorder.startTick();
         if (TimingsManager.needsFullReset) {
             TimingsManager.resetTimings();
         } else if (TimingsManager.needsRecheckEnabled) {
@@ -56,6 +58,7 @@ public TimingHandler startTiming() {
 
     @Override
     public void stopTiming() {
+        TickRecorder.stopTick();
         super.stopTiming();
         if (!this.enabled) {
             return;
@@ -177,6 +177,16 @@ public void generateReport(CommandSource sender) {
         TimingsExport.reportTimings(sender);
     }
 
+    /**
+     * Exports a timings report to the timings directory of the server, along
+     * with a viewer for it, instead of uploading it.
+     *
+     * @param sender Who to report to
+     */
+    public static void exportReport(CommandSource sender) {
+        TimingsExport.exportTimings(sender);
+    }
+
     public static long getCost() {
         return TimingsExport.getCost();
     }
@@ -0,0 +1,165 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations with log-linear buckets, in the style of HDR
+ * histograms. Every power of two is split into eight buckets, which keeps
+ * the error of the reported percentiles within 12.5%.
+ *
+ * <p>Durations are recorded in microseconds. Recording is lock free, so a
+ * histogram can be shared by multiple threads; use {@link #snapshot()} to
+ * read a consistent view of a histogram which is still recorded to.</p>
+ */
+public final class TickHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values below this are counted exactly
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int BUCKETS = LINEAR_LIMIT + (40 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+
+    static int bucketFor(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) Math.max(value, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min(LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket, BUCKETS - 1);
+    }
+
+    // The highest value counted by the bucket
+    static long bucketLimit(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        long subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = nanos / 1000;
+        this.counts.incrementAndGet(bucketFor(micros));
+        this.count.incrementAndGet();
+        this.total.addAndGet(micros);
+        long max;
+        while (micros > (max = this.max.get()) && !this.max.compareAndSet(max, micros)) {
+            // Retry, another thread recorded a new maximum
+        }
+    }
+
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * Gets the longest recorded duration.
+     *
+     * @return The duration in microseconds
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Gets the average of the recorded durations.
+     *
+     * @return The duration in microseconds
+     */
+    public long getMean() {
+        long count = this.count.get();
+        return count == 0 ? 0 : this.total.get() / count;
+    }
+
+    /**
+     * Gets the duration which the given fraction of the recorded durations
+     * did not exceed.
+     *
+     * @param percentile The percentile, between 0 and 1
+     * @return The duration in microseconds
+     */
+    public long getPercentile(double percentile) {
+        long count = this.count.get();
+        long max = this.max.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(count * percentile));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += this.counts.get(bucket);
+            if (seen >= target) {
+                return Math.min(bucketLimit(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Creates a copy of the durations recorded so far, which is not affected
+     * by durations recorded later on.
+     *
+     * @return The copy
+     */
+    public TickHistogram snapshot() {
+        TickHistogram snapshot = new TickHistogram();
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long bucketCount = this.counts.get(bucket);
+            snapshot.counts.set(bucket, bucketCount);
+            count += bucketCount;
+        }
+        // The bucket counts are the source of truth for the count, durations
+        // recorded concurrently may not be fully visible yet
+        snapshot.count.set(count);
+        snapshot.max.set(this.max.get());
+        snapshot.total.set(this.total.get());
+        return snapshot;
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            this.counts.set(bucket, 0);
+        }
+        this.count.set(0);
+        this.max.set(0);
+        this.total.set(0);
+    }
+
+}
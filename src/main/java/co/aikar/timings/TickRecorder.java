@@ -0,0 +1,327 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.TimingsCategory;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.scheduler.SpongeScheduler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps a record of the last ticks of the server, whether timings are
+ * enabled or not. Every tick records its duration, the time spent posting
+ * events, the amount of chunks loaded and saved, and the time each world
+ * spent ticking entities and tile entities.
+ *
+ * <p>When a tick takes longer than the configured threshold the recorded
+ * ticks, including a second of ticks following the slow one, are written to
+ * the timings directory.</p>
+ *
+ * <p>Recording only happens on the server thread, and is limited to a few
+ * array writes per tick plus a pair of {@link System#nanoTime()} calls per
+ * measured section.</p>
+ */
+public final class TickRecorder {
+
+    private static final int TICKS_AFTER_DUMP = 20;
+    private static final DateTimeFormatter DUMP_FILE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss");
+
+    static final TickHistogram TICK_TIME = new TickHistogram();
+    static final TickHistogram EVENT_TIME = new TickHistogram();
+
+    private static boolean configured;
+    private static boolean enabled;
+    private static long dumpThreshold;
+    private static long dumpCooldown;
+
+    // The ring buffer of recorded ticks, indexed by tick % length
+    private static int length;
+    private static long tick;
+    private static long[] startTimes = new long[0];
+    private static long[] tickTimes = new long[0];
+    private static long[] eventTimes = new long[0];
+    private static int[] chunkLoads = new int[0];
+    private static int[] chunkSaves = new int[0];
+
+    private static long tickStart;
+    private static long eventTime;
+    private static int eventDepth;
+    private static int tickChunkLoads;
+    private static int tickChunkSaves;
+
+    private static long dumpAt = -1;
+    private static long lastDump;
+    private static long slowTick;
+
+    private TickRecorder() {
+    }
+
+    static void reset() {
+        configured = false;
+        TICK_TIME.reset();
+        EVENT_TIME.reset();
+    }
+
+    private static void configure() {
+        TimingsCategory config = SpongeImpl.getGlobalConfig().getConfig().getTimings();
+        enabled = config.isTickRecorderEnabled();
+        dumpThreshold = config.getTickRecorderDumpThreshold() * 1000000L;
+        dumpCooldown = config.getTickRecorderDumpCooldown() * 1000L;
+        int newLength = Math.max(config.getTickRecorderLength(), TICKS_AFTER_DUMP * 2);
+        if (newLength != length) {
+            length = newLength;
+            tick = 0;
+            startTimes = new long[length];
+            tickTimes = new long[length];
+            eventTimes = new long[length];
+            chunkLoads = new int[length];
+            chunkSaves = new int[length];
+        }
+        configured = true;
+    }
+
+    static boolean isServerThread() {
+        return Thread.currentThread() == TimingsManager.serverThread;
+    }
+
+    static void startTick() {
+        if (!configured) {
+            configure();
+        }
+        if (!enabled) {
+            return;
+        }
+        tickStart = System.nanoTime();
+        eventTime = 0;
+        eventDepth = 0;
+        tickChunkLoads = 0;
+        tickChunkSaves = 0;
+        for (WorldServer world : MinecraftServer.getServer().worldServers) {
+            ((IMixinWorld) world).getTimingsHandler().tickRecord.startTick(length);
+        }
+    }
+
+    static void stopTick() {
+        if (!enabled || tickStart == 0) {
+            return;
+        }
+        long tickTime = System.nanoTime() - tickStart;
+        int index = (int) (tick % length);
+        startTimes[index] = System.currentTimeMillis() - tickTime / 1000000;
+        tickTimes[index] = tickTime;
+        eventTimes[index] = eventTime;
+        chunkLoads[index] = tickChunkLoads;
+        chunkSaves[index] = tickChunkSaves;
+        TICK_TIME.record(tickTime);
+        EVENT_TIME.record(eventTime);
+        for (WorldServer world : MinecraftServer.getServer().worldServers) {
+            ((IMixinWorld) world).getTimingsHandler().tickRecord.stopTick(index);
+        }
+        tickStart = 0;
+
+        if (dumpAt == -1 && dumpThreshold > 0 && tickTime > dumpThreshold && startTimes[index] - lastDump >= dumpCooldown) {
+            dumpAt = tick + TICKS_AFTER_DUMP;
+            slowTick = tick;
+        }
+        if (tick == dumpAt) {
+            dumpAt = -1;
+            lastDump = System.currentTimeMillis();
+            dump();
+        }
+        tick++;
+    }
+
+    /**
+     * Marks the start of an event being posted.
+     *
+     * @return The start time to pass to {@link #stopEventPost(long)}, or 0
+     *     if the post is not recorded
+     */
+    public static long startEventPost() {
+        // Only the outermost post is timed, nested posts are part of it
+        if (!enabled || !isServerThread() || eventDepth++ != 0) {
+            return 0;
+        }
+        return System.nanoTime();
+    }
+
+    public static void stopEventPost(long start) {
+        if (!enabled || !isServerThread()) {
+            return;
+        }
+        if (--eventDepth == 0 && start != 0) {
+            eventTime += System.nanoTime() - start;
+        }
+    }
+
+    public static void onChunkLoad() {
+        if (isServerThread()) {
+            tickChunkLoads++;
+        }
+    }
+
+    public static void onChunkSave() {
+        if (isServerThread()) {
+            tickChunkSaves++;
+        }
+    }
+
+    private static void dump() {
+        // Copy the recorded ticks, oldest first, so they can be written async
+        int count = (int) Math.min(tick + 1, length);
+        long first = tick + 1 - count;
+        long[][] ticks = new long[count][];
+        for (int i = 0; i < count; i++) {
+            int index = (int) ((first + i) % length);
+            ticks[i] = new long[] {startTimes[index], tickTimes[index], eventTimes[index], chunkLoads[index], chunkSaves[index]};
+        }
+        List<String> worldNames = new ArrayList<>();
+        List<long[][]> worldTicks = new ArrayList<>();
+        for (WorldServer world : MinecraftServer.getServer().worldServers) {
+            WorldRecord record = ((IMixinWorld) world).getTimingsHandler().tickRecord;
+            worldNames.add(record.name);
+            worldTicks.add(record.copy(first, count, length));
+        }
+        long slowTickOffset = slowTick - first;
+
+        Path file = SpongeImpl.getGameDir().resolve("timings").resolve("ticks-" + LocalDateTime.now().format(DUMP_FILE_FORMAT) + ".json");
+        SpongeImpl.getLogger().warn("Tick took longer than {} ms, writing the last {} ticks to {}", dumpThreshold / 1000000, count, file);
+        SpongeScheduler.getInstance().submitAsyncTask(() -> {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                JsonWriter json = new JsonWriter(writer);
+                json.beginObject();
+                json.name("threshold").value(dumpThreshold / 1000000);
+                json.name("slowtick").value(slowTickOffset);
+                json.name("ticks").beginArray();
+                for (int i = 0; i < count; i++) {
+                    long[] data = ticks[i];
+                    json.beginObject();
+                    json.name("start").value(data[0]);
+                    json.name("time").value(data[1] / 1000);
+                    json.name("events").value(data[2] / 1000);
+                    json.name("chunkloads").value(data[3]);
+                    json.name("chunksaves").value(data[4]);
+                    json.name("worlds").beginObject();
+                    for (int w = 0; w < worldNames.size(); w++) {
+                        long[] worldData = worldTicks.get(w)[i];
+                        json.name(worldNames.get(w)).beginArray().value(worldData[0] / 1000).value(worldData[1] / 1000).endArray();
+                    }
+                    json.endObject();
+                    json.endObject();
+                }
+                json.endArray();
+                json.endObject();
+                json.flush();
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Could not write the recorded ticks to {}", file, e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * The ticks recorded for a single world.
+     */
+    public static final class WorldRecord {
+
+        final String name;
+        final TickHistogram entityTime = new TickHistogram();
+        final TickHistogram tileEntityTime = new TickHistogram();
+        private long[] entityTimes = new long[0];
+        private long[] tileEntityTimes = new long[0];
+        private long tickEntityTime;
+        private long tickTileEntityTime;
+
+        WorldRecord(String name) {
+            this.name = name;
+        }
+
+        void startTick(int length) {
+            if (this.entityTimes.length != length) {
+                this.entityTimes = new long[length];
+                this.tileEntityTimes = new long[length];
+            }
+            this.tickEntityTime = 0;
+            this.tickTileEntityTime = 0;
+        }
+
+        void stopTick(int index) {
+            if (index >= this.entityTimes.length) {
+                // The world was loaded during this tick
+                return;
+            }
+            this.entityTimes[index] = this.tickEntityTime;
+            this.tileEntityTimes[index] = this.tickTileEntityTime;
+            this.entityTime.record(this.tickEntityTime);
+            this.tileEntityTime.record(this.tickTileEntityTime);
+        }
+
+        long[][] copy(long first, int count, int length) {
+            long[][] ticks = new long[count][];
+            for (int i = 0; i < count; i++) {
+                int index = (int) ((first + i) % length);
+                ticks[i] = index < this.entityTimes.length ? new long[] {this.entityTimes[index], this.tileEntityTimes[index]} : new long[2];
+            }
+            return ticks;
+        }
+
+        /**
+         * Marks the start of a recorded world section.
+         *
+         * @return The start time to pass to the matching stop method
+         */
+        public long start() {
+            return enabled ? System.nanoTime() : 0;
+        }
+
+        public void stopEntities(long start) {
+            if (start != 0) {
+                this.tickEntityTime += System.nanoTime() - start;
+            }
+        }
+
+        public void stopTileEntities(long start) {
+            if (start != 0) {
+                this.tickTileEntityTime += System.nanoTime() - start;
+            }
+        }
+
+    }
+
+}
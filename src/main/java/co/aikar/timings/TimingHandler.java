@@ -28,6 +28,7 @@
 import gnu.trove.map.hash.TIntObjectHashMap;
 import net.minecraft.server.MinecraftServer;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.world.WorldTickExecutor;
 
 class TimingHandler implements Timing {
 
@@ -82,45 +83,60 @@ void processTick(boolean violated) {
         }
     }
 
+    // The server thread is never a client thread, so the platform and
+    // thread checks below only need to run for other threads
+    private static boolean isClient() {
+        return SpongeImpl.getGame().getPlatform().getExecutionType().isClient();
+    }
+
     @Override
     public void startTimingIfSync() {
-        if (!this.enabled || SpongeImpl.getGame().getPlatform().getExecutionType().isClient()) {
+        if (!this.enabled) {
             return;
         }
-
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+        if (Thread.currentThread() == TimingsManager.serverThread || !isClient() && MinecraftServer.getServer().isCallingFromMinecraftThread()) {
             startTiming();
         }
     }
 
     @Override
     public void stopTimingIfSync() {
-        if (!this.enabled || SpongeImpl.getGame().getPlatform().getExecutionType().isClient()) {
+        if (!this.enabled) {
             return;
         }
-
-        if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+        if (Thread.currentThread() == TimingsManager.serverThread || !isClient() && MinecraftServer.getServer().isCallingFromMinecraftThread()) {
             stopTiming();
         }
     }
 
     @Override
     public TimingHandler startTiming() {
-        if (!this.enabled || SpongeImpl.getGame().getPlatform().getExecutionType().isClient()) {
+        if (!this.enabled || Thread.currentThread() != TimingsManager.serverThread && (isClient() || WorldTickExecutor.isWorldTickThread())) {
             return this;
         }
+        start();
+        return this;
+    }
 
+    private void start() {
         if (++this.timingDepth == 1) {
             this.start = System.nanoTime();
             this.parent = TimingsManager.CURRENT;
             TimingsManager.CURRENT = this;
         }
-        return this;
     }
 
     @Override
     public void stopTiming() {
-        if (!this.enabled || SpongeImpl.getGame().getPlatform().getExecutionType().isClient()) {
+        if (!this.enabled) {
+            return;
+        }
+        if (Thread.currentThread() == TimingsManager.serverThread) {
+            stop();
+            return;
+        }
+        // Worlds ticking in parallel are timed as a whole on the server thread
+        if (isClient() || WorldTickExecutor.isWorldTickThread()) {
             return;
         }
 
@@ -136,6 +152,13 @@ public void stopTiming() {
         }
     }
 
+    private void stop() {
+        if (--this.timingDepth == 0 && this.start != 0) {
+            addDiff(System.nanoTime() - this.start);
+            this.start = 0;
+        }
+    }
+
     @Override
     public void abort() {
         if (this.enabled && this.timingDepth > 0) {
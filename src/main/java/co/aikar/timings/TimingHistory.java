@@ -34,6 +34,7 @@
 import com.google.common.collect.Sets;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import net.minecraft.block.Block;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.block.tileentity.TileEntity;
@@ -43,6 +44,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.SpongeEntityType;
 
+import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.util.Collection;
 import java.util.Map;
@@ -144,16 +146,34 @@ public static void resetTicks(boolean fullReset) {
         activatedEntityTicks = 0;
     }
 
-    JsonObject export() {
-        return JSONUtil.objectBuilder()
-                .add("s", this.startTime)
-                .add("e", this.endTime)
-                .add("tk", this.totalTicks)
-                .add("tm", this.totalTime)
-                .add("w", this.worlds)
-                .add("h", JSONUtil.mapArray(this.entries, (entry) -> entry.data.count == 0 ? null : entry.export()))
-                .add("mp", JSONUtil.mapArray(this.minuteReports, MinuteReport::export))
-                .build();
+    /**
+     * Writes this history to the writer, one entry at a time so the whole
+     * history never needs to be held as a tree.
+     *
+     * @param writer The writer to write to
+     * @throws IOException If the history could not be written
+     */
+    void export(JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("s").value(this.startTime);
+        writer.name("e").value(this.endTime);
+        writer.name("tk").value(this.totalTicks);
+        writer.name("tm").value(this.totalTime);
+        writer.name("w");
+        JSONUtil.write(this.worlds, writer);
+        writer.name("h").beginArray();
+        for (TimingHistoryEntry entry : this.entries) {
+            if (entry.data.count != 0) {
+                JSONUtil.write(entry.export(), writer);
+            }
+        }
+        writer.endArray();
+        writer.name("mp").beginArray();
+        for (MinuteReport minuteReport : this.minuteReports) {
+            JSONUtil.write(minuteReport.export(), writer);
+        }
+        writer.endArray();
+        writer.endObject();
     }
 
     static class MinuteReport {
@@ -30,11 +30,15 @@
 import co.aikar.util.JSONUtil.JsonObjectBuilder;
 import com.google.common.base.Joiner;
 import com.google.common.collect.Sets;
+import com.google.common.io.Resources;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import net.minecraft.block.Block;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import ninja.leaping.configurate.ConfigurationNode;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.command.CommandSource;
@@ -45,36 +49,61 @@
 import org.spongepowered.api.text.action.TextActions;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.data.FlyweightPool;
+import org.spongepowered.common.data.ImmutableDataCachingUtil;
 import org.spongepowered.common.entity.SpongeEntityType;
-
+import org.spongepowered.common.event.AsyncListenerExecutor;
+import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.scheduler.AsyncTaskExecutor;
+import org.spongepowered.common.scheduler.SpongeScheduler;
+
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.zip.GZIPOutputStream;
 
+import javax.annotation.Nullable;
+
 class TimingsExport extends Thread {
 
     private static final Joiner AUTHOR_LIST_JOINER = Joiner.on(", ");
     private static final Joiner RUNTIME_FLAG_JOINER = Joiner.on(" ");
     private static final Joiner CONFIG_PATH_JOINER = Joiner.on(".");
 
+    private static final String VIEWER_DATA_MARKER = "/*TIMINGS_DATA*/";
+    private static final DateTimeFormatter EXPORT_FILE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss");
+
     private final CommandSource sender;
     private final JsonObject out;
     private final TimingHistory[] history;
+    // The directory to write the report to, null to upload it
+    @Nullable private final Path exportDir;
 
-    TimingsExport(CommandSource sender, JsonObject out, TimingHistory[] history) {
-        super("Timings paste thread");
+    TimingsExport(CommandSource sender, JsonObject out, TimingHistory[] history, @Nullable Path exportDir) {
+        super(exportDir == null ? "Timings paste thread" : "Timings export thread");
         this.sender = sender;
         this.out = out;
         this.history = history;
+        this.exportDir = exportDir;
     }
 
     private static String getServerName() {
@@ -87,6 +116,20 @@ private static String getServerName() {
      * @param sender Who to report to
      */
     static void reportTimings(CommandSource sender) {
+        reportTimings(sender, null);
+    }
+
+    /**
+     * Builds a report of the timings to be written to the timings directory
+     * of the server, for servers which cannot reach the timings site.
+     *
+     * @param sender Who to report to
+     */
+    static void exportTimings(CommandSource sender) {
+        reportTimings(sender, SpongeImpl.getGameDir().resolve("timings"));
+    }
+
+    private static void reportTimings(CommandSource sender, @Nullable Path exportDir) {
         JsonObjectBuilder builder = JSONUtil.objectBuilder()
                 // Get some basic system details about the server
                 .add("version", SpongeImpl.getGame().getPlatform().getImplementation().getVersion())
@@ -171,12 +214,96 @@ static void reportTimings(CommandSource sender) {
             ).build();
         }));
 
+        // Information about the async scheduler
+
+        AsyncTaskExecutor asyncExecutor = SpongeScheduler.getInstance().getAsyncExecutor();
+        builder.add("asyncscheduler", JSONUtil.objectBuilder()
+                .add("poolsize", asyncExecutor.getPoolSize())
+                .add("threads", asyncExecutor.getThreadCount())
+                .add("active", asyncExecutor.getActiveThreads())
+                .add("plugins", JSONUtil.mapArrayToObject(asyncExecutor.getPluginStatistics(), (stats) -> {
+                    return JSONUtil.singleObjectPair(stats.getPluginId(), JSONUtil.objectBuilder()
+                            .add("limit", stats.getConcurrencyLimit())
+                            .add("queued", stats.getQueuedTasks())
+                            .add("active", stats.getActiveTasks())
+                            .add("completed", stats.getCompletedTasks())
+                            .add("wait", serializeHistogram(stats.getWaitTime()))
+                            .add("run", serializeHistogram(stats.getRunTime())));
+                })));
+
+        // Information about the asynchronous event listeners
+
+        AsyncListenerExecutor asyncListeners = ((SpongeEventManager) SpongeImpl.getGame().getEventManager()).getAsyncListenerExecutor();
+        builder.add("asynclisteners", JSONUtil.objectBuilder()
+                .add("threads", asyncListeners.getThreadCount())
+                .add("policy", asyncListeners.getOverflowPolicy().name())
+                .add("plugins", JSONUtil.mapArrayToObject(asyncListeners.getPluginStatistics(), (stats) -> {
+                    return JSONUtil.singleObjectPair(stats.getPluginId(), JSONUtil.objectBuilder()
+                            .add("capacity", stats.getCapacity())
+                            .add("queued", stats.getQueuedEvents())
+                            .add("delivered", stats.getDeliveredEvents())
+                            .add("dropped", stats.getDroppedEvents())
+                            .add("currentlag", stats.getCurrentLag())
+                            .add("lag", serializeHistogram(stats.getLag()))
+                            .add("run", serializeHistogram(stats.getRunTime()))
+                            .add("blocked", serializeHistogram(stats.getBlockTime())));
+                })));
+
+        // Information about the pools of immutable data
+
+        builder.add("immutabledata", JSONUtil.objectBuilder()
+                .add("manipulators", serializePool(ImmutableDataCachingUtil.getManipulatorPool()))
+                .add("values", serializePool(ImmutableDataCachingUtil.getValuePool())));
+
+        // Information about the chunk save queues
+
+        builder.add("chunksaves", JSONUtil.mapArrayToObject(SpongeImpl.getGame().getServer().getWorlds(), (world) -> {
+            final WorldServer worldServer = (WorldServer) world;
+            final IChunkLoader chunkLoader = ((IMixinChunkProviderServer) worldServer.theChunkProviderServer).getChunkLoader();
+            return JSONUtil.singleObjectPair(world.getName(), JSONUtil.objectBuilder()
+                    .add("budget", ((IMixinWorld) world).getActiveConfig().getConfig().getWorld().getAutoSaveChunksPerTick())
+                    .add("queued", ((IMixinChunkProviderServer) worldServer.theChunkProviderServer).getQueuedChunkSaves())
+                    .add("writes", chunkLoader instanceof IMixinAnvilChunkLoader ? ((IMixinAnvilChunkLoader) chunkLoader).getPendingChunkWrites() : 0));
+        }));
+
+        // Information from the tick recorder
+
+        builder.add("tickrecorder", JSONUtil.objectBuilder()
+                .add("tick", serializeHistogram(TickRecorder.TICK_TIME))
+                .add("events", serializeHistogram(TickRecorder.EVENT_TIME))
+                .add("worlds", JSONUtil.mapArrayToObject(MinecraftServer.getServer().worldServers, (world) -> {
+                    final TickRecorder.WorldRecord record = ((IMixinWorld) world).getTimingsHandler().tickRecord;
+                    return JSONUtil.singleObjectPair(record.name, JSONUtil.objectBuilder()
+                            .add("entities", serializeHistogram(record.entityTime))
+                            .add("tileentities", serializeHistogram(record.tileEntityTime)));
+                })));
+
         // Information on the users Config
 
         builder.add("config", JSONUtil.objectBuilder()
                 .add("sponge", serializeConfigNode(SpongeImpl.getGlobalConfig().getRootNode())));
 
-        new TimingsExport(sender, builder.build(), history).start();
+        new TimingsExport(sender, builder.build(), history, exportDir).start();
+    }
+
+    private static JsonObject serializePool(FlyweightPool<?> pool) {
+        return JSONUtil.objectBuilder()
+                .add("size", pool.size())
+                .add("limit", pool.getLimit())
+                .add("hits", pool.getHits())
+                .add("misses", pool.getMisses())
+                .build();
+    }
+
+    private static JsonObject serializeHistogram(TickHistogram histogram) {
+        return JSONUtil.objectBuilder()
+                .add("count", histogram.getCount())
+                .add("mean", histogram.getMean())
+                .add("p50", histogram.getPercentile(0.5))
+                .add("p95", histogram.getPercentile(0.95))
+                .add("p99", histogram.getPercentile(0.99))
+                .add("max", histogram.getMax())
+                .build();
     }
 
     static long getCost() {
@@ -241,18 +368,46 @@ public synchronized void start() {
         if (this.sender instanceof RconSource) {
             this.sender.sendMessage(Text.of(TextColors.RED, "Warning: Timings report done over RCON will cause lag spikes."));
             this.sender.sendMessage(Text.of(TextColors.RED, "You should use ", TextColors.YELLOW,
-                    "/sponge timings report" + TextColors.RED, " in game or console."));
+                    this.exportDir == null ? "/sponge timings report" : "/sponge timings export", TextColors.RED, " in game or console."));
             run();
         } else {
             super.start();
         }
     }
 
+    /**
+     * Streams the report to the writer, writing the histories one at a time
+     * rather than building the whole report in memory first.
+     *
+     * @param writer The writer to write the report to
+     * @throws IOException If the report could not be written
+     */
+    private void writeReport(Writer writer) throws IOException {
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        // Allows the report to be embedded in the script of the viewer
+        jsonWriter.setHtmlSafe(true);
+        jsonWriter.beginObject();
+        for (Entry<String, JsonElement> entry : this.out.entrySet()) {
+            jsonWriter.name(entry.getKey());
+            JSONUtil.write(entry.getValue(), jsonWriter);
+        }
+        jsonWriter.name("data").beginArray();
+        for (TimingHistory timingHistory : this.history) {
+            timingHistory.export(jsonWriter);
+        }
+        jsonWriter.endArray();
+        jsonWriter.endObject();
+        jsonWriter.flush();
+    }
+
     @Override
     public void run() {
         this.sender.sendMessage(Text.of(TextColors.GREEN, "Preparing Timings Report..."));
 
-        this.out.add("data", JSONUtil.mapArray(this.history, TimingHistory::export));
+        if (this.exportDir != null) {
+            this.exportReport(this.exportDir);
+            return;
+        }
 
         String response = null;
         try {
@@ -269,8 +424,9 @@ public void run() {
                 }
             };
 
-            request.write(JSONUtil.toString(this.out).getBytes("UTF-8"));
-            request.close();
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(request, StandardCharsets.UTF_8))) {
+                this.writeReport(writer);
+            }
 
             response = getResponse(con);
 
@@ -302,6 +458,46 @@ public void run() {
         }
     }
 
+    private void exportReport(Path exportDir) {
+        String name = "timings-" + LocalDateTime.now().format(EXPORT_FILE_FORMAT);
+        Path reportFile = exportDir.resolve(name + ".json.gz");
+        Path viewerFile = exportDir.resolve(name + ".html");
+        try {
+            String[] viewer = getViewerTemplate();
+            Files.createDirectories(exportDir);
+            try (Writer report = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(reportFile)), StandardCharsets.UTF_8);
+                    Writer html = Files.newBufferedWriter(viewerFile, StandardCharsets.UTF_8)) {
+                html.write(viewer[0]);
+                // The viewer embeds its own copy of the report so it can be
+                // opened straight from disk
+                this.writeReport(new BufferedWriter(new TeeWriter(report, html)));
+                html.write(viewer[1]);
+            }
+        } catch (IOException ex) {
+            this.sender.sendMessage(Text.of(TextColors.RED, "Error exporting timings, check your logs for more information"));
+            SpongeImpl.getLogger().fatal("Could not export timings", ex);
+            return;
+        }
+
+        this.sender.sendMessage(Text.of(TextColors.GREEN, "Timings Report exported to ", viewerFile.toString()));
+        if (!(this.sender instanceof ConsoleSource)) {
+            SpongeImpl.getLogger().info("Timings Report exported to " + viewerFile + " and " + reportFile);
+        }
+    }
+
+    private static String[] getViewerTemplate() throws IOException {
+        URL url = TimingsExport.class.getResource("viewer.html");
+        if (url == null) {
+            throw new IOException("Missing timings viewer template");
+        }
+        String template = Resources.toString(url, StandardCharsets.UTF_8);
+        int index = template.indexOf(VIEWER_DATA_MARKER);
+        if (index == -1) {
+            throw new IOException("Invalid timings viewer template");
+        }
+        return new String[] {template.substring(0, index), template.substring(index + VIEWER_DATA_MARKER.length())};
+    }
+
     private String getResponse(HttpURLConnection con) throws IOException {
         InputStream is = null;
         try {
@@ -325,4 +521,33 @@ private String getResponse(HttpURLConnection con) throws IOException {
             }
         }
     }
+
+    private static final class TeeWriter extends Writer {
+
+        private final Writer first;
+        private final Writer second;
+
+        TeeWriter(Writer first, Writer second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            this.first.write(chars, offset, length);
+            this.second.write(chars, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.first.flush();
+            this.second.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The writers are closed by their owner
+            this.flush();
+        }
+    }
 }
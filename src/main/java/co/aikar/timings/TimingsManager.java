@@ -56,6 +56,9 @@ public final class TimingsManager {
 
     static EvictingQueue<TimingHistory> HISTORY = EvictingQueue.create(12);
     static TimingHandler CURRENT;
+    // Set at the start of every server tick, lets handlers skip the more
+    // expensive thread and platform checks on the server thread
+    static Thread serverThread;
     static long timingStart = 0;
     static long historyStart = 0;
     static boolean needsFullReset = false;
@@ -118,6 +121,7 @@ static void resetTimings() {
             }
             SpongeImpl.getLogger().info("Timings Reset");
             HISTORY.clear();
+            TickRecorder.reset();
             needsFullReset = false;
             needsRecheckEnabled = false;
             timingStart = System.currentTimeMillis();
@@ -25,6 +25,7 @@
 package co.aikar.timings;
 
 import net.minecraft.server.MinecraftServer;
+import org.spongepowered.common.world.WorldTickExecutor;
 
 class UnsafeTimingHandler extends TimingHandler {
 
@@ -33,7 +34,8 @@ class UnsafeTimingHandler extends TimingHandler {
     }
 
     private static void checkThread() {
-        if (!MinecraftServer.getServer().isCallingFromMinecraftThread()) {
+        if (Thread.currentThread() != TimingsManager.serverThread && !MinecraftServer.getServer().isCallingFromMinecraftThread()
+                && !WorldTickExecutor.isWorldTickThread()) {
             throw new IllegalStateException("Calling Timings from Async Operation");
         }
     }
@@ -33,6 +33,7 @@ public class WorldTimingsHandler {
 
     public final Timing mobSpawn;
     public final Timing doChunkUnload;
+    public final Timing doChunkSave;
     public final Timing doPortalForcer;
     public final Timing scheduledBlocks;
     public final Timing scheduledBlocksCleanup;
@@ -71,11 +72,14 @@ public class WorldTimingsHandler {
     // Chunk population
     public final Timing chunkPopulate;
 
+    public final TickRecorder.WorldRecord tickRecord;
+
     public WorldTimingsHandler(World world) {
         String name = world.getWorldInfo().getWorldName() + " - ";
 
         this.mobSpawn = SpongeTimingsFactory.ofSafe(name + "mobSpawn");
         this.doChunkUnload = SpongeTimingsFactory.ofSafe(name + "doChunkUnload");
+        this.doChunkSave = SpongeTimingsFactory.ofSafe(name + "doChunkSave");
         this.scheduledBlocks = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks");
         this.scheduledBlocksCleanup = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks - Cleanup");
         this.scheduledBlocksTicking = SpongeTimingsFactory.ofSafe(name + "Scheduled Blocks - Ticking");
@@ -111,5 +115,7 @@ public WorldTimingsHandler(World world) {
         this.causeTrackerEntityItemTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - EntityItemCaptures");
 
         this.chunkPopulate = SpongeTimingsFactory.ofSafe(name + "chunkPopulate");
+
+        this.tickRecord = new TickRecorder.WorldRecord(world.getWorldInfo().getWorldName());
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.block;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import org.spongepowered.api.data.manipulator.DataManipulator;
+import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
+import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * The tile entity data of {@link SpongeBlockSnapshot}s, which is only copied
+ * from the tile entity once it is needed.
+ *
+ * <p>Most captured snapshots are never restored, serialized or inspected,
+ * so writing the tile entity to NBT for every one of them is wasted work. A
+ * tile entity hands out the same instance to all snapshots captured until it
+ * is marked dirty. The data is copied when a snapshot needs it for the first
+ * time, or right before the tile entity is invalidated or overwritten by
+ * {@link TileEntity#readFromNBT} or marked dirty, whichever happens first.
+ * Once copied, the data is never changed again.</p>
+ *
+ * <p>Vanilla changes a tile entity before marking it dirty, so data which
+ * is copied late may already hold the changed tile entity. The snapshots
+ * of captured block changes, which may be restored, therefore load their
+ * data right away. Only the snapshots used as causes, which describe the
+ * block but are never restored by the implementation, stay lazy.</p>
+ *
+ * <p>The data can only be copied on the thread which captured the snapshots,
+ * snapshots which are handed to other threads have to be loaded first.</p>
+ */
+public final class LazyTileData {
+
+    private final Thread owner;
+    @Nullable private TileEntity tileEntity;
+    @Nullable private NBTTagCompound compound;
+    private List<ImmutableDataManipulator<?, ?>> manipulators = ImmutableList.of();
+
+    private LazyTileData(TileEntity tileEntity) {
+        this.owner = Thread.currentThread();
+        this.tileEntity = tileEntity;
+    }
+
+    /**
+     * Gets the lazy data of the given tile entity, which is shared with the
+     * other snapshots captured since the tile entity was last changed.
+     *
+     * @param tileEntity The tile entity
+     * @return The lazy tile data
+     */
+    public static LazyTileData of(TileEntity tileEntity) {
+        IMixinTileEntity mixinTile = (IMixinTileEntity) tileEntity;
+        LazyTileData data = mixinTile.getLazyTileData();
+        if (data == null) {
+            data = new LazyTileData(tileEntity);
+            mixinTile.setLazyTileData(data);
+        }
+        return data;
+    }
+
+    /**
+     * Copies the data from the tile entity if that didn't happen yet. Must
+     * be called on the thread owning the world of the tile entity.
+     *
+     * @throws IllegalStateException If the data wasn't copied yet and this
+     *     is called from another thread
+     */
+    public synchronized void load() {
+        final TileEntity tileEntity = this.tileEntity;
+        if (tileEntity == null) {
+            return;
+        }
+        if (Thread.currentThread() != this.owner) {
+            // The tile entity may be changed by its own thread at any time
+            throw new IllegalStateException("The tile entity data of a block snapshot was read from " + Thread.currentThread().getName()
+                    + " before it was loaded by " + this.owner.getName());
+        }
+        this.tileEntity = null;
+        IMixinTileEntity mixinTile = (IMixinTileEntity) tileEntity;
+        if (mixinTile.getLazyTileData() == this) {
+            mixinTile.setLazyTileData(null);
+        }
+
+        List<ImmutableDataManipulator<?, ?>> manipulators = new ArrayList<>();
+        for (DataManipulator<?, ?> manipulator : ((org.spongepowered.api.block.tileentity.TileEntity) tileEntity).getContainers()) {
+            final ImmutableDataManipulator<?, ?> immutable = manipulator.asImmutable();
+            // Same as SpongeBlockSnapshotBuilder#add, the last manipulator of a type wins
+            for (Iterator<ImmutableDataManipulator<?, ?>> iterator = manipulators.iterator(); iterator.hasNext();) {
+                if (immutable.getClass().isInstance(iterator.next())) {
+                    iterator.remove();
+                }
+            }
+            manipulators.add(immutable);
+        }
+        NBTTagCompound compound = new NBTTagCompound();
+        tileEntity.writeToNBT(compound);
+        this.manipulators = ImmutableList.copyOf(manipulators);
+        this.compound = compound;
+    }
+
+    /**
+     * Gets the copied tile entity NBT. Must not be modified.
+     *
+     * @return The compound
+     */
+    @Nullable
+    NBTTagCompound getCompound() {
+        load();
+        return this.compound;
+    }
+
+    List<ImmutableDataManipulator<?, ?>> getManipulators() {
+        load();
+        return this.manipulators;
+    }
+
+}
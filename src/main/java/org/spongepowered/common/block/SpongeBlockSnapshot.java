@@ -75,13 +75,15 @@ public class SpongeBlockSnapshot implements BlockSnapshot {
     private final BlockState extendedState;
     private final UUID worldUniqueId;
     private final Vector3i pos;
-    private final ImmutableList<ImmutableDataManipulator<?, ?>> extraData;
-    private final ImmutableMap<Key<?>, ImmutableValue<?>> keyValueMap;
-    private final ImmutableSet<ImmutableValue<?>> valueSet;
+    private ImmutableList<ImmutableDataManipulator<?, ?>> extraData;
+    private ImmutableMap<Key<?>, ImmutableValue<?>> keyValueMap;
+    private ImmutableSet<ImmutableValue<?>> valueSet;
     private final ImmutableList<ImmutableDataManipulator<?, ?>> blockData;
     private final ImmutableMap<Key<?>, ImmutableValue<?>> blockKeyValueMap;
     private final ImmutableSet<ImmutableValue<?>> blockValueSet;
-    @Nullable final NBTTagCompound compound;
+    @Nullable private NBTTagCompound compound;
+    // The data of the tile entity until it is needed, see LazyTileData
+    @Nullable private volatile LazyTileData lazyTileData;
     @Nullable final UUID creatorUniqueId;
     @Nullable final UUID notifierUniqueId;
     // Internal use only
@@ -111,9 +113,18 @@ public SpongeBlockSnapshot(SpongeBlockSnapshotBuilder builder) {
         this.blockValueSet = ImmutableSet.copyOf(this.blockKeyValueMap.values());
         this.blockData = ImmutableList.copyOf(this.blockState.getContainers());
 
+        if (builder.lazyTileData != null) {
+            this.lazyTileData = builder.lazyTileData;
+        } else {
+            setTileData(builder.manipulators == null ? ImmutableList.<ImmutableDataManipulator<?, ?>>of() : builder.manipulators,
+                    builder.compound == null ? null : (NBTTagCompound) builder.compound.copy());
+        }
+    }
+
+    private void setTileData(List<ImmutableDataManipulator<?, ?>> manipulators, @Nullable NBTTagCompound compound) {
         // This avoids cross contamination of block state based values versus tile entity values.
         final ImmutableMap.Builder<Key<?>, ImmutableValue<?>> tileBuilder = ImmutableMap.builder();
-        this.extraData = builder.manipulators == null ? ImmutableList.<ImmutableDataManipulator<?, ?>>of() : ImmutableList.copyOf(builder.manipulators);
+        this.extraData = ImmutableList.copyOf(manipulators);
         for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
             for (ImmutableValue<?> value : manipulator.getValues()) {
                 tileBuilder.put(value.getKey(), value);
@@ -121,8 +132,21 @@ public SpongeBlockSnapshot(SpongeBlockSnapshotBuilder builder) {
         }
         this.keyValueMap = tileBuilder.build();
         this.valueSet = ImmutableSet.copyOf(this.keyValueMap.values());
-        this.compound = builder.compound == null ? null : (NBTTagCompound) builder.compound.copy();
-
+        this.compound = compound;
+    }
+
+    /**
+     * Copies the tile entity data if that didn't happen yet, which must be
+     * done on the thread which captured the snapshot before handing it to
+     * other threads.
+     */
+    public void loadTileData() {
+        final LazyTileData lazyTileData = this.lazyTileData;
+        if (lazyTileData != null) {
+            // The compound of the lazy data is never modified, so it can be shared
+            setTileData(lazyTileData.getManipulators(), lazyTileData.getCompound());
+            this.lazyTileData = null;
+        }
     }
 
     @Override
@@ -184,6 +208,8 @@ public boolean restore(boolean force, boolean notifyNeighbors) {
             return false;
         }
 
+        // The tile entity data has to be copied before the tile entity is replaced
+        loadTileData();
         world.setBlockState(pos, replaced, notifyNeighbors ? 3 : 2);
         world.markBlockForUpdate(pos);
         if (this.compound != null) {
@@ -220,6 +246,7 @@ public Optional<Location<World>> getLocation() {
 
     @Override
     public List<ImmutableDataManipulator<?, ?>> getManipulators() {
+        loadTileData();
         return ImmutableList.<ImmutableDataManipulator<?, ?>>builder().addAll(this.blockData).addAll(this.extraData).build();
     }
 
@@ -230,6 +257,7 @@ public int getContentVersion() {
 
     @Override
     public DataContainer toContainer() {
+        loadTileData();
         final DataContainer container = new MemoryDataContainer()
             .set(Queries.CONTENT_VERSION, getContentVersion())
             .set(Queries.WORLD_ID, this.worldUniqueId.toString())
@@ -259,6 +287,7 @@ public DataContainer toContainer() {
         if (optional.isPresent()) {
             return optional;
         } else {
+            loadTileData();
             for (ImmutableDataManipulator<?, ?> dataManipulator : this.extraData) {
                 if (containerClass.isInstance(dataManipulator)) {
                     return Optional.of(((T) dataManipulator));
@@ -363,6 +392,7 @@ public BlockSnapshot merge(BlockSnapshot that, MergeFunction function) {
 
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
+        loadTileData();
         if (this.keyValueMap.containsKey(key)) {
             return Optional.of((E) this.keyValueMap.get(key).get());
         } else if (this.blockKeyValueMap.containsKey(key)) {
@@ -373,6 +403,7 @@ public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
 
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
+        loadTileData();
         if (this.keyValueMap.containsKey(key)) {
             return Optional.of((V) this.keyValueMap.get(key).asMutable());
         } else if (this.blockKeyValueMap.containsKey(key)) {
@@ -384,6 +415,7 @@ public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
     @Override
     public boolean supports(Key<?> key) {
         checkNotNull(key, "Key");
+        loadTileData();
         return this.keyValueMap.containsKey(key) || this.blockKeyValueMap.containsKey(key);
     }
 
@@ -394,20 +426,24 @@ public BlockSnapshot copy() {
 
     @Override
     public Set<Key<?>> getKeys() {
+        loadTileData();
         return ImmutableSet.<Key<?>>builder().addAll(this.keyValueMap.keySet()).addAll(this.blockKeyValueMap.keySet()).build();
     }
 
     @Override
     public Set<ImmutableValue<?>> getValues() {
+        loadTileData();
         return ImmutableSet.<ImmutableValue<?>>builder().addAll(this.valueSet).addAll(this.blockValueSet).build();
     }
 
     public Optional<NBTTagCompound> getCompound() {
+        loadTileData();
         return this.compound == null ? Optional.<NBTTagCompound>empty() : Optional.of((NBTTagCompound) this.compound.copy());
     }
 
     @SuppressWarnings("rawtypes")
     public SpongeBlockSnapshotBuilder createBuilder() {
+        loadTileData();
         final SpongeBlockSnapshotBuilder builder = new SpongeBlockSnapshotBuilder();
         builder.blockState(this.blockState)
             .extendedState(this.extendedState)
@@ -460,6 +496,8 @@ public boolean equals(Object o) {
             return false;
         }
         SpongeBlockSnapshot that = (SpongeBlockSnapshot) o;
+        loadTileData();
+        that.loadTileData();
         return this.updateFlag == that.updateFlag &&
                Objects.equal(this.extendedState, that.extendedState) &&
                Objects.equal(this.worldUniqueId, that.worldUniqueId) &&
@@ -471,6 +509,7 @@ public boolean equals(Object o) {
 
     @Override
     public int hashCode() {
+        loadTileData();
         return Objects
             .hashCode(this.extendedState,
                 this.worldUniqueId,
@@ -70,6 +70,7 @@ public class SpongeBlockSnapshotBuilder extends AbstractDataBuilder<BlockSnapsho
     Vector3i coords;
     @Nullable List<ImmutableDataManipulator<?, ?>> manipulators;
     @Nullable NBTTagCompound compound;
+    @Nullable LazyTileData lazyTileData;
 
 
     public SpongeBlockSnapshotBuilder() {
@@ -101,6 +102,7 @@ public SpongeBlockSnapshotBuilder extendedState(BlockState extendedState) {
     @Override
     public SpongeBlockSnapshotBuilder position(Vector3i position) {
         this.coords = checkNotNull(position);
+        loadTileData();
         if (this.compound != null) {
             this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_X, position.getX());
             this.compound.setInteger(NbtDataUtil.TILE_ENTITY_POSITION_Y, position.getY());
@@ -111,6 +113,7 @@ public SpongeBlockSnapshotBuilder position(Vector3i position) {
 
     @Override
     public SpongeBlockSnapshotBuilder from(Location<World> location) {
+        this.lazyTileData = null;
         this.blockState = location.getBlock();
         this.worldUuid = location.getExtent().getUniqueId();
         this.coords = location.getBlockPosition();
@@ -136,7 +139,30 @@ public BlockSnapshot.Builder notifier(UUID uuid) {
         return this;
     }
 
+    /**
+     * Sets the tile entity data which is copied once the built snapshot
+     * needs it, replacing any manipulators and NBT set before.
+     *
+     * @param tileData The lazy tile entity data
+     * @return This builder, for chaining
+     */
+    public SpongeBlockSnapshotBuilder tileData(LazyTileData tileData) {
+        this.lazyTileData = checkNotNull(tileData, "tileData");
+        this.manipulators = null;
+        this.compound = null;
+        return this;
+    }
+
+    private void loadTileData() {
+        if (this.lazyTileData != null) {
+            this.manipulators = Lists.newArrayList(this.lazyTileData.getManipulators());
+            this.compound = (NBTTagCompound) this.lazyTileData.getCompound().copy();
+            this.lazyTileData = null;
+        }
+    }
+
     public SpongeBlockSnapshotBuilder unsafeNbt(NBTTagCompound compound) {
+        loadTileData();
         this.compound = (NBTTagCompound) compound.copy();
         return this;
     }
@@ -149,6 +175,7 @@ public SpongeBlockSnapshotBuilder add(DataManipulator<?, ?> manipulator) {
     @Override
     public SpongeBlockSnapshotBuilder add(ImmutableDataManipulator<?, ?> manipulator) {
         checkNotNull(manipulator, "manipulator");
+        loadTileData();
         if (this.manipulators == null) {
             this.manipulators = Lists.newArrayList();
         }
@@ -185,10 +212,10 @@ public SpongeBlockSnapshotBuilder from(BlockSnapshot holder) {
         }
         this.coords = holder.getPosition();
         this.manipulators = Lists.newArrayList(holder.getManipulators());
+        this.lazyTileData = null;
         if (holder instanceof SpongeBlockSnapshot) {
-            if (((SpongeBlockSnapshot) holder).compound != null) {
-                this.compound = (NBTTagCompound) ((SpongeBlockSnapshot) holder).compound.copy();
-            }
+            // Already a copy
+            this.compound = ((SpongeBlockSnapshot) holder).getCompound().orElse(null);
         }
         return this;
     }
@@ -202,6 +229,7 @@ public SpongeBlockSnapshotBuilder reset() {
         this.coords = null;
         this.manipulators = null;
         this.compound = null;
+        this.lazyTileData = null;
         return this;
     }
 
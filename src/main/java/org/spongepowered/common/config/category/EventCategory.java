@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.spongepowered.common.event.AsyncListenerExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigSerializable
+public class EventCategory extends ConfigCategory {
+
+    @Setting(value = "async-listeners", comment = "Listeners which only observe events and are called asynchronously, after the other listeners of an event finished. Entries are either plugin ids, to include all listeners of a plugin, or fully qualified listener class names.")
+    private List<String> asyncListeners = new ArrayList<>();
+    @Setting(value = "async-listener-threads", comment = "The amount of threads calling asynchronous listeners.")
+    private int asyncListenerThreads = 2;
+    @Setting(value = "async-listener-queue-size", comment = "The maximum amount of events queued for the asynchronous listeners of a single plugin.")
+    private int asyncListenerQueueSize = 1024;
+    @Setting(value = "async-listener-overflow-policy", comment = "What happens when the queue of a plugin is full. DROP_NEWEST drops the posted event, DROP_OLDEST drops the oldest queued event and BLOCK makes the posting thread wait for room, up to async-listener-block-timeout milliseconds.")
+    private AsyncListenerExecutor.OverflowPolicy asyncListenerOverflowPolicy = AsyncListenerExecutor.OverflowPolicy.DROP_OLDEST;
+    @Setting(value = "async-listener-block-timeout", comment = "The maximum amount of milliseconds the BLOCK policy waits before dropping the event.")
+    private int asyncListenerBlockTimeout = 50;
+
+    public List<String> getAsyncListeners() {
+        return this.asyncListeners;
+    }
+
+    public int getAsyncListenerThreads() {
+        return this.asyncListenerThreads;
+    }
+
+    public int getAsyncListenerQueueSize() {
+        return this.asyncListenerQueueSize;
+    }
+
+    public AsyncListenerExecutor.OverflowPolicy getAsyncListenerOverflowPolicy() {
+        return this.asyncListenerOverflowPolicy;
+    }
+
+    public int getAsyncListenerBlockTimeout() {
+        return this.asyncListenerBlockTimeout;
+    }
+}
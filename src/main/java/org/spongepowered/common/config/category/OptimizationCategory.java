@@ -39,6 +39,12 @@ public class OptimizationCategory extends ConfigCategory {
     @Setting(value = "chunk-map-caching", comment = "Caches chunks internally for faster returns when querying at various positions")
     private boolean useCachedChunkMap = true;
 
+    @Setting(value = "parallel-world-ticking", comment = "Ticks worlds concurrently instead of one after another. Event listeners may then be called concurrently from the world tick threads, so only enable this if all plugins and mods support it.")
+    private boolean parallelWorldTicking = false;
+
+    @Setting(value = "parallel-world-ticking-threads", comment = "The number of threads used to tick worlds in parallel. 0 uses one thread per available processor.")
+    private int parallelWorldTickingThreads = 0;
+
     public boolean useBlockStateLookupPatch() {
         return this.blockStateLookup;
     }
@@ -50,4 +56,12 @@ public boolean useIgnoreUloadedChunkLightingPatch() {
     public boolean isUseCachedChunkMap() {
         return this.useCachedChunkMap;
     }
+
+    public boolean useParallelWorldTicking() {
+        return this.parallelWorldTicking;
+    }
+
+    public int getParallelWorldTickingThreads() {
+        return this.parallelWorldTickingThreads;
+    }
 }
\ No newline at end of file
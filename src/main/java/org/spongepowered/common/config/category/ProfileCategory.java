@@ -0,0 +1,75 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ProfileCategory extends ConfigCategory {
+
+    @Setting(value = "cache-size", comment = "The max amount of unique ids and names each whose profiles are kept in the profile cache.")
+    private int cacheSize = 10000;
+    @Setting(value = "cache-ttl", comment = "How long found profiles are served from the profile cache before they are looked up again, in minutes.")
+    private int cacheTtl = 360;
+    @Setting(value = "negative-cache-ttl", comment = "How long unique ids and names without a profile are remembered, in minutes.")
+    private int negativeCacheTtl = 10;
+    @Setting(value = "stale-ttl", comment = "How long expired profiles are still served while they are looked up again in the background, in minutes.")
+    private int staleTtl = 1440;
+    @Setting(value = "batch-size", comment = "The max amount of unique ids or names looked up at once.")
+    private int batchSize = 50;
+    @Setting(value = "lookup-concurrency", comment = "The max amount of batches looked up at the same time.")
+    private int lookupConcurrency = 4;
+    @Setting(value = "save-interval", comment = "How often the profile cache is written to disk, in minutes.")
+    private int saveInterval = 10;
+
+    public int getCacheSize() {
+        return this.cacheSize;
+    }
+
+    public int getCacheTtl() {
+        return this.cacheTtl;
+    }
+
+    public int getNegativeCacheTtl() {
+        return this.negativeCacheTtl;
+    }
+
+    public int getStaleTtl() {
+        return this.staleTtl;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public int getLookupConcurrency() {
+        return this.lookupConcurrency;
+    }
+
+    public int getSaveInterval() {
+        return this.saveInterval;
+    }
+}
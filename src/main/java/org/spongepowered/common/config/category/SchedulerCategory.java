@@ -0,0 +1,54 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-pool-size", comment = "The max amount of threads running asynchronous tasks. Set to 0 to start threads as needed, so blocking tasks never wait for each other.")
+    private int asyncPoolSize = 0;
+    @Setting(value = "async-plugin-concurrency", comment = "Max amount of asynchronous tasks a single plugin may run at the same time. Set to 0 to use half of the async pool size, or no limit if the pool size is 0.")
+    private int asyncPluginConcurrency = 0;
+    @Setting(value = "async-plugin-concurrency-overrides", comment = "Per-plugin overrides of the async concurrency limit, keyed by plugin id.")
+    private Map<String, Integer> asyncPluginConcurrencyOverrides = new HashMap<>();
+
+    public int getAsyncPoolSize() {
+        return this.asyncPoolSize;
+    }
+
+    public int getAsyncPluginConcurrency() {
+        return this.asyncPluginConcurrency;
+    }
+
+    public Map<String, Integer> getAsyncPluginConcurrencyOverrides() {
+        return this.asyncPluginConcurrencyOverrides;
+    }
+}
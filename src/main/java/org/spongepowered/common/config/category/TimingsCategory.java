@@ -51,6 +51,18 @@ public class TimingsCategory extends ConfigCategory {
     @Setting("history-length")
     private int historyLength = 3600;
 
+    @Setting(value = "tick-recorder", comment = "Keeps a record of the last ticks, even while timings are disabled, and writes it to disk when a tick takes too long.")
+    private boolean tickRecorder = true;
+
+    @Setting(value = "tick-recorder-length", comment = "The amount of ticks kept by the tick recorder.")
+    private int tickRecorderLength = 1200;
+
+    @Setting(value = "tick-recorder-dump-threshold", comment = "The duration of a tick, in milliseconds, above which the recorded ticks are written to disk. Set to 0 to never write them.")
+    private int tickRecorderDumpThreshold = 1000;
+
+    @Setting(value = "tick-recorder-dump-cooldown", comment = "The minimum time, in seconds, between two writes of the recorded ticks.")
+    private int tickRecorderDumpCooldown = 300;
+
     public boolean isVerbose() {
         return this.verbose;
     }
@@ -83,4 +95,20 @@ public void setHistoryLength(int historyLength) {
         this.historyLength = historyLength;
     }
 
+    public boolean isTickRecorderEnabled() {
+        return this.tickRecorder;
+    }
+
+    public int getTickRecorderLength() {
+        return this.tickRecorderLength;
+    }
+
+    public int getTickRecorderDumpThreshold() {
+        return this.tickRecorderDumpThreshold;
+    }
+
+    public int getTickRecorderDumpCooldown() {
+        return this.tickRecorderDumpCooldown;
+    }
+
 }
\ No newline at end of file
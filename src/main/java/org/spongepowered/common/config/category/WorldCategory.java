@@ -36,6 +36,10 @@ public class WorldCategory extends ConfigCategory {
     @Setting(value = "auto-save-interval", comment = "The auto-save tick interval used to save all loaded chunks in a world. Set to 0 to disable. (Default: 900) Note: 20 ticks is equivalent to 1 second.")
     private int autoSaveInterval = 900;
 
+    @Setting(value = "auto-save-chunks-per-tick", comment = "The maximum amount of chunks saved per tick during an auto-save. The auto-save is spread "
+            + "over several ticks to avoid lag spikes. Set to 0 to save all chunks at once. (Default: 0)")
+    private int autoSaveChunksPerTick = 0;
+
     @Setting(value = "infinite-water-source", comment = "Vanilla water source behavior - is infinite")
     private boolean infiniteWaterSource = false;
 
@@ -75,6 +79,10 @@ public int getAutoSaveInterval() {
         return this.autoSaveInterval;
     }
 
+    public int getAutoSaveChunksPerTick() {
+        return this.autoSaveChunksPerTick;
+    }
+
     public boolean hasInfiniteWaterSource() {
         return this.infiniteWaterSource;
     }
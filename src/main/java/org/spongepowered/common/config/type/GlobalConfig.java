@@ -32,10 +32,13 @@
 import ninja.leaping.configurate.objectmapping.Setting;
 import org.spongepowered.common.config.category.BungeeCordCategory;
 import org.spongepowered.common.config.category.CommandsCategory;
+import org.spongepowered.common.config.category.EventCategory;
 import org.spongepowered.common.config.category.ExploitCategory;
 import org.spongepowered.common.config.category.GlobalWorldCategory;
 import org.spongepowered.common.config.category.ModuleCategory;
 import org.spongepowered.common.config.category.OptimizationCategory;
+import org.spongepowered.common.config.category.ProfileCategory;
+import org.spongepowered.common.config.category.SchedulerCategory;
 import org.spongepowered.common.config.category.SqlCategory;
 import org.spongepowered.common.util.IpSet;
 
@@ -72,6 +75,15 @@ public class GlobalConfig extends ConfigBase {
     @Setting
     protected GlobalWorldCategory world = new GlobalWorldCategory();
 
+    @Setting(value = "scheduler")
+    private SchedulerCategory scheduler = new SchedulerCategory();
+
+    @Setting(value = "events")
+    private EventCategory events = new EventCategory();
+
+    @Setting(value = "profiles", comment = "Configuration options related to resolving and caching game profiles")
+    private ProfileCategory profiles = new ProfileCategory();
+
     public GlobalConfig() {
         super();
     }
@@ -119,6 +131,18 @@ public GlobalWorldCategory getWorld() {
         return this.world;
     }
 
+    public SchedulerCategory getScheduler() {
+        return this.scheduler;
+    }
+
+    public EventCategory getEvents() {
+        return this.events;
+    }
+
+    public ProfileCategory getProfiles() {
+        return this.profiles;
+    }
+
     public boolean isConfigEnabled() {
         // always return true as there is only 1 global config
         return true;
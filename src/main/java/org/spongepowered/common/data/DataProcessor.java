@@ -55,6 +55,19 @@
 
     boolean supports(DataHolder dataHolder);
 
+    /**
+     * Gets whether this processor may support any {@link DataHolder} of the
+     * given class. Returning {@code false} guarantees that
+     * {@link #supports(DataHolder)} fails for every instance of the class,
+     * which allows skipping this processor entirely for that class.
+     *
+     * @param holderClass The class of the data holder
+     * @return False if no data holder of the class is supported
+     */
+    default boolean canSupport(Class<?> holderClass) {
+        return true;
+    }
+
     boolean supports(EntityType entityType);
 
     /**
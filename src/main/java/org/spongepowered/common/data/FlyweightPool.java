@@ -0,0 +1,360 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * A pool of immutable instances, shared by the class and arguments they are
+ * created from.
+ *
+ * <p>The instances are kept in a tree of tables, with one level per argument.
+ * Booleans, small integers and enum constants are looked up by index, other
+ * arguments by their {@link Object#equals(Object)}, so looking up a pooled
+ * instance allocates nothing. Enum constants cover most catalog types, the
+ * first time one is seen as the last argument, the instances for all the
+ * constants of its enum are created at once.</p>
+ *
+ * <p>Once the tables hold the maximum number of instances, further instances
+ * are kept in an overflow cache of the same size which evicts the least
+ * recently used ones, like the caches the pool replaced. Looking them up
+ * allocates a key. Classes which are created with different numbers of
+ * arguments are kept in the overflow cache as well.</p>
+ *
+ * @param <T> The type of the pooled instances
+ */
+public final class FlyweightPool<T> {
+
+    private static final Object NULL_KEY = new Object();
+    private static final Object NO_ARGS = new Object();
+    private static final int MIN_INDEXED_INT = -128;
+    private static final int MAX_INDEXED_INT = 1023;
+
+    private final int limit;
+    private final ConcurrentMap<Class<?>, Table> tables = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Cache<OverflowKey, T> overflow;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates the instances of a pool.
+     *
+     * @param <T> The type of the instances
+     */
+    @FunctionalInterface
+    public interface Factory<T> {
+
+        T create(Class<?> type, Object[] args) throws Exception;
+
+    }
+
+    public FlyweightPool(int limit) {
+        checkArgument(limit >= 0, "limit cannot be negative");
+        this.limit = limit;
+        this.overflow = CacheBuilder.newBuilder().maximumSize(limit).build();
+    }
+
+    /**
+     * Gets the pooled instance for the class and arguments, creating and
+     * pooling it if there is none. The arguments array is not retained.
+     *
+     * @param type The class of the instance
+     * @param args The arguments the instance is created from
+     * @param factory The factory to create the instance with
+     * @return The instance
+     * @throws Exception If the factory failed to create the instance
+     */
+    @SuppressWarnings("unchecked")
+    public T get(Class<?> type, Object[] args, Factory<? extends T> factory) throws Exception {
+        Table table = this.tables.get(type);
+        if (table == null) {
+            table = this.tables.computeIfAbsent(type, key -> new Table());
+        }
+        int last = args.length - 1;
+        for (int i = 0; i < last; i++) {
+            Object child = table.get(args[i]);
+            if (child == null) {
+                if (this.size.get() >= this.limit) {
+                    return this.getOverflow(type, args, factory);
+                }
+                child = table.putIfAbsent(args[i], new Table());
+            }
+            if (!(child instanceof Table)) {
+                // The class is created with different numbers of arguments
+                return this.getOverflow(type, args, factory);
+            }
+            table = (Table) child;
+        }
+
+        Object key = last < 0 ? NO_ARGS : args[last];
+        Object value = table.get(key);
+        if (value != null) {
+            if (value instanceof Table) {
+                return this.getOverflow(type, args, factory);
+            }
+            this.hits.increment();
+            return (T) value;
+        }
+        if (this.size.get() >= this.limit) {
+            return this.getOverflow(type, args, factory);
+        }
+        if (key instanceof Enum && table.enumType == null) {
+            this.populate(table, type, args, factory);
+            value = table.get(key);
+            if (value != null && !(value instanceof Table)) {
+                // Only the requested constant counts as a miss
+                this.misses.increment();
+                return (T) value;
+            }
+        }
+        T created = this.create(type, args, factory);
+        T pooled = this.put(table, key, created);
+        if (pooled == null) {
+            // Filled up concurrently
+            return this.putOverflow(new OverflowKey(type, args.clone()), created);
+        }
+        return pooled;
+    }
+
+    private T getOverflow(Class<?> type, Object[] args, Factory<? extends T> factory) throws Exception {
+        OverflowKey key = new OverflowKey(type, args.clone());
+        T value = this.overflow.getIfPresent(key);
+        if (value != null) {
+            this.hits.increment();
+            return value;
+        }
+        return this.putOverflow(key, this.create(type, args, factory));
+    }
+
+    private T putOverflow(OverflowKey key, T value) {
+        T existing = this.overflow.asMap().putIfAbsent(key, value);
+        return existing == null ? value : existing;
+    }
+
+    private T create(Class<?> type, Object[] args, Factory<? extends T> factory) throws Exception {
+        this.misses.increment();
+        return factory.create(type, args);
+    }
+
+    // Returns null if the tables are full
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private T put(Table table, Object key, T value) {
+        if (this.size.get() >= this.limit) {
+            return null;
+        }
+        Object existing = table.putIfAbsent(key, value);
+        if (existing == value) {
+            this.size.incrementAndGet();
+            return value;
+        }
+        // Lost a race, hand out the instance that was pooled first
+        return existing instanceof Table ? value : (T) existing;
+    }
+
+    private void populate(Table table, Class<?> type, Object[] args, Factory<? extends T> factory) {
+        Class<?> enumType = ((Enum<?>) args[args.length - 1]).getDeclaringClass();
+        if (!table.initEnums(enumType)) {
+            return;
+        }
+        Object[] constants = enumType.getEnumConstants();
+        Object[] constantArgs = args.clone();
+        for (Object constant : constants) {
+            if (table.get(constant) != null) {
+                continue;
+            }
+            constantArgs[constantArgs.length - 1] = constant;
+            try {
+                // Created ahead of time, so not counted as misses
+                if (this.put(table, constant, factory.create(type, constantArgs)) == null) {
+                    return;
+                }
+            } catch (Exception e) {
+                // Not every constant has to be valid, those are left to fail when they are requested
+            }
+        }
+    }
+
+    /**
+     * Gets the number of times a pooled instance was found.
+     *
+     * @return The number of hits
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of instances that had to be created.
+     *
+     * @return The number of misses
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the number of pooled instances, including those in the overflow
+     * cache.
+     *
+     * @return The number of instances
+     */
+    public int size() {
+        return this.size.get() + (int) this.overflow.size();
+    }
+
+    /**
+     * Gets the maximum number of instances of the tables and of the overflow
+     * cache, each.
+     *
+     * @return The limit
+     */
+    public int getLimit() {
+        return this.limit;
+    }
+
+    private static final class OverflowKey {
+
+        private final Class<?> type;
+        private final Object[] args;
+        private final int hashCode;
+
+        OverflowKey(Class<?> type, Object[] args) {
+            this.type = type;
+            this.args = args;
+            this.hashCode = 31 * type.hashCode() + Arrays.hashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof OverflowKey)) {
+                return false;
+            }
+            OverflowKey other = (OverflowKey) obj;
+            return this.type == other.type && Arrays.equals(this.args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+    }
+
+    private static final class Table {
+
+        @Nullable private volatile Object falseValue;
+        @Nullable private volatile Object trueValue;
+        @Nullable private volatile AtomicReferenceArray<Object> ints;
+        @Nullable volatile Class<?> enumType;
+        @Nullable private volatile AtomicReferenceArray<Object> enums;
+        private final ConcurrentMap<Object, Object> values = new ConcurrentHashMap<>();
+
+        @Nullable
+        Object get(@Nullable Object key) {
+            if (key instanceof Boolean) {
+                return (Boolean) key ? this.trueValue : this.falseValue;
+            }
+            if (key instanceof Integer) {
+                int value = (Integer) key;
+                if (value >= MIN_INDEXED_INT && value <= MAX_INDEXED_INT) {
+                    AtomicReferenceArray<Object> ints = this.ints;
+                    return ints == null ? null : ints.get(value - MIN_INDEXED_INT);
+                }
+            } else if (key instanceof Enum) {
+                Enum<?> constant = (Enum<?>) key;
+                if (constant.getDeclaringClass() == this.enumType) {
+                    return this.enums.get(constant.ordinal());
+                }
+            }
+            return this.values.get(key == null ? NULL_KEY : key);
+        }
+
+        synchronized Object putIfAbsent(@Nullable Object key, Object value) {
+            Object existing = this.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (key instanceof Boolean) {
+                if ((Boolean) key) {
+                    this.trueValue = value;
+                } else {
+                    this.falseValue = value;
+                }
+                return value;
+            }
+            if (key instanceof Integer) {
+                int index = (Integer) key - MIN_INDEXED_INT;
+                if (index >= 0 && index <= MAX_INDEXED_INT - MIN_INDEXED_INT) {
+                    if (this.ints == null) {
+                        this.ints = new AtomicReferenceArray<>(MAX_INDEXED_INT - MIN_INDEXED_INT + 1);
+                    }
+                    this.ints.set(index, value);
+                    return value;
+                }
+            } else if (key instanceof Enum) {
+                Enum<?> constant = (Enum<?>) key;
+                this.initEnums(constant.getDeclaringClass());
+                if (constant.getDeclaringClass() == this.enumType) {
+                    this.enums.set(constant.ordinal(), value);
+                    return value;
+                }
+            }
+            this.values.put(key == null ? NULL_KEY : key, value);
+            return value;
+        }
+
+        /**
+         * Sets up the table for the constants of the enum, unless it already
+         * holds the constants of an enum.
+         *
+         * @return True if the table was set up
+         */
+        synchronized boolean initEnums(Class<?> enumType) {
+            if (this.enumType != null) {
+                return false;
+            }
+            // The array has to be there before the type is published
+            this.enums = new AtomicReferenceArray<>(enumType.getEnumConstants().length);
+            this.enumType = enumType;
+            return true;
+        }
+
+    }
+
+}
@@ -26,19 +26,13 @@
 
 import static org.spongepowered.common.util.ReflectionUtil.createUnsafeInstance;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.common.SpongeImpl;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
 
 public final class ImmutableDataCachingUtil {
 
@@ -48,21 +42,14 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
-        .maximumSize(MANIPULATOR_CACHE_LIMIT)
-        .concurrencyLevel(4)
-        .build();
-
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
-        .concurrencyLevel(4)
-        .maximumSize(VALUE_CACHE_LIMIT)
-        .build();
+    private static final FlyweightPool<ImmutableDataManipulator<?, ?>> manipulatorPool = new FlyweightPool<>(MANIPULATOR_CACHE_LIMIT);
+    private static final FlyweightPool<ImmutableValue<?>> valuePool = new FlyweightPool<>(VALUE_CACHE_LIMIT);
 
     /**
-     * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
-     * does not have the desired {@link ImmutableDataManipulator} with relative
-     * values, a new one is created and submitted to the cache for future
-     * retrieval.
+     * Retrieves a basic manipulator from the {@link FlyweightPool}. If the
+     * pool does not have the desired {@link ImmutableDataManipulator} with
+     * relative values, a new one is created and submitted to the pool for
+     * future retrieval.
      *
      * <p>Note that two instances of an {@link ImmutableDataManipulator} may be
      * equal to each other, but they may not be the same instance, this is due
@@ -75,21 +62,12 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
-        // We can't really use the generic typing here because it's complicated...
         try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
+            return (T) ImmutableDataCachingUtil.manipulatorPool.get(immutableClass, args,
+                    (type, constructorArgs) -> (ImmutableDataManipulator<?, ?>) createUnsafeInstance(type, constructorArgs));
         } catch (Throwable e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
+                                         + Arrays.toString(args), e);
             throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
         }
     }
@@ -97,34 +75,31 @@ private ImmutableDataCachingUtil() {}
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
+        final Object[] args;
+        if (extraArgs == null || extraArgs.length == 0) {
+            args = new Object[] {usedKey, defaultArg, arg};
+        } else {
+            // The extra arguments, like the bounds of a bounded value, are part of the pooled instance
+            args = new Object[3 + extraArgs.length];
+            args[0] = usedKey;
+            args[1] = defaultArg;
+            args[2] = arg;
+            System.arraycopy(extraArgs, 0, args, 3, extraArgs.length);
+        }
         try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
-                    try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
-                        } else {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                        }
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
-        } catch (ExecutionException e) {
+            return (T) ImmutableDataCachingUtil.valuePool.get(valueClass, args,
+                    (type, constructorArgs) -> (ImmutableValue<?>) createUnsafeInstance(type, constructorArgs));
+        } catch (Exception e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
             throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
         }
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
-            }
-        }
-        return builder.toString();
+    public static FlyweightPool<ImmutableDataManipulator<?, ?>> getManipulatorPool() {
+        return manipulatorPool;
+    }
+
+    public static FlyweightPool<ImmutableValue<?>> getValuePool() {
+        return valuePool;
     }
 }
@@ -139,6 +139,19 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Gets whether this processor may support any {@link ValueContainer} of
+     * the given class. Returning {@code false} guarantees that
+     * {@link #supports(ValueContainer)} fails for every instance of the class,
+     * which allows skipping this processor entirely for that class.
+     *
+     * @param containerClass The class of the container
+     * @return False if no container of the class is supported
+     */
+    default boolean canSupport(Class<?> containerClass) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
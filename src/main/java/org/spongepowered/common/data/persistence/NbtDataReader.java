@@ -0,0 +1,159 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.Lists;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.MemoryDataContainer;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads data in the NBT format straight into {@link DataContainer}s, with
+ * the same result as reading an {@link net.minecraft.nbt.NBTTagCompound}
+ * and translating it with {@link NbtTranslator#translateFrom}.
+ *
+ * <p>Arrays are read into the container as they are, without a copy.</p>
+ */
+public final class NbtDataReader {
+
+    // The same limit as vanilla enforces on the depth of nested tags
+    private static final int MAX_DEPTH = 512;
+
+    private NbtDataReader() {
+    }
+
+    /**
+     * Reads a root compound.
+     *
+     * @param input The input to read from
+     * @return The container holding the data of the compound
+     * @throws IOException If reading from the input fails or the data isn't
+     *     valid NBT
+     */
+    public static DataContainer read(DataInput input) throws IOException {
+        checkNotNull(input, "input");
+        if (input.readByte() != NbtDataUtil.TAG_COMPOUND) {
+            throw new IOException("Root tag must be a named compound tag");
+        }
+        input.readUTF();
+        DataContainer container = new MemoryDataContainer();
+        readCompound(input, container, 0);
+        return container;
+    }
+
+    private static void readCompound(DataInput input, DataView view, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+        byte type;
+        while ((type = input.readByte()) != NbtDataUtil.TAG_END) {
+            String key = input.readUTF();
+            if (key.isEmpty()) {
+                throw new IOException("Empty key in compound");
+            }
+            if (type == NbtDataUtil.TAG_COMPOUND) {
+                // Read straight into the child view instead of copying a container into it
+                readCompound(input, view.createView(DataQuery.of(key)), depth + 1);
+            } else if (type == NbtDataUtil.TAG_BYTE && key.contains(NbtTranslator.BOOLEAN_IDENTIFER)) {
+                view.set(DataQuery.of(key.replace(NbtTranslator.BOOLEAN_IDENTIFER, "")), input.readByte() == 1);
+            } else {
+                view.set(DataQuery.of(key), readPayload(input, type, depth));
+            }
+        }
+    }
+
+    private static Object readPayload(DataInput input, byte type, int depth) throws IOException {
+        switch (type) {
+            case NbtDataUtil.TAG_BYTE:
+                return input.readByte();
+            case NbtDataUtil.TAG_SHORT:
+                return input.readShort();
+            case NbtDataUtil.TAG_INT:
+                return input.readInt();
+            case NbtDataUtil.TAG_LONG:
+                return input.readLong();
+            case NbtDataUtil.TAG_FLOAT:
+                return input.readFloat();
+            case NbtDataUtil.TAG_DOUBLE:
+                return input.readDouble();
+            case NbtDataUtil.TAG_BYTE_ARRAY:
+                byte[] bytes = new byte[readLength(input)];
+                input.readFully(bytes);
+                return bytes;
+            case NbtDataUtil.TAG_STRING:
+                return input.readUTF();
+            case NbtDataUtil.TAG_LIST:
+                return readList(input, depth + 1);
+            case NbtDataUtil.TAG_COMPOUND:
+                DataContainer container = new MemoryDataContainer();
+                readCompound(input, container, depth + 1);
+                return container;
+            case NbtDataUtil.TAG_INT_ARRAY:
+                int[] ints = new int[readLength(input)];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = input.readInt();
+                }
+                return ints;
+            default:
+                throw new IOException("Unknown NBT type " + type);
+        }
+    }
+
+    private static List<Object> readList(DataInput input, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tried to read NBT tag with too high complexity, depth > " + MAX_DEPTH);
+        }
+        byte type = input.readByte();
+        int count = readLength(input);
+        if (type == NbtDataUtil.TAG_END) {
+            if (count != 0) {
+                throw new IOException("Missing type on a list with elements");
+            }
+            return Lists.newArrayList();
+        }
+        List<Object> list = Lists.newArrayListWithCapacity(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            list.add(readPayload(input, type, depth));
+        }
+        return list;
+    }
+
+    private static int readLength(DataInput input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Negative length " + length);
+        }
+        return length;
+    }
+
+}
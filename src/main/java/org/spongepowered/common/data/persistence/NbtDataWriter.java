@@ -0,0 +1,210 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.util.NbtDataUtil;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link DataView}s in the NBT format, the same way
+ * {@link NbtTranslator#translateData(DataView)} followed by writing the
+ * resulting compound would, but without building the compound first.
+ *
+ * <p>Arrays are written straight from the view instead of being copied into
+ * tags.</p>
+ */
+public final class NbtDataWriter {
+
+    private NbtDataWriter() {
+    }
+
+    /**
+     * Writes the view as an unnamed root compound.
+     *
+     * @param view The view to write
+     * @param output The output to write to
+     * @throws IOException If writing to the output fails
+     */
+    public static void write(DataView view, DataOutput output) throws IOException {
+        checkNotNull(view, "view");
+        checkNotNull(output, "output");
+        output.writeByte(NbtDataUtil.TAG_COMPOUND);
+        output.writeUTF("");
+        writeView(view, output);
+    }
+
+    static String getKey(DataQuery query) {
+        // Shallow values always have single part queries, which don't have to be joined
+        List<String> parts = query.getParts();
+        return parts.size() == 1 ? parts.get(0) : query.asString('.');
+    }
+
+    private static void writeView(DataView view, DataOutput output) throws IOException {
+        for (Map.Entry<DataQuery, Object> entry : view.getValues(false).entrySet()) {
+            Object value = entry.getValue();
+            String key = getKey(entry.getKey());
+            if (value instanceof Boolean) {
+                key += NbtTranslator.BOOLEAN_IDENTIFER;
+            }
+            writeNamed(key, value, output);
+        }
+        output.writeByte(NbtDataUtil.TAG_END);
+    }
+
+    private static void writeNamed(String key, Object value, DataOutput output) throws IOException {
+        output.writeByte(getType(value));
+        output.writeUTF(key);
+        writePayload(value, output);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeMap(Map<Object, Object> map, DataOutput output) throws IOException {
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            Object key = entry.getKey();
+            if (key instanceof DataQuery) {
+                String name = ((DataQuery) key).asString('.');
+                writeNamed(entry.getValue() instanceof Boolean ? name + NbtTranslator.BOOLEAN_IDENTIFER : name, entry.getValue(), output);
+            } else {
+                writeNamed(key.toString(), entry.getValue(), output);
+            }
+        }
+        output.writeByte(NbtDataUtil.TAG_END);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writePayload(Object value, DataOutput output) throws IOException {
+        if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? 1 : 0);
+        } else if (value instanceof Byte) {
+            output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            output.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            output.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            output.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            output.writeUTF((String) value);
+        } else if (value instanceof byte[]) {
+            byte[] array = (byte[]) value;
+            output.writeInt(array.length);
+            output.write(array);
+        } else if (value instanceof Byte[]) {
+            Byte[] array = (Byte[]) value;
+            output.writeInt(array.length);
+            for (Byte data : array) {
+                output.writeByte(data);
+            }
+        } else if (value instanceof int[]) {
+            int[] array = (int[]) value;
+            output.writeInt(array.length);
+            for (int data : array) {
+                output.writeInt(data);
+            }
+        } else if (value instanceof Integer[]) {
+            Integer[] array = (Integer[]) value;
+            output.writeInt(array.length);
+            for (Integer data : array) {
+                output.writeInt(data);
+            }
+        } else if (value instanceof List) {
+            writeList((List<Object>) value, output);
+        } else if (value instanceof Map) {
+            writeMap((Map<Object, Object>) value, output);
+        } else if (value instanceof DataSerializable) {
+            writeView(((DataSerializable) value).toContainer(), output);
+        } else if (value instanceof DataView) {
+            writeView((DataView) value, output);
+        } else {
+            throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
+        }
+    }
+
+    private static void writeList(List<Object> list, DataOutput output) throws IOException {
+        if (list.isEmpty()) {
+            output.writeByte(NbtDataUtil.TAG_END);
+            output.writeInt(0);
+            return;
+        }
+        // Like NBTTagList, the first element decides the type and elements of
+        // other types are left out
+        byte type = getType(list.get(0));
+        int count = 0;
+        for (Object element : list) {
+            if (getType(element) == type) {
+                count++;
+            }
+        }
+        output.writeByte(type);
+        output.writeInt(count);
+        for (Object element : list) {
+            if (count == list.size() || getType(element) == type) {
+                writePayload(element, output);
+            }
+        }
+    }
+
+    private static byte getType(Object value) {
+        checkNotNull(value);
+        if (value instanceof Boolean || value instanceof Byte) {
+            return NbtDataUtil.TAG_BYTE;
+        } else if (value instanceof Short) {
+            return NbtDataUtil.TAG_SHORT;
+        } else if (value instanceof Integer) {
+            return NbtDataUtil.TAG_INT;
+        } else if (value instanceof Long) {
+            return NbtDataUtil.TAG_LONG;
+        } else if (value instanceof Float) {
+            return NbtDataUtil.TAG_FLOAT;
+        } else if (value instanceof Double) {
+            return NbtDataUtil.TAG_DOUBLE;
+        } else if (value instanceof String) {
+            return NbtDataUtil.TAG_STRING;
+        } else if (value instanceof byte[] || value instanceof Byte[]) {
+            return NbtDataUtil.TAG_BYTE_ARRAY;
+        } else if (value instanceof int[] || value instanceof Integer[]) {
+            return NbtDataUtil.TAG_INT_ARRAY;
+        } else if (value instanceof List) {
+            return NbtDataUtil.TAG_LIST;
+        } else if (value instanceof Map || value instanceof DataSerializable || value instanceof DataView) {
+            return NbtDataUtil.TAG_COMPOUND;
+        }
+        throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
+    }
+
+}
@@ -80,7 +80,7 @@ private static void containerToCompound(final DataView container, final NBTTagCo
         checkNotNull(compound);
         for (Map.Entry<DataQuery, Object> entry : container.getValues(false).entrySet()) {
             Object value = entry.getValue();
-            String key = entry.getKey().asString('.');
+            String key = NbtDataWriter.getKey(entry.getKey());
             if (value instanceof DataView) {
                 NBTTagCompound inner = new NBTTagCompound();
                 containerToCompound(container.getView(entry.getKey()).get(), inner);
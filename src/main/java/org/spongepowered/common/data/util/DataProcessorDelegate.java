@@ -46,6 +46,7 @@
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
     private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    private final HolderProcessorCache<Tuple<DataProcessor<M, I>, Timing>> holderProcessors;
 
     public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
         ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
@@ -53,6 +54,7 @@ public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
             builder.add(new Tuple<>(processor, SpongeTimingsFactory.ofSafe(SpongeImpl.getPlugin(), processor.getClass().getCanonicalName())));
         }
         this.processors = builder.build();
+        this.holderProcessors = new HolderProcessorCache<>(this.processors, (tuple, holderClass) -> tuple.getFirst().canSupport(holderClass));
     }
 
     @Override
@@ -62,7 +64,7 @@ public int getPriority() {
 
     @Override
     public boolean supports(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.holderProcessors.get(dataHolder)) {
             if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
                 tuple.getSecond().startTiming();
             }
@@ -86,7 +88,7 @@ public boolean supports(EntityType entityType) {
 
     @Override
     public Optional<M> from(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.holderProcessors.get(dataHolder)) {
             if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
                 tuple.getSecond().startTiming();
             }
@@ -110,7 +112,7 @@ public Optional<M> from(DataHolder dataHolder) {
 
     @Override
     public Optional<M> fill(DataHolder dataHolder, M manipulator, MergeFunction overlap) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.holderProcessors.get(dataHolder)) {
             if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
                 tuple.getSecond().startTiming();
             }
@@ -150,7 +152,7 @@ public Optional<M> fill(DataContainer container, M m) {
 
     @Override
     public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunction function) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.holderProcessors.get(dataHolder)) {
             if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
                 tuple.getSecond().startTiming();
             }
@@ -190,7 +192,7 @@ public Optional<I> with(Key<? extends BaseValue<?>> key, Object value, I immutab
 
     @Override
     public DataTransactionResult remove(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.holderProcessors.get(dataHolder)) {
             if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
                 tuple.getSecond().startTiming();
             }
@@ -213,7 +215,7 @@ public DataTransactionResult remove(DataHolder dataHolder) {
 
     @Override
     public Optional<M> createFrom(DataHolder dataHolder) {
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.holderProcessors.get(dataHolder)) {
             if (MinecraftServer.getServer().isCallingFromMinecraftThread()) {
                 tuple.getSecond().startTiming();
             }
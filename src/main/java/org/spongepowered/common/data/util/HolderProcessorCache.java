@@ -0,0 +1,80 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * Caches which of the processors of a delegate may support a holder class.
+ * The processors of a delegate are fixed once the registrations are
+ * finalized, so the candidates of a class never change and most holder
+ * classes end up with a single processor to call.
+ *
+ * @param <T> The type of the processors
+ */
+final class HolderProcessorCache<T> {
+
+    private final ImmutableList<T> processors;
+    private final BiPredicate<T, Class<?>> canSupport;
+    private final Map<Class<?>, ImmutableList<T>> processorsByClass = new ConcurrentHashMap<>();
+
+    HolderProcessorCache(ImmutableList<T> processors, BiPredicate<T, Class<?>> canSupport) {
+        this.processors = processors;
+        this.canSupport = canSupport;
+    }
+
+    /**
+     * Gets the processors which may support the given holder, in the same
+     * order as they were registered with.
+     *
+     * @param holder The holder
+     * @return The processors which may support the holder
+     */
+    ImmutableList<T> get(Object holder) {
+        final Class<?> holderClass = holder.getClass();
+        // Look the class up before computing, computeIfAbsent locks even if
+        // the class is already present
+        final ImmutableList<T> processors = this.processorsByClass.get(holderClass);
+        if (processors != null) {
+            return processors;
+        }
+        return this.processorsByClass.computeIfAbsent(holderClass, this::filter);
+    }
+
+    private ImmutableList<T> filter(Class<?> holderClass) {
+        final ImmutableList.Builder<T> builder = ImmutableList.builder();
+        for (T processor : this.processors) {
+            if (this.canSupport.test(processor, holderClass)) {
+                builder.add(processor);
+            }
+        }
+        return builder.build();
+    }
+
+}
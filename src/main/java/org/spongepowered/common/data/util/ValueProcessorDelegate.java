@@ -45,11 +45,11 @@
 public final class ValueProcessorDelegate<E, V extends BaseValue<E>> implements ValueProcessor<E, V> {
 
     private final Key<V> key;
-    private final ImmutableList<ValueProcessor<E, V>> processors;
+    private final HolderProcessorCache<ValueProcessor<E, V>> processors;
 
     public ValueProcessorDelegate(Key<V> key, ImmutableList<ValueProcessor<E, V>> processors) {
         this.key = key;
-        this.processors = processors;
+        this.processors = new HolderProcessorCache<>(processors, ValueProcessor::canSupport);
     }
 
     @Override
@@ -64,7 +64,7 @@ public int getPriority() {
 
     @Override
     public Optional<E> getValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.processors.get(container)) {
             if (processor.supports(container)) {
                 final Optional<E> optional = processor.getValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -77,7 +77,7 @@ public Optional<E> getValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.processors.get(container)) {
             if (processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -90,7 +90,7 @@ public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public boolean supports(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.processors.get(container)) {
             if (processor.supports(container)) {
                 return true;
             }
@@ -101,7 +101,7 @@ public boolean supports(ValueContainer<?> container) {
     @SuppressWarnings("unchecked")
     @Override
     public DataTransactionResult offerToStore(ValueContainer<?> container, E value) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.processors.get(container)) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.offerToStore(container, value);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
@@ -109,7 +109,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
                 }
             }
         }
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.processors.get(container)) {
             if (processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -124,7 +124,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
 
     @Override
     public DataTransactionResult removeFrom(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.processors.get(container)) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.removeFrom(container);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
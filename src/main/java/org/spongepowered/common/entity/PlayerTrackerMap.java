@@ -0,0 +1,235 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import java.util.Arrays;
+
+/**
+ * Maps the packed positions of blocks within a chunk to the indices of their
+ * owner and notifier, without boxing the keys or allocating an object per
+ * tracked block.
+ *
+ * <p>The map uses open addressing with linear probing. Owner and notifier
+ * are stored in a single {@code long}, offset by one so that a value of
+ * {@code 0} marks an empty slot. A position without owner and notifier is
+ * the same as an untracked position and is removed from the map.</p>
+ */
+public final class PlayerTrackerMap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long EMPTY = 0L;
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+
+    public PlayerTrackerMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private PlayerTrackerMap(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new long[capacity];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean contains(int pos) {
+        return this.values[this.indexOf(pos)] != EMPTY;
+    }
+
+    /**
+     * Gets the owner index of the position.
+     *
+     * @param pos The packed position
+     * @return The owner index, or -1 if there is no owner
+     */
+    public int getOwner(int pos) {
+        return owner(this.values[this.indexOf(pos)]);
+    }
+
+    /**
+     * Gets the notifier index of the position.
+     *
+     * @param pos The packed position
+     * @return The notifier index, or -1 if there is no notifier
+     */
+    public int getNotifier(int pos) {
+        return notifier(this.values[this.indexOf(pos)]);
+    }
+
+    public void setOwner(int pos, int ownerIndex) {
+        this.set(pos, ownerIndex, this.getNotifier(pos));
+    }
+
+    public void setNotifier(int pos, int notifierIndex) {
+        this.set(pos, this.getOwner(pos), notifierIndex);
+    }
+
+    /**
+     * Sets the owner and notifier index of the position, removing it if both
+     * are -1.
+     *
+     * @param pos The packed position
+     * @param ownerIndex The owner index
+     * @param notifierIndex The notifier index
+     */
+    public void set(int pos, int ownerIndex, int notifierIndex) {
+        long value = pack(ownerIndex, notifierIndex);
+        int index = this.indexOf(pos);
+        if (this.values[index] != EMPTY) {
+            if (value == EMPTY) {
+                this.removeAt(index);
+            } else {
+                this.values[index] = value;
+            }
+        } else if (value != EMPTY) {
+            this.keys[index] = pos;
+            this.values[index] = value;
+            // Keep the load factor at or below 0.5
+            if (++this.size * 2 > this.keys.length) {
+                this.resize(this.keys.length * 2);
+            }
+        }
+    }
+
+    public void remove(int pos) {
+        int index = this.indexOf(pos);
+        if (this.values[index] != EMPTY) {
+            this.removeAt(index);
+        }
+    }
+
+    /**
+     * Writes the map into a flat array of position, owner and notifier
+     * triples.
+     *
+     * @return The packed array
+     */
+    public int[] toArray() {
+        int[] array = new int[this.size * 3];
+        int i = 0;
+        for (int index = 0; index < this.values.length; index++) {
+            long value = this.values[index];
+            if (value != EMPTY) {
+                array[i++] = this.keys[index];
+                array[i++] = owner(value);
+                array[i++] = notifier(value);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Reads a map written by {@link #toArray()}.
+     *
+     * @param array The packed array
+     * @return The map
+     */
+    public static PlayerTrackerMap fromArray(int[] array) {
+        int entries = array.length / 3;
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < entries * 2) {
+            capacity <<= 1;
+        }
+        PlayerTrackerMap map = new PlayerTrackerMap(capacity);
+        for (int i = 0; i + 2 < array.length; i += 3) {
+            map.set(array[i], array[i + 1], array[i + 2]);
+        }
+        return map;
+    }
+
+    private int indexOf(int pos) {
+        int mask = this.keys.length - 1;
+        int index = mix(pos) & mask;
+        while (this.values[index] != EMPTY && this.keys[index] != pos) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void removeAt(int index) {
+        int mask = this.keys.length - 1;
+        this.values[index] = EMPTY;
+        this.size--;
+        // Shift the following entries of the probe sequence back, so that
+        // lookups don't stop at the freed slot
+        int next = (index + 1) & mask;
+        while (this.values[next] != EMPTY) {
+            int home = mix(this.keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                this.keys[index] = this.keys[next];
+                this.values[index] = this.values[next];
+                this.values[next] = EMPTY;
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = this.keys;
+        long[] oldValues = this.values;
+        this.keys = new int[capacity];
+        this.values = new long[capacity];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != EMPTY) {
+                int index = this.indexOf(oldKeys[i]);
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int pos) {
+        // The packed positions only differ in a few bits, spread them out
+        int hash = pos * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long pack(int ownerIndex, int notifierIndex) {
+        return ((long) (ownerIndex + 1) << 32) | ((notifierIndex + 1) & 0xFFFFFFFFL);
+    }
+
+    private static int owner(long value) {
+        return (int) (value >>> 32) - 1;
+    }
+
+    private static int notifier(long value) {
+        return (int) value - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerTrackerMap" + Arrays.toString(this.toArray());
+    }
+
+}
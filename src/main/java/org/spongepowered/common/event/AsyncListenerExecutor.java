@@ -0,0 +1,450 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import co.aikar.timings.TickHistogram;
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.EventCategory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Calls the listeners which only observe events on a small set of worker
+ * threads, after the synchronous listeners of the event finished.
+ *
+ * <p>Every plugin gets its own bounded queue. A plugin queue is only worked
+ * on by one worker at a time, so the listeners of a plugin see the events in
+ * the order they were posted, and the workers serve the plugin queues in a
+ * round-robin fashion. If the queue of a plugin is full, the
+ * {@link OverflowPolicy} decides whether an event is dropped or the posting
+ * thread waits for room.</p>
+ *
+ * <p>The listeners receive the posted event itself once posting it finished.
+ * They may not modify it and have to keep in mind that the world may have
+ * changed since the event was posted. Events whose payload is still changed
+ * by the server after posting them are never queued, see
+ * {@link SpongeEventManager#postAsync(Event, List)}.</p>
+ */
+public final class AsyncListenerExecutor {
+
+    /**
+     * What happens with an event if the queue of a plugin is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The posted event is dropped.
+         */
+        DROP_NEWEST,
+        /**
+         * The oldest queued event of the plugin is dropped.
+         */
+        DROP_OLDEST,
+        /**
+         * The posting thread waits for room, and drops the posted event
+         * once the block timeout passed.
+         */
+        BLOCK
+    }
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    private final Condition notFull = this.lock.newCondition();
+    // All the plugin queues, guarded by the lock
+    private final Map<String, PluginQueue> queues = new LinkedHashMap<>();
+    // The plugin queues which have events and aren't worked on, in the order
+    // they will be served in. Guarded by the lock.
+    private final Deque<PluginQueue> ready = new ArrayDeque<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private int threads;
+    private int queueSize;
+    private OverflowPolicy overflowPolicy;
+    private long blockTimeout;
+    private boolean configured;
+    private boolean shutdown;
+    private int idleWorkers;
+
+    AsyncListenerExecutor() {
+    }
+
+    AsyncListenerExecutor(int threads, int queueSize, OverflowPolicy overflowPolicy, long blockTimeout, TimeUnit unit) {
+        this.threads = threads;
+        this.queueSize = queueSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = unit.toNanos(blockTimeout);
+        this.configured = true;
+    }
+
+    private void configure() {
+        if (this.configured) {
+            return;
+        }
+        // The event manager is created before the configs are loaded, so they
+        // are only read once the first event is queued
+        int threads = 0;
+        int queueSize = 0;
+        OverflowPolicy overflowPolicy = null;
+        int blockTimeout = 0;
+        if (SpongeImpl.isInitialized()) {
+            EventCategory config = SpongeImpl.getGlobalConfig().getConfig().getEvents();
+            threads = config.getAsyncListenerThreads();
+            queueSize = config.getAsyncListenerQueueSize();
+            overflowPolicy = config.getAsyncListenerOverflowPolicy();
+            blockTimeout = config.getAsyncListenerBlockTimeout();
+        }
+        this.threads = Math.max(threads, 1);
+        this.queueSize = queueSize <= 0 ? 1024 : queueSize;
+        this.overflowPolicy = overflowPolicy == null ? OverflowPolicy.DROP_OLDEST : overflowPolicy;
+        this.blockTimeout = TimeUnit.MILLISECONDS.toNanos(Math.max(blockTimeout, 0));
+        this.configured = true;
+    }
+
+    /**
+     * Queues the event for the given listeners.
+     *
+     * @param event The event, which must not be modified anymore
+     * @param listeners The asynchronous listeners of the event
+     */
+    void post(Event event, List<RegisteredListener<?>> listeners) {
+        long now = System.nanoTime();
+        this.lock.lock();
+        try {
+            if (this.shutdown) {
+                return;
+            }
+            this.configure();
+            for (RegisteredListener<?> listener : listeners) {
+                String pluginId = listener.getPlugin().getId();
+                PluginQueue queue = this.queues.get(pluginId);
+                if (queue == null) {
+                    queue = new PluginQueue(pluginId);
+                    this.queues.put(pluginId, queue);
+                }
+                if (queue.events.size() >= this.queueSize && !this.makeRoom(queue)) {
+                    queue.dropped++;
+                    continue;
+                }
+                queue.events.add(new QueuedEvent(event, listener, now));
+                this.markReady(queue);
+            }
+            this.ensureWorkers();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // Must be called while holding the lock
+    private boolean makeRoom(PluginQueue queue) {
+        switch (this.overflowPolicy) {
+            case DROP_OLDEST:
+                queue.events.poll();
+                queue.dropped++;
+                return true;
+            case BLOCK:
+                // Make sure somebody is draining the queue we wait for
+                this.ensureWorkers();
+                long nanos = this.blockTimeout;
+                long start = System.nanoTime();
+                try {
+                    while (queue.events.size() >= this.queueSize) {
+                        if (nanos <= 0 || this.shutdown) {
+                            return false;
+                        }
+                        nanos = this.notFull.awaitNanos(nanos);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                } finally {
+                    queue.blockTime.record(System.nanoTime() - start);
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Must be called while holding the lock
+    private void markReady(PluginQueue queue) {
+        if (!queue.ready && !queue.active && !queue.events.isEmpty()) {
+            queue.ready = true;
+            this.ready.add(queue);
+            this.available.signal();
+        }
+    }
+
+    // Must be called while holding the lock
+    private void ensureWorkers() {
+        if (this.idleWorkers < this.ready.size() && this.workers.size() < this.threads) {
+            Thread thread = new Thread(this::runWorker);
+            thread.setName("Sponge Async Listener Thread #" + (this.workers.size() + 1));
+            thread.setDaemon(true);
+            this.workers.add(thread);
+            this.idleWorkers++;
+            thread.start();
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void runWorker() {
+        while (true) {
+            PluginQueue queue;
+            QueuedEvent queued;
+            this.lock.lock();
+            try {
+                while ((queue = this.ready.poll()) == null) {
+                    if (this.shutdown) {
+                        this.idleWorkers--;
+                        this.workers.remove(Thread.currentThread());
+                        return;
+                    }
+                    this.available.awaitUninterruptibly();
+                }
+                queue.ready = false;
+                queue.active = true;
+                queued = queue.events.poll();
+                this.idleWorkers--;
+                this.notFull.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+
+            long start = System.nanoTime();
+            queue.lag.record(start - queued.postedAt);
+            try {
+                ((RegisteredListener) queued.listener).handle(queued.event);
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("Could not pass {} to {} asynchronously", queued.event.getClass().getSimpleName(),
+                        queue.pluginId, t);
+            }
+            queue.runTime.record(System.nanoTime() - start);
+
+            this.lock.lock();
+            try {
+                queue.active = false;
+                queue.delivered++;
+                this.idleWorkers++;
+                // Go to the back of the line, other plugins are served first
+                this.markReady(queue);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of worker threads which have been started.
+     *
+     * @return The amount of threads
+     */
+    public int getThreadCount() {
+        this.lock.lock();
+        try {
+            return this.workers.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        this.lock.lock();
+        try {
+            this.configure();
+            return this.overflowPolicy;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the statistics of every plugin which had events
+     * queued.
+     *
+     * @return The plugin statistics
+     */
+    public Collection<PluginStatistics> getPluginStatistics() {
+        long now = System.nanoTime();
+        this.lock.lock();
+        try {
+            ImmutableList.Builder<PluginStatistics> builder = ImmutableList.builder();
+            for (PluginQueue queue : this.queues.values()) {
+                builder.add(new PluginStatistics(queue, this.queueSize, now));
+            }
+            return builder.build();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the workers, the queued events are dropped. Called when the
+     * server stops.
+     */
+    public void shutdown() {
+        this.lock.lock();
+        try {
+            this.shutdown = true;
+            for (PluginQueue queue : this.queues.values()) {
+                queue.dropped += queue.events.size();
+                queue.events.clear();
+            }
+            this.ready.clear();
+            this.available.signalAll();
+            this.notFull.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static final class QueuedEvent {
+
+        final Event event;
+        final RegisteredListener<?> listener;
+        final long postedAt;
+
+        QueuedEvent(Event event, RegisteredListener<?> listener, long postedAt) {
+            this.event = event;
+            this.listener = listener;
+            this.postedAt = postedAt;
+        }
+    }
+
+    private static final class PluginQueue {
+
+        final String pluginId;
+        final Queue<QueuedEvent> events = new ArrayDeque<>();
+        final TickHistogram lag = new TickHistogram();
+        final TickHistogram runTime = new TickHistogram();
+        final TickHistogram blockTime = new TickHistogram();
+        // Guarded by the lock of the executor
+        long delivered;
+        long dropped;
+        boolean active;
+        boolean ready;
+
+        PluginQueue(String pluginId) {
+            this.pluginId = pluginId;
+        }
+    }
+
+    /**
+     * A snapshot of the asynchronous listener statistics of a single plugin.
+     */
+    public static final class PluginStatistics {
+
+        private final String pluginId;
+        private final int capacity;
+        private final int queuedEvents;
+        private final long deliveredEvents;
+        private final long droppedEvents;
+        private final long currentLag;
+        private final TickHistogram lag;
+        private final TickHistogram runTime;
+        private final TickHistogram blockTime;
+
+        PluginStatistics(PluginQueue queue, int capacity, long now) {
+            this.pluginId = queue.pluginId;
+            this.capacity = capacity;
+            this.queuedEvents = queue.events.size();
+            this.deliveredEvents = queue.delivered;
+            this.droppedEvents = queue.dropped;
+            QueuedEvent oldest = queue.events.peek();
+            this.currentLag = oldest == null ? 0 : TimeUnit.NANOSECONDS.toMicros(now - oldest.postedAt);
+            this.lag = queue.lag.snapshot();
+            this.runTime = queue.runTime.snapshot();
+            this.blockTime = queue.blockTime.snapshot();
+        }
+
+        public String getPluginId() {
+            return this.pluginId;
+        }
+
+        public int getCapacity() {
+            return this.capacity;
+        }
+
+        public int getQueuedEvents() {
+            return this.queuedEvents;
+        }
+
+        public long getDeliveredEvents() {
+            return this.deliveredEvents;
+        }
+
+        public long getDroppedEvents() {
+            return this.droppedEvents;
+        }
+
+        /**
+         * Gets how long the oldest queued event has been waiting, in
+         * microseconds.
+         *
+         * @return The current queue lag
+         */
+        public long getCurrentLag() {
+            return this.currentLag;
+        }
+
+        /**
+         * Gets the time between posting the events and calling the listeners.
+         *
+         * @return The queue lag
+         */
+        public TickHistogram getLag() {
+            return this.lag;
+        }
+
+        /**
+         * Gets the time the listeners took to run.
+         *
+         * @return The run time
+         */
+        public TickHistogram getRunTime() {
+            return this.runTime;
+        }
+
+        /**
+         * Gets the time posting threads waited for room in the queue.
+         *
+         * @return The block time
+         */
+        public TickHistogram getBlockTime() {
+            return this.blockTime;
+        }
+    }
+
+}
@@ -90,6 +90,7 @@
 import org.spongepowered.api.text.channel.MessageChannel;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.gen.PopulatorType;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
@@ -106,12 +107,11 @@
 import org.spongepowered.common.world.CaptureType;
 import org.spongepowered.common.world.SpongeProxyBlockAccess;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Random;
 
@@ -119,6 +119,9 @@
 
 public final class CauseTracker {
 
+    // The order in which captured block transactions are processed
+    private static final CaptureType[] BLOCK_EVENT_CAPTURE_TYPES = {CaptureType.BREAK, CaptureType.MODIFY, CaptureType.PLACE, CaptureType.DECAY};
+
     private final net.minecraft.world.World targetWorld;
     private boolean captureSpawnedEntities = false;
     private boolean captureBlockDecay = false;
@@ -144,7 +147,16 @@ public final class CauseTracker {
     @Nullable private Cause pluginCause;
     private boolean worldSpawnerRunning;
     private boolean chunkSpawnerRunning;
-    private Deque<Cause> causeStack = new ArrayDeque<>();
+    // Spawn state of the world, kept per world as worlds may tick in parallel
+    private boolean gettingSpawnList;
+    private boolean structureSpawning;
+    private boolean dispenserDispensing;
+    @Nullable private PopulatorType runningGenerator;
+    // The cause frames, frames are reused once they are popped
+    private final List<CauseFrame> causeStack = new ArrayList<>();
+    private int causeStackSize;
+    // The frame of the ticking block, its snapshot is created on demand
+    @Nullable private CauseFrame currentTickBlockFrame;
     private Packet<?> currentPlayerPacket;
     public final Timing causeTrackerBlockTimer;
     public final Timing causeTrackerBlockBreakTimer;
@@ -254,15 +266,47 @@ public void setCurrentNotifier(@Nullable User currentNotifier) {
     }
 
     public boolean hasTickingBlock() {
-        return this.currentTickBlock != null;
+        return this.currentTickBlock != null || this.currentTickBlockFrame != null;
     }
 
     public Optional<BlockSnapshot> getCurrentTickBlock() {
+        if (this.currentTickBlock == null && this.currentTickBlockFrame != null) {
+            this.currentTickBlock = this.getFrameSnapshot(this.currentTickBlockFrame);
+        }
         return Optional.ofNullable(this.currentTickBlock);
     }
 
     public void setCurrentTickBlock(@Nullable BlockSnapshot currentTickBlock) {
         this.currentTickBlock = currentTickBlock;
+        this.currentTickBlockFrame = null;
+    }
+
+    /**
+     * Creates the snapshot of the ticking block if it wasn't requested yet
+     * and the block change could alter it. The snapshot is created lazily
+     * from the world, so this has to be called before a block change is
+     * applied, otherwise the snapshot and the cause of the tick would see
+     * the changed block.
+     *
+     * <p>The snapshot only reads the ticking block, its tile entity and its
+     * neighbours for the actual state, so changes further away don't need
+     * the snapshot to be created.</p>
+     *
+     * @param pos The position of the block which is about to change
+     */
+    public void prepareBlockChange(BlockPos pos) {
+        final CauseFrame frame = this.currentTickBlockFrame;
+        if (this.currentTickBlock == null && frame != null && Math.abs(pos.getX() - frame.pos.getX()) <= 1
+                && Math.abs(pos.getY() - frame.pos.getY()) <= 1 && Math.abs(pos.getZ() - frame.pos.getZ()) <= 1) {
+            this.currentTickBlock = this.getFrameSnapshot(frame);
+        }
+    }
+
+    private BlockPos getCurrentTickBlockPos() {
+        if (this.currentTickBlock == null && this.currentTickBlockFrame != null) {
+            return this.currentTickBlockFrame.pos;
+        }
+        return ((SpongeBlockSnapshot) this.currentTickBlock).getBlockPos();
     }
 
     public boolean hasTickingEntity() {
@@ -312,6 +356,38 @@ public void setWorldSpawnerRunning(boolean worldSpawnerRunning) {
         this.worldSpawnerRunning = worldSpawnerRunning;
     }
 
+    public boolean isGettingSpawnList() {
+        return this.gettingSpawnList;
+    }
+
+    public void setGettingSpawnList(boolean gettingSpawnList) {
+        this.gettingSpawnList = gettingSpawnList;
+    }
+
+    public boolean isStructureSpawning() {
+        return this.structureSpawning;
+    }
+
+    public void setStructureSpawning(boolean structureSpawning) {
+        this.structureSpawning = structureSpawning;
+    }
+
+    public boolean isDispenserDispensing() {
+        return this.dispenserDispensing;
+    }
+
+    public void setDispenserDispensing(boolean dispenserDispensing) {
+        this.dispenserDispensing = dispenserDispensing;
+    }
+
+    public Optional<PopulatorType> getRunningGenerator() {
+        return Optional.ofNullable(this.runningGenerator);
+    }
+
+    public void setRunningGenerator(@Nullable PopulatorType runningGenerator) {
+        this.runningGenerator = runningGenerator;
+    }
+
     public boolean isChunkSpawnerRunning() {
         return this.chunkSpawnerRunning;
     }
@@ -332,16 +408,60 @@ public boolean hasPluginCause() {
         return this.pluginCause != null;
     }
 
+    /**
+     * Gets whether there is a current cause, without creating it.
+     *
+     * @return True if the cause stack isn't empty
+     */
+    public boolean hasCurrentCause() {
+        return this.causeStackSize > 0;
+    }
+
+    @Nullable
     public Cause getCurrentCause() {
-        return this.causeStack.peekFirst();
+        if (this.causeStackSize == 0) {
+            return null;
+        }
+        CauseFrame frame = this.causeStack.get(this.causeStackSize - 1);
+        if (frame.cause == null) {
+            frame.cause = this.createFrameCause(frame);
+        }
+        return frame.cause;
     }
 
     public void addCause(Cause cause) {
-        this.causeStack.addFirst(cause);
+        this.pushFrame().cause = cause;
     }
 
     public void removeCurrentCause() {
-        this.causeStack.removeFirst();
+        if (this.causeStackSize == 0) {
+            throw new NoSuchElementException("The cause stack is empty");
+        }
+        this.causeStack.get(--this.causeStackSize).reset();
+    }
+
+    private CauseFrame pushFrame() {
+        if (this.causeStackSize == this.causeStack.size()) {
+            this.causeStack.add(new CauseFrame());
+        }
+        return this.causeStack.get(this.causeStackSize++);
+    }
+
+    private Cause createFrameCause(CauseFrame frame) {
+        Object source = frame.source != null ? frame.source : this.getFrameSnapshot(frame);
+        if (frame.user == null) {
+            return Cause.of(NamedCause.source(source));
+        }
+        return Cause.of(NamedCause.source(source), frame.userIsOwner ? NamedCause.owner(frame.user) : NamedCause.notifier(frame.user));
+    }
+
+    private BlockSnapshot getFrameSnapshot(CauseFrame frame) {
+        if (frame.snapshot == null) {
+            IBlockState state = frame.state;
+            frame.snapshot = this.getMixinWorld().createSpongeBlockSnapshot(state,
+                    state.getBlock().getActualState(state, this.getMinecraftWorld(), frame.pos), frame.pos, 0);
+        }
+        return frame.snapshot;
     }
 
     public Packet<?> getCurrentPlayerPacket() {
@@ -354,7 +474,7 @@ public void setCurrentPlayerPacket(@Nullable Packet<?> currentPlayerPacket) {
 
     public void preTrackEntity(Entity entity) {
         this.currentTickEntity = entity;
-        this.addCause(Cause.of(NamedCause.source(entity)));
+        this.pushFrame().source = entity;
         this.trackEntityCausePreTick((net.minecraft.entity.Entity) entity);
     }
 
@@ -368,12 +488,9 @@ public void postTrackEntity() {
     public void preTrackTileEntity(TileEntity tile) {
         this.currentTickTileEntity = tile;
         this.trackBlockPositionCausePreTick(((net.minecraft.tileentity.TileEntity) tile).getPos());
-        List<NamedCause> namedCauses = new ArrayList<>();
-        namedCauses.add(NamedCause.source(this.currentTickTileEntity));
-        if (this.currentNotifier != null) {
-            namedCauses.add(NamedCause.notifier(this.currentNotifier));
-        }
-        this.addCause(Cause.of(namedCauses));
+        CauseFrame frame = this.pushFrame();
+        frame.source = tile;
+        frame.user = this.currentNotifier;
     }
 
     public void postTrackTileEntity() {
@@ -383,21 +500,29 @@ public void postTrackTileEntity() {
         this.currentNotifier = null;
     }
 
+    /**
+     * Starts tracking the tick of a block. The snapshot of the block and the
+     * cause are only created once they are requested, most ticks don't
+     * capture anything.
+     *
+     * @param state The state of the ticking block
+     * @param pos The position of the ticking block
+     */
     public void preTrackBlock(IBlockState state, BlockPos pos) {
-        this.currentTickBlock = this.getMixinWorld().createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, this.getMinecraftWorld(), pos), pos, 0);
         this.trackBlockPositionCausePreTick(pos);
-        List<NamedCause> namedCauses = new ArrayList<>();
-        namedCauses.add(NamedCause.source(this.currentTickBlock));
-        if (this.currentNotifier != null) {
-            namedCauses.add(NamedCause.notifier(this.currentNotifier));
-        }
-        this.addCause(Cause.of(namedCauses));
+        CauseFrame frame = this.pushFrame();
+        frame.state = state;
+        frame.pos = pos;
+        frame.user = this.currentNotifier;
+        this.currentTickBlock = null;
+        this.currentTickBlockFrame = frame;
     }
 
     public void postTrackBlock() {
         this.handlePostTickCaptures();
         this.removeCurrentCause();
         this.currentTickBlock = null;
+        this.currentTickBlockFrame = null;
         this.currentNotifier = null;
     }
 
@@ -406,7 +531,7 @@ public void setSpecificCapture(boolean flag) {
     }
 
     public void handlePostTickCaptures() {
-        if (this.getMinecraftWorld().isRemote || this.restoringBlocks || this.causeStack.isEmpty()) {
+        if (this.getMinecraftWorld().isRemote || this.restoringBlocks || this.causeStackSize == 0) {
             return;
         } else if (this.getCapturedSpawnedEntities().isEmpty() && this.getCapturedSpawnedEntityItems().isEmpty() && this.getCapturedSpongeBlockSnapshots().isEmpty()
                    && StaticMixinHelper.packetPlayer == null) {
@@ -461,6 +586,9 @@ public void handleSpawnedEntities() {
         }
 
         this.causeTrackerEntityTimer.startTiming();
+        final boolean hasSingleListeners = SpongeImpl.hasListeners(SpawnEntityEvent.class);
+        final boolean hasListeners = SpongeImpl.hasListeners(this.worldSpawnerRunning ? SpawnEntityEvent.Spawner.class
+                : this.chunkSpawnerRunning ? SpawnEntityEvent.ChunkLoad.class : SpawnEntityEvent.Custom.class);
         Iterator<Entity> iter = capturedEntityList.iterator();
         ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
         while (iter.hasNext()) {
@@ -484,8 +612,6 @@ public void handleSpawnedEntities() {
             IMixinEntity spongeEntity = (IMixinEntity) currentEntity;
             SpawnCause spawnCause = spongeEntity.getSpawnCause();
             if (spawnCause != null) {
-                ImmutableList.Builder<EntitySnapshot> entitySingleSnapshotBuilder = new ImmutableList.Builder<>();
-                entitySingleSnapshotBuilder.add(currentEntity.createSnapshot());
                 List<Entity> entityList = new ArrayList<>();
                 entityList.add(currentEntity);
                 List<NamedCause> namedCauses = new ArrayList<>();
@@ -497,13 +623,20 @@ public void handleSpawnedEntities() {
 
                 Cause cause = Cause.of(namedCauses);
                 causeTrackerEntityTimer.stopTiming();
-                SpawnEntityEvent event = SpongeEventFactory.createSpawnEntityEvent(cause, entityList, entitySingleSnapshotBuilder.build(), this.getWorld());
-                handlePostEntityEvent(cause, event);
+                if (hasSingleListeners) {
+                    SpawnEntityEvent event = SpongeEventFactory.createSpawnEntityEvent(cause, entityList,
+                            ImmutableList.of(currentEntity.createSnapshot()), this.getWorld());
+                    handlePostEntityEvent(cause, event);
+                } else {
+                    spawnEntities(cause, entityList);
+                }
                 causeTrackerEntityTimer.startTiming();
                 iter.remove();
                 continue;
             }
-            entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            if (hasListeners) {
+                entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            }
         }
 
         if (capturedEntityList.isEmpty()) {
@@ -519,13 +652,13 @@ public void handleSpawnedEntities() {
             cause = SpongeCommonEventFactory.getEntitySpawnCause((net.minecraft.entity.Entity) capturedEntityList.get(0));
         }
 
-        List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
-        if (entitySnapshots.isEmpty()) {
-            this.causeTrackerEntityTimer.stopTiming();
+        this.causeTrackerEntityTimer.stopTiming();
+        if (!hasListeners) {
+            spawnEntities(cause, capturedEntityList);
             return;
         }
 
-        this.causeTrackerEntityTimer.stopTiming();
+        List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
         SpawnEntityEvent event = null;
 
         if (this.worldSpawnerRunning) {
@@ -548,6 +681,8 @@ public void handleDroppedItems() {
         }
 
         this.causeTrackerEntityItemTimer.startTiming();
+        final boolean hasSingleListeners = SpongeImpl.hasListeners(DropItemEvent.Destruct.class);
+        final boolean hasListeners = SpongeImpl.hasListeners(DropItemEvent.Dispense.class);
         Iterator<Entity> iter = capturedEntityItemList.iterator();
         ImmutableList.Builder<EntitySnapshot> entitySnapshotBuilder = new ImmutableList.Builder<>();
         while (iter.hasNext()) {
@@ -571,8 +706,6 @@ public void handleDroppedItems() {
             IMixinEntity spongeEntity = (IMixinEntity) currentEntity;
             SpawnCause spawnCause = spongeEntity.getSpawnCause();
             if (spawnCause != null) {
-                ImmutableList.Builder<EntitySnapshot> entityItemSnapshotBuilder = new ImmutableList.Builder<>();
-                entityItemSnapshotBuilder.add(currentEntity.createSnapshot());
                 List<Entity> entityItemList = new ArrayList<>();
                 entityItemList.add(currentEntity);
                 List<NamedCause> namedCauses = new ArrayList<>();
@@ -584,15 +717,22 @@ public void handleDroppedItems() {
 
                 Cause cause = Cause.of(namedCauses);
                 this.causeTrackerEntityItemTimer.stopTiming();
-                DropItemEvent.Destruct event = SpongeEventFactory.createDropItemEventDestruct(cause, entityItemList, entityItemSnapshotBuilder.build(), this.getWorld());
-                if (handlePostEntityEvent(cause, event)) {
-                    sendItemChangeToPlayer(StaticMixinHelper.packetPlayer);
+                if (hasSingleListeners) {
+                    DropItemEvent.Destruct event = SpongeEventFactory.createDropItemEventDestruct(cause, entityItemList,
+                            ImmutableList.of(currentEntity.createSnapshot()), this.getWorld());
+                    if (handlePostEntityEvent(cause, event)) {
+                        sendItemChangeToPlayer(StaticMixinHelper.packetPlayer);
+                    }
+                } else {
+                    spawnEntities(cause, entityItemList);
                 }
                 this.causeTrackerEntityItemTimer.startTiming();
                 iter.remove();
                 continue;
             }
-            entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            if (hasListeners) {
+                entitySnapshotBuilder.add(currentEntity.createSnapshot());
+            }
         }
 
         if (capturedEntityItemList.isEmpty()) {
@@ -608,13 +748,13 @@ public void handleDroppedItems() {
             cause = SpongeCommonEventFactory.getEntitySpawnCause((net.minecraft.entity.Entity) capturedEntityItemList.get(0));
         }
 
-        List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
-        if (entitySnapshots.isEmpty()) {
-            this.causeTrackerEntityItemTimer.stopTiming();
+        this.causeTrackerEntityItemTimer.stopTiming();
+        if (!hasListeners) {
+            spawnEntities(cause, capturedEntityItemList);
             return;
         }
 
-        this.causeTrackerEntityItemTimer.stopTiming();
+        List<EntitySnapshot> entitySnapshots = entitySnapshotBuilder.build();
         DropItemEvent event = SpongeEventFactory.createDropItemEventDispense(cause, capturedEntityItemList, entitySnapshots, this.getWorld());
         if (handlePostEntityEvent(cause, event)) {
             sendItemChangeToPlayer(StaticMixinHelper.packetPlayer);
@@ -624,32 +764,36 @@ public void handleDroppedItems() {
 
     private boolean handlePostEntityEvent(Cause cause, Event event) {
         if (!(SpongeImpl.postEvent(event))) {
-            Iterator<Entity> iterator = ((SpawnEntityEvent) event).getEntities().iterator();
+            spawnEntities(cause, ((SpawnEntityEvent) event).getEntities());
+            return false;
+        }
 
-            while (iterator.hasNext()) {
-                Entity entity = iterator.next();
-                if (entity.isRemoved()) { // Entity removed in an event handler
-                    iterator.remove();
-                    continue;
-                }
+        return true;
+    }
 
-                net.minecraft.entity.Entity nmsEntity = (net.minecraft.entity.Entity) entity;
-                if (nmsEntity instanceof EntityWeatherEffect) {
-                    addWeatherEffect(nmsEntity, cause);
-                } else {
-                    int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
-                    int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
-                    this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
-                    this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
-                    this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
-                    SpongeHooks.logEntitySpawn(cause, nmsEntity);
-                }
+    private void spawnEntities(Cause cause, List<Entity> entities) {
+        Iterator<Entity> iterator = entities.iterator();
+
+        while (iterator.hasNext()) {
+            Entity entity = iterator.next();
+            if (entity.isRemoved()) { // Entity removed in an event handler
                 iterator.remove();
+                continue;
             }
-            return false;
-        }
 
-        return true;
+            net.minecraft.entity.Entity nmsEntity = (net.minecraft.entity.Entity) entity;
+            if (nmsEntity instanceof EntityWeatherEffect) {
+                addWeatherEffect(nmsEntity, cause);
+            } else {
+                int x = MathHelper.floor_double(nmsEntity.posX / 16.0D);
+                int z = MathHelper.floor_double(nmsEntity.posZ / 16.0D);
+                this.getMinecraftWorld().getChunkFromChunkCoords(x, z).addEntity(nmsEntity);
+                this.getMinecraftWorld().loadedEntityList.add(nmsEntity);
+                this.getMixinWorld().onSpongeEntityAdded(nmsEntity);
+                SpongeHooks.logEntitySpawn(cause, nmsEntity);
+            }
+            iterator.remove();
+        }
     }
 
     private boolean addWeatherEffect(net.minecraft.entity.Entity entity, Cause cause) {
@@ -735,7 +879,6 @@ public boolean handleBlockCaptures() {
         ChangeBlockEvent.Break breakEvent = null;
         ChangeBlockEvent.Modify modifyEvent = null;
         ChangeBlockEvent.Place placeEvent = null;
-        List<ChangeBlockEvent> blockEvents = new ArrayList<>();
 
         Iterator<BlockSnapshot> iterator = capturedBlockList.iterator();
         while (iterator.hasNext()) {
@@ -743,8 +886,11 @@ public boolean handleBlockCaptures() {
             CaptureType captureType = blockSnapshot.captureType;
             BlockPos pos = VecHelper.toBlockPos(blockSnapshot.getPosition());
             IBlockState currentState = this.getMinecraftWorld().getBlockState(pos);
-            Transaction<BlockSnapshot> transaction = new Transaction<>(blockSnapshot, this.getMixinWorld().createSpongeBlockSnapshot(currentState, currentState.getBlock()
-                .getActualState(currentState, this.getMinecraftWorld(), pos), pos, 0));
+            SpongeBlockSnapshot finalSnapshot = (SpongeBlockSnapshot) this.getMixinWorld().createSpongeBlockSnapshot(currentState,
+                    currentState.getBlock().getActualState(currentState, this.getMinecraftWorld(), pos), pos, 0);
+            // Listeners may restore the final snapshot after changing the tile entity
+            finalSnapshot.loadTileData();
+            Transaction<BlockSnapshot> transaction = new Transaction<>(blockSnapshot, finalSnapshot);
             if (captureType == CaptureType.BREAK) {
                 breakBuilder.add(transaction);
             } else if (captureType == CaptureType.DECAY) {
@@ -765,26 +911,27 @@ public boolean handleBlockCaptures() {
         blockMultiTransactions = multiBuilder.build();
         this.causeTrackerBlockTimer.stopTiming();
         ChangeBlockEvent changeBlockEvent;
-        if (blockBreakTransactions.size() > 0) {
+        // Events are only constructed for types that have listeners, the
+        // transactions of every capture type still have to be processed below
+        if (blockBreakTransactions.size() > 0 && SpongeImpl.hasListeners(ChangeBlockEvent.Break.class)) {
             changeBlockEvent = SpongeEventFactory.createChangeBlockEventBreak(cause, this.getWorld(), blockBreakTransactions);
             SpongeImpl.postEvent(changeBlockEvent);
             breakEvent = (ChangeBlockEvent.Break) changeBlockEvent;
-            blockEvents.add(changeBlockEvent);
         }
-        if (blockModifyTransactions.size() > 0) {
+        if (blockModifyTransactions.size() > 0 && SpongeImpl.hasListeners(ChangeBlockEvent.Modify.class)) {
             changeBlockEvent = SpongeEventFactory.createChangeBlockEventModify(cause, this.getWorld(), blockModifyTransactions);
             SpongeImpl.postEvent(changeBlockEvent);
             modifyEvent = (ChangeBlockEvent.Modify) changeBlockEvent;
-            blockEvents.add(changeBlockEvent);
         }
-        if (blockPlaceTransactions.size() > 0) {
+        if (blockPlaceTransactions.size() > 0 && SpongeImpl.hasListeners(ChangeBlockEvent.Place.class)) {
             changeBlockEvent = SpongeEventFactory.createChangeBlockEventPlace(cause, this.getWorld(), blockPlaceTransactions);
             SpongeImpl.postEvent(changeBlockEvent);
             placeEvent = (ChangeBlockEvent.Place) changeBlockEvent;
-            blockEvents.add(changeBlockEvent);
         }
         this.causeTrackerBlockTimer.startTiming();
-        if (blockEvents.size() > 1) {
+        int transactionTypes = (blockBreakTransactions.isEmpty() ? 0 : 1) + (blockModifyTransactions.isEmpty() ? 0 : 1)
+                + (blockPlaceTransactions.isEmpty() ? 0 : 1);
+        if (transactionTypes > 1 && SpongeImpl.hasListeners(ChangeBlockEvent.Post.class)) {
             if (breakEvent != null) {
                 int count = cause.allOf(ChangeBlockEvent.Break.class).size();
                 String namedCause = "BreakEvent" + (count != 0 ? count : "");
@@ -836,23 +983,34 @@ public boolean handleBlockCaptures() {
         }
 
         this.causeTrackerBlockTimer.stopTiming();
-        if (blockDecayTransactions.size() > 0) {
-            changeBlockEvent = SpongeEventFactory.createChangeBlockEventDecay(cause, this.getWorld(), blockDecayTransactions);
-            SpongeImpl.postEvent(changeBlockEvent);
-            blockEvents.add(changeBlockEvent);
+        ChangeBlockEvent.Decay decayEvent = null;
+        if (blockDecayTransactions.size() > 0 && SpongeImpl.hasListeners(ChangeBlockEvent.Decay.class)) {
+            decayEvent = SpongeEventFactory.createChangeBlockEventDecay(cause, this.getWorld(), blockDecayTransactions);
+            SpongeImpl.postEvent(decayEvent);
         }
         this.causeTrackerBlockTimer.startTiming();
 
-        for (ChangeBlockEvent blockEvent : blockEvents) {
-            CaptureType captureType = null;
-            if (blockEvent instanceof ChangeBlockEvent.Break) {
-                captureType = CaptureType.BREAK;
-            } else if (blockEvent instanceof ChangeBlockEvent.Decay) {
-                captureType = CaptureType.DECAY;
-            } else if (blockEvent instanceof ChangeBlockEvent.Modify) {
-                captureType = CaptureType.MODIFY;
-            } else if (blockEvent instanceof ChangeBlockEvent.Place) {
-                captureType = CaptureType.PLACE;
+        for (CaptureType captureType : BLOCK_EVENT_CAPTURE_TYPES) {
+            ChangeBlockEvent blockEvent;
+            List<Transaction<BlockSnapshot>> transactions;
+            if (captureType == CaptureType.BREAK) {
+                blockEvent = breakEvent;
+                transactions = blockBreakTransactions;
+            } else if (captureType == CaptureType.MODIFY) {
+                blockEvent = modifyEvent;
+                transactions = blockModifyTransactions;
+            } else if (captureType == CaptureType.PLACE) {
+                blockEvent = placeEvent;
+                transactions = blockPlaceTransactions;
+            } else {
+                blockEvent = decayEvent;
+                transactions = blockDecayTransactions;
+            }
+            if (blockEvent != null) {
+                // Listeners may have replaced the final snapshots
+                transactions = blockEvent.getTransactions();
+            } else if (transactions.isEmpty()) {
+                continue;
             }
 
             C08PacketPlayerBlockPlacement packet = null;
@@ -861,14 +1019,14 @@ public boolean handleBlockCaptures() {
                 packet = (C08PacketPlayerBlockPlacement) this.currentPlayerPacket;
             }
 
-            if (blockEvent.isCancelled()) {
+            if (blockEvent != null && blockEvent.isCancelled()) {
                 // Restore original blocks
                 ListIterator<Transaction<BlockSnapshot>>
                     listIterator =
-                    blockEvent.getTransactions().listIterator(blockEvent.getTransactions().size());
+                    transactions.listIterator(transactions.size());
                 processList(listIterator);
 
-                handlePostPlayerBlockEvent(captureType, blockEvent.getTransactions());
+                handlePostPlayerBlockEvent(captureType, transactions);
 
                 // clear entity list and return to avoid spawning items
                 if (this.specificCapture) {
@@ -880,7 +1038,7 @@ public boolean handleBlockCaptures() {
                 }
                 return false;
             } else {
-                for (Transaction<BlockSnapshot> transaction : blockEvent.getTransactions()) {
+                for (Transaction<BlockSnapshot> transaction : transactions) {
                     if (!transaction.isValid()) {
                         this.invalidTransactions.add(transaction);
                     } else {
@@ -922,7 +1080,7 @@ public boolean handleBlockCaptures() {
                     handlePostPlayerBlockEvent(captureType, this.invalidTransactions);
                 }
 
-                this.markAndNotifyBlockPost(blockEvent.getTransactions(), captureType);
+                this.markAndNotifyBlockPost(transactions, captureType);
 
                 if (captureType == CaptureType.PLACE && player != null && packet != null && packet.getStack() != null) {
                     player.addStat(StatList.objectUseStats[net.minecraft.item.Item.getIdFromItem(packet.getStack().getItem())], 1);
@@ -1063,9 +1221,9 @@ public boolean processSpawnEntity(Entity entity, Cause spawnCause) {
                     world.playerEntities.add(entityplayer);
                     world.updateAllPlayersSleepingFlag();
                 }
-                if (SpongeImpl.postEvent(SpongeEventFactory.createSpawnEntityEvent(cause, Lists.newArrayList(entity),
-                        Lists.newArrayList(entity.createSnapshot()), getWorld())) && !flag) {
-                    return false;
+                if (SpongeImpl.hasListeners(SpawnEntityEvent.class)) {
+                    SpongeImpl.postEvent(SpongeEventFactory.createSpawnEntityEvent(cause, Lists.newArrayList(entity),
+                            Lists.newArrayList(entity.createSnapshot()), getWorld()));
                 }
                 this.getMinecraftWorld().getChunkFromChunkCoords(i, j).addEntity(entityIn);
                 this.getMinecraftWorld().loadedEntityList.add(entityIn);
@@ -1079,9 +1237,6 @@ public boolean processSpawnEntity(Entity entity, Cause spawnCause) {
                 return false;
             }
 
-            org.spongepowered.api.event.Event event = null;
-            List<Entity> entitiesToSpawn = Lists.newArrayList(entity);
-            ImmutableList<EntitySnapshot> entitySnapshots = ImmutableList.of(entity.createSnapshot());
             EntityLivingBase entityLiving = null;
             net.minecraft.entity.Entity nonLivingEntity = null;
             if (this.currentTickEntity instanceof EntityLivingBase) {
@@ -1089,17 +1244,33 @@ public boolean processSpawnEntity(Entity entity, Cause spawnCause) {
             } else if (this.currentTickEntity != null) {
                 nonLivingEntity = (net.minecraft.entity.Entity) this.currentTickEntity;
             }
+            Class<? extends Event> eventType;
             if (entityIn instanceof EntityItem) {
                 if ((nonLivingEntity != null && nonLivingEntity.isDead) || entityIn instanceof EntityXPOrb || (entityLiving != null && (entityLiving.getHealth() <= 0 || entityLiving.isDead))) {
-                    event = SpongeEventFactory.createDropItemEventDestruct(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
+                    eventType = DropItemEvent.Destruct.class;
                 } else {
-                    event = SpongeEventFactory.createDropItemEventDispense(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
+                    eventType = DropItemEvent.Dispense.class;
                 }
             } else {
-                event = SpongeEventFactory.createSpawnEntityEvent(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
+                eventType = SpawnEntityEvent.class;
+            }
+
+            boolean cancelled = false;
+            if (SpongeImpl.hasListeners(eventType)) {
+                Event event;
+                List<Entity> entitiesToSpawn = Lists.newArrayList(entity);
+                ImmutableList<EntitySnapshot> entitySnapshots = ImmutableList.of(entity.createSnapshot());
+                if (eventType == DropItemEvent.Destruct.class) {
+                    event = SpongeEventFactory.createDropItemEventDestruct(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
+                } else if (eventType == DropItemEvent.Dispense.class) {
+                    event = SpongeEventFactory.createDropItemEventDispense(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
+                } else {
+                    event = SpongeEventFactory.createSpawnEntityEvent(cause, entitiesToSpawn, entitySnapshots, this.getWorld());
+                }
+                cancelled = SpongeImpl.postEvent(event);
             }
 
-            if (!SpongeImpl.postEvent(event)) {
+            if (!cancelled) {
                 if (entityIn instanceof EntityWeatherEffect) {
                     return addWeatherEffect(entityIn, cause);
                 }
@@ -1121,7 +1292,8 @@ public void randomTickBlock(Block block, BlockPos pos, IBlockState state, Random
 
     // By this point, currentPending(NextTickListEntry) should always be available
     public void updateTickBlock(Block block, BlockPos pos, IBlockState state, Random rand) {
-        this.currentTickBlock = this.getMixinWorld().createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, this.getMinecraftWorld(), pos), pos, 0);
+        this.setCurrentTickBlock(this.getMixinWorld().createSpongeBlockSnapshot(state, state.getBlock().getActualState(state, this.getMinecraftWorld(), pos),
+                pos, 0));
         List<NamedCause> namedCauses = new ArrayList<>();
         namedCauses.add(NamedCause.source(this.currentTickBlock));
         if (this.currentPendingBlockUpdate.hasTickingBlock()) {
@@ -1161,7 +1333,7 @@ public void notifyBlockOfStateChange(BlockPos notifyPos, final Block sourceBlock
             try {
                 if (!this.tryAndTrackActiveUser(notifyPos, PlayerTracker.Type.NOTIFIER).isPresent()) {
                     if (this.hasTickingBlock()) {
-                        this.trackTargetBlockFromSource(((SpongeBlockSnapshot) this.currentTickBlock).getBlockPos(), sourcePos, iblockstate.getBlock(), notifyPos,
+                        this.trackTargetBlockFromSource(this.getCurrentTickBlockPos(), sourcePos, iblockstate.getBlock(), notifyPos,
                                 PlayerTracker.Type.NOTIFIER);
                     }
                 }
@@ -1366,11 +1538,11 @@ public Optional<User> trackBlockPositionCausePreTick(BlockPos pos) {
     }
 
     public void trackEntityCausePreTick(net.minecraft.entity.Entity entity) {
-        if (entity == null || this.causeStack.isEmpty()) {
+        if (entity == null || this.causeStackSize == 0) {
             return;
         }
 
-        Cause cause = this.getCurrentCause();
+        CauseFrame frame = this.causeStack.get(this.causeStackSize - 1);
         IMixinEntity spongeEntity = (IMixinEntity) entity;
         Optional<User> owner = spongeEntity.getTrackedPlayer(NbtDataUtil.SPONGE_ENTITY_CREATOR);
         if (!owner.isPresent()) {
@@ -1385,13 +1557,20 @@ public void trackEntityCausePreTick(net.minecraft.entity.Entity entity) {
         if (notifier.isPresent()) {
             User user = notifier.get();
             this.currentNotifier = user;
-            this.causeStack.pop();
-            this.addCause(cause.merge(Cause.of(NamedCause.notifier(user))));
+            this.setFrameUser(frame, user, false);
         } else if (owner.isPresent()) {
             User user = owner.get();
             this.currentNotifier = user;
-            this.causeStack.pop();
-            this.addCause(cause.merge(Cause.of(NamedCause.owner(user))));
+            this.setFrameUser(frame, user, true);
+        }
+    }
+
+    private void setFrameUser(CauseFrame frame, User user, boolean owner) {
+        if (frame.cause == null) {
+            frame.user = user;
+            frame.userIsOwner = owner;
+        } else {
+            frame.cause = frame.cause.merge(Cause.of(owner ? NamedCause.owner(user) : NamedCause.notifier(user)));
         }
     }
 
@@ -1413,4 +1592,31 @@ public void trackEntityOwner(Entity entity) {
             }
         }
     }
+
+    /**
+     * An entry of the cause stack. Ticking blocks, entities and tile entities
+     * only record their source, the {@link Cause} is created when it is first
+     * requested.
+     */
+    private static final class CauseFrame {
+
+        @Nullable Cause cause;
+        @Nullable Object source;
+        @Nullable IBlockState state;
+        @Nullable BlockPos pos;
+        @Nullable BlockSnapshot snapshot;
+        @Nullable User user;
+        boolean userIsOwner;
+
+        void reset() {
+            this.cause = null;
+            this.source = null;
+            this.state = null;
+            this.pos = null;
+            this.snapshot = null;
+            this.user = null;
+            this.userIsOwner = false;
+        }
+    }
+
 }
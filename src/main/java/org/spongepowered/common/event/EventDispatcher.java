@@ -22,5 +22,22 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-@org.spongepowered.api.util.annotation.NonnullByDefault
-package org.spongepowered.common.profile.query;
+package org.spongepowered.common.event;
+
+import org.spongepowered.api.event.Event;
+
+/**
+ * Calls all the listeners of an event type, in order.
+ *
+ * @see EventDispatcherFactory
+ */
+public interface EventDispatcher {
+
+    /**
+     * Calls all the listeners with the given event.
+     *
+     * @param event The event
+     */
+    void dispatch(Event event);
+
+}
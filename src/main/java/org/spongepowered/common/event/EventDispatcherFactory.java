@@ -0,0 +1,213 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import co.aikar.timings.Timing;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates an {@link EventDispatcher} for the baked listeners of an event
+ * type, which calls every listener from its own call site instead of looping
+ * over them.
+ *
+ * <p>The loop in {@link SpongeEventManager} calls every listener of every
+ * event from the same call site, which the JIT can't inline. Every call site
+ * of a generated dispatcher only ever sees a single listener, so the listener
+ * and its generated filter can be inlined into the dispatcher.</p>
+ *
+ * <p>This is only a loop unroll. Every listener still runs its own filter
+ * and looks up its own cause parameters, nothing is shared between the
+ * listeners of a dispatcher. Dispatchers are opt-in, see
+ * {@link SpongeEventManager#GENERATE_DISPATCHERS}.</p>
+ *
+ * <p>Every dispatcher is defined by its own class loader, so it can be
+ * unloaded once the listeners of its event type change.</p>
+ */
+public final class EventDispatcherFactory {
+
+    /**
+     * The maximum number of listeners a dispatcher is generated for, the
+     * loop is used for more listeners to keep the method size reasonable.
+     */
+    public static final int MAX_LISTENERS = 256;
+
+    private static final String DISPATCHER = Type.getInternalName(EventDispatcher.class);
+    private static final String REGISTERED_LISTENER = Type.getInternalName(RegisteredListener.class);
+    private static final String REGISTERED_LISTENER_DESCRIPTOR = Type.getDescriptor(RegisteredListener.class);
+    private static final String EVENT_LISTENER = Type.getInternalName(EventListener.class);
+    private static final String EVENT_LISTENER_DESCRIPTOR = Type.getDescriptor(EventListener.class);
+    private static final String TIMING = Type.getInternalName(Timing.class);
+    private static final String EVENT_DESCRIPTOR = Type.getDescriptor(Event.class);
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final ClassLoader parent;
+    private final String targetPackage;
+
+    public EventDispatcherFactory(String targetPackage, ClassLoader parent) {
+        checkNotNull(targetPackage, "targetPackage");
+        checkArgument(!targetPackage.isEmpty(), "targetPackage cannot be empty");
+        this.targetPackage = targetPackage + '.';
+        this.parent = checkNotNull(parent, "parent");
+    }
+
+    /**
+     * Creates a dispatcher for the given listeners.
+     *
+     * @param listeners The listeners, in the order they are called
+     * @return The dispatcher
+     */
+    public EventDispatcher create(List<RegisteredListener<?>> listeners) throws Exception {
+        checkArgument(listeners.size() <= MAX_LISTENERS, "Too many listeners: %s", listeners.size());
+        String name = this.targetPackage + "Dispatcher_" + listeners.size() + '_' + this.id.incrementAndGet();
+        Class<? extends EventDispatcher> dispatcherClass = new DefineableClassLoader(this.parent).defineClass(name,
+                generateClass(name, listeners.size()));
+        return dispatcherClass.getConstructor(RegisteredListener[].class)
+                .newInstance((Object) listeners.toArray(new RegisteredListener<?>[listeners.size()]));
+    }
+
+    private static void visitInt(MethodVisitor mv, int value) {
+        if (value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else {
+            mv.visitIntInsn(SIPUSH, value);
+        }
+    }
+
+    static byte[] generateClass(String name, int listeners) {
+        name = name.replace('.', '/');
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, "java/lang/Object", new String[] { DISPATCHER });
+        for (int i = 0; i < listeners; i++) {
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "registration" + i, REGISTERED_LISTENER_DESCRIPTOR, null, null).visitEnd();
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "listener" + i, EVENT_LISTENER_DESCRIPTOR, null, null).visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", "([" + REGISTERED_LISTENER_DESCRIPTOR + ")V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+            for (int i = 0; i < listeners; i++) {
+                // this.registration<i> = listeners[i];
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                visitInt(mv, i);
+                mv.visitInsn(AALOAD);
+                mv.visitFieldInsn(PUTFIELD, name, "registration" + i, REGISTERED_LISTENER_DESCRIPTOR);
+                // this.listener<i> = listeners[i].getListener();
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                visitInt(mv, i);
+                mv.visitInsn(AALOAD);
+                mv.visitMethodInsn(INVOKEVIRTUAL, REGISTERED_LISTENER, "getListener", "()" + EVENT_LISTENER_DESCRIPTOR, false);
+                mv.visitFieldInsn(PUTFIELD, name, "listener" + i, EVENT_LISTENER_DESCRIPTOR);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "dispatch", "(" + EVENT_DESCRIPTOR + ")V", null, null);
+            mv.visitCode();
+            for (int i = 0; i < listeners; i++) {
+                Label start = new Label();
+                Label end = new Label();
+                Label handler = new Label();
+                Label next = new Label();
+                mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+                mv.visitLabel(start);
+                // this.registration<i>.getTimingsHandler().startTimingIfSync();
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "registration" + i, REGISTERED_LISTENER_DESCRIPTOR);
+                mv.visitMethodInsn(INVOKEVIRTUAL, REGISTERED_LISTENER, "getTimingsHandler", "()L" + TIMING + ";", false);
+                mv.visitMethodInsn(INVOKEINTERFACE, TIMING, "startTimingIfSync", "()V", true);
+                // this.listener<i>.handle(event);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, EVENT_LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEINTERFACE, EVENT_LISTENER, "handle", "(" + EVENT_DESCRIPTOR + ")V", true);
+                // this.registration<i>.getTimingsHandler().stopTimingIfSync();
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "registration" + i, REGISTERED_LISTENER_DESCRIPTOR);
+                mv.visitMethodInsn(INVOKEVIRTUAL, REGISTERED_LISTENER, "getTimingsHandler", "()L" + TIMING + ";", false);
+                mv.visitMethodInsn(INVOKEINTERFACE, TIMING, "stopTimingIfSync", "()V", true);
+                mv.visitLabel(end);
+                mv.visitJumpInsn(GOTO, next);
+                // catch (Throwable t) { SpongeEventManager.handleListenerException(event, this.registration<i>, t); }
+                mv.visitLabel(handler);
+                mv.visitVarInsn(ASTORE, 2);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "registration" + i, REGISTERED_LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(SpongeEventManager.class), "handleListenerException",
+                        "(" + EVENT_DESCRIPTOR + REGISTERED_LISTENER_DESCRIPTOR + "Ljava/lang/Throwable;)V", false);
+                mv.visitLabel(next);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+}
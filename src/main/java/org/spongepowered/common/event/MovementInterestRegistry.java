@@ -0,0 +1,320 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.hash.TLongHashSet;
+import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.world.World;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * Keeps track of the areas and entity types plugins are interested in when
+ * listening to entity movement, so moves nobody cares about don't have to be
+ * turned into events.
+ *
+ * <p>A plugin which registered an {@link Interest} only wants to receive the
+ * moves of entities in the chunks or of the entity types it declared. Plugins
+ * without an interest receive all moves, so as long as any of their listeners
+ * listen to a move event, every move is posted like before. The chunks of all
+ * interests are merged into one bitset per world, with a bit per chunk.</p>
+ *
+ * <p>Whether a move event type has listeners of plugins without an interest
+ * is looked up once per event type and kept in the snapshot, which is
+ * replaced whenever the interests or the listeners change.</p>
+ */
+public final class MovementInterestRegistry {
+
+    private final SpongeEventManager eventManager;
+    private final Object lock = new Object();
+    private final Set<Interest> interests = Sets.newIdentityHashSet();
+    private volatile Snapshot snapshot = new Snapshot(ImmutableSet.of(), ImmutableMap.of(), ImmutableSet.of());
+
+    MovementInterestRegistry(SpongeEventManager eventManager) {
+        this.eventManager = checkNotNull(eventManager, "eventManager");
+    }
+
+    private static long key(int x, int z) {
+        return (long) x << 32 | z & 0xFFFFFFFFL;
+    }
+
+    private static int chunkIndex(int chunkX, int chunkZ) {
+        return (chunkX & 31) | (chunkZ & 31) << 5;
+    }
+
+    private static int toChunk(double coordinate) {
+        int floor = (int) coordinate;
+        return (coordinate < floor ? floor - 1 : floor) >> 4;
+    }
+
+    /**
+     * Registers a new interest of the plugin in entity movement. Until the
+     * interest is given chunks or entity types, the listeners of the plugin
+     * don't cause any move to be posted.
+     *
+     * @param plugin The plugin
+     * @return The interest
+     */
+    public Interest register(PluginContainer plugin) {
+        Interest interest = new Interest(checkNotNull(plugin, "plugin"));
+        synchronized (this.lock) {
+            this.interests.add(interest);
+            this.rebuild();
+        }
+        return interest;
+    }
+
+    /**
+     * Gets whether a move of the entity has to be posted as an event of the
+     * given type, because a listener without an interest listens to it or the
+     * entity is covered by an interest.
+     *
+     * @param eventType The move event type
+     * @param entity The entity that moved
+     * @return True if the move has to be posted
+     */
+    public boolean isInterested(Class<? extends Event> eventType, net.minecraft.entity.Entity entity) {
+        Snapshot snapshot = this.snapshot;
+        if (snapshot.plugins.isEmpty() || this.hasUnfilteredListeners(snapshot, eventType)) {
+            return true;
+        }
+        if (snapshot.entityClasses.contains(entity.getClass())) {
+            return true;
+        }
+        TLongObjectHashMap<long[]> regions = snapshot.chunks.get(((World) entity.worldObj).getUniqueId());
+        // Moves into and out of the covered chunks are both of interest
+        return regions != null && (covers(regions, toChunk(entity.posX), toChunk(entity.posZ))
+                || covers(regions, toChunk(entity.lastTickPosX), toChunk(entity.lastTickPosZ)));
+    }
+
+    boolean hasUnfilteredListeners(Class<? extends Event> eventType) {
+        return this.hasUnfilteredListeners(this.snapshot, eventType);
+    }
+
+    private boolean hasUnfilteredListeners(Snapshot snapshot, Class<? extends Event> eventType) {
+        Boolean hasListeners = snapshot.unfilteredListeners.get(eventType);
+        if (hasListeners == null) {
+            // The snapshot is replaced after the listeners changed, so a lookup
+            // racing a change only stores its result in the old snapshot
+            hasListeners = this.eventManager.hasListeners(eventType, snapshot.isFiltered);
+            snapshot.unfilteredListeners.put(eventType, hasListeners);
+        }
+        return hasListeners;
+    }
+
+    /**
+     * Forgets which event types have listeners without an interest. Must be
+     * called after the listeners changed, implementations which forward
+     * events to additional listeners have to call this when those change.
+     */
+    public void onListenersChanged() {
+        synchronized (this.lock) {
+            this.snapshot = new Snapshot(this.snapshot.plugins, this.snapshot.chunks, this.snapshot.entityClasses);
+        }
+    }
+
+    boolean covers(UUID worldId, int chunkX, int chunkZ) {
+        TLongObjectHashMap<long[]> regions = this.snapshot.chunks.get(worldId);
+        return regions != null && covers(regions, chunkX, chunkZ);
+    }
+
+    boolean covers(Class<?> entityClass) {
+        return this.snapshot.entityClasses.contains(entityClass);
+    }
+
+    private static boolean covers(TLongObjectHashMap<long[]> regions, int chunkX, int chunkZ) {
+        long[] bits = regions.get(key(chunkX >> 5, chunkZ >> 5));
+        int index = chunkIndex(chunkX, chunkZ);
+        return bits != null && (bits[index >>> 6] & 1L << index) != 0;
+    }
+
+    // Must be called while holding the lock
+    private void rebuild() {
+        ImmutableSet.Builder<PluginContainer> plugins = ImmutableSet.builder();
+        ImmutableSet.Builder<Class<?>> entityClasses = ImmutableSet.builder();
+        Map<UUID, TLongObjectHashMap<long[]>> chunks = new HashMap<>();
+        for (Interest interest : this.interests) {
+            plugins.add(interest.plugin);
+            entityClasses.addAll(interest.entityClasses);
+            for (Map.Entry<UUID, TLongHashSet> entry : interest.chunks.entrySet()) {
+                TLongObjectHashMap<long[]> regions = chunks.computeIfAbsent(entry.getKey(), id -> new TLongObjectHashMap<>());
+                entry.getValue().forEach(chunk -> {
+                    int chunkX = (int) (chunk >> 32);
+                    int chunkZ = (int) chunk;
+                    long regionKey = key(chunkX >> 5, chunkZ >> 5);
+                    long[] bits = regions.get(regionKey);
+                    if (bits == null) {
+                        regions.put(regionKey, bits = new long[16]);
+                    }
+                    int index = chunkIndex(chunkX, chunkZ);
+                    bits[index >>> 6] |= 1L << index;
+                    return true;
+                });
+            }
+        }
+        this.snapshot = new Snapshot(plugins.build(), ImmutableMap.copyOf(chunks), entityClasses.build());
+    }
+
+    private static final class Snapshot {
+
+        final Set<PluginContainer> plugins;
+        final Predicate<PluginContainer> isFiltered;
+        // The maps are never modified once the snapshot is published
+        final Map<UUID, TLongObjectHashMap<long[]>> chunks;
+        final Set<Class<?>> entityClasses;
+        // Whether an event type has listeners of plugins without an interest
+        final ConcurrentMap<Class<?>, Boolean> unfilteredListeners = new ConcurrentHashMap<>();
+
+        Snapshot(Set<PluginContainer> plugins, Map<UUID, TLongObjectHashMap<long[]>> chunks, Set<Class<?>> entityClasses) {
+            this.plugins = plugins;
+            this.isFiltered = plugins::contains;
+            this.chunks = chunks;
+            this.entityClasses = entityClasses;
+        }
+
+    }
+
+    /**
+     * The chunks and entity types a plugin wants to receive the moves of.
+     */
+    public final class Interest {
+
+        final PluginContainer plugin;
+        final Map<UUID, TLongHashSet> chunks = new HashMap<>();
+        final Set<Class<?>> entityClasses = new HashSet<>();
+
+        Interest(PluginContainer plugin) {
+            this.plugin = plugin;
+        }
+
+        public PluginContainer getPlugin() {
+            return this.plugin;
+        }
+
+        /**
+         * Adds a chunk to this interest.
+         *
+         * @param worldId The unique id of the world
+         * @param chunkX The chunk x coordinate
+         * @param chunkZ The chunk z coordinate
+         * @return This interest, for chaining
+         */
+        public Interest addChunk(UUID worldId, int chunkX, int chunkZ) {
+            return this.addChunks(worldId, chunkX, chunkZ, chunkX, chunkZ);
+        }
+
+        /**
+         * Adds all the chunks touched by an area to this interest. Interests
+         * are tracked per chunk, so the moves of all entities in those chunks
+         * are posted.
+         *
+         * @param worldId The unique id of the world
+         * @param min The minimum block position of the area
+         * @param max The maximum block position of the area, inclusive
+         * @return This interest, for chaining
+         */
+        public Interest addArea(UUID worldId, Vector3i min, Vector3i max) {
+            return this.addChunks(worldId, Math.min(min.getX(), max.getX()) >> 4, Math.min(min.getZ(), max.getZ()) >> 4,
+                    Math.max(min.getX(), max.getX()) >> 4, Math.max(min.getZ(), max.getZ()) >> 4);
+        }
+
+        private Interest addChunks(UUID worldId, int minX, int minZ, int maxX, int maxZ) {
+            checkNotNull(worldId, "worldId");
+            synchronized (MovementInterestRegistry.this.lock) {
+                TLongHashSet worldChunks = this.chunks.computeIfAbsent(worldId, id -> new TLongHashSet());
+                for (int x = minX; x <= maxX; x++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        worldChunks.add(key(x, z));
+                    }
+                }
+                this.update();
+            }
+            return this;
+        }
+
+        /**
+         * Adds an entity type to this interest, the moves of entities of the
+         * type are posted wherever they are.
+         *
+         * @param entityType The entity type
+         * @return This interest, for chaining
+         */
+        public Interest addEntityType(EntityType entityType) {
+            checkNotNull(entityType, "entityType");
+            synchronized (MovementInterestRegistry.this.lock) {
+                this.entityClasses.add(entityType.getEntityClass());
+                this.update();
+            }
+            return this;
+        }
+
+        /**
+         * Removes all chunks and entity types from this interest.
+         */
+        public void clear() {
+            synchronized (MovementInterestRegistry.this.lock) {
+                this.chunks.clear();
+                this.entityClasses.clear();
+                this.update();
+            }
+        }
+
+        /**
+         * Unregisters this interest. If the plugin has no other interests,
+         * its listeners receive all moves again.
+         */
+        public void unregister() {
+            synchronized (MovementInterestRegistry.this.lock) {
+                if (MovementInterestRegistry.this.interests.remove(this)) {
+                    MovementInterestRegistry.this.rebuild();
+                }
+            }
+        }
+
+        private void update() {
+            if (MovementInterestRegistry.this.interests.contains(this)) {
+                MovementInterestRegistry.this.rebuild();
+            }
+        }
+
+    }
+
+}
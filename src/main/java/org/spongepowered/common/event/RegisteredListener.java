@@ -28,15 +28,22 @@
 
 import co.aikar.timings.SpongeTimings;
 import co.aikar.timings.Timing;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.EventListener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
 
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
 
@@ -48,14 +55,22 @@
     private final EventListener<? super T> listener;
 
     private final boolean beforeModifications;
+    private final boolean async;
+    private long sequence;
     private Timing listenerTimer;
 
     RegisteredListener(PluginContainer plugin, Class<T> eventClass, Order order, EventListener<? super T> listener, boolean beforeModifications) {
+        this(plugin, eventClass, order, listener, beforeModifications, false);
+    }
+
+    RegisteredListener(PluginContainer plugin, Class<T> eventClass, Order order, EventListener<? super T> listener, boolean beforeModifications,
+            boolean async) {
         this.plugin = checkNotNull(plugin, "plugin");
         this.eventClass = checkNotNull(eventClass, "eventClass");
         this.order = checkNotNull(order, "order");
         this.listener = checkNotNull(listener, "listener");
         this.beforeModifications = beforeModifications;
+        this.async = async;
     }
 
     public PluginContainer getPlugin() {
@@ -74,6 +89,30 @@ public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
 
+    /**
+     * Gets whether this listener only observes events and is called
+     * asynchronously, after the other listeners of an event finished.
+     *
+     * @return True if the listener is called asynchronously
+     */
+    public boolean isAsync() {
+        return this.async;
+    }
+
+    /**
+     * Gets the position of this listener in the registration order of the
+     * event manager, used to order listeners of the same event type.
+     *
+     * @return The registration sequence number
+     */
+    long getSequence() {
+        return this.sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
     public Timing getTimingsHandler() {
         if (this.listenerTimer == null) {
             this.listenerTimer = SpongeTimings.getPluginTimings(plugin, getHandle().getClass().getSimpleName());
@@ -81,6 +120,10 @@ public Timing getTimingsHandler() {
         return this.listenerTimer;
     }
 
+    public EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
     @Override
     public Object getHandle() {
         if (this.listener instanceof SpongeEventListener) {
@@ -102,31 +145,158 @@ public int compareTo(RegisteredListener<?> handler) {
 
     public static final class Cache {
 
+        private static final Order[] ORDERS = Order.values();
+        // Most event types are only posted a few times, a dispatcher is only
+        // generated for the event types which are posted regularly
+        private static final int DISPATCHER_THRESHOLD = 128;
+
+        private final List<RegisteredListener<?>> allListeners;
         private final List<RegisteredListener<?>> listeners;
+        private final List<RegisteredListener<?>> asyncListeners;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
+        private final EnumMap<Order, List<RegisteredListener<?>>> asyncListenersByOrder;
+        @Nullable private volatile EventDispatcher dispatcher;
+        private int posts;
+        private boolean dispatcherFailed;
 
-        private static final Order[] ORDERS = Order.values();
+        private final List<Class<?>> eventTypes;
 
-        Cache(List<RegisteredListener<?>> listeners) {
-            this.listeners = listeners;
+        /**
+         * Creates a new cache from the given listeners. The listeners are
+         * sorted by their {@link Order}, then by the position of their event
+         * type in the given type hierarchy and finally by their registration
+         * order.
+         *
+         * @param eventTypes The type hierarchy of the event type
+         * @param listeners The listeners
+         */
+        Cache(List<Class<?>> eventTypes, Collection<RegisteredListener<?>> listeners) {
+            this.eventTypes = ImmutableList.copyOf(eventTypes);
+            List<RegisteredListener<?>> sorted = Lists.newArrayList(listeners);
+            sorted.sort(Comparator.<RegisteredListener<?>, Order>comparing(RegisteredListener::getOrder)
+                    .thenComparingInt(handler -> this.eventTypes.indexOf(handler.getEventClass()))
+                    .thenComparingLong(RegisteredListener::getSequence));
+            this.allListeners = ImmutableList.copyOf(sorted);
+
+            ImmutableList.Builder<RegisteredListener<?>> syncBuilder = ImmutableList.builder();
+            ImmutableList.Builder<RegisteredListener<?>> asyncBuilder = ImmutableList.builder();
+            EnumMap<Order, ImmutableList.Builder<RegisteredListener<?>>> builders = Maps.newEnumMap(Order.class);
+            EnumMap<Order, ImmutableList.Builder<RegisteredListener<?>>> asyncBuilders = Maps.newEnumMap(Order.class);
+            for (Order order : ORDERS) {
+                builders.put(order, ImmutableList.<RegisteredListener<?>>builder());
+                asyncBuilders.put(order, ImmutableList.<RegisteredListener<?>>builder());
+            }
+            for (RegisteredListener<?> handler : this.allListeners) {
+                if (handler.isAsync()) {
+                    asyncBuilder.add(handler);
+                    asyncBuilders.get(handler.getOrder()).add(handler);
+                } else {
+                    syncBuilder.add(handler);
+                    builders.get(handler.getOrder()).add(handler);
+                }
+            }
+            this.listeners = syncBuilder.build();
+            this.asyncListeners = asyncBuilder.build();
 
             this.listenersByOrder = Maps.newEnumMap(Order.class);
+            this.asyncListenersByOrder = Maps.newEnumMap(Order.class);
             for (Order order : ORDERS) {
-                this.listenersByOrder.put(order, Lists.<RegisteredListener<?>>newArrayList());
+                this.listenersByOrder.put(order, builders.get(order).build());
+                this.asyncListenersByOrder.put(order, asyncBuilders.get(order).build());
+            }
+        }
+
+        /**
+         * Creates a copy of this cache with the given listeners merged in,
+         * ordered the same way as if the cache was baked from scratch.
+         *
+         * @param added The listeners to add
+         * @return The new cache
+         */
+        Cache with(Collection<RegisteredListener<?>> added) {
+            if (added.isEmpty()) {
+                return this;
             }
-            for (RegisteredListener<?> handler : listeners) {
-                this.listenersByOrder.get(handler.getOrder()).add(handler);
+            List<RegisteredListener<?>> listeners = Lists.newArrayList(this.allListeners);
+            listeners.addAll(added);
+            return new Cache(this.eventTypes, listeners);
+        }
+
+        /**
+         * Creates a copy of this cache without the listeners matching the
+         * given predicate.
+         *
+         * @param removed The predicate matching the listeners to remove
+         * @return The new cache, or this cache if nothing was removed
+         */
+        Cache without(Predicate<RegisteredListener<?>> removed) {
+            ImmutableList.Builder<RegisteredListener<?>> builder = ImmutableList.builder();
+            boolean changed = false;
+            for (RegisteredListener<?> handler : this.allListeners) {
+                if (removed.test(handler)) {
+                    changed = true;
+                } else {
+                    builder.add(handler);
+                }
             }
+            return changed ? new Cache(this.eventTypes, builder.build()) : this;
         }
 
+        /**
+         * Gets the listeners which are called synchronously, sorted by their
+         * {@link Order}.
+         *
+         * @return The synchronous listeners
+         */
         public List<RegisteredListener<?>> getListeners() {
             return this.listeners;
         }
 
+        /**
+         * Gets the listeners which are called asynchronously, after the
+         * synchronous listeners finished.
+         *
+         * @return The asynchronous listeners
+         */
+        public List<RegisteredListener<?>> getAsyncListeners() {
+            return this.asyncListeners;
+        }
+
+        /**
+         * Gets the generated dispatcher for the listeners, generating it once
+         * the event type was posted often enough to be worth it.
+         *
+         * @param factory The factory to generate the dispatcher with
+         * @return The dispatcher, if it was generated
+         */
+        @Nullable
+        EventDispatcher getDispatcher(EventDispatcherFactory factory) {
+            EventDispatcher dispatcher = this.dispatcher;
+            if (dispatcher != null || this.dispatcherFailed || this.listeners.isEmpty()
+                    || this.listeners.size() > EventDispatcherFactory.MAX_LISTENERS) {
+                return dispatcher;
+            }
+            // Racy on purpose, generating a dispatcher twice is harmless
+            if (++this.posts < DISPATCHER_THRESHOLD) {
+                return null;
+            }
+            try {
+                dispatcher = this.dispatcher = factory.create(this.listeners);
+            } catch (Exception e) {
+                this.dispatcherFailed = true;
+                SpongeImpl.getLogger().error("Failed to generate an event dispatcher, falling back to calling the listeners in a loop", e);
+            }
+            return dispatcher;
+        }
+
         public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             return this.listenersByOrder.get(checkNotNull(order, "order"));
         }
 
+        public List<RegisteredListener<?>> getAsyncListenersByOrder(Order order) {
+            return this.asyncListenersByOrder.get(checkNotNull(order, "order"));
+        }
+
     }
 
 }
@@ -549,8 +549,12 @@ private static void handleCustomSlot(EntityPlayerMP player, List<SlotTransaction
     }
 
     @SuppressWarnings("unchecked")
+    @Nullable
     public static CollideEntityEvent callCollideEntityEvent(net.minecraft.world.World world, @Nullable net.minecraft.entity.Entity sourceEntity,
                                                             List<net.minecraft.entity.Entity> entities) {
+        if (!SpongeImpl.hasListeners(CollideEntityEvent.class)) {
+            return null;
+        }
         IMixinWorld spongeWorld = (IMixinWorld) world;
         CauseTracker causeTracker = spongeWorld.getCauseTracker();
         ImmutableList<Entity> originalEntities = ImmutableList.copyOf((List<Entity>) (List<?>) entities);
@@ -593,9 +597,9 @@ public static NotifyNeighborBlockEvent callNotifyNeighborEvent(World world, Bloc
         }
 
         NotifyNeighborBlockEvent event = SpongeEventFactory.createNotifyNeighborBlockEvent(notifyCause != null ? notifyCause : parentCause, originalNeighbors, neighbors);
-        StaticMixinHelper.processingInternalForgeEvent = true;
+        StaticMixinHelper.setProcessingInternalForgeEvent(true);
         SpongeImpl.postEvent(event);
-        StaticMixinHelper.processingInternalForgeEvent = false;
+        StaticMixinHelper.setProcessingInternalForgeEvent(false);
         return event;
     }
 
@@ -699,18 +703,21 @@ public static DropItemEvent.Dispense callDropItemEventDispenseSingle(net.minecra
     }
 
     public static boolean handleCollideBlockEvent(Block block, net.minecraft.world.World world, BlockPos pos, IBlockState state, net.minecraft.entity.Entity entity, Direction direction) {
-        Cause cause = Cause.of(NamedCause.of(NamedCause.PHYSICAL, entity));
         IMixinWorld spongeWorld = (IMixinWorld) world;
         final CauseTracker causeTracker = spongeWorld.getCauseTracker();
-        if (!(entity instanceof EntityPlayer)) {
-            if (causeTracker.hasNotifier()) {
-                cause = cause.with(NamedCause.source(causeTracker.getCurrentNotifier()));
+        boolean cancelled = false;
+        if (SpongeImpl.hasListeners(CollideBlockEvent.class)) {
+            Cause cause = Cause.of(NamedCause.of(NamedCause.PHYSICAL, entity));
+            if (!(entity instanceof EntityPlayer)) {
+                if (causeTracker.hasNotifier()) {
+                    cause = cause.with(NamedCause.source(causeTracker.getCurrentNotifier()));
+                }
             }
-        }
 
-        // TODO: Add target side support
-        CollideBlockEvent event = SpongeEventFactory.createCollideBlockEvent(cause, (BlockState) state, new Location<World>((World) world, VecHelper.toVector(pos)), direction);
-        boolean cancelled = SpongeImpl.postEvent(event);
+            // TODO: Add target side support
+            CollideBlockEvent event = SpongeEventFactory.createCollideBlockEvent(cause, (BlockState) state, new Location<World>((World) world, VecHelper.toVector(pos)), direction);
+            cancelled = SpongeImpl.postEvent(event);
+        }
         if (!cancelled) {
             IMixinEntity spongeEntity = (IMixinEntity) entity;
             if (!pos.equals(spongeEntity.getLastCollidedBlockPos())) {
@@ -941,6 +948,14 @@ public static void handleEntityMovement(net.minecraft.entity.Entity entity) {
         }
         if (entity.lastTickPosX != entity.posX || entity.lastTickPosY != entity.posY || entity.lastTickPosZ != entity.posZ
             || entity.rotationPitch != entity.prevRotationPitch || entity.rotationYaw != entity.prevRotationYaw) {
+            final Class<? extends DisplaceEntityEvent.Move> eventType = entity instanceof Humanoid ? DisplaceEntityEvent.Move.TargetHumanoid.class
+                    : entity instanceof Living ? DisplaceEntityEvent.Move.TargetLiving.class : DisplaceEntityEvent.Move.class;
+            if (!SpongeImpl.hasListeners(eventType)) {
+                return;
+            }
+            if (!((SpongeEventManager) SpongeImpl.getGame().getEventManager()).getMovementInterests().isInterested(eventType, entity)) {
+                return;
+            }
             // yes we have a move event.
             final double currentPosX = entity.posX;
             final double currentPosY = entity.posY;
@@ -1017,21 +1032,22 @@ public static Cause getEntitySpawnCause(net.minecraft.entity.Entity nmsEntity) {
         if (nmsEntity.worldObj.isRemote || nmsEntity instanceof EntityPlayer || causeTracker.isWorldSpawnerRunning()) {
             return Cause.of(NamedCause.source(SpawnCause.builder().type(InternalSpawnTypes.CUSTOM).build()));
         }
-        if (StaticMixinHelper.runningGenerator != null) {
-            PopulatorType type = StaticMixinHelper.runningGenerator;
+        final Optional<PopulatorType> runningGenerator = causeTracker.getRunningGenerator();
+        if (runningGenerator.isPresent()) {
+            PopulatorType type = runningGenerator.get();
             if (InternalPopulatorTypes.ANIMAL.equals(type)) {
                 list.add(NamedCause.source(SpawnCause.builder().type(InternalSpawnTypes.WORLD_SPAWNER).build()));
-                list.add(NamedCause.of("AnimalSpawner", StaticMixinHelper.runningGenerator));
+                list.add(NamedCause.of("AnimalSpawner", type));
             } else {
                 list.add(NamedCause.source(SpawnCause.builder().type(InternalSpawnTypes.STRUCTURE).build()));
-                list.add(NamedCause.of("Structure", StaticMixinHelper.runningGenerator));
+                list.add(NamedCause.of("Structure", type));
             }
         } else {
             final Optional<Entity> currentTickEntity = causeTracker.getCurrentTickEntity();
             final Optional<BlockSnapshot> currentTickBlock = causeTracker.getCurrentTickBlock();
             final Optional<TileEntity> currentTickTileEntity = causeTracker.getCurrentTickTileEntity();
 
-            if (StaticMixinHelper.dispenserDispensing) {
+            if (causeTracker.isDispenserDispensing()) {
                 if (currentTickBlock.isPresent()) {
                     BlockSpawnCause blockSpawnCause = BlockSpawnCause.builder()
                             .block(currentTickBlock.get())
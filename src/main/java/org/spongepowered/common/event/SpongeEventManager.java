@@ -27,24 +27,27 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import co.aikar.timings.TickRecorder;
 import co.aikar.timings.TimingsManager;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.data.Transaction;
 import org.spongepowered.api.event.Cancellable;
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.EventListener;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.entity.SpawnEntityEvent;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.api.event.EventManager;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
 
@@ -53,37 +56,49 @@
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
 public class SpongeEventManager implements EventManager {
 
+    /**
+     * Whether the listener loop is unrolled into generated
+     * {@link EventDispatcher}s for the event types which are posted
+     * regularly. Disabled by default, enabled with
+     * {@code -Dsponge.event.dispatchers=true}.
+     */
+    public static final boolean GENERATE_DISPATCHERS = Boolean.parseBoolean(System.getProperty("sponge.event.dispatchers", "false"));
+
     private final Object lock = new Object();
 
     private final PluginManager pluginManager;
     private final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
+    private final EventDispatcherFactory dispatcherFactory = new EventDispatcherFactory("org.spongepowered.common.event.dispatcher",
+            getClass().getClassLoader());
     private final AnnotatedEventListener.Factory handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
             new FilterFactory("org.spongepowered.common.event.filters", classLoader), classLoader);
-    private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = HashMultimap.create();
+    private final AsyncListenerExecutor asyncListenerExecutor = new AsyncListenerExecutor();
+    private final MovementInterestRegistry movementInterests = new MovementInterestRegistry(this);
+    private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = LinkedHashMultimap.create();
     private final Set<Object> registeredListeners = Sets.newHashSet();
+    private long listenerSequence;
 
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>Every entry is an immutable snapshot which can be read without
+     * locking. If handlers are added or removed, only the entries of the
+     * event types affected by these handlers are replaced.</p>
      */
-    private final LoadingCache<Class<? extends Event>, RegisteredListener.Cache> handlersCache =
-            CacheBuilder.newBuilder().build(new CacheLoader<Class<? extends Event>, RegisteredListener.Cache>() {
-                @Override
-                public RegisteredListener.Cache load(Class<? extends Event> eventClass) throws Exception {
-                    return bakeHandlers(eventClass);
-                }
-            });
+    private final ConcurrentMap<Class<? extends Event>, RegisteredListener.Cache> handlersCache = new ConcurrentHashMap<>();
 
     @Inject
     public SpongeEventManager(PluginManager pluginManager) {
@@ -91,20 +106,47 @@ public SpongeEventManager(PluginManager pluginManager) {
     }
 
     RegisteredListener.Cache bakeHandlers(Class<?> rootEvent) {
+        Set<Class<?>> types = getEventTypes(rootEvent);
+        synchronized (this.lock) {
+            return bakeHandlers(types);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Set<Class<?>> getEventTypes(Class<?> rootEvent) {
+        return (Set) TypeToken.of(rootEvent).getTypes().rawTypes();
+    }
+
+    // Must be called while holding the lock
+    private RegisteredListener.Cache bakeHandlers(Set<Class<?>> types) {
+        List<Class<?>> eventTypes = Lists.newArrayList();
         List<RegisteredListener<?>> handlers = Lists.newArrayList();
-        @SuppressWarnings({"unchecked", "rawtypes"})
-        Set<Class<?>> types = (Set) TypeToken.of(rootEvent).getTypes().rawTypes();
+        for (Class<?> type : types) {
+            if (Event.class.isAssignableFrom(type)) {
+                eventTypes.add(type);
+                handlers.addAll(this.handlersByEvent.get(type));
+            }
+        }
 
-        synchronized (this.lock) {
-            for (Class<?> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    handlers.addAll(this.handlersByEvent.get(type));
+        return new RegisteredListener.Cache(eventTypes, handlers);
+    }
+
+    private RegisteredListener.Cache getHandlerCache(Class<? extends Event> eventClass) {
+        RegisteredListener.Cache cache = this.handlersCache.get(eventClass);
+        if (cache == null) {
+            // The type hierarchy is resolved outside of the lock, but baking and
+            // publishing have to happen under it, otherwise a concurrent
+            // registration could be lost between the two
+            Set<Class<?>> types = getEventTypes(eventClass);
+            synchronized (this.lock) {
+                cache = this.handlersCache.get(eventClass);
+                if (cache == null) {
+                    cache = bakeHandlers(types);
+                    this.handlersCache.put(eventClass, cache);
                 }
             }
         }
-
-        Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        return cache;
     }
 
     private static boolean isValidHandler(Method method) {
@@ -125,17 +167,31 @@ private void register(RegisteredListener<?> handler) {
 
     private void register(List<RegisteredListener<?>> handlers) {
         synchronized (this.lock) {
-            boolean changed = false;
+            List<RegisteredListener<?>> added = Lists.newArrayList();
 
             for (RegisteredListener<?> handler : handlers) {
                 if (this.handlersByEvent.put(handler.getEventClass(), handler)) {
-                    changed = true;
+                    handler.setSequence(this.listenerSequence++);
+                    added.add(handler);
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
+            if (added.isEmpty()) {
+                return;
             }
+
+            for (Map.Entry<Class<? extends Event>, RegisteredListener.Cache> entry : this.handlersCache.entrySet()) {
+                List<RegisteredListener<?>> applicable = Lists.newArrayList();
+                for (RegisteredListener<?> handler : added) {
+                    if (handler.getEventClass().isAssignableFrom(entry.getKey())) {
+                        applicable.add(handler);
+                    }
+                }
+                if (!applicable.isEmpty()) {
+                    this.handlersCache.put(entry.getKey(), entry.getValue().with(applicable));
+                }
+            }
+            this.movementInterests.onListenersChanged();
         }
     }
 
@@ -186,7 +242,21 @@ private static <T extends Event> RegisteredListener<T> createRegistration(Plugin
 
     private static <T extends Event> RegisteredListener<T> createRegistration(PluginContainer plugin, Class<T> eventClass, Order order,
             boolean beforeModifications, EventListener<? super T> handler) {
-        return new RegisteredListener<>(plugin, eventClass, order, handler, beforeModifications);
+        // Listeners called before modifications have to see the event while it is posted
+        boolean async = !beforeModifications && isAsyncListener(plugin, handler);
+        return new RegisteredListener<>(plugin, eventClass, order, handler, beforeModifications, async);
+    }
+
+    private static boolean isAsyncListener(PluginContainer plugin, EventListener<?> handler) {
+        if (!SpongeImpl.isInitialized()) {
+            return false;
+        }
+        List<String> asyncListeners = SpongeImpl.getGlobalConfig().getConfig().getEvents().getAsyncListeners();
+        if (asyncListeners.isEmpty()) {
+            return false;
+        }
+        Object handle = handler instanceof SpongeEventListener ? ((SpongeEventListener<?>) handler).getHandle() : handler;
+        return asyncListeners.contains(plugin.getId()) || asyncListeners.contains(handle.getClass().getName());
     }
 
     private PluginContainer getPlugin(Object plugin) {
@@ -218,20 +288,28 @@ public <T extends Event> void registerListener(Object plugin, Class<T> eventClas
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
         synchronized (this.lock) {
-            boolean changed = false;
+            Set<RegisteredListener<?>> removed = Sets.newIdentityHashSet();
 
             Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
             while (itr.hasNext()) {
                 RegisteredListener<?> handler = itr.next();
                 if (unregister.test(handler)) {
                     itr.remove();
-                    changed = true;
+                    removed.add(handler);
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
+            if (removed.isEmpty()) {
+                return;
+            }
+
+            for (Map.Entry<Class<? extends Event>, RegisteredListener.Cache> entry : this.handlersCache.entrySet()) {
+                RegisteredListener.Cache cache = entry.getValue().without(removed::contains);
+                if (cache != entry.getValue()) {
+                    this.handlersCache.put(entry.getKey(), cache);
+                }
             }
+            this.movementInterests.onListenersChanged();
         }
     }
 
@@ -249,29 +327,154 @@ public void unregisterPluginListeners(Object pluginObj) {
     }
 
     protected RegisteredListener.Cache getHandlerCache(Event event) {
-        return this.handlersCache.getUnchecked(checkNotNull(event, "event").getClass());
+        return getHandlerCache(checkNotNull(event, "event").getClass());
+    }
+
+    /**
+     * Gets whether any listener would receive an event of the given type.
+     * <p>This is a cheap lookup into the baked listener cache and can be used
+     * to avoid constructing events nobody listens to. Implementations which
+     * forward events to additional listeners have to override this.</p>
+     *
+     * @param eventClass The event type
+     * @return True if at least one listener is registered for the event type
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        RegisteredListener.Cache cache = getHandlerCache(checkNotNull(eventClass, "eventClass"));
+        return !cache.getListeners().isEmpty() || !cache.getAsyncListeners().isEmpty();
+    }
+
+    /**
+     * Gets whether any listener of a plugin not matching the given predicate
+     * would receive an event of the given type. Implementations which forward
+     * events to additional listeners have to override this.
+     *
+     * @param eventClass The event type
+     * @param ignoredPlugins The plugins whose listeners are ignored
+     * @return True if at least one other listener is registered for the event
+     *     type
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass, Predicate<PluginContainer> ignoredPlugins) {
+        RegisteredListener.Cache cache = getHandlerCache(checkNotNull(eventClass, "eventClass"));
+        for (RegisteredListener<?> listener : cache.getListeners()) {
+            if (!ignoredPlugins.test(listener.getPlugin())) {
+                return true;
+            }
+        }
+        for (RegisteredListener<?> listener : cache.getAsyncListeners()) {
+            if (!ignoredPlugins.test(listener.getPlugin())) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    @SuppressWarnings("unchecked")
     protected static boolean post(Event event, List<RegisteredListener<?>> handlers) {
+        return post(event, handlers, null);
+    }
+
+    // Worlds ticking in parallel post their events concurrently, see WorldTickExecutor
+    @SuppressWarnings("unchecked")
+    private static boolean post(Event event, List<RegisteredListener<?>> handlers, @Nullable EventDispatcher dispatcher) {
+        long recordStart = TickRecorder.startEventPost();
         TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
-        for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
-            try {
-                handler.getTimingsHandler().startTimingIfSync();
-                handler.handle(event);
-                handler.getTimingsHandler().stopTimingIfSync();
-            } catch (Throwable e) {
-                handler.getTimingsHandler().stopTimingIfSync();
-                SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
+        if (dispatcher != null) {
+            dispatcher.dispatch(event);
+        } else {
+            for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
+                try {
+                    handler.getTimingsHandler().startTimingIfSync();
+                    handler.handle(event);
+                    handler.getTimingsHandler().stopTimingIfSync();
+                } catch (Throwable e) {
+                    handleListenerException(event, handler, e);
+                }
             }
         }
         TimingsManager.PLUGIN_EVENT_HANDLER.stopTimingIfSync();
+        TickRecorder.stopEventPost(recordStart);
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
+    /**
+     * Handles an exception thrown by a listener, called by the generated
+     * {@link EventDispatcher}s.
+     *
+     * @param event The event the listener was called with
+     * @param handler The listener
+     * @param e The exception
+     */
+    public static void handleListenerException(Event event, RegisteredListener<?> handler, Throwable e) {
+        handler.getTimingsHandler().stopTimingIfSync();
+        SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
+    }
+
+    /**
+     * Queues the event for the asynchronous listeners in the cache. Must be
+     * called after the synchronous listeners finished.
+     *
+     * @param event The event
+     * @param cache The listener cache of the event
+     */
+    protected void postAsync(Event event, RegisteredListener.Cache cache) {
+        postAsync(event, cache.getAsyncListeners());
+    }
+
+    /**
+     * Queues the event for the given asynchronous listeners. Must be called
+     * after the synchronous listeners finished.
+     *
+     * <p>The entity list of a {@link SpawnEntityEvent} is filtered and
+     * cleared by the cause tracker after posting the event, so those events
+     * are passed to the asynchronous listeners right away on the posting
+     * thread instead. The tile entity data of the block snapshots of a
+     * {@link ChangeBlockEvent} is copied before the event is queued.</p>
+     *
+     * @param event The event
+     * @param asyncListeners The asynchronous listeners
+     */
+    protected void postAsync(Event event, List<RegisteredListener<?>> asyncListeners) {
+        if (asyncListeners.isEmpty()) {
+            return;
+        }
+        if (event instanceof SpawnEntityEvent) {
+            post(event, asyncListeners);
+            return;
+        }
+        if (event instanceof ChangeBlockEvent) {
+            for (Transaction<BlockSnapshot> transaction : ((ChangeBlockEvent) event).getTransactions()) {
+                loadTileData(transaction.getOriginal());
+                loadTileData(transaction.getFinal());
+            }
+        }
+        this.asyncListenerExecutor.post(event, asyncListeners);
+    }
+
+    private static void loadTileData(BlockSnapshot snapshot) {
+        if (snapshot instanceof SpongeBlockSnapshot) {
+            ((SpongeBlockSnapshot) snapshot).loadTileData();
+        }
+    }
+
+    public AsyncListenerExecutor getAsyncListenerExecutor() {
+        return this.asyncListenerExecutor;
+    }
+
+    public MovementInterestRegistry getMovementInterests() {
+        return this.movementInterests;
+    }
+
     @Override
     public boolean post(Event event) {
-        return post(event, getHandlerCache(event).getListeners());
+        RegisteredListener.Cache cache = getHandlerCache(event);
+        boolean cancelled;
+        if (GENERATE_DISPATCHERS) {
+            cancelled = post(event, cache.getListeners(), cache.getDispatcher(this.dispatcherFactory));
+        } else {
+            cancelled = post(event, cache.getListeners());
+        }
+        postAsync(event, cache);
+        return cancelled;
     }
     
     public boolean post(Event event, boolean allowClientThread) {
@@ -279,7 +482,10 @@ public boolean post(Event event, boolean allowClientThread) {
     }
 
     public boolean post(Event event, Order order) {
-        return post(event, getHandlerCache(event).getListenersByOrder(order));
+        RegisteredListener.Cache cache = getHandlerCache(event);
+        boolean cancelled = post(event, cache.getListenersByOrder(order));
+        postAsync(event, cache.getAsyncListenersByOrder(order));
+        return cancelled;
     }
 
 }
@@ -30,8 +30,11 @@
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.manipulator.DataManipulator;
+import org.spongepowered.common.block.LazyTileData;
 import org.spongepowered.common.data.util.NbtDataUtil;
 
+import javax.annotation.Nullable;
+
 public interface IMixinTileEntity {
 
     /**
@@ -86,6 +89,16 @@ default NBTTagCompound getSpongeData() {
 
     boolean isVanilla();
 
+    /**
+     * Gets the lazily copied data shared by the block snapshots captured
+     * since this tile entity was last marked dirty.
+     *
+     * @return The lazy tile data, or null if there is none
+     */
+    @Nullable LazyTileData getLazyTileData();
+
+    void setLazyTileData(@Nullable LazyTileData data);
+
     // Timings
     Timing getTimingsHandler();
 }
@@ -25,6 +25,7 @@
 package org.spongepowered.common.interfaces.world;
 
 import net.minecraft.world.World;
+import org.spongepowered.common.world.storage.ChunkExistenceIndex;
 
 import java.nio.file.Path;
 
@@ -35,4 +36,19 @@ public interface IMixinAnvilChunkLoader {
 
     Path getWorldDir();
 
+    /**
+     * Gets the amount of serialized chunks waiting to be written to their
+     * region file.
+     *
+     * @return The amount of pending writes
+     */
+    int getPendingChunkWrites();
+
+    /**
+     * Gets the index of the chunks that have been generated in the world.
+     *
+     * @return The chunk existence index
+     */
+    ChunkExistenceIndex getChunkExistenceIndex();
+
 }
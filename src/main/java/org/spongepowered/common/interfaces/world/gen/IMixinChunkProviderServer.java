@@ -24,7 +24,12 @@
  */
 package org.spongepowered.common.interfaces.world.gen;
 
+import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
 
@@ -41,4 +46,32 @@ public interface IMixinChunkProviderServer {
     @Nullable
     Chunk getChunkIfLoaded(int x, int z);
 
+    /**
+     * Queues all loaded chunks to be saved over the next ticks, within the
+     * per-tick budget of the world config. Queued saves are dropped once all
+     * chunks are saved at once.
+     */
+    void queueChunkSaves();
+
+    IChunkLoader getChunkLoader();
+
+    /**
+     * Gets the amount of chunks which are queued to be saved.
+     *
+     * @return The amount of queued chunks
+     */
+    int getQueuedChunkSaves();
+
+    /**
+     * Gets which chunks in the given range have been generated, answered
+     * from the in memory index of the world wherever possible. The bit of a
+     * chunk is at {@code (x - min.getX()) + (z - min.getZ()) * (max.getX() -
+     * min.getX() + 1)}.
+     *
+     * @param min The minimum chunk coordinates
+     * @param max The maximum chunk coordinates, inclusive
+     * @return The generated chunks
+     */
+    CompletableFuture<BitSet> doesChunkExist(Vector3i min, Vector3i max);
+
 }
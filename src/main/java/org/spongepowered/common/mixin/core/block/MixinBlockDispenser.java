@@ -45,7 +45,7 @@
 import org.spongepowered.common.data.manipulator.immutable.block.ImmutableSpongeDirectionalData;
 import org.spongepowered.common.data.util.DirectionChecker;
 import org.spongepowered.common.data.util.DirectionResolver;
-import org.spongepowered.common.util.StaticMixinHelper;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
 
 import java.util.Optional;
 import java.util.Random;
@@ -86,12 +86,12 @@ private ImmutableDirectionalData getDirectionalData(IBlockState blockState) {
 
     @Inject(method = "updateTick", at = @At(value = "INVOKE", target = "Lnet/minecraft/block/BlockDispenser;dispense(Lnet/minecraft/world/World;Lnet/minecraft/util/BlockPos;)V"))
     private void onDispenseHead(World worldIn, BlockPos pos, IBlockState state, Random rand, CallbackInfo callbackInfo) {
-        StaticMixinHelper.dispenserDispensing = true;
+        ((IMixinWorld) worldIn).getCauseTracker().setDispenserDispensing(true);
     }
 
     @Inject(method = "updateTick", at = @At(value = "INVOKE", target = "Lnet/minecraft/block/BlockDispenser;dispense(Lnet/minecraft/world/World;Lnet/minecraft/util/BlockPos;)V", shift = At.Shift.AFTER))
     private void onDispenseReturn(World worldIn, BlockPos pos, IBlockState state, Random rand, CallbackInfo callbackInfo) {
-        StaticMixinHelper.dispenserDispensing = false;
+        ((IMixinWorld) worldIn).getCauseTracker().setDispenserDispensing(false);
     }
 
 }
@@ -132,6 +132,7 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.world.DimensionManager;
+import org.spongepowered.common.world.WorldTickExecutor;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -162,6 +163,8 @@ public abstract class MixinEntity implements Entity, IMixinEntity {
     @Nullable private DamageSource originalLava;
     protected boolean isConstructing = true;
     @Nullable private Text displayName;
+    // Set while the display name updates the custom name tag
+    private boolean skipDisplayNameUpdate;
     protected DamageSource lastDamageSource;
     protected Cause destructCause;
     private BlockState currentCollidingBlock;
@@ -423,6 +426,24 @@ public boolean setLocation(Location<World> location) {
             this.mcEntity.rotationYaw = (float) event.getToTransform().getYaw();
         }
 
+        if (location.getExtent() != this.worldObj) {
+            // Moving to another world is serialized at the end of the tick when worlds tick in parallel.
+            // The teleport event was posted already, so the result is accurate but the entity only
+            // changes world once all worlds finished ticking.
+            final Location<World> target = location;
+            if (WorldTickExecutor.defer(() -> moveToLocation(target))) {
+                return true;
+            }
+        }
+        moveToLocation(location);
+        return true;
+    }
+
+    private void moveToLocation(Location<World> location) {
+        if (isRemoved()) {
+            return;
+        }
+
         // detach passengers
         net.minecraft.entity.Entity passenger = this.mcEntity.riddenByEntity;
         ArrayDeque<net.minecraft.entity.Entity> passengers = new ArrayDeque<>();
@@ -476,8 +497,6 @@ public boolean setLocation(Location<World> location) {
             }
             lastPassenger = passengerEntity;
         }
-
-        return true;
     }
 
     // always use these methods internally when setting locations from a transform or location
@@ -637,6 +656,11 @@ public boolean setTransform(Transform<World> transform) {
     public boolean transferToWorld(String worldName, Vector3d position) {
         checkNotNull(worldName, "World name was null!");
         checkNotNull(position, "Position was null!");
+        // Transfers are serialized at the end of the tick when worlds tick in parallel, the result
+        // then only reflects that the transfer was scheduled
+        if (WorldTickExecutor.defer(() -> transferToWorld(worldName, position))) {
+            return true;
+        }
         Optional<WorldProperties> props = WorldPropertyRegistryModule.getInstance().getWorldProperties(worldName);
         if (props.isPresent()) {
             if (props.get().isEnabled()) {
@@ -877,6 +901,10 @@ public boolean teleportEntity(net.minecraft.entity.Entity entity, Location<World
     @Overwrite
     public void travelToDimension(int toDimensionId)
     {
+        // Changing dimension is serialized at the end of the tick when worlds tick in parallel
+        if (WorldTickExecutor.defer(() -> this.travelToDimension(toDimensionId))) {
+            return;
+        }
         if (!this.worldObj.isRemote && !this.isDead)
         {
             // handle portal event
@@ -1328,19 +1356,19 @@ public Text getDisplayNameText() {
     public void setDisplayName(@Nullable Text displayName) {
         this.displayName = displayName;
 
-        StaticMixinHelper.setCustomNameTagSkip = true;
+        this.skipDisplayNameUpdate = true;
         if (this.displayName == null) {
             this.setCustomNameTag("");
         } else {
             this.setCustomNameTag(SpongeTexts.toLegacy(this.displayName));
         }
 
-        StaticMixinHelper.setCustomNameTagSkip = false;
+        this.skipDisplayNameUpdate = false;
     }
 
     @Inject(method = "setCustomNameTag", at = @At("RETURN"))
     public void onSetCustomNameTag(String name, CallbackInfo ci) {
-        if (!StaticMixinHelper.setCustomNameTagSkip) {
+        if (!this.skipDisplayNameUpdate) {
             this.displayName = SpongeTexts.fromLegacy(name);
         }
     }
@@ -139,6 +139,7 @@
 import org.spongepowered.common.util.LanguageUtil;
 import org.spongepowered.common.util.SkinUtil;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.WorldTickExecutor;
 import org.spongepowered.common.world.storage.SpongePlayerDataHandler;
 
 import java.time.Instant;
@@ -281,6 +282,11 @@ public void onDeath(DamageSource cause) {
      */
     @Overwrite
     public void travelToDimension(int dimensionId) {
+        // Changing dimension is serialized at the end of the tick when worlds tick in parallel
+        final int targetDimensionId = dimensionId;
+        if (WorldTickExecutor.defer(() -> this.travelToDimension(targetDimensionId))) {
+            return;
+        }
         // If leaving The End via End's Portal
         if (this.worldObj.provider instanceof WorldProviderEnd && dimensionId == 1) {
             this.worldObj.removeEntity(this.mcPlayer);
@@ -90,6 +90,7 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.interfaces.IMixinCommandSender;
 import org.spongepowered.common.interfaces.IMixinCommandSource;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
@@ -98,15 +99,18 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
 import org.spongepowered.common.interfaces.world.IMixinWorldSettings;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.profile.SpongeProfileManager;
 import org.spongepowered.common.registry.type.world.DimensionRegistryModule;
 import org.spongepowered.common.registry.type.world.WorldPropertyRegistryModule;
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
+import org.spongepowered.common.service.user.SpongeUserStorageService;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.ServerUtils;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.world.DimensionManager;
+import org.spongepowered.common.world.WorldTickExecutor;
 import org.spongepowered.common.world.SpongeDimensionType;
 import org.spongepowered.common.world.WorldMigrator;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
@@ -325,6 +329,16 @@ public void shutdown(Text kickMessage) {
     @Inject(method = "stopServer()V", at = @At("HEAD"))
     public void onServerStopping(CallbackInfo ci) {
         ((MinecraftServer) (Object) this).getPlayerProfileCache().save();
+        if (this.profileManager != null) {
+            ((SpongeProfileManager) this.profileManager).save();
+        }
+    }
+
+    @Inject(method = "stopServer()V", at = @At("RETURN"))
+    public void onServerStopped(CallbackInfo ci) {
+        // The listeners of the events posted while stopping had their chance
+        ((SpongeEventManager) SpongeImpl.getGame().getEventManager()).getAsyncListenerExecutor().shutdown();
+        SpongeUserStorageService.closeUserIndex();
     }
 
     /**
@@ -478,6 +492,7 @@ protected void loadAllWorlds(String overworldFolder, String worldName, long seed
         this.serverConfigManager.setPlayerManager(new WorldServer[]{DimensionManager.getWorldFromDimId(0)});
         this.setDifficultyForAllWorlds(this.getDifficulty());
         this.initialWorldChunkLoad();
+        SpongeUserStorageService.loadUserIndex();
     }
 
     /**
@@ -671,6 +686,7 @@ public Optional<World> loadWorld(String worldName) {
         if (optExisting.isPresent()) {
             return optExisting;
         }
+        WorldTickExecutor.checkNotWorldTickThread("load a world");
 
         if (!getAllowNether() && !worldName.equals(getFolderName())) {
             SpongeImpl.getLogger().error("Unable to load world " + worldName + ". Multi-world is disabled via allow-nether.");
@@ -847,6 +863,10 @@ public boolean unloadWorld(World world) {
             if (!worldServer.playerEntities.isEmpty()) {
                 return false;
             }
+            // Unloading is serialized at the end of the tick when worlds tick in parallel
+            if (WorldTickExecutor.defer(() -> unloadWorld(world))) {
+                return true;
+            }
 
             Sponge.getEventManager().post(SpongeEventFactory.createUnloadWorldEvent(Cause.of(NamedCause.source(this)), world));
 
@@ -1153,6 +1173,16 @@ protected void saveAllWorlds(boolean dontLog)
 
                     try
                     {
+                        // Sponge start - spread auto-saves over several ticks if configured
+                        if (this.isDedicatedServer() && !this.serverStopped
+                                && ((IMixinWorld) worldserver).getActiveConfig().getConfig().getWorld().getAutoSaveChunksPerTick() > 0) {
+                            // Saves the level data and a first batch of chunks, the
+                            // chunk provider saves the remaining chunks over the next ticks
+                            worldserver.saveAllChunks(false, (IProgressUpdate)null);
+                            ((IMixinChunkProviderServer) worldserver.theChunkProviderServer).queueChunkSaves();
+                            continue;
+                        }
+                        // Sponge end
                         worldserver.saveAllChunks(true, (IProgressUpdate)null);
                     }
                     catch (MinecraftException minecraftexception)
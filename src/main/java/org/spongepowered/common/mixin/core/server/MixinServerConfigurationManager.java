@@ -106,6 +106,8 @@
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.entity.player.IMixinEntityPlayer;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
+import org.spongepowered.common.service.user.SpongeUserStorageService;
+import org.spongepowered.common.service.user.UserIndex;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.DimensionManager;
@@ -229,6 +231,8 @@ public void initializeConnectionToPlayer(NetworkManager netManager, EntityPlayer
         Optional<Instant> firstJoined = SpongePlayerDataHandler.getFirstJoined(playerIn.getUniqueID());
         Instant lastJoined = Instant.now();
         SpongePlayerDataHandler.setPlayerInfo(playerIn.getUniqueID(), firstJoined.orElse(lastJoined), lastJoined);
+        SpongeUserStorageService.updateUserIndex(index ->
+                index.add(playerIn.getUniqueID(), gameprofile.getName(), UserIndex.STORED, lastJoined.toEpochMilli()));
 
         double x = loginEvent.getToTransform().getPosition().getX();
         double y = loginEvent.getToTransform().getPosition().getY();
@@ -680,6 +684,8 @@ private void onPlayerLogOut(EntityPlayerMP player, CallbackInfo ci) {
         NBTTagCompound nbt = new NBTTagCompound();
         player.writeToNBT(nbt);
         ((SpongeUser) ((IMixinEntityPlayerMP) player).getUserObject()).readFromNbt(nbt);
+        SpongeUserStorageService.updateUserIndex(index ->
+                index.add(player.getUniqueID(), player.getName(), UserIndex.STORED, System.currentTimeMillis()));
 
         // Remove player reference from scoreboard
         ((IMixinServerScoreboard) ((Player) player).getScoreboard()).removePlayer(player, false);
@@ -69,8 +69,10 @@ public abstract class MixinPlayerProfileCache implements GameProfileCache {
     @Nullable @Shadow public abstract com.mojang.authlib.GameProfile getProfileByUUID(UUID uniqueId);
     @Shadow public abstract void save();
 
+    // The entries are guarded by this cache, the profile resolver may look
+    // several batches up at the same time
     @Override
-    public boolean add(GameProfile profile, boolean overwrite, @Nullable Date expiry) {
+    public synchronized boolean add(GameProfile profile, boolean overwrite, @Nullable Date expiry) {
         checkNotNull(profile, "profile");
 
         // Don't attempt to overwrite entries if we aren't requested to do so
@@ -84,12 +86,12 @@ public boolean add(GameProfile profile, boolean overwrite, @Nullable Date expiry
     }
 
     @Override
-    public Optional<GameProfile> getById(UUID uniqueId) {
+    public synchronized Optional<GameProfile> getById(UUID uniqueId) {
         return Optional.ofNullable((GameProfile) this.getProfileByUUID(checkNotNull(uniqueId, "unique id")));
     }
 
     @Override
-    public Map<UUID, Optional<GameProfile>> getByIds(Iterable<UUID> uniqueIds) {
+    public synchronized Map<UUID, Optional<GameProfile>> getByIds(Iterable<UUID> uniqueIds) {
         checkNotNull(uniqueIds, "unique ids");
 
         Map<UUID, Optional<GameProfile>> result = Maps.newHashMap();
@@ -107,7 +109,9 @@ public Optional<GameProfile> lookupById(UUID uniqueId) {
 
         com.mojang.authlib.GameProfile profile = this.getServer().getMinecraftSessionService().fillProfileProperties(new com.mojang.authlib.GameProfile(uniqueId, ""), true);
         if (profile != null && profile.getName() != null && !profile.getName().isEmpty()) {
-            this.addEntry(profile, null);
+            synchronized (this) {
+                this.addEntry(profile, null);
+            }
             return Optional.of((GameProfile) profile);
         } else {
             return Optional.empty();
@@ -124,7 +128,9 @@ public Map<UUID, Optional<GameProfile>> lookupByIds(Iterable<UUID> uniqueIds) {
         for (UUID uniqueId : uniqueIds) {
             com.mojang.authlib.GameProfile profile = service.fillProfileProperties(new com.mojang.authlib.GameProfile(uniqueId, ""), true);
             if (profile != null && profile.getName() != null && !profile.getName().isEmpty()) {
-                this.addEntry(profile, null);
+                synchronized (this) {
+                    this.addEntry(profile, null);
+                }
                 result.put(uniqueId, Optional.of((GameProfile) profile));
             } else {
                 result.put(uniqueId, Optional.empty());
@@ -163,12 +169,12 @@ public Map<UUID, Optional<GameProfile>> getOrLookupByIds(Iterable<UUID> uniqueId
     }
 
     @Override
-    public Optional<GameProfile> getByName(String name) {
+    public synchronized Optional<GameProfile> getByName(String name) {
         return Optional.ofNullable((GameProfile) this.getByNameNoLookup(checkNotNull(name, "name")));
     }
 
     @Override
-    public Map<String, Optional<GameProfile>> getByNames(Iterable<String> names) {
+    public synchronized Map<String, Optional<GameProfile>> getByNames(Iterable<String> names) {
         checkNotNull(names, "names");
 
         Map<String, Optional<GameProfile>> result = Maps.newHashMap();
@@ -188,7 +194,9 @@ public Optional<GameProfile> lookupByName(String name) {
 
         Optional<GameProfile> profile = callback.getResult();
         if (profile.isPresent()) {
-            this.addEntry((com.mojang.authlib.GameProfile) profile.get(), null);
+            synchronized (this) {
+                this.addEntry((com.mojang.authlib.GameProfile) profile.get(), null);
+            }
         }
 
         return profile;
@@ -203,9 +211,11 @@ public Map<String, Optional<GameProfile>> lookupByNames(Iterable<String> names)
         this.getServer().getGameProfileRepository().findProfilesByNames(Iterables.toArray(names, String.class), Agent.MINECRAFT, new MapProfileLookupCallback(result));
 
         if (!result.isEmpty()) {
-            for (Optional<GameProfile> entry : result.values()) {
-                if (entry.isPresent()) {
-                    this.addEntry((com.mojang.authlib.GameProfile) entry.get(), null);
+            synchronized (this) {
+                for (Optional<GameProfile> entry : result.values()) {
+                    if (entry.isPresent()) {
+                        this.addEntry((com.mojang.authlib.GameProfile) entry.get(), null);
+                    }
                 }
             }
             return ImmutableMap.copyOf(result);
@@ -253,7 +263,7 @@ public Optional<GameProfile> fillProfile(GameProfile profile, boolean signed) {
     }
 
     @Override
-    public Collection<GameProfile> getProfiles() {
+    public synchronized Collection<GameProfile> getProfiles() {
         return this.usernameToProfileEntryMap.values().stream()
                 .map(entry -> (GameProfile) entry.getGameProfile())
                 .collect(GuavaCollectors.toImmutableSet());
@@ -284,7 +294,7 @@ private static void onGetGameProfile(GameProfileRepository repository, String[]
     }
 
     @Nullable
-    public com.mojang.authlib.GameProfile getByNameNoLookup(String username) {
+    public synchronized com.mojang.authlib.GameProfile getByNameNoLookup(String username) {
         @Nullable IMixinPlayerProfileCacheEntry entry = this.usernameToProfileEntryMap.get(username.toLowerCase(Locale.ROOT));
 
         if (entry != null && System.currentTimeMillis() >= entry.getExpirationDate().getTime()) {
@@ -53,6 +53,7 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.block.LazyTileData;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.common.data.type.SpongeTileEntityType;
 import org.spongepowered.common.data.util.DataQueries;
@@ -69,6 +70,8 @@
 import java.util.Collection;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 @NonnullByDefault
 @Mixin(net.minecraft.tileentity.TileEntity.class)
 @Implements(@Interface(iface = IMixinTileEntity.class, prefix = "tile$"))
@@ -78,6 +81,7 @@ public abstract class MixinTileEntity implements TileEntity, IMixinTileEntity {
     // uses different name to not clash with SpongeForge
     private final boolean isTileVanilla = getClass().getName().startsWith("net.minecraft.");
     private Timing timing;
+    @Nullable private LazyTileData lazyTileData;
 
     @Shadow protected boolean tileEntityInvalid;
     @Shadow protected net.minecraft.world.World worldObj;
@@ -96,6 +100,12 @@ public abstract class MixinTileEntity implements TileEntity, IMixinTileEntity {
 
     @Inject(method = "markDirty", at = @At(value = "HEAD"))
     public void onMarkDirty(CallbackInfo ci) {
+        if (this.lazyTileData != null) {
+            // Copy the data for the snapshots captured so far while still on
+            // the owning thread, snapshots captured from now on get new data
+            this.lazyTileData.load();
+            this.lazyTileData = null;
+        }
         if (this.worldObj != null && !this.worldObj.isRemote) {
             IMixinWorld world = (IMixinWorld) this.worldObj;
             // This handles transfers to this TE from a source such as a Hopper
@@ -197,6 +207,21 @@ public void onWriteToNBT(NBTTagCompound compound, CallbackInfo ci) {
         this.writeToNbt(this.getSpongeData());
     }
 
+    @Inject(method = "invalidate", at = @At("HEAD"))
+    public void onInvalidate(CallbackInfo ci) {
+        if (this.lazyTileData != null) {
+            this.lazyTileData.load();
+        }
+    }
+
+    @Inject(method = "Lnet/minecraft/tileentity/TileEntity;readFromNBT(Lnet/minecraft/nbt/NBTTagCompound;)V", at = @At("HEAD"))
+    public void onReadFromNBTHead(NBTTagCompound compound, CallbackInfo ci) {
+        // The captured snapshots have to keep the data from before it is overwritten
+        if (this.lazyTileData != null) {
+            this.lazyTileData.load();
+        }
+    }
+
     /**
      * Hooks into vanilla's readFromNBT to call {@link #readFromNbt}.
      * <p>
@@ -270,6 +295,17 @@ public void supplyVanillaManipulators(List<DataManipulator<?, ?>> manipulators)
         return list;
     }
 
+    @Nullable
+    @Override
+    public LazyTileData getLazyTileData() {
+        return this.lazyTileData;
+    }
+
+    @Override
+    public void setLazyTileData(@Nullable LazyTileData data) {
+        this.lazyTileData = data;
+    }
+
     @Override
     public boolean isVanilla() {
         return this.isTileVanilla;
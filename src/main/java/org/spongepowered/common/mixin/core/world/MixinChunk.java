@@ -31,7 +31,6 @@
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.base.Predicate;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -83,6 +82,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerMap;
 import org.spongepowered.common.event.CauseTracker;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.interfaces.IMixinChunk;
@@ -111,21 +111,17 @@
 @Mixin(net.minecraft.world.chunk.Chunk.class)
 public abstract class MixinChunk implements Chunk, IMixinChunk {
 
-    public Map<Integer, PlayerTracker> trackedIntBlockPositions = Maps.newHashMap();
-    public Map<Short, PlayerTracker> trackedShortBlockPositions = Maps.newHashMap();
+    public PlayerTrackerMap trackedBlockPositions = new PlayerTrackerMap();
     private Cause populateCause;
     private org.spongepowered.api.world.World world;
     private UUID uuid;
     private Chunk[] neighbors = new Chunk[4];
 
     private static final int NUM_XZ_BITS = 4;
-    private static final int NUM_SHORT_Y_BITS = 8;
     private static final int NUM_INT_Y_BITS = 24;
     private static final int Y_SHIFT = NUM_XZ_BITS;
-    private static final int Z_SHORT_SHIFT = Y_SHIFT + NUM_SHORT_Y_BITS;
     private static final int Z_INT_SHIFT = Y_SHIFT + NUM_INT_Y_BITS;
     private static final short XZ_MASK = 0xF;
-    private static final short Y_SHORT_MASK = 0xFF;
     private static final int Y_INT_MASK = 0xFFFFFF;
 
     private static final Vector2i BIOME_SIZE = SpongeChunkLayout.CHUNK_SIZE.toVector2(true);
@@ -411,7 +407,7 @@ public MutableBlockVolumeWorker<? extends Chunk> getBlockWorker() {
     public void onGetEntitiesWithinAABBForEntity(Entity entityIn, AxisAlignedBB aabb, List<Entity> listToFill, Predicate<Entity> p_177414_4_,
             CallbackInfo ci) {
         final CauseTracker causeTracker = ((IMixinWorld) this.worldObj).getCauseTracker();
-        if (this.worldObj.isRemote || causeTracker.getCurrentCause() == null || !causeTracker.isCapturingBlocks()) {
+        if (this.worldObj.isRemote || !causeTracker.isCapturingBlocks() || !causeTracker.hasCurrentCause()) {
             return;
         }
 
@@ -434,7 +430,7 @@ public void onGetEntitiesWithinAABBForEntity(Entity entityIn, AxisAlignedBB aabb
     public void onGetEntitiesOfTypeWithinAAAB(Class<? extends Entity> entityClass, AxisAlignedBB aabb, List listToFill, Predicate<Entity> p_177430_4_,
             CallbackInfo ci) {
         final CauseTracker causeTracker = ((IMixinWorld) this.worldObj).getCauseTracker();
-        if (this.worldObj.isRemote || causeTracker.getCurrentCause() == null || !causeTracker.isCapturingBlocks()) {
+        if (this.worldObj.isRemote || !causeTracker.isCapturingBlocks() || !causeTracker.hasCurrentCause()) {
             return;
         }
 
@@ -607,169 +603,69 @@ public void addTrackedBlockPosition(Block block, BlockPos pos, User user, Player
             SpongeHooks.logBlockTrack(this.worldObj, block, pos, user, false);
         }
 
-        if (pos.getY() <= 255) {
-            short blockPos = blockPosToShort(pos);
-            if (this.trackedShortBlockPositions.get(blockPos) != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    this.trackedShortBlockPositions.get(blockPos).ownerIndex =
-                            ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                    this.trackedShortBlockPositions.get(blockPos).notifierIndex =
-                            ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                } else {
-                    this.trackedShortBlockPositions.get(blockPos).notifierIndex =
-                            ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                }
+        int blockPos = blockPosToInt(pos);
+        int index = ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
+        if (trackerType == PlayerTracker.Type.OWNER) {
+            // A new owner of an already tracked block is its notifier as well
+            if (this.trackedBlockPositions.contains(blockPos)) {
+                this.trackedBlockPositions.set(blockPos, index, index);
             } else {
-                this.trackedShortBlockPositions.put(blockPos,
-                        new PlayerTracker(((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId()), trackerType));
+                this.trackedBlockPositions.setOwner(blockPos, index);
             }
         } else {
-            int blockPos = blockPosToInt(pos);
-            if (this.trackedIntBlockPositions.get(blockPos) != null) {
-                if (trackerType == PlayerTracker.Type.OWNER) {
-                    this.trackedIntBlockPositions.get(blockPos).ownerIndex =
-                            ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                } else {
-                    this.trackedIntBlockPositions.get(blockPos).notifierIndex =
-                            ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId());
-                }
-            } else {
-                this.trackedIntBlockPositions.put(blockPos,
-                        new PlayerTracker(((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(user.getUniqueId()), trackerType));
-            }
+            this.trackedBlockPositions.setNotifier(blockPos, index);
         }
     }
 
     @Override
-    public Map<Integer, PlayerTracker> getTrackedIntPlayerPositions() {
-        return this.trackedIntBlockPositions;
-    }
-
-    @Override
-    public Map<Short, PlayerTracker> getTrackedShortPlayerPositions() {
-        return this.trackedShortBlockPositions;
+    public PlayerTrackerMap getTrackedPlayerPositions() {
+        return this.trackedBlockPositions;
     }
 
     @Override
     public Optional<User> getBlockOwner(BlockPos pos) {
-        if (this.trackedIntBlockPositions.get(blockPosToInt(pos)) != null) {
-            PlayerTracker tracker = this.trackedIntBlockPositions.get(blockPosToInt(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.ownerIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get or create user from storage
-                return Optional.of(this.userForUUID(uuid.get()));
-            }
-        } else if (this.trackedShortBlockPositions.get(blockPosToShort(pos)) != null) {
-            PlayerTracker tracker = this.trackedShortBlockPositions.get(blockPosToShort(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.ownerIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get or create user from storage
-                return Optional.of(this.userForUUID(uuid.get()));
-            }
-        }
-
-        return Optional.empty();
+        return this.userForIndex(this.trackedBlockPositions.getOwner(blockPosToInt(pos)));
     }
 
     @Override
     public Optional<User> getBlockNotifier(BlockPos pos) {
-        if (this.trackedIntBlockPositions.get(blockPosToInt(pos)) != null) {
-            PlayerTracker tracker = this.trackedIntBlockPositions.get(blockPosToInt(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.notifierIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get or create user from storage
-                return Optional.of(this.userForUUID(uuid.get()));
-            }
-        } else if (this.trackedShortBlockPositions.get(blockPosToShort(pos)) != null) {
-            PlayerTracker tracker = this.trackedShortBlockPositions.get(blockPosToShort(pos));
-            Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(tracker.notifierIndex));
-            if (uuid.isPresent()) {
-                // get player if online
-                EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
-                if (player != null) {
-                    return Optional.of((User) player);
-                }
-                // player is not online, get or create user from storage
-                return Optional.of(this.userForUUID(uuid.get()));
+        return this.userForIndex(this.trackedBlockPositions.getNotifier(blockPosToInt(pos)));
+    }
+
+    private Optional<User> userForIndex(int index) {
+        if (index == -1) {
+            return Optional.empty();
+        }
+        Optional<UUID> uuid = (((IMixinWorldInfo) this.worldObj.getWorldInfo()).getUniqueIdForIndex(index));
+        if (uuid.isPresent()) {
+            // get player if online
+            EntityPlayer player = this.worldObj.getPlayerEntityByUUID(uuid.get());
+            if (player != null) {
+                return Optional.of((User) player);
             }
+            // player is not online, get or create user from storage
+            return Optional.of(this.userForUUID(uuid.get()));
         }
-
         return Optional.empty();
     }
 
     // Special setter used by API
     @Override
     public void setBlockNotifier(BlockPos pos, UUID uuid) {
-        if (pos.getY() <= 255) {
-            short blockPos = blockPosToShort(pos);
-            if (this.trackedShortBlockPositions.get(blockPos) != null) {
-                this.trackedShortBlockPositions.get(blockPos).notifierIndex = uuid == null ? -1 :
-                        ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedShortBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
-        } else {
-            int blockPos = blockPosToInt(pos);
-            if (this.trackedIntBlockPositions.get(blockPos) != null) {
-                this.trackedIntBlockPositions.get(blockPos).notifierIndex = uuid == null ? -1 :
-                        ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(uuid);
-            } else {
-                this.trackedIntBlockPositions.put(blockPos,
-                        new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(uuid),
-                                PlayerTracker.Type.NOTIFIER));
-            }
-        }
+        this.trackedBlockPositions.setNotifier(blockPosToInt(pos), uuid == null ? -1 :
+                ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(uuid));
     }
 
     // Special setter used by API
     @Override
     public void setBlockCreator(BlockPos pos, UUID uuid) {
-        if (pos.getY() <= 255) {
-            short blockPos = blockPosToShort(pos);
-            if (this.trackedShortBlockPositions.get(blockPos) != null) {
-                this.trackedShortBlockPositions.get(blockPos).ownerIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.worldObj.getWorldInfo())
-                        .getIndexForUniqueId(uuid);
-            } else {
-                this.trackedShortBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.worldObj.getWorldInfo())
-                        .getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
-        } else {
-            int blockPos = blockPosToInt(pos);
-            if (this.trackedIntBlockPositions.get(blockPos) != null) {
-                this.trackedIntBlockPositions.get(blockPos).ownerIndex = uuid == null ? -1 : ((IMixinWorldInfo) this.worldObj.getWorldInfo())
-                        .getIndexForUniqueId(uuid);
-            } else {
-                this.trackedIntBlockPositions.put(blockPos, new PlayerTracker(uuid == null ? -1 : ((IMixinWorldInfo) this.worldObj.getWorldInfo())
-                        .getIndexForUniqueId(uuid), PlayerTracker.Type.OWNER));
-            }
-        }
-    }
-
-    @Override
-    public void setTrackedIntPlayerPositions(Map<Integer, PlayerTracker> trackedPositions) {
-        this.trackedIntBlockPositions = trackedPositions;
+        this.trackedBlockPositions.setOwner(blockPosToInt(pos), uuid == null ? -1 :
+                ((IMixinWorldInfo) this.worldObj.getWorldInfo()).getIndexForUniqueId(uuid));
     }
 
     @Override
-    public void setTrackedShortPlayerPositions(Map<Short, PlayerTracker> trackedPositions) {
-        this.trackedShortBlockPositions = trackedPositions;
+    public void setTrackedPlayerPositions(PlayerTrackerMap trackedPositions) {
+        this.trackedBlockPositions = trackedPositions;
     }
 
     /**
@@ -785,26 +681,6 @@ public int setNibble(int num, int data, int which, int bitsToReplace) {
         return (num & ~(bitsToReplace << (which * 4)) | (data << (which * 4)));
     }
 
-    /**
-     * Serialize this BlockPos into a short value
-     */
-    public short blockPosToShort(BlockPos pos) {
-        short serialized = (short) setNibble(0, pos.getX() & XZ_MASK, 0, NUM_XZ_BITS);
-        serialized = (short) setNibble(serialized, pos.getY() & Y_SHORT_MASK, 1, NUM_SHORT_Y_BITS);
-        serialized = (short) setNibble(serialized, pos.getZ() & XZ_MASK, 3, NUM_XZ_BITS);
-        return serialized;
-    }
-
-    /**
-     * Create a BlockPos from a serialized chunk position
-     */
-    public BlockPos blockPosFromShort(short serialized) {
-        int x = this.xPosition * 16 + (serialized & XZ_MASK);
-        int y = (serialized >> Y_SHIFT) & Y_SHORT_MASK;
-        int z = this.zPosition * 16 + ((serialized >> Z_SHORT_SHIFT) & XZ_MASK);
-        return new BlockPos(x, y, z);
-    }
-
     /**
      * Serialize this BlockPos into an int value
      */
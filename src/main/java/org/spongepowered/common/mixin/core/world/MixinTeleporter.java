@@ -314,7 +314,7 @@ public Optional<Location<World>> createTeleporter(Location<World> nearLocation,
         final CauseTracker causeTracker = spongeWorld.getCauseTracker();
         if (plugin) {
             Cause teleportCause = Cause.of(NamedCause.source(this));
-            if (causeTracker.getCurrentCause() != null) {
+            if (causeTracker.hasCurrentCause()) {
                 teleportCause = teleportCause.merge(causeTracker.getCurrentCause());
             }
             causeTracker.addCause(teleportCause);
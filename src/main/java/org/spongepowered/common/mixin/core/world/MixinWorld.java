@@ -131,6 +131,7 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.block.LazyTileData;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
 import org.spongepowered.common.config.SpongeConfig;
@@ -295,13 +296,8 @@ public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockSt
         if (state.getBlock() instanceof ITileEntityProvider) {
             net.minecraft.tileentity.TileEntity te = getTileEntity(pos);
             if (te != null) {
-                TileEntity tile = (TileEntity) te;
-                for (DataManipulator<?, ?> manipulator : tile.getContainers()) {
-                    this.builder.add(manipulator);
-                }
-                NBTTagCompound nbt = new NBTTagCompound();
-                te.writeToNBT(nbt);
-                this.builder.unsafeNbt(nbt);
+                // The tile entity is only written once the snapshot needs its data
+                this.builder.tileData(LazyTileData.of(te));
             }
         }
         return new SpongeBlockSnapshot(this.builder, updateFlag);
@@ -1128,10 +1124,17 @@ public boolean setBlockState(BlockPos pos, IBlockState newState, int flags) {
 
             // Don't capture if we are restoring blocks
             final CauseTracker causeTracker = this.getCauseTracker();
+            if (!this.isRemote) {
+                // The cause of a block tick has to see the block before the change
+                causeTracker.prepareBlockChange(pos);
+            }
             if (!this.isRemote && causeTracker.isCapturingBlocks()) {
                 originalBlockSnapshot = null;
                 originalBlockSnapshot = createSpongeBlockSnapshot(currentState, currentState.getBlock().getActualState(currentState,
                         (IBlockAccess) this, pos), pos, flags);
+                // Captured snapshots may be restored, and the tile entity may
+                // be changed before it is marked dirty, so copy its data now
+                ((SpongeBlockSnapshot) originalBlockSnapshot).loadTileData();
 
                 if (causeTracker.isCaptureBlockDecay()) {
                     // Only capture final state of decay, ignore the rest
@@ -1312,7 +1315,7 @@ public void notifyNeighborsOfStateChange(BlockPos pos, Block blockType) {
         }
 
         final CauseTracker causeTracker = this.getCauseTracker();
-        if (!causeTracker.isCapturingBlocks()) {
+        if (!causeTracker.isCapturingBlocks() || !SpongeImpl.hasListeners(NotifyNeighborBlockEvent.class)) {
             for (EnumFacing facing : EnumFacing.values()) {
                 causeTracker.notifyBlockOfStateChange(pos.offset(facing), blockType, pos);
             }
@@ -1349,7 +1352,7 @@ public void notifyNeighborsOfStateExcept(BlockPos pos, Block blockType, EnumFaci
         directions.remove(skipSide);
 
         final CauseTracker causeTracker = this.getCauseTracker();
-        if (!causeTracker.isCapturingBlocks()) {
+        if (!causeTracker.isCapturingBlocks() || !SpongeImpl.hasListeners(NotifyNeighborBlockEvent.class)) {
             for (Object obj : directions) {
                 EnumFacing facing = (EnumFacing) obj;
                 causeTracker.notifyBlockOfStateChange(pos.offset(facing), blockType, pos);
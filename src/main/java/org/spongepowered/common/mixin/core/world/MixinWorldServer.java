@@ -100,7 +100,6 @@
 import org.spongepowered.common.interfaces.block.IMixinBlockEventData;
 import org.spongepowered.common.interfaces.block.tile.IMixinTileEntity;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
-import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.VecHelper;
 
 import java.util.Collection;
@@ -408,6 +407,7 @@ public void updateEntities()
         this.theProfiler.startSection("entities");
         this.theProfiler.startSection("global");
         // Sponge start
+        long tickRecordStart = this.timings.tickRecord.start();
         this.timings.entityTick.startTiming();
         co.aikar.timings.TimingHistory.entityTicks += this.loadedEntityList.size();
         // Sponge end
@@ -535,6 +535,10 @@ public void updateEntities()
             this.theProfiler.endSection();
         }
 
+        // Sponge start
+        this.timings.tickRecord.stopEntities(tickRecordStart);
+        tickRecordStart = this.timings.tickRecord.start();
+        // Sponge end
         this.theProfiler.endStartSection("blockEntities");
         // Sponge start - moved up to clean up tile entities before ticking
         this.timings.tileEntityRemoval.startTiming();
@@ -626,7 +630,10 @@ public void updateEntities()
 
             this.addedTileEntityList.clear();
         }
-        this.timings.tileEntityPending.stopTiming(); // Sponge
+        // Sponge start
+        this.timings.tileEntityPending.stopTiming();
+        this.timings.tickRecord.stopTileEntities(tickRecordStart);
+        // Sponge end
         this.theProfiler.endSection();
         this.theProfiler.endSection();
     }
@@ -720,7 +727,7 @@ public Optional<Entity> getEntity(UUID uuid) {
 
     @Inject(method = "getSpawnListEntryForTypeAt", at = @At("HEAD"))
     private void onGetSpawnList(EnumCreatureType creatureType, BlockPos pos, CallbackInfoReturnable<BiomeGenBase.SpawnListEntry> callbackInfo) {
-        StaticMixinHelper.gettingSpawnList = true;
+        this.getCauseTracker().setGettingSpawnList(true);
     }
 
     @Inject(method = "newExplosion", at = @At(value = "HEAD"))
@@ -24,11 +24,12 @@
  */
 package org.spongepowered.common.mixin.core.world.chunk.storage;
 
+import co.aikar.timings.TickRecorder;
 import com.flowpowered.math.vector.Vector3d;
-import com.google.common.collect.Maps;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.world.ChunkCoordIntPair;
@@ -55,16 +56,19 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.util.NbtDataUtil;
-import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.PlayerTrackerMap;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
+import org.spongepowered.common.world.storage.ChunkExistenceIndex;
 
+import java.io.DataOutputStream;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Mixin(AnvilChunkLoader.class)
 @Implements(@Interface(iface = IMixinAnvilChunkLoader.class, prefix = "loader$"))
@@ -72,79 +76,74 @@ public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
 
     private static final String ENTITY_LIST_CREATE_FROM_NBT =
             "Lnet/minecraft/entity/EntityList;createEntityFromNBT(Lnet/minecraft/nbt/NBTTagCompound;Lnet/minecraft/world/World;)Lnet/minecraft/entity/Entity;";
+    // The maximum amount of chunks and time spent per call of writeNextIO
+    private static final int WRITE_BATCH_SIZE = 32;
+    private static final long WRITE_BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
 
-    @Shadow private Set<ChunkCoordIntPair> pendingAnvilChunksCoordinates;
     @Shadow private Map<ChunkCoordIntPair, NBTTagCompound> chunksToRemove;
     @Shadow @Final private File chunkSaveLocation;
 
+    private ChunkExistenceIndex chunkExistenceIndex;
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    public void onConstruction(File chunkSaveLocation, CallbackInfo ci) {
+        this.chunkExistenceIndex = new ChunkExistenceIndex(chunkSaveLocation.toPath());
+    }
+
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
         IMixinChunk chunk = (IMixinChunk) chunkIn;
 
-        // Add tracked block positions
-        if (chunk.getTrackedShortPlayerPositions().size() > 0 || chunk.getTrackedIntPlayerPositions().size() > 0) {
+        // Add tracked block positions as position, owner, notifier triples
+        if (!chunk.getTrackedPlayerPositions().isEmpty()) {
             NBTTagCompound trackedNbt = new NBTTagCompound();
-            NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, positions);
+            trackedNbt.setIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS, chunk.getTrackedPlayerPositions().toArray());
             compound.setTag(NbtDataUtil.SPONGE_DATA, trackedNbt);
-
-            for (Map.Entry<Short, PlayerTracker> mapEntry : chunk.getTrackedShortPlayerPositions().entrySet()) {
-                Short pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
-            }
-
-            for (Map.Entry<Integer, PlayerTracker> mapEntry : chunk.getTrackedIntPlayerPositions().entrySet()) {
-                Integer pos = mapEntry.getKey();
-                Integer ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                Integer notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
-            }
         }
     }
 
     @Inject(method = "readChunkFromNBT", at = @At(value = "INVOKE", target = "Lnet/minecraft/nbt/NBTTagCompound;getIntArray(Ljava/lang/String;)[I", shift = At.Shift.BEFORE), locals = LocalCapture.CAPTURE_FAILHARD)
     public void onReadChunkFromNBT(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, int chunkX, int chunkZ, net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(NbtDataUtil.SPONGE_DATA)) {
-            Map<Integer, PlayerTracker> trackedIntPlayerPositions = Maps.newHashMap();
-            Map<Short, PlayerTracker> trackedShortPlayerPositions = Maps.newHashMap();
-            NBTTagList positions = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA).getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, 10);
+            NBTTagCompound spongeData = compound.getCompoundTag(NbtDataUtil.SPONGE_DATA);
             IMixinChunk chunk = (IMixinChunk) chunkIn;
-            for (int i = 0; i < positions.tagCount(); i++) {
-                NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
-                boolean isShortPos = valueNbt.hasKey("pos");
-                PlayerTracker tracker = new PlayerTracker();
-                if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
-                } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
-                }
-                if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
-                }
-
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
-                    if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
-                    } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
-                    }
-                }
+            if (spongeData.hasKey(NbtDataUtil.SPONGE_TRACKED_BLOCKS, NbtDataUtil.TAG_INT_ARRAY)) {
+                chunk.setTrackedPlayerPositions(PlayerTrackerMap.fromArray(spongeData.getIntArray(NbtDataUtil.SPONGE_TRACKED_BLOCKS)));
+            } else if (spongeData.hasKey(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, NbtDataUtil.TAG_LIST)) {
+                // Migrate the old format, it is replaced on the next save
+                chunk.setTrackedPlayerPositions(readLegacyPositions(spongeData.getTagList(NbtDataUtil.SPONGE_BLOCK_POS_TABLE, NbtDataUtil.TAG_COMPOUND)));
             }
-            chunk.setTrackedIntPlayerPositions(trackedIntPlayerPositions);
-            chunk.setTrackedShortPlayerPositions(trackedShortPlayerPositions);
         }
     }
 
+    private static PlayerTrackerMap readLegacyPositions(NBTTagList positions) {
+        PlayerTrackerMap trackedPositions = new PlayerTrackerMap();
+        for (int i = 0; i < positions.tagCount(); i++) {
+            NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+            int ownerIndex = -1;
+            int notifierIndex = -1;
+            if (valueNbt.hasKey("owner")) {
+                ownerIndex = valueNbt.getInteger("owner");
+            } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
+                ownerIndex = valueNbt.getInteger("uuid");
+            }
+            if (valueNbt.hasKey("notifier")) {
+                notifierIndex = valueNbt.getInteger("notifier");
+            }
+
+            if (valueNbt.hasKey("pos")) {
+                // Short positions hold 4 bits x, 8 bits y and 4 bits z,
+                // the int positions used now move z up to make room for y
+                short pos = valueNbt.getShort("pos");
+                int intPos = (pos & 0xFFF) | (((pos >> 12) & 0xF) << 28);
+                trackedPositions.set(intPos, ownerIndex, notifierIndex);
+            } else {
+                trackedPositions.set(valueNbt.getInteger("ipos"), ownerIndex, notifierIndex);
+            }
+        }
+        return trackedPositions;
+    }
+
     /**
      * @author gabizou - January 30th, 2016
      *
@@ -184,19 +183,75 @@ private Entity onReadEntity(NBTTagCompound compound, World world) {
         return EntityList.createEntityFromNBT(compound, world);
     }
 
-    @Intrinsic // Forge method
-    public boolean loader$chunkExists(World world, int x, int z) {
-        ChunkCoordIntPair chunkcoordintpair = new ChunkCoordIntPair(x, z);
+    @Inject(method = "addChunkToPending", at = @At("HEAD"))
+    public void onAddChunkToPending(ChunkCoordIntPair pos, NBTTagCompound compound, CallbackInfo ci) {
+        this.chunkExistenceIndex.markExists(pos.chunkXPos, pos.chunkZPos);
+        TickRecorder.onChunkSave();
+    }
 
-        if (this.pendingAnvilChunksCoordinates.contains(chunkcoordintpair)) {
-            for (ChunkCoordIntPair pendingChunkCoord : this.chunksToRemove.keySet()) {
-                if (pendingChunkCoord.equals(chunkcoordintpair)) {
-                    return true;
-                }
+    /**
+     * The file IO thread sleeps after every call of writeNextIO unless the
+     * world is saved, which limits the writes to a single chunk every 10ms.
+     * Write some other pending chunks of the same region file along with the
+     * chunk written by vanilla, so chunk generation, e.g. while pre-generating
+     * a world, doesn't outpace the writes.
+     *
+     * <p>Unlike vanilla, a chunk stays in the pending map until it is written,
+     * so loading it meanwhile reads the pending data instead of the outdated
+     * region file. A newer save of the chunk queued during the write replaces
+     * the pending data and is written later.</p>
+     */
+    @Inject(method = "writeNextIO", at = @At("RETURN"))
+    public void onWriteNextIO(CallbackInfoReturnable<Boolean> cir) {
+        if (!cir.getReturnValue() || this.chunksToRemove.isEmpty()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        int written = 1;
+        int regionX = 0;
+        int regionZ = 0;
+        boolean first = true;
+        for (Map.Entry<ChunkCoordIntPair, NBTTagCompound> entry : this.chunksToRemove.entrySet()) {
+            final ChunkCoordIntPair pos = entry.getKey();
+            if (first) {
+                regionX = pos.chunkXPos >> 5;
+                regionZ = pos.chunkZPos >> 5;
+                first = false;
+            } else if (pos.chunkXPos >> 5 != regionX || pos.chunkZPos >> 5 != regionZ) {
+                continue;
+            }
+            final NBTTagCompound compound = entry.getValue();
+            try (DataOutputStream out = RegionFileCache.getChunkOutputStream(this.chunkSaveLocation, pos.chunkXPos, pos.chunkZPos)) {
+                CompressedStreamTools.write(compound, out);
+            } catch (Exception e) {
+                SpongeImpl.getLogger().error("Failed to save chunk", e);
+            }
+            this.chunksToRemove.remove(pos, compound);
+            if (++written >= WRITE_BATCH_SIZE || System.nanoTime() - start >= WRITE_BATCH_NANOS) {
+                break;
             }
         }
+    }
+
+    @Inject(method = "readChunkFromNBT", at = @At("RETURN"))
+    public void onReadChunkFromNBTReturn(World worldIn, NBTTagCompound compound, CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci) {
+        TickRecorder.onChunkLoad();
+    }
 
-        return RegionFileCache.getChunkInputStream(this.chunkSaveLocation, x, z) != null;
+    @Override
+    public ChunkExistenceIndex getChunkExistenceIndex() {
+        return this.chunkExistenceIndex;
+    }
+
+    @Override
+    public int getPendingChunkWrites() {
+        return this.chunksToRemove.size();
+    }
+
+    @Intrinsic // Forge method
+    public boolean loader$chunkExists(World world, int x, int z) {
+        // Pending chunks are marked in the index when they are queued
+        return this.chunkExistenceIndex.exists(x, z);
     }
 
     @Override
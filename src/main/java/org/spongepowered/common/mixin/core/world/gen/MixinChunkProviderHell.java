@@ -43,8 +43,9 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.event.CauseTracker;
+import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.gen.IPopulatorProvider;
-import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.gen.ChunkBufferPrimer;
 
 import java.util.List;
@@ -87,8 +88,9 @@ public void populate(World world, MutableBlockVolume buffer, ImmutableBiomeArea
 
     @Inject(method = "getPossibleCreatures", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/structure/MapGenNetherBridge;getSpawnList()Ljava/util/List;"))
     private void onGetPossibleCreatures(CallbackInfoReturnable<List<BiomeGenBase.SpawnListEntry>> callbackInfoReturnable) {
-        if (StaticMixinHelper.gettingSpawnList) {
-            StaticMixinHelper.structureSpawning = true;
+        final CauseTracker causeTracker = ((IMixinWorld) this.worldObj).getCauseTracker();
+        if (causeTracker.isGettingSpawnList()) {
+            causeTracker.setStructureSpawning(true);
         }
     }
 
@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.core.world.gen;
 
 import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.util.IProgressUpdate;
 import net.minecraft.util.LongHashMap;
 import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.WorldServer;
@@ -49,6 +50,10 @@
 import org.spongepowered.common.world.storage.SpongeChunkDataStream;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -61,8 +66,14 @@ public abstract class MixinChunkProviderServer implements WorldStorage, IMixinCh
     @Shadow private IChunkLoader chunkLoader;
     @Shadow private LongHashMap<Chunk> id2ChunkMap;
     @Shadow public IChunkProvider serverChunkGenerator;
+    @Shadow public List<Chunk> loadedChunks;
 
     @Shadow public abstract Chunk provideChunk(int x, int z);
+    @Shadow protected abstract void saveChunkData(Chunk chunkIn);
+    @Shadow protected abstract void saveChunkExtraData(Chunk chunkIn);
+
+    // Chunks waiting to be saved by an incremental auto-save
+    private final Deque<Chunk> chunkSaveQueue = new ArrayDeque<>();
 
     @Nullable
     @Override
@@ -100,6 +111,51 @@ public void populate(IChunkProvider chunkProvider, int x, int z) {
         }
     }
 
+    @Override
+    public void queueChunkSaves() {
+        this.chunkSaveQueue.clear();
+        this.chunkSaveQueue.addAll(this.loadedChunks);
+    }
+
+    @Override
+    public IChunkLoader getChunkLoader() {
+        return this.chunkLoader;
+    }
+
+    @Override
+    public int getQueuedChunkSaves() {
+        return this.chunkSaveQueue.size();
+    }
+
+    @Inject(method = "saveChunks", at = @At("HEAD"))
+    public void onSaveChunks(boolean saveAllChunks, IProgressUpdate progressCallback, CallbackInfoReturnable<Boolean> ci) {
+        if (saveAllChunks) {
+            // Everything is saved right away
+            this.chunkSaveQueue.clear();
+        }
+    }
+
+    private void saveQueuedChunks() {
+        int budget = ((IMixinWorld) this.worldObj).getActiveConfig().getConfig().getWorld().getAutoSaveChunksPerTick();
+        if (budget <= 0) {
+            budget = Integer.MAX_VALUE;
+        }
+        int saved = 0;
+        Chunk chunk;
+        while (saved < budget && (chunk = this.chunkSaveQueue.poll()) != null) {
+            // Unloaded chunks have been saved when they were unloaded
+            if (this.getChunkIfLoaded(chunk.xPosition, chunk.zPosition) != chunk) {
+                continue;
+            }
+            this.saveChunkExtraData(chunk);
+            if (chunk.needsSaving(true)) {
+                this.saveChunkData(chunk);
+                chunk.setModified(false);
+                saved++;
+            }
+        }
+    }
+
     @Override
     public ChunkDataStream getGeneratedChunks() {
         if (!(this.chunkLoader instanceof IMixinAnvilChunkLoader)) {
@@ -113,6 +169,11 @@ public CompletableFuture<Boolean> doesChunkExist(Vector3i chunkCoords) {
         return WorldStorageUtil.doesChunkExist(this.worldObj, this.chunkLoader, chunkCoords);
     }
 
+    @Override
+    public CompletableFuture<BitSet> doesChunkExist(Vector3i min, Vector3i max) {
+        return WorldStorageUtil.doesChunkExist(this.chunkLoader, min, max);
+    }
+
     @Override
     public CompletableFuture<Optional<DataContainer>> getChunkData(Vector3i chunkCoords) {
         return WorldStorageUtil.getChunkData(this.worldObj, this.chunkLoader, chunkCoords);
@@ -126,6 +187,11 @@ public WorldProperties getWorldProperties() {
     @Inject(method = "unloadQueuedChunks", at = @At("HEAD"))
     public void onUnloadQueuedChunksStart(CallbackInfoReturnable<Boolean> ci) {
         IMixinWorld spongeWorld = (IMixinWorld) this.worldObj;
+        if (!this.chunkSaveQueue.isEmpty()) {
+            spongeWorld.getTimingsHandler().doChunkSave.startTiming();
+            this.saveQueuedChunks();
+            spongeWorld.getTimingsHandler().doChunkSave.stopTiming();
+        }
         spongeWorld.getTimingsHandler().doChunkUnload.startTiming();
     }
 
@@ -29,6 +29,7 @@
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.world.World;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.block.BlockType;
@@ -37,81 +38,161 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.category.CollisionModCategory;
 import org.spongepowered.common.config.category.EntityCollisionCategory;
+import org.spongepowered.common.event.CauseTracker;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.common.mixin.plugin.entitycollisions.EntityCollisionGrid;
+import org.spongepowered.common.mixin.plugin.entitycollisions.EntityCollisionQuery;
 import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IModData_Collisions;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 @Mixin(net.minecraft.world.chunk.Chunk.class)
 public class MixinChunk_Collisions {
 
+    private static final int NO_MAX_COLLISIONS = -1;
+
     @Shadow @Final private World worldObj;
+    @Shadow @Final public int xPosition;
+    @Shadow @Final public int zPosition;
+    @Shadow @Final private ClassInheritanceMultiMap<Entity>[] entityLists;
+
+    private final EntityCollisionGrid[] collisionGrids = new EntityCollisionGrid[16];
+    private final EntityCollisionQuery<Entity> collisionQuery = new EntityCollisionQuery<>();
+    private int maxCollisions = NO_MAX_COLLISIONS;
+    @Nullable private AxisAlignedBB collisionBox;
+    @Nullable private List<Entity> collisionResults;
+
+    @Inject(method = "addEntity", at = @At("RETURN"))
+    public void onAddEntity(Entity entityIn, CallbackInfo ci) {
+        if (this.worldObj.isRemote || !entityIn.addedToChunk || entityIn.chunkCoordX != this.xPosition || entityIn.chunkCoordZ != this.zPosition) {
+            return;
+        }
 
-    @Inject(method = "getEntitiesWithinAABBForEntity",
-            at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
-    public void onAddCollisionEntity(Entity entityIn, AxisAlignedBB aabb, List<Entity> listToFill, Predicate<? super Entity> predicate,
+        final int section = entityIn.chunkCoordY;
+        EntityCollisionGrid grid = this.collisionGrids[section];
+        if (grid == null) {
+            grid = this.collisionGrids[section] = new EntityCollisionGrid(this.xPosition, section, this.zPosition);
+        }
+        if (entityIn.getParts() != null) {
+            // The parts may collide far outside of the entity bounding box
+            grid.addAlwaysVisited((EntityCollisionGrid.Entry) entityIn);
+            return;
+        }
+        final AxisAlignedBB box = entityIn.getEntityBoundingBox();
+        grid.add((EntityCollisionGrid.Entry) entityIn, box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ);
+    }
+
+    @Inject(method = "removeEntityAtIndex", at = @At("HEAD"))
+    public void onRemoveEntity(Entity entityIn, int index, CallbackInfo ci) {
+        final EntityCollisionGrid grid = ((EntityCollisionGrid.Entry) entityIn).getCollisionGrid();
+        if (grid != null) {
+            for (EntityCollisionGrid collisionGrid : this.collisionGrids) {
+                if (collisionGrid == grid) {
+                    grid.remove((EntityCollisionGrid.Entry) entityIn);
+                    return;
+                }
+            }
+        }
+    }
+
+    @Inject(method = "getEntitiesWithinAABBForEntity", at = @At("HEAD"))
+    public void onGetCollisionEntities(Entity entityIn, AxisAlignedBB aabb, List<Entity> listToFill, Predicate<? super Entity> predicate,
             CallbackInfo ci) {
+        this.collisionBox = aabb;
+        this.collisionResults = listToFill;
         // ignore players and entities with parts (ex. EnderDragon)
         if (this.worldObj.isRemote || entityIn == null || entityIn instanceof EntityPlayer || entityIn.getParts() != null) {
-            return;
+            this.maxCollisions = NO_MAX_COLLISIONS;
+        } else {
+            this.maxCollisions = getMaxCollisions();
         }
+    }
 
-        if (!allowEntityCollision(listToFill)) {
-            ci.cancel();
+    /**
+     * Only iterates over the entities of the section which are near the
+     * queried box, and stops once the maximum number of collisions is found.
+     */
+    @Redirect(method = "getEntitiesWithinAABBForEntity",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/util/ClassInheritanceMultiMap;iterator()Ljava/util/Iterator;"))
+    private Iterator<Entity> onIterateCollisionEntities(ClassInheritanceMultiMap<Entity> entities) {
+        for (int section = 0; section < this.entityLists.length; section++) {
+            if (this.entityLists[section] == entities) {
+                final EntityCollisionGrid grid = this.collisionGrids[section];
+                if (grid == null || grid.size() != entities.size()) {
+                    break;
+                }
+                final AxisAlignedBB box = this.collisionBox;
+                return this.collisionQuery.start(grid, box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ, this.collisionResults,
+                        this.maxCollisions);
+            }
         }
+        return entities.iterator();
     }
 
-    @Inject(method = "getEntitiesOfTypeWithinAAAB",
+    @Inject(method = "getEntitiesWithinAABBForEntity",
             at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
-    public <T extends Entity> void onAddCollisionEntity(Class<? extends T> entityClass, AxisAlignedBB aabb, List<T> listToFill,
+    public void onAddCollisionEntity(Entity entityIn, AxisAlignedBB aabb, List<Entity> listToFill, Predicate<? super Entity> predicate,
+            CallbackInfo ci) {
+        if (this.maxCollisions >= 0 && listToFill.size() >= this.maxCollisions) {
+            ci.cancel();
+        }
+    }
+
+    @Inject(method = "getEntitiesOfTypeWithinAAAB", at = @At("HEAD"))
+    public <T extends Entity> void onGetCollisionEntitiesOfType(Class<? extends T> entityClass, AxisAlignedBB aabb, List<T> listToFill,
             Predicate<? super T> p_177430_4_, CallbackInfo ci) {
         // ignore player checks
         // ignore item check (ex. Hoppers)
         if (this.worldObj.isRemote || EntityPlayer.class.isAssignableFrom(entityClass) || EntityItem.class == entityClass) {
-            return;
+            this.maxCollisions = NO_MAX_COLLISIONS;
+        } else {
+            this.maxCollisions = getMaxCollisions();
         }
+    }
 
-        if (!allowEntityCollision(listToFill)) {
+    @Inject(method = "getEntitiesOfTypeWithinAAAB",
+            at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z", remap = false), cancellable = true)
+    public <T extends Entity> void onAddCollisionEntity(Class<? extends T> entityClass, AxisAlignedBB aabb, List<T> listToFill,
+            Predicate<? super T> p_177430_4_, CallbackInfo ci) {
+        if (this.maxCollisions >= 0 && listToFill.size() >= this.maxCollisions) {
             ci.cancel();
         }
     }
 
-    private <T extends Entity> boolean allowEntityCollision(List<T> listToFill) {
+    // Resolved once per query instead of once per candidate
+    private int getMaxCollisions() {
         IMixinWorld spongeWorld = (IMixinWorld) this.worldObj;
         if (spongeWorld.isProcessingExplosion()) {
             // allow explosions
-            return true;
+            return NO_MAX_COLLISIONS;
         }
 
-        Optional<org.spongepowered.api.entity.Entity> tickEntity = spongeWorld.getCauseTracker().getCurrentTickEntity();
-        Optional<BlockSnapshot> tickBlock = spongeWorld.getCauseTracker().getCurrentTickBlock();
-        if (!tickEntity.isPresent()) {// && !tickBlock.isPresent()) {
-            if (tickBlock.isPresent()) {
-                BlockType blockType = tickBlock.get().getState().getType();
-                IModData_Collisions spongeBlock = (IModData_Collisions) blockType;
-                if (spongeBlock.requiresCacheRefresh()) {
-                    initializeCollisionState(blockType);
-                    spongeBlock.requiresCacheRefresh(false);
-                }
-
-                if ((spongeBlock.getMaxCollisions() >= 0) && (listToFill.size() >= spongeBlock.getMaxCollisions())) {
-                    return false;
-                }
-            }
-            return true;
+        final CauseTracker causeTracker = spongeWorld.getCauseTracker();
+        if (causeTracker.hasTickingEntity()) {
+            IModData_Collisions spongeEntity = (IModData_Collisions) causeTracker.getCurrentTickEntity().get();
+            return spongeEntity.getMaxCollisions();
         }
 
-        IModData_Collisions spongeEntity = (IModData_Collisions) tickEntity.get();
-        if ((spongeEntity.getMaxCollisions() >= 0) && (listToFill.size() >= spongeEntity.getMaxCollisions())) {
-            return false;
+        Optional<BlockSnapshot> tickBlock = causeTracker.getCurrentTickBlock();
+        if (tickBlock.isPresent()) {
+            BlockType blockType = tickBlock.get().getState().getType();
+            IModData_Collisions spongeBlock = (IModData_Collisions) blockType;
+            if (spongeBlock.requiresCacheRefresh()) {
+                initializeCollisionState(blockType);
+                spongeBlock.requiresCacheRefresh(false);
+            }
+            return spongeBlock.getMaxCollisions();
         }
-
-        return true;
+        return NO_MAX_COLLISIONS;
     }
 
     private void initializeCollisionState(BlockType type) {
@@ -26,6 +26,7 @@
 
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.world.World;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.asm.mixin.Mixin;
@@ -39,10 +40,13 @@
 import org.spongepowered.common.entity.SpongeEntityType;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
+import org.spongepowered.common.mixin.plugin.entitycollisions.EntityCollisionGrid;
 import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IModData_Collisions;
 
+import javax.annotation.Nullable;
+
 @Mixin(value = net.minecraft.entity.Entity.class, priority = 1002)
-public class MixinEntity_Collisions implements IModData_Collisions {
+public class MixinEntity_Collisions implements IModData_Collisions, EntityCollisionGrid.Entry {
 
     private net.minecraft.entity.Entity mcEntity = (net.minecraft.entity.Entity) (Object) this;
     private int maxCollisions = 8;
@@ -50,6 +54,8 @@ public class MixinEntity_Collisions implements IModData_Collisions {
     private SpongeEntityType spongeEntityType;
     private String entityName = "unknown";
     private String entityModId = "unknown";
+    @Nullable private EntityCollisionGrid collisionGrid;
+    private int collisionCell;
     @Shadow public World worldObj;
 
     @Inject(method = "<init>", at = @At("RETURN"))
@@ -75,6 +81,30 @@ public void onEntityConstruction(World world, CallbackInfo ci) {
         }
     }
 
+    @Inject(method = "setEntityBoundingBox", at = @At("RETURN"))
+    public void onSetEntityBoundingBox(AxisAlignedBB bb, CallbackInfo ci) {
+        if (this.collisionGrid != null) {
+            this.collisionGrid.update(this, bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ);
+        }
+    }
+
+    @Nullable
+    @Override
+    public EntityCollisionGrid getCollisionGrid() {
+        return this.collisionGrid;
+    }
+
+    @Override
+    public int getCollisionCell() {
+        return this.collisionCell;
+    }
+
+    @Override
+    public void setCollisionCell(@Nullable EntityCollisionGrid grid, int cell) {
+        this.collisionGrid = grid;
+        this.collisionCell = cell;
+    }
+
     @Override
     public int getMaxCollisions() {
         return this.maxCollisions;
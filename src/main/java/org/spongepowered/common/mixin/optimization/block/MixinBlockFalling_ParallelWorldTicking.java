@@ -22,32 +22,29 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.profile.query;
-
-import org.spongepowered.api.profile.GameProfile;
-import org.spongepowered.api.profile.GameProfileCache;
-
-public abstract class GameProfileQuery<T> extends Query<T> {
-
-    protected GameProfileQuery(GameProfileCache cache, boolean useCache) {
-        super(cache, useCache);
-    }
-
-    public static final class SingleFill extends GameProfileQuery<GameProfile> {
-
-        private final GameProfile profile;
-        private final boolean signed;
-
-        public SingleFill(GameProfileCache cache, GameProfile profile, boolean signed, boolean useCache) {
-            super(cache, useCache);
-            this.profile = profile;
-            this.signed = signed;
-        }
+package org.spongepowered.common.mixin.optimization.block;
+
+import net.minecraft.block.BlockDragonEgg;
+import net.minecraft.block.BlockFalling;
+import org.spongepowered.asm.lib.Opcodes;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.world.WorldTickExecutor;
+
+/**
+ * Falling blocks check a static flag, set while a chunk is populated, to
+ * fall instantly instead of spawning falling block entities. Reads the flag
+ * of the current thread instead, so a world populating a chunk doesn't
+ * change how blocks fall in the other worlds.
+ */
+@Mixin({BlockFalling.class, BlockDragonEgg.class})
+public abstract class MixinBlockFalling_ParallelWorldTicking {
 
-        @Override
-        public GameProfile call() throws Exception {
-            return this.fillProfile(this.profile, this.signed);
-        }
+    @Redirect(method = {"checkFallable", "checkFall"},
+            at = @At(value = "FIELD", target = "Lnet/minecraft/block/BlockFalling;fallInstantly:Z", opcode = Opcodes.GETSTATIC))
+    private boolean onGetFallInstantly() {
+        return WorldTickExecutor.isFallInstantly();
     }
 
 }
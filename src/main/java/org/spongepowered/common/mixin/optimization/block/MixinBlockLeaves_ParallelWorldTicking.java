@@ -0,0 +1,51 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.block;
+
+import net.minecraft.block.BlockLeaves;
+import org.spongepowered.asm.lib.Opcodes;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+/**
+ * The leaves blocks are singletons shared by all worlds, but reuse a single
+ * buffer to search for logs when they decay. Uses a buffer per thread, so
+ * worlds ticking in parallel don't overwrite each other's search.
+ */
+@Mixin(BlockLeaves.class)
+public abstract class MixinBlockLeaves_ParallelWorldTicking {
+
+    // The size of the buffer allocated by vanilla
+    private static final int SURROUNDINGS_SIZE = 32768;
+
+    private final ThreadLocal<int[]> surroundingsPerThread = ThreadLocal.withInitial(() -> new int[SURROUNDINGS_SIZE]);
+
+    @Redirect(method = "updateTick", at = @At(value = "FIELD", target = "Lnet/minecraft/block/BlockLeaves;surroundings:[I", opcode = Opcodes.GETFIELD))
+    private int[] onGetSurroundings(BlockLeaves self) {
+        return this.surroundingsPerThread.get();
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.block;
+
+import com.google.common.collect.Sets;
+import net.minecraft.block.BlockRedstoneWire;
+import net.minecraft.util.BlockPos;
+import org.spongepowered.asm.lib.Opcodes;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import java.util.Set;
+
+/**
+ * The redstone wire block is a singleton shared by all worlds, but keeps the
+ * state of the wire update it is running in fields. Keeps that state per
+ * thread, so worlds ticking in parallel don't see each other's updates.
+ */
+@Mixin(BlockRedstoneWire.class)
+public abstract class MixinBlockRedstoneWire_ParallelWorldTicking {
+
+    private static final String CAN_PROVIDE_POWER_FIELD = "Lnet/minecraft/block/BlockRedstoneWire;canProvidePower:Z";
+    private static final String BLOCKS_NEEDING_UPDATE_FIELD = "Lnet/minecraft/block/BlockRedstoneWire;blocksNeedingUpdate:Ljava/util/Set;";
+
+    // True while the wire isn't calculating its strength
+    private final ThreadLocal<Boolean> canProvidePowerPerThread = ThreadLocal.withInitial(() -> true);
+    private final ThreadLocal<Set<BlockPos>> blocksNeedingUpdatePerThread = ThreadLocal.withInitial(Sets::newHashSet);
+
+    @Redirect(method = {"getStrongPower", "getWeakPower", "canProvidePower"},
+            at = @At(value = "FIELD", target = CAN_PROVIDE_POWER_FIELD, opcode = Opcodes.GETFIELD))
+    private boolean onGetCanProvidePower(BlockRedstoneWire self) {
+        return this.canProvidePowerPerThread.get();
+    }
+
+    @Redirect(method = "calculateCurrentStrength", at = @At(value = "FIELD", target = CAN_PROVIDE_POWER_FIELD, opcode = Opcodes.PUTFIELD))
+    private void onSetCanProvidePower(BlockRedstoneWire self, boolean canProvidePower) {
+        this.canProvidePowerPerThread.set(canProvidePower);
+    }
+
+    @Redirect(method = {"updateSurroundingRedstone", "calculateCurrentStrength"},
+            at = @At(value = "FIELD", target = BLOCKS_NEEDING_UPDATE_FIELD, opcode = Opcodes.GETFIELD))
+    private Set<BlockPos> onGetBlocksNeedingUpdate(BlockRedstoneWire self) {
+        return this.blocksNeedingUpdatePerThread.get();
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.entity;
+
+import net.minecraft.entity.Entity;
+import org.spongepowered.asm.lib.Opcodes;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entities are assigned their ids from a static counter when they are
+ * constructed, which is not safe while worlds tick in parallel. Assigns the
+ * ids from an atomic counter instead, so two worlds never hand out the same
+ * id.
+ */
+@Mixin(Entity.class)
+public abstract class MixinEntity_ParallelWorldTicking {
+
+    private static final String NEXT_ENTITY_ID_FIELD = "Lnet/minecraft/entity/Entity;nextEntityID:I";
+
+    private static final AtomicInteger nextEntityIdAtomic = new AtomicInteger();
+
+    @Redirect(method = "<init>", at = @At(value = "FIELD", target = NEXT_ENTITY_ID_FIELD, opcode = Opcodes.GETSTATIC))
+    private int onGetNextEntityId() {
+        return nextEntityIdAtomic.getAndIncrement();
+    }
+
+    @Redirect(method = "<init>", at = @At(value = "FIELD", target = NEXT_ENTITY_ID_FIELD, opcode = Opcodes.PUTSTATIC))
+    private void onSetNextEntityId(int nextEntityId) {
+        // The atomic counter was already incremented
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.server;
+
+import net.minecraft.entity.EntityTracker;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.world.WorldTickExecutor;
+
+/**
+ * Ticks worlds in parallel, see {@link WorldTickExecutor} for the thread
+ * affinity contract. The world loop itself is left alone so platform hooks
+ * around it still run, only the world tick, entity update and tracker calls
+ * are moved.
+ */
+@Mixin(MinecraftServer.class)
+public abstract class MixinMinecraftServer_ParallelWorldTicking {
+
+    private static final String PROFILER_ESS = "Lnet/minecraft/profiler/Profiler;endStartSection(Ljava/lang/String;)V";
+
+    @Redirect(method = "updateTimeLightAndEntities", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/WorldServer;tick()V"))
+    private void onTickWorld(WorldServer worldServer) {
+        WorldTickExecutor.tick(worldServer);
+    }
+
+    @Redirect(method = "updateTimeLightAndEntities", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/WorldServer;updateEntities()V"))
+    private void onUpdateEntities(WorldServer worldServer) {
+        // Entities are updated on the world tick thread, right after the world
+    }
+
+    @Redirect(method = "updateTimeLightAndEntities", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/EntityTracker;updateTrackedEntities()V"))
+    private void onUpdateTrackedEntities(EntityTracker entityTracker) {
+        WorldTickExecutor.updateTrackedEntities(entityTracker);
+    }
+
+    @Inject(method = "updateTimeLightAndEntities", at = @At(value = "INVOKE_STRING", target = PROFILER_ESS, args = "ldc=connection"))
+    private void onWorldsTicked(CallbackInfo ci) {
+        WorldTickExecutor.awaitWorlds();
+    }
+
+    @Inject(method = "stopServer()V", at = @At("HEAD"))
+    private void onStopServer(CallbackInfo ci) {
+        WorldTickExecutor.shutdown();
+    }
+
+}
@@ -86,6 +86,18 @@ public void postApply(String targetClassName, ClassNode targetClass, String mixi
                     OptimizationCategory::isUseCachedChunkMap)
             .put("org.spongepowered.common.mixin.optimization.world.MixinChunk_Chunk_Cache",
                     OptimizationCategory::isUseCachedChunkMap)
+            .put("org.spongepowered.common.mixin.optimization.server.MixinMinecraftServer_ParallelWorldTicking",
+                    OptimizationCategory::useParallelWorldTicking)
+            .put("org.spongepowered.common.mixin.optimization.block.MixinBlockLeaves_ParallelWorldTicking",
+                    OptimizationCategory::useParallelWorldTicking)
+            .put("org.spongepowered.common.mixin.optimization.block.MixinBlockRedstoneWire_ParallelWorldTicking",
+                    OptimizationCategory::useParallelWorldTicking)
+            .put("org.spongepowered.common.mixin.optimization.block.MixinBlockFalling_ParallelWorldTicking",
+                    OptimizationCategory::useParallelWorldTicking)
+            .put("org.spongepowered.common.mixin.optimization.entity.MixinEntity_ParallelWorldTicking",
+                    OptimizationCategory::useParallelWorldTicking)
+            .put("org.spongepowered.common.mixin.optimization.world.gen.MixinChunkProvider_ParallelWorldTicking",
+                    OptimizationCategory::useParallelWorldTicking)
             .build();
 
 }
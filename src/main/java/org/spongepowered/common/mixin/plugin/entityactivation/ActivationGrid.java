@@ -0,0 +1,243 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import javax.annotation.Nullable;
+
+/**
+ * A grid of the chunks around the players of a world, used to find which
+ * entities are within activation range of any player with a single lookup.
+ *
+ * <p>Every chunk within the maximum activation range of a player holds the
+ * bounding boxes of those players, along with the smallest activation range
+ * which is guaranteed to reach any position in the chunk and the largest
+ * activation range which cannot reach any player. Most entities are answered
+ * from those two ranges alone, only the entities with a range in between test
+ * the bounding boxes of the players near their chunk.</p>
+ */
+public final class ActivationGrid {
+
+    // The vertical range added to the player bounding boxes
+    static final int VERTICAL_RANGE = 256;
+    private static final int WORLD_HEIGHT = 256;
+    // How far entity bounding boxes may reach out of their chunk while still
+    // being answered from the reach range
+    private static final int BOX_MARGIN = 2;
+
+    private final TLongObjectHashMap<Cell> cells = new TLongObjectHashMap<>();
+
+    private static long key(int chunkX, int chunkZ) {
+        return (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+    }
+
+    private static int toChunk(double coordinate) {
+        int floor = (int) coordinate;
+        return (coordinate < floor ? floor - 1 : floor) >> 4;
+    }
+
+    /**
+     * Adds a player to the grid, covering all the chunks within the given
+     * range of its bounding box.
+     *
+     * @param minX The minimum x of the player bounding box
+     * @param minY The minimum y of the player bounding box
+     * @param minZ The minimum z of the player bounding box
+     * @param maxX The maximum x of the player bounding box
+     * @param maxY The maximum y of the player bounding box
+     * @param maxZ The maximum z of the player bounding box
+     * @param maxRange The maximum activation range
+     */
+    public void addPlayer(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, int maxRange) {
+        int fromX = toChunk(minX - maxRange);
+        int toX = toChunk(maxX + maxRange);
+        int fromZ = toChunk(minZ - maxRange);
+        int toZ = toChunk(maxZ + maxRange);
+        // The cover range only holds for entities and players within the
+        // height of the world, where the vertical range always overlaps
+        boolean withinHeight = minY >= 0 && minY < WORLD_HEIGHT;
+        for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+            for (int chunkZ = fromZ; chunkZ <= toZ; chunkZ++) {
+                long key = key(chunkX, chunkZ);
+                Cell cell = this.cells.get(key);
+                if (cell == null) {
+                    cell = new Cell(chunkX, chunkZ);
+                    this.cells.put(key, cell);
+                }
+                cell.add(minX, minY, minZ, maxX, maxY, maxZ, withinHeight);
+            }
+        }
+    }
+
+    /**
+     * Gets the cell of the chunk, if the chunk is covered by the maximum
+     * activation range of any player.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The cell, or null if the chunk is not covered
+     */
+    @Nullable
+    public Cell getCell(int chunkX, int chunkZ) {
+        return this.cells.get(key(chunkX, chunkZ));
+    }
+
+    /**
+     * Gets the cells of all the chunks covered by the grid.
+     *
+     * @return The cells
+     */
+    public Collection<Cell> getCells() {
+        return this.cells.valueCollection();
+    }
+
+    /**
+     * Gets whether the entity is in activation range of any player covering
+     * the chunk it is in.
+     *
+     * @param chunkX The chunk x coordinate of the entity
+     * @param chunkZ The chunk z coordinate of the entity
+     * @param posX The x position of the entity
+     * @param posY The y position of the entity
+     * @param posZ The z position of the entity
+     * @param minX The minimum x of the entity bounding box
+     * @param minY The minimum y of the entity bounding box
+     * @param minZ The minimum z of the entity bounding box
+     * @param maxX The maximum x of the entity bounding box
+     * @param maxY The maximum y of the entity bounding box
+     * @param maxZ The maximum z of the entity bounding box
+     * @param range The activation range of the entity
+     * @return True if the entity is in range
+     * @see Cell#isInRange
+     */
+    public boolean isInRange(int chunkX, int chunkZ, double posX, double posY, double posZ,
+            double minX, double minY, double minZ, double maxX, double maxY, double maxZ, int range) {
+        Cell cell = this.getCell(chunkX, chunkZ);
+        return cell != null && cell.isInRange(posX, posY, posZ, minX, minY, minZ, maxX, maxY, maxZ, range);
+    }
+
+    /**
+     * Removes all the players from the grid.
+     */
+    public void clear() {
+        this.cells.clear();
+    }
+
+    public static final class Cell {
+
+        private final int chunkX;
+        private final int chunkZ;
+        // Entities with a larger range are always in range
+        private double coverRange = Double.POSITIVE_INFINITY;
+        // Entities with this range or less are never in range
+        private double reachRange = Double.POSITIVE_INFINITY;
+        private double[] boxes = new double[6];
+        private int size;
+
+        Cell(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        public int getChunkX() {
+            return this.chunkX;
+        }
+
+        public int getChunkZ() {
+            return this.chunkZ;
+        }
+
+        void add(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, boolean withinHeight) {
+            if (this.size == this.boxes.length) {
+                this.boxes = Arrays.copyOf(this.boxes, this.size * 2);
+            }
+            this.boxes[this.size++] = minX;
+            this.boxes[this.size++] = minY;
+            this.boxes[this.size++] = minZ;
+            this.boxes[this.size++] = maxX;
+            this.boxes[this.size++] = maxY;
+            this.boxes[this.size++] = maxZ;
+
+            int x = this.chunkX << 4;
+            int z = this.chunkZ << 4;
+            if (withinHeight) {
+                double coverRange = Math.max(Math.max(minX - x, x + 16 - maxX), Math.max(minZ - z, z + 16 - maxZ));
+                this.coverRange = Math.min(this.coverRange, coverRange);
+            }
+            double reachRange = Math.max(Math.max(minX - (x + 16 + BOX_MARGIN), x - BOX_MARGIN - maxX),
+                    Math.max(minZ - (z + 16 + BOX_MARGIN), z - BOX_MARGIN - maxZ));
+            this.reachRange = Math.min(this.reachRange, reachRange);
+        }
+
+        /**
+         * Gets whether the entity is in activation range of any player in
+         * this cell, that is whether its bounding box intersects with the
+         * bounding box of a player grown by the activation range. The entity
+         * is expected to be in the chunk of this cell.
+         *
+         * @param posX The x position of the entity
+         * @param posY The y position of the entity
+         * @param posZ The z position of the entity
+         * @param minX The minimum x of the entity bounding box
+         * @param minY The minimum y of the entity bounding box
+         * @param minZ The minimum z of the entity bounding box
+         * @param maxX The maximum x of the entity bounding box
+         * @param maxY The maximum y of the entity bounding box
+         * @param maxZ The maximum z of the entity bounding box
+         * @param range The activation range of the entity
+         * @return True if the entity is in range
+         */
+        public boolean isInRange(double posX, double posY, double posZ,
+                double minX, double minY, double minZ, double maxX, double maxY, double maxZ, int range) {
+            // Entity lists may lag behind the position of their entities,
+            // the ranges only hold for entities within the chunk
+            if (range > this.coverRange && posY >= 0 && posY < WORLD_HEIGHT && toChunk(posX) == this.chunkX && toChunk(posZ) == this.chunkZ) {
+                return true;
+            }
+            if (range <= this.reachRange) {
+                int x = this.chunkX << 4;
+                int z = this.chunkZ << 4;
+                if (minX >= x - BOX_MARGIN && maxX <= x + 16 + BOX_MARGIN && minZ >= z - BOX_MARGIN && maxZ <= z + 16 + BOX_MARGIN) {
+                    return false;
+                }
+            }
+            double[] boxes = this.boxes;
+            for (int i = 0; i < this.size; i += 6) {
+                if (maxX > boxes[i] - range && minX < boxes[i + 3] + range
+                        && maxY > boxes[i + 1] - VERTICAL_RANGE && minY < boxes[i + 4] + VERTICAL_RANGE
+                        && maxZ > boxes[i + 2] - range && minZ < boxes[i + 5] + range) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+}
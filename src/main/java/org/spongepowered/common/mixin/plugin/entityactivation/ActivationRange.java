@@ -80,12 +80,6 @@ public class ActivationRange {
             .put((byte) 5, "misc")
             .build();
 
-    static AxisAlignedBB maxBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
     @SuppressWarnings("serial") static Map<Byte, Integer> maxActivationRanges = new HashMap<Byte, Integer>() {
 
         {
@@ -219,33 +213,27 @@ public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
-        for (EntityPlayer player : world.playerEntities) {
-
-            int maxRange = 0;
-            for (Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
+        int maxRange = 0;
+        for (Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
             }
+        }
+        maxRange = Math.min((MinecraftServer.getServer().getConfigurationManager().getViewDistance() << 4) - 8, maxRange);
 
-            maxRange = Math.min((MinecraftServer.getServer().getConfigurationManager().getViewDistance() << 4) - 8, maxRange);
-            ((IModData_Activation) player).setActivatedTick(world.getWorldInfo().getWorldTotalTime());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-
-            int i = MathHelper.floor_double(maxBB.minX / 16.0D);
-            int j = MathHelper.floor_double(maxBB.maxX / 16.0D);
-            int k = MathHelper.floor_double(maxBB.minZ / 16.0D);
-            int l = MathHelper.floor_double(maxBB.maxZ / 16.0D);
-
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    WorldServer worldserver = (WorldServer) world;
-                    IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) worldserver.theChunkProviderServer;
-                    Chunk chunk = chunkProvider.getChunkIfLoaded(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
-                    }
-                }
+        long currentTick = world.getWorldInfo().getWorldTotalTime();
+        ActivationGrid grid = new ActivationGrid();
+        for (EntityPlayer player : world.playerEntities) {
+            ((IModData_Activation) player).setActivatedTick(currentTick);
+            AxisAlignedBB bb = player.getEntityBoundingBox();
+            grid.addPlayer(bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ, maxRange);
+        }
+
+        IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) ((WorldServer) world).theChunkProviderServer;
+        for (ActivationGrid.Cell cell : grid.getCells()) {
+            Chunk chunk = chunkProvider.getChunkIfLoaded(cell.getChunkX(), cell.getChunkZ());
+            if (chunk != null) {
+                activateChunkEntities(cell, chunk, currentTick);
             }
         }
     }
@@ -253,75 +241,37 @@ public static void activateEntities(World world) {
     /**
      * Checks for the activation state of all entities in this chunk.
      *
+     * @param cell The activation grid cell of the chunk
      * @param chunk Chunk to check for activation
+     * @param currentTick The current world tick
      */
-    private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
+    private static void activateChunkEntities(ActivationGrid.Cell cell, Chunk chunk, long currentTick) {
+        if (((IMixinWorld) chunk.getWorld()).getActiveConfig() == null) {
+            return;
+        }
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
             for (Object o : chunk.getEntityLists()[i]) {
                 Entity entity = (Entity) o;
-                SpongeConfig<?> config = ((IMixinWorld) entity.worldObj).getActiveConfig();
-                SpongeEntityType type = (SpongeEntityType) ((org.spongepowered.api.entity.Entity) entity).getType();
-                if (config == null || type == null) {
+                IModData_Activation spongeEntity = (IModData_Activation) entity;
+                if (currentTick <= spongeEntity.getActivatedTick() || ((org.spongepowered.api.entity.Entity) entity).getType() == null) {
                     continue;
                 }
+                if (spongeEntity.getDefaultActivationState()) {
+                    spongeEntity.setActivatedTick(currentTick);
+                    continue;
+                }
+
+                // check if activation cache needs to be updated
+                if (spongeEntity.requiresCacheRefresh()) {
+                    ActivationRange.initializeEntityActivationState(entity);
+                    spongeEntity.requiresCacheRefresh(false);
+                }
 
-                long currentTick = entity.worldObj.getWorldInfo().getWorldTotalTime();
-                if (currentTick > ((IModData_Activation) entity).getActivatedTick()) {
-                    if (((IModData_Activation) entity).getDefaultActivationState()) {
-                        ((IModData_Activation) entity).setActivatedTick(currentTick);
-                        continue;
-                    }
-
-                    IModData_Activation spongeEntity = (IModData_Activation) entity;
-                    // check if activation cache needs to be updated
-                    if (spongeEntity.requiresCacheRefresh()) {
-                        ActivationRange.initializeEntityActivationState(entity);
-                        spongeEntity.requiresCacheRefresh(false);
-                    }
-                    // check for entity type overrides
-                    byte activationType = ((IModData_Activation) entity).getActivationType();
-                    int bbActivationRange = ((IModData_Activation) entity).getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    }
-
-                    switch (((IModData_Activation) entity).getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                    }
+                AxisAlignedBB bb = entity.getEntityBoundingBox();
+                if (cell.isInRange(entity.posX, entity.posY, entity.posZ,
+                        bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ, spongeEntity.getActivationRange())) {
+                    spongeEntity.setActivatedTick(currentTick);
                 }
             }
         }
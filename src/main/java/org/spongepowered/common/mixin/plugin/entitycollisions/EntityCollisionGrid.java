@@ -0,0 +1,295 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entitycollisions;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * A uniform grid over the entities of a single chunk section, used to find
+ * the entities colliding with a bounding box without testing every entity of
+ * the section.
+ *
+ * <p>The section is split into cells of four blocks on each axis and every
+ * entity is kept in the cell holding the center of its bounding box. The
+ * entity bounds are updated as the entity moves, a query then only visits
+ * the cells within its bounds extended by the largest half size of any
+ * entity added to the grid. Entities which moved out of the section but were
+ * not moved to their new section yet are kept in the nearest border cell.</p>
+ *
+ * <p>Entities with parts, such as the ender dragon, collide through parts
+ * which reach far outside of their own bounding box. They are kept in a
+ * separate list which every query visits.</p>
+ */
+public final class EntityCollisionGrid {
+
+    private static final int CELL_SHIFT = 2;
+    private static final int CELLS = 4;
+    private static final int SECTION_SIZE = 16;
+    private static final Entry[] EMPTY = new Entry[0];
+    // The cell of the entities which are always visited
+    private static final int ALWAYS_VISITED = -1;
+
+    private final double originX;
+    private final double originY;
+    private final double originZ;
+    private final Entry[][] cells = new Entry[CELLS * CELLS * CELLS][];
+    private final int[] cellSizes = new int[CELLS * CELLS * CELLS];
+    private Entry[] alwaysVisited = EMPTY;
+    private int alwaysVisitedSize;
+    private int size;
+    private double maxHalfWidth;
+    private double maxHalfHeight;
+
+    /**
+     * Creates a grid for the given chunk section.
+     *
+     * @param chunkX The x coordinate of the chunk
+     * @param sectionY The index of the section within the chunk
+     * @param chunkZ The z coordinate of the chunk
+     */
+    public EntityCollisionGrid(int chunkX, int sectionY, int chunkZ) {
+        this.originX = chunkX * SECTION_SIZE;
+        this.originY = sectionY * SECTION_SIZE;
+        this.originZ = chunkZ * SECTION_SIZE;
+        Arrays.fill(this.cells, EMPTY);
+    }
+
+    private static int toCell(double coordinate, double origin) {
+        int cell = (int) Math.floor(coordinate - origin) >> CELL_SHIFT;
+        return cell < 0 ? 0 : cell >= CELLS ? CELLS - 1 : cell;
+    }
+
+    private int toCell(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        return toCell((minX + maxX) * 0.5, this.originX)
+                | toCell((minY + maxY) * 0.5, this.originY) << CELL_SHIFT
+                | toCell((minZ + maxZ) * 0.5, this.originZ) << CELL_SHIFT * 2;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds an entity to the grid, removing it from the grid it was in.
+     *
+     * @param entry The entity
+     * @param minX The minimum x of the entity bounding box
+     * @param minY The minimum y of the entity bounding box
+     * @param minZ The minimum z of the entity bounding box
+     * @param maxX The maximum x of the entity bounding box
+     * @param maxY The maximum y of the entity bounding box
+     * @param maxZ The maximum z of the entity bounding box
+     */
+    public void add(Entry entry, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        EntityCollisionGrid grid = entry.getCollisionGrid();
+        if (grid != null) {
+            grid.remove(entry);
+        }
+        this.maxHalfWidth = Math.max(this.maxHalfWidth, Math.max(maxX - minX, maxZ - minZ) * 0.5);
+        this.maxHalfHeight = Math.max(this.maxHalfHeight, (maxY - minY) * 0.5);
+        int cell = toCell(minX, minY, minZ, maxX, maxY, maxZ);
+        addToCell(entry, cell);
+        entry.setCollisionCell(this, cell);
+        this.size++;
+    }
+
+    /**
+     * Adds an entity which is visited by every query to the grid, removing
+     * it from the grid it was in. Used for entities with parts.
+     *
+     * @param entry The entity
+     */
+    public void addAlwaysVisited(Entry entry) {
+        EntityCollisionGrid grid = entry.getCollisionGrid();
+        if (grid != null) {
+            grid.remove(entry);
+        }
+        addToCell(entry, ALWAYS_VISITED);
+        entry.setCollisionCell(this, ALWAYS_VISITED);
+        this.size++;
+    }
+
+    /**
+     * Updates the cell of an entity of this grid after it moved.
+     *
+     * @param entry The entity
+     * @param minX The minimum x of the entity bounding box
+     * @param minY The minimum y of the entity bounding box
+     * @param minZ The minimum z of the entity bounding box
+     * @param maxX The maximum x of the entity bounding box
+     * @param maxY The maximum y of the entity bounding box
+     * @param maxZ The maximum z of the entity bounding box
+     */
+    public void update(Entry entry, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        int oldCell = entry.getCollisionCell();
+        if (oldCell == ALWAYS_VISITED) {
+            return;
+        }
+        this.maxHalfWidth = Math.max(this.maxHalfWidth, Math.max(maxX - minX, maxZ - minZ) * 0.5);
+        this.maxHalfHeight = Math.max(this.maxHalfHeight, (maxY - minY) * 0.5);
+        int cell = toCell(minX, minY, minZ, maxX, maxY, maxZ);
+        if (cell != oldCell) {
+            removeFromCell(entry, oldCell);
+            addToCell(entry, cell);
+            entry.setCollisionCell(this, cell);
+        }
+    }
+
+    /**
+     * Removes an entity from the grid.
+     *
+     * @param entry The entity
+     */
+    public void remove(Entry entry) {
+        if (entry.getCollisionGrid() != this) {
+            return;
+        }
+        removeFromCell(entry, entry.getCollisionCell());
+        entry.setCollisionCell(null, 0);
+        if (--this.size == 0) {
+            this.maxHalfWidth = 0;
+            this.maxHalfHeight = 0;
+        }
+    }
+
+    private void addToCell(Entry entry, int cell) {
+        if (cell == ALWAYS_VISITED) {
+            if (this.alwaysVisitedSize == this.alwaysVisited.length) {
+                this.alwaysVisited = Arrays.copyOf(this.alwaysVisited, Math.max(4, this.alwaysVisitedSize * 2));
+            }
+            this.alwaysVisited[this.alwaysVisitedSize++] = entry;
+            return;
+        }
+        Entry[] entries = this.cells[cell];
+        int cellSize = this.cellSizes[cell];
+        if (cellSize == entries.length) {
+            entries = this.cells[cell] = Arrays.copyOf(entries, Math.max(4, cellSize * 2));
+        }
+        entries[cellSize] = entry;
+        this.cellSizes[cell] = cellSize + 1;
+    }
+
+    private void removeFromCell(Entry entry, int cell) {
+        if (cell == ALWAYS_VISITED) {
+            int last = this.alwaysVisitedSize - 1;
+            for (int i = last; i >= 0; i--) {
+                if (this.alwaysVisited[i] == entry) {
+                    this.alwaysVisited[i] = this.alwaysVisited[last];
+                    this.alwaysVisited[last] = null;
+                    this.alwaysVisitedSize = last;
+                    return;
+                }
+            }
+            return;
+        }
+        Entry[] entries = this.cells[cell];
+        int last = this.cellSizes[cell] - 1;
+        for (int i = last; i >= 0; i--) {
+            if (entries[i] == entry) {
+                entries[i] = entries[last];
+                entries[last] = null;
+                this.cellSizes[cell] = last;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Visits the entities which may intersect the given bounds. The visited
+     * entities still have to be tested against the bounds.
+     *
+     * @param minX The minimum x of the bounds
+     * @param minY The minimum y of the bounds
+     * @param minZ The minimum z of the bounds
+     * @param maxX The maximum x of the bounds
+     * @param maxY The maximum y of the bounds
+     * @param maxZ The maximum z of the bounds
+     * @param visitor The visitor, returning false to stop the query
+     * @return False if the visitor stopped the query
+     */
+    public boolean forEach(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, Visitor visitor) {
+        if (this.size == 0) {
+            return true;
+        }
+        for (int i = this.alwaysVisitedSize - 1; i >= 0; i--) {
+            Entry entry = this.alwaysVisited[i];
+            if (entry != null && !visitor.visit(entry)) {
+                return false;
+            }
+        }
+        if (this.size == this.alwaysVisitedSize) {
+            return true;
+        }
+        int fromX = toCell(minX - this.maxHalfWidth, this.originX);
+        int toX = toCell(maxX + this.maxHalfWidth, this.originX);
+        int fromY = toCell(minY - this.maxHalfHeight, this.originY);
+        int toY = toCell(maxY + this.maxHalfHeight, this.originY);
+        int fromZ = toCell(minZ - this.maxHalfWidth, this.originZ);
+        int toZ = toCell(maxZ + this.maxHalfWidth, this.originZ);
+        for (int z = fromZ; z <= toZ; z++) {
+            for (int y = fromY; y <= toY; y++) {
+                for (int x = fromX; x <= toX; x++) {
+                    int cell = x | y << CELL_SHIFT | z << CELL_SHIFT * 2;
+                    Entry[] entries = this.cells[cell];
+                    // Iterate backwards, so entities moved out of the cell by
+                    // the visitor do not cause others to be skipped
+                    for (int i = this.cellSizes[cell] - 1; i >= 0; i--) {
+                        Entry entry = entries[i];
+                        if (entry != null && !visitor.visit(entry)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An entity which can be held by a grid.
+     */
+    public interface Entry {
+
+        @Nullable
+        EntityCollisionGrid getCollisionGrid();
+
+        int getCollisionCell();
+
+        void setCollisionCell(@Nullable EntityCollisionGrid grid, int cell);
+
+    }
+
+    /**
+     * Visits the entities found by a query.
+     */
+    public interface Visitor {
+
+        boolean visit(Entry entry);
+
+    }
+
+}
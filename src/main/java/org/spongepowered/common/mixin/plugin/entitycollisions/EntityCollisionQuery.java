@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entitycollisions;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The reusable iterator over the candidates of a chunk section for a
+ * collision query, which ends once the query found the maximum number of
+ * collisions.
+ *
+ * @param <T> The type of the entities
+ */
+public final class EntityCollisionQuery<T> implements Iterator<T>, EntityCollisionGrid.Visitor {
+
+    private Object[] candidates = new Object[16];
+    private int size;
+    private int index;
+    private List<?> results;
+    private int maxResults;
+
+    /**
+     * Starts iterating over the entities of the given grid which may
+     * intersect the given bounds.
+     *
+     * @param grid The grid of the chunk section
+     * @param minX The minimum x of the bounds
+     * @param minY The minimum y of the bounds
+     * @param minZ The minimum z of the bounds
+     * @param maxX The maximum x of the bounds
+     * @param maxY The maximum y of the bounds
+     * @param maxZ The maximum z of the bounds
+     * @param results The list the query adds its results to
+     * @param maxResults The maximum number of results, or a negative number
+     *     for no maximum
+     * @return This iterator
+     */
+    public Iterator<T> start(EntityCollisionGrid grid, double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+            List<?> results, int maxResults) {
+        clear();
+        this.results = results;
+        this.maxResults = maxResults;
+        if (maxResults < 0 || results.size() < maxResults) {
+            grid.forEach(minX, minY, minZ, maxX, maxY, maxZ, this);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean visit(EntityCollisionGrid.Entry entry) {
+        if (this.size == this.candidates.length) {
+            this.candidates = Arrays.copyOf(this.candidates, this.size * 2);
+        }
+        this.candidates[this.size++] = entry;
+        return true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.index < this.size && (this.maxResults < 0 || this.results.size() < this.maxResults)) {
+            return true;
+        }
+        clear();
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T next() {
+        if (this.index >= this.size) {
+            throw new NoSuchElementException();
+        }
+        return (T) this.candidates[this.index++];
+    }
+
+    private void clear() {
+        // Don't keep the entities of the last query alive
+        Arrays.fill(this.candidates, 0, this.size, null);
+        this.size = 0;
+        this.index = 0;
+        this.results = null;
+    }
+
+}
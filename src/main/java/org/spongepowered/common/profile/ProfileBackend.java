@@ -0,0 +1,62 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import org.spongepowered.api.profile.GameProfile;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Looks up {@link GameProfile}s for the {@link ProfileResolver}. The
+ * resolver coalesces and batches requests, so a backend is called with
+ * unique keys only. Several batches may be looked up at the same time.
+ */
+public interface ProfileBackend {
+
+    /**
+     * Looks up the profiles of the given unique ids.
+     *
+     * @param uniqueIds The unique ids
+     * @param useCache Whether locally cached profiles may be used
+     * @return The profiles by unique id, missing ids are not found
+     * @throws Exception If the lookup failed
+     */
+    Map<UUID, Optional<GameProfile>> lookupByIds(Collection<UUID> uniqueIds, boolean useCache) throws Exception;
+
+    /**
+     * Looks up the profiles of the given names. The names of the
+     * resulting map may differ in case from the requested names.
+     *
+     * @param names The names
+     * @param useCache Whether locally cached profiles may be used
+     * @return The profiles by name, missing names are not found
+     * @throws Exception If the lookup failed
+     */
+    Map<String, Optional<GameProfile>> lookupByNames(Collection<String> names, boolean useCache) throws Exception;
+
+}
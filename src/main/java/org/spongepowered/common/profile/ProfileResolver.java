@@ -0,0 +1,691 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.profile.GameProfileManager;
+import org.spongepowered.api.profile.property.ProfileProperty;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Resolves {@link GameProfile}s by unique id or name through a
+ * {@link ProfileBackend}.
+ *
+ * <p>Requests for a key which is already being looked up share the pending
+ * lookup. Queued requests are looked up together in batches as soon as the
+ * executor runs the next flush, so a burst of single requests results in a
+ * few multi lookups. Several batches are looked up at the same time, up to
+ * a limit, so a slow lookup doesn't hold up the requests queued after it. Results, including profiles which weren't found, are
+ * kept in a bounded cache which is persisted between restarts. Expired
+ * profiles are still served for a while after their time to live, while
+ * they are looked up again in the background.</p>
+ */
+public final class ProfileResolver {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final ProfileBackend backend;
+    private final Executor executor;
+    private final GameProfileManager profiles;
+    @Nullable private final Path file;
+    private final int batchSize;
+    private final int maxConcurrentLookups;
+    private final long ttl;
+    private final long negativeTtl;
+    private final long staleTtl;
+    private final LongSupplier clock;
+
+    // Both guarded by this
+    private final Map<UUID, Entry> byId;
+    private final Map<String, Entry> byName;
+    private boolean dirty;
+
+    private final Map<Request, CompletableFuture<Optional<GameProfile>>> pending = new ConcurrentHashMap<>();
+    private final Queue<Request> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    // Flushes which are scheduled, and those which didn't take their batch yet
+    private final AtomicInteger activeFlushes = new AtomicInteger();
+    private final AtomicInteger waitingFlushes = new AtomicInteger();
+    private final Object saveLock = new Object();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * Creates a new resolver.
+     *
+     * @param backend The backend to look profiles up with
+     * @param executor The executor to run the lookups on
+     * @param profiles The manager to recreate persisted profiles with
+     * @param file The file the cache is persisted to, or null to only keep it
+     *     in memory
+     * @param maxSize The max amount of cached unique ids and names each
+     * @param batchSize The max amount of keys to look up at once
+     * @param maxConcurrentLookups The max amount of batches looked up at the
+     *     same time
+     * @param ttl How long found profiles are fresh
+     * @param negativeTtl How long keys without a profile are remembered
+     * @param staleTtl How long found profiles are served after they expired
+     * @param unit The unit of the durations
+     */
+    public ProfileResolver(ProfileBackend backend, Executor executor, GameProfileManager profiles, @Nullable Path file, int maxSize,
+            int batchSize, int maxConcurrentLookups, long ttl, long negativeTtl, long staleTtl, TimeUnit unit) {
+        this(backend, executor, profiles, file, maxSize, batchSize, maxConcurrentLookups, ttl, negativeTtl, staleTtl, unit,
+                System::currentTimeMillis);
+    }
+
+    ProfileResolver(ProfileBackend backend, Executor executor, GameProfileManager profiles, @Nullable Path file, int maxSize, int batchSize,
+            int maxConcurrentLookups, long ttl, long negativeTtl, long staleTtl, TimeUnit unit, LongSupplier clock) {
+        checkArgument(maxSize > 0, "max size must be positive");
+        checkArgument(batchSize > 0, "batch size must be positive");
+        checkArgument(maxConcurrentLookups > 0, "max concurrent lookups must be positive");
+        this.backend = checkNotNull(backend, "backend");
+        this.executor = checkNotNull(executor, "executor");
+        this.profiles = checkNotNull(profiles, "profiles");
+        this.file = file;
+        this.batchSize = batchSize;
+        this.maxConcurrentLookups = maxConcurrentLookups;
+        this.ttl = unit.toMillis(ttl);
+        this.negativeTtl = unit.toMillis(negativeTtl);
+        this.staleTtl = unit.toMillis(staleTtl);
+        this.clock = clock;
+        this.byId = new BoundedMap<>(maxSize);
+        this.byName = new BoundedMap<>(maxSize);
+    }
+
+    /**
+     * Gets the profile of the given unique id.
+     *
+     * @param uniqueId The unique id
+     * @param useCache Whether cached results may be used
+     * @return The profile, or empty if it doesn't exist
+     */
+    public CompletableFuture<Optional<GameProfile>> getById(UUID uniqueId, boolean useCache) {
+        return get(checkNotNull(uniqueId, "unique id"), useCache);
+    }
+
+    /**
+     * Gets the profile of the given name, ignoring its case.
+     *
+     * @param name The name
+     * @param useCache Whether cached results may be used
+     * @return The profile, or empty if it doesn't exist
+     */
+    public CompletableFuture<Optional<GameProfile>> getByName(String name, boolean useCache) {
+        return get(checkNotNull(name, "name").toLowerCase(Locale.ROOT), useCache);
+    }
+
+    private CompletableFuture<Optional<GameProfile>> get(Object key, boolean useCache) {
+        if (useCache) {
+            final long now = this.clock.getAsLong();
+            @Nullable final Entry entry = getEntry(key, now);
+            if (entry != null) {
+                this.hits.increment();
+                if (!isFresh(entry, now)) {
+                    // Serve the stale profile and revalidate it in the background
+                    lookup(new Request(key, false));
+                }
+                return CompletableFuture.completedFuture(Optional.ofNullable(entry.profile));
+            }
+        }
+        this.misses.increment();
+        // Don't hand out the shared future, callers may complete or cancel it
+        return lookup(new Request(key, useCache)).thenApply(Function.identity());
+    }
+
+    private CompletableFuture<Optional<GameProfile>> lookup(Request request) {
+        CompletableFuture<Optional<GameProfile>> future = this.pending.get(request);
+        if (future == null) {
+            final CompletableFuture<Optional<GameProfile>> created = new CompletableFuture<>();
+            future = this.pending.putIfAbsent(request, created);
+            if (future == null) {
+                this.queue.add(request);
+                this.queued.incrementAndGet();
+                scheduleFlush();
+                return created;
+            }
+        }
+        this.coalesced.increment();
+        return future;
+    }
+
+    private void scheduleFlush() {
+        while (true) {
+            final int active = this.activeFlushes.get();
+            final int waiting = this.waitingFlushes.get();
+            // One flush per batch of queued requests, up to the limit
+            if (active >= this.maxConcurrentLookups || (long) waiting * this.batchSize >= this.queued.get()) {
+                return;
+            }
+            if (!this.activeFlushes.compareAndSet(active, active + 1)) {
+                continue;
+            }
+            this.waitingFlushes.incrementAndGet();
+            try {
+                this.executor.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                this.waitingFlushes.decrementAndGet();
+                this.activeFlushes.decrementAndGet();
+                Request request;
+                while ((request = this.queue.poll()) != null) {
+                    this.queued.decrementAndGet();
+                    this.pending.remove(request).completeExceptionally(e);
+                }
+                return;
+            }
+        }
+    }
+
+    private void flush() {
+        final List<UUID> ids = new ArrayList<>();
+        final List<UUID> cachedIds = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        final List<String> cachedNames = new ArrayList<>();
+        try {
+            this.waitingFlushes.decrementAndGet();
+            Request request;
+            int taken = 0;
+            while (taken < this.batchSize && (request = this.queue.poll()) != null) {
+                this.queued.decrementAndGet();
+                taken++;
+                if (request.key instanceof UUID) {
+                    (request.useCache ? cachedIds : ids).add((UUID) request.key);
+                } else {
+                    (request.useCache ? cachedNames : names).add((String) request.key);
+                }
+            }
+            // Let another flush take the requests which didn't fit
+            scheduleFlush();
+            lookupIds(ids, false);
+            lookupIds(cachedIds, true);
+            lookupNames(names, false);
+            lookupNames(cachedNames, true);
+        } finally {
+            this.activeFlushes.decrementAndGet();
+        }
+        // Requests queued while all the flushes were busy
+        scheduleFlush();
+    }
+
+    private void lookupIds(List<UUID> ids, boolean useCache) {
+        for (int start = 0; start < ids.size(); start += this.batchSize) {
+            final List<UUID> batch = ids.subList(start, Math.min(ids.size(), start + this.batchSize));
+            this.batches.increment();
+            final Map<UUID, Optional<GameProfile>> result;
+            try {
+                result = this.backend.lookupByIds(batch, useCache);
+            } catch (Exception e) {
+                batch.forEach(id -> fail(new Request(id, useCache), e));
+                continue;
+            }
+            final long now = this.clock.getAsLong();
+            for (UUID id : batch) {
+                @Nullable final Optional<GameProfile> profile = result.get(id);
+                final Entry entry = new Entry(profile == null ? null : profile.orElse(null), now);
+                synchronized (this) {
+                    this.byId.put(id, entry);
+                    if (entry.profile != null && entry.profile.getName().isPresent()) {
+                        this.byName.put(entry.profile.getName().get().toLowerCase(Locale.ROOT), entry);
+                    }
+                    this.dirty = true;
+                }
+                complete(new Request(id, useCache), entry.profile);
+            }
+        }
+    }
+
+    private void lookupNames(List<String> names, boolean useCache) {
+        for (int start = 0; start < names.size(); start += this.batchSize) {
+            final List<String> batch = names.subList(start, Math.min(names.size(), start + this.batchSize));
+            this.batches.increment();
+            final Map<String, GameProfile> result = new HashMap<>();
+            try {
+                this.backend.lookupByNames(batch, useCache).forEach((name, profile) -> {
+                    if (profile.isPresent()) {
+                        result.put(name.toLowerCase(Locale.ROOT), profile.get());
+                    }
+                });
+            } catch (Exception e) {
+                batch.forEach(name -> fail(new Request(name, useCache), e));
+                continue;
+            }
+            final long now = this.clock.getAsLong();
+            for (String name : batch) {
+                final Entry entry = new Entry(result.get(name), now);
+                synchronized (this) {
+                    this.byName.put(name, entry);
+                    // Profiles found by name don't have their properties, don't
+                    // replace a profile which might have them
+                    if (entry.profile != null && !this.byId.containsKey(entry.profile.getUniqueId())) {
+                        this.byId.put(entry.profile.getUniqueId(), entry);
+                    }
+                    this.dirty = true;
+                }
+                complete(new Request(name, useCache), entry.profile);
+            }
+        }
+    }
+
+    private void complete(Request request, @Nullable GameProfile profile) {
+        @Nullable final CompletableFuture<Optional<GameProfile>> future = this.pending.remove(request);
+        if (future != null) {
+            future.complete(Optional.ofNullable(profile));
+        }
+    }
+
+    private void fail(Request request, Exception e) {
+        @Nullable final CompletableFuture<Optional<GameProfile>> future = this.pending.remove(request);
+        if (future != null) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    @Nullable
+    private synchronized Entry getEntry(Object key, long now) {
+        @Nullable final Entry entry = key instanceof UUID ? this.byId.get(key) : this.byName.get(key);
+        if (entry == null) {
+            return null;
+        }
+        final long age = now - entry.resolved;
+        if (entry.profile == null ? age >= this.negativeTtl : age >= this.ttl + this.staleTtl) {
+            return null;
+        }
+        return entry;
+    }
+
+    private boolean isFresh(Entry entry, long now) {
+        return now - entry.resolved < (entry.profile == null ? this.negativeTtl : this.ttl);
+    }
+
+    /**
+     * Gets the amount of requests served from the cache.
+     *
+     * @return The amount of cache hits
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the amount of requests which weren't served from the cache.
+     *
+     * @return The amount of cache misses
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the amount of lookups which shared an already pending lookup.
+     *
+     * @return The amount of coalesced lookups
+     */
+    public long getCoalesced() {
+        return this.coalesced.sum();
+    }
+
+    /**
+     * Gets the amount of backend calls made.
+     *
+     * @return The amount of batches
+     */
+    public long getBatches() {
+        return this.batches.sum();
+    }
+
+    /**
+     * Reads the persisted cache, replacing the cached profiles.
+     *
+     * @throws IOException If the file could not be read
+     */
+    public void load() throws IOException {
+        if (this.file == null) {
+            return;
+        }
+        final Map<UUID, Entry> ids = new LinkedHashMap<>();
+        final Map<String, Entry> names = new LinkedHashMap<>();
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(this.file, StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "version":
+                        if (reader.nextInt() != FORMAT_VERSION) {
+                            return;
+                        }
+                        break;
+                    case "ids":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            readEntry(reader, (key, entry) -> ids.put(UUID.fromString(key), entry));
+                        }
+                        reader.endArray();
+                        break;
+                    case "names":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            readEntry(reader, (key, entry) -> names.put(key.toLowerCase(Locale.ROOT), entry));
+                        }
+                        reader.endArray();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            throw new IOException("Malformed profile cache " + this.file, e);
+        }
+        synchronized (this) {
+            this.byId.clear();
+            this.byId.putAll(ids);
+            this.byName.clear();
+            this.byName.putAll(names);
+            this.dirty = false;
+        }
+    }
+
+    private void readEntry(JsonReader reader, EntryConsumer consumer) throws IOException {
+        String key = null;
+        long resolved = 0;
+        GameProfile profile = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "key":
+                    key = reader.nextString();
+                    break;
+                case "resolved":
+                    resolved = reader.nextLong();
+                    break;
+                case "profile":
+                    profile = readProfile(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        if (key != null) {
+            consumer.accept(key, new Entry(profile, resolved));
+        }
+    }
+
+    private GameProfile readProfile(JsonReader reader) throws IOException {
+        UUID uniqueId = null;
+        String name = null;
+        final List<ProfileProperty> properties = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    uniqueId = UUID.fromString(reader.nextString());
+                    break;
+                case "name":
+                    name = reader.nextString();
+                    break;
+                case "properties":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        properties.add(readProperty(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        if (uniqueId == null) {
+            throw new IOException("Profile without an unique id in the profile cache " + this.file);
+        }
+        final GameProfile profile = this.profiles.createProfile(uniqueId, name);
+        for (ProfileProperty property : properties) {
+            profile.getPropertyMap().put(property.getName(), property);
+        }
+        return profile;
+    }
+
+    private ProfileProperty readProperty(JsonReader reader) throws IOException {
+        String name = null;
+        String value = null;
+        String signature = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    name = reader.nextString();
+                    break;
+                case "value":
+                    value = reader.nextString();
+                    break;
+                case "signature":
+                    signature = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        if (name == null || value == null) {
+            throw new IOException("Incomplete profile property in the profile cache " + this.file);
+        }
+        return this.profiles.createProfileProperty(name, value, signature);
+    }
+
+    /**
+     * Writes the cache to its file if it changed since it was last loaded or
+     * saved.
+     *
+     * @throws IOException If the file could not be written
+     */
+    public void save() throws IOException {
+        if (this.file == null) {
+            return;
+        }
+        // Don't let an older snapshot replace a newer one
+        synchronized (this.saveLock) {
+            saveSnapshot();
+        }
+    }
+
+    private void saveSnapshot() throws IOException {
+        final List<Map.Entry<UUID, Entry>> ids;
+        final List<Map.Entry<String, Entry>> names;
+        synchronized (this) {
+            if (!this.dirty) {
+                return;
+            }
+            ids = new ArrayList<>(this.byId.entrySet());
+            names = new ArrayList<>(this.byName.entrySet());
+            this.dirty = false;
+        }
+        final long now = this.clock.getAsLong();
+        final Path parent = this.file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final Path temp = Files.createTempFile(parent, this.file.getFileName().toString(), ".tmp");
+        try {
+            try (JsonWriter writer = new JsonWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8))) {
+                writer.beginObject();
+                writer.name("version").value(FORMAT_VERSION);
+                writer.name("ids").beginArray();
+                for (Map.Entry<UUID, Entry> entry : ids) {
+                    writeEntry(writer, entry.getKey().toString(), entry.getValue(), now);
+                }
+                writer.endArray();
+                writer.name("names").beginArray();
+                for (Map.Entry<String, Entry> entry : names) {
+                    writeEntry(writer, entry.getKey(), entry.getValue(), now);
+                }
+                writer.endArray();
+                writer.endObject();
+            }
+            Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            synchronized (this) {
+                this.dirty = true;
+            }
+            throw e;
+        }
+    }
+
+    private void writeEntry(JsonWriter writer, String key, Entry entry, long now) throws IOException {
+        // Expired entries would be dropped on the next load anyway
+        if (now - entry.resolved >= (entry.profile == null ? this.negativeTtl : this.ttl + this.staleTtl)) {
+            return;
+        }
+        writer.beginObject();
+        writer.name("key").value(key);
+        writer.name("resolved").value(entry.resolved);
+        if (entry.profile != null) {
+            writer.name("profile").beginObject();
+            writer.name("id").value(entry.profile.getUniqueId().toString());
+            if (entry.profile.getName().isPresent()) {
+                writer.name("name").value(entry.profile.getName().get());
+            }
+            writer.name("properties").beginArray();
+            for (ProfileProperty property : entry.profile.getPropertyMap().values()) {
+                writer.beginObject();
+                writer.name("name").value(property.getName());
+                writer.name("value").value(property.getValue());
+                if (property.getSignature().isPresent()) {
+                    writer.name("signature").value(property.getSignature().get());
+                }
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        writer.endObject();
+    }
+
+    @FunctionalInterface
+    private interface EntryConsumer {
+
+        void accept(String key, Entry entry);
+
+    }
+
+    private static final class Entry {
+
+        @Nullable final GameProfile profile;
+        final long resolved;
+
+        Entry(@Nullable GameProfile profile, long resolved) {
+            this.profile = profile;
+            this.resolved = resolved;
+        }
+
+    }
+
+    private static final class Request {
+
+        // The unique id, or the lower case name
+        final Object key;
+        final boolean useCache;
+
+        Request(Object key, boolean useCache) {
+            this.key = key;
+            this.useCache = useCache;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Request)) {
+                return false;
+            }
+            final Request other = (Request) obj;
+            return this.useCache == other.useCache && this.key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.key.hashCode() + (this.useCache ? 1 : 0);
+        }
+
+    }
+
+    private static final class BoundedMap<K> extends LinkedHashMap<K, Entry> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        BoundedMap(int maxSize) {
+            super(16, 0.75F, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry> eldest) {
+            return size() > this.maxSize;
+        }
+
+    }
+
+}
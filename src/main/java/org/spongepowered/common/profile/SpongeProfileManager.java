@@ -26,21 +26,30 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.Sets;
 import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.profile.GameProfileCache;
 import org.spongepowered.api.profile.GameProfileManager;
+import org.spongepowered.api.profile.ProfileNotFoundException;
 import org.spongepowered.api.profile.property.ProfileProperty;
-import org.spongepowered.common.profile.query.GameProfileQuery;
-import org.spongepowered.common.profile.query.NameQuery;
-import org.spongepowered.common.profile.query.UniqueIdQuery;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.GuavaCollectors;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.ProfileCategory;
 import org.spongepowered.common.scheduler.SpongeScheduler;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
@@ -48,6 +57,27 @@ public final class SpongeProfileManager implements GameProfileManager {
 
     private final GameProfileCache defaultCache = (GameProfileCache) ((MinecraftServer) Sponge.getServer()).getPlayerProfileCache();
     private GameProfileCache cache = this.defaultCache;
+    private final ProfileResolver resolver;
+
+    public SpongeProfileManager() {
+        final ProfileCategory config = SpongeImpl.getGlobalConfig().getConfig().getProfiles();
+        this.resolver = new ProfileResolver(new CacheBackend(), SpongeScheduler.getInstance().getAsyncExecutor(), this,
+                SpongeImpl.getGameDir().resolve("profilecache.json"), config.getCacheSize(), config.getBatchSize(),
+                config.getLookupConcurrency(), config.getCacheTtl(), config.getNegativeCacheTtl(), config.getStaleTtl(), TimeUnit.MINUTES);
+        try {
+            this.resolver.load();
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not read the profile cache, starting with an empty cache", e);
+        }
+        // Don't lose the cached profiles if the server doesn't stop cleanly
+        Task.builder()
+                .async()
+                .name("Sponge profile cache saver")
+                .delay(config.getSaveInterval(), TimeUnit.MINUTES)
+                .interval(config.getSaveInterval(), TimeUnit.MINUTES)
+                .execute(this::save)
+                .submit(SpongeImpl.getPlugin());
+    }
 
     @Override
     public GameProfile createProfile(UUID uniqueId, @Nullable String name) {
@@ -62,27 +92,72 @@ public ProfileProperty createProfileProperty(String name, String value, @Nullabl
 
     @Override
     public CompletableFuture<GameProfile> get(UUID uniqueId, final boolean useCache) {
-        return this.submitTask(new UniqueIdQuery.SingleGet(this.cache, checkNotNull(uniqueId, "unique id"), useCache));
+        checkNotNull(uniqueId, "unique id");
+        return this.resolver.getById(uniqueId, useCache).thenApply(profile -> profile.orElseGet(() -> this.createProfile(uniqueId, null)));
     }
 
     @Override
     public CompletableFuture<Collection<GameProfile>> getAllById(Iterable<UUID> uniqueIds, boolean useCache) {
-        return this.submitTask(new UniqueIdQuery.MultiGet(this.cache, checkNotNull(uniqueIds, "unique ids"), useCache));
+        final List<CompletableFuture<Optional<GameProfile>>> profiles = new ArrayList<>();
+        for (UUID uniqueId : Sets.newLinkedHashSet(checkNotNull(uniqueIds, "unique ids"))) {
+            profiles.add(this.resolver.getById(checkNotNull(uniqueId, "unique id"), useCache));
+        }
+        return collect(profiles);
     }
 
     @Override
     public CompletableFuture<GameProfile> get(String name, boolean useCache) {
-        return this.submitTask(new NameQuery.SingleGet(this.cache, checkNotNull(name, "name"), useCache));
+        checkNotNull(name, "name");
+        return this.resolver.getByName(name, useCache).thenApply(profile -> profile.orElseThrow(() ->
+                new CompletionException(new ProfileNotFoundException("Profile: " + name))));
     }
 
     @Override
     public CompletableFuture<Collection<GameProfile>> getAllByName(Iterable<String> names, boolean useCache) {
-        return this.submitTask(new NameQuery.MultiGet(this.cache, checkNotNull(names, "names"), useCache));
+        final List<CompletableFuture<Optional<GameProfile>>> profiles = new ArrayList<>();
+        for (String name : Sets.newLinkedHashSet(checkNotNull(names, "names"))) {
+            profiles.add(this.resolver.getByName(checkNotNull(name, "name"), useCache));
+        }
+        return collect(profiles);
     }
 
     @Override
     public CompletableFuture<GameProfile> fill(GameProfile profile, boolean signed, boolean useCache) {
-        return this.submitTask(new GameProfileQuery.SingleFill(this.cache, checkNotNull(profile, "profile"), signed, useCache));
+        checkNotNull(profile, "profile");
+        if (!useCache) {
+            return this.fillByCache(profile, signed);
+        }
+        // Profiles looked up by unique id usually have their signed
+        // properties already, only ask the cache to fill the others
+        return this.resolver.getById(profile.getUniqueId(), true).thenCompose(result -> isFilled(result, signed)
+                ? CompletableFuture.completedFuture(result.get()) : this.fillByCache(profile, signed));
+    }
+
+    private CompletableFuture<GameProfile> fillByCache(GameProfile profile, boolean signed) {
+        return SpongeScheduler.getInstance().submitAsyncTask(() -> {
+            final GameProfileCache cache = this.cache;
+            final Optional<GameProfile> result = cache.fillProfile(profile, signed);
+            if (!result.isPresent() || !result.get().isFilled()) {
+                throw new ProfileNotFoundException("Profile: " + profile);
+            }
+            cache.add(result.get(), true, null);
+            return result.get();
+        });
+    }
+
+    private static boolean isFilled(Optional<GameProfile> profile, boolean signed) {
+        if (!profile.isPresent() || !profile.get().isFilled() || profile.get().getPropertyMap().isEmpty()) {
+            return false;
+        }
+        return !signed || profile.get().getPropertyMap().values().stream().allMatch(property -> property.getSignature().isPresent());
+    }
+
+    private static CompletableFuture<Collection<GameProfile>> collect(List<CompletableFuture<Optional<GameProfile>>> profiles) {
+        return CompletableFuture.allOf(profiles.toArray(new CompletableFuture<?>[profiles.size()])).thenApply(v -> profiles.stream()
+                .map(CompletableFuture::join)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(GuavaCollectors.toImmutableList()));
     }
 
     @Override
@@ -100,8 +175,44 @@ public GameProfileCache getDefaultCache() {
         return this.defaultCache;
     }
 
-    private <T> CompletableFuture<T> submitTask(Callable<T> callable) {
-        return SpongeScheduler.getInstance().submitAsyncTask(callable);
+    /**
+     * Gets the resolver which coalesces, batches and caches the profile
+     * lookups of this manager.
+     *
+     * @return The profile resolver
+     */
+    public ProfileResolver getResolver() {
+        return this.resolver;
+    }
+
+    /**
+     * Writes the profile cache to disk.
+     */
+    public void save() {
+        try {
+            this.resolver.save();
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not save the profile cache", e);
+        }
+    }
+
+    /**
+     * Looks profiles up through the current {@link GameProfileCache}.
+     */
+    private final class CacheBackend implements ProfileBackend {
+
+        @Override
+        public Map<UUID, Optional<GameProfile>> lookupByIds(Collection<UUID> uniqueIds, boolean useCache) {
+            final GameProfileCache cache = SpongeProfileManager.this.cache;
+            return useCache ? cache.getOrLookupByIds(uniqueIds) : cache.lookupByIds(uniqueIds);
+        }
+
+        @Override
+        public Map<String, Optional<GameProfile>> lookupByNames(Collection<String> names, boolean useCache) {
+            final GameProfileCache cache = SpongeProfileManager.this.cache;
+            return useCache ? cache.getOrLookupByNames(names) : cache.lookupByNames(names);
+        }
+
     }
 
 }
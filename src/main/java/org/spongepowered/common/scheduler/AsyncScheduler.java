@@ -24,12 +24,8 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
-import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -39,12 +35,11 @@ public class AsyncScheduler extends SchedulerBase {
 
     // Adjustable timeout for pending Tasks
     private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
     // Locking mechanism
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The bounded, per-plugin fair executor of asynchronous tasks.
+    private final AsyncTaskExecutor executor = new AsyncTaskExecutor();
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
@@ -55,12 +50,11 @@ public class AsyncScheduler extends SchedulerBase {
         thread.start();
     }
 
-    ExecutorService getExecutor() {
+    AsyncTaskExecutor getExecutor() {
         return this.executor;
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
         while (true) {
             recalibrateMinimumTimeout();
             this.runTick();
@@ -70,35 +64,13 @@ private void mainLoop() {
     private void recalibrateMinimumTimeout() {
         this.lock.lock();
         try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
-
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
+            // Wait until the first queued task is due, tasks added in the
+            // meantime signal the condition
+            long nextExecution = this.getNextExecutionTimestamp();
+            if (nextExecution == Long.MAX_VALUE) {
+                this.minimumTimeout = Long.MAX_VALUE;
+            } else {
+                this.minimumTimeout = Math.max(nextExecution - System.nanoTime(), 0);
             }
         } finally {
             this.lock.unlock();
@@ -109,7 +81,11 @@ private void recalibrateMinimumTimeout() {
     protected void preTick() {
         this.lock.lock();
         try {
-            this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+            // Tasks added after the timeout was calibrated have to be
+            // processed right away, their signal is already gone
+            if (!this.hasAddedTasks() && this.minimumTimeout > 0) {
+                this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
+            }
         } catch (InterruptedException ignored) {
             // The taskMap has been modified; there is work to do.
             // Continue on without handling the Exception.
@@ -118,19 +94,14 @@ protected void preTick() {
         }
     }
 
-    @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
-    }
-
     @Override
     protected void finallyPostTick() {
         this.lock.unlock();
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
-        this.executor.submit(runnable);
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+        this.executor.execute(task.getOwner().getId(), runnable);
     }
 
     @Override
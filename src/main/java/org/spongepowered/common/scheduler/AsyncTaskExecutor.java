@@ -0,0 +1,486 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import co.aikar.timings.TickHistogram;
+import com.google.common.collect.ImmutableList;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The executor running the tasks of the {@link AsyncScheduler}.
+ *
+ * <p>Every plugin gets its own queue and the workers take tasks from the
+ * plugin queues in a round-robin fashion, so a single plugin flooding the
+ * scheduler can't starve the others. Workers are started whenever no idle
+ * worker can take a task and stop after being idle for a minute, like a
+ * cached thread pool, so plugins running blocking or long-lived tasks don't
+ * hold up each other.</p>
+ *
+ * <p>The amount of worker threads, and the amount of tasks a single plugin
+ * may run at the same time, can be bounded in the config.</p>
+ *
+ * <p>Internal work which isn't owned by a plugin task, like profile lookups,
+ * gets a queue of its own which is not limited per plugin.</p>
+ */
+public final class AsyncTaskExecutor extends AbstractExecutorService {
+
+    private static final long KEEP_ALIVE = TimeUnit.SECONDS.toNanos(60);
+    // Plugin ids can't contain colons, so this never clashes with a plugin
+    static final String INTERNAL_QUEUE = SpongeImpl.ECOSYSTEM_ID + ":internal";
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    private final Condition terminated = this.lock.newCondition();
+    // All the plugin queues, guarded by the lock
+    private final Map<String, PluginQueue> queues = new LinkedHashMap<>();
+    // The plugin queues which have tasks and may start another one, in the
+    // order they will be served in. Guarded by the lock.
+    private final Deque<PluginQueue> ready = new ArrayDeque<>();
+    private final List<Thread> workers = new ArrayList<>();
+    // Zero if not bounded
+    private int poolSize;
+    private int pluginConcurrency;
+    private Map<String, Integer> concurrencyOverrides = Collections.emptyMap();
+    private boolean configured;
+    private int startedWorkers;
+    private boolean shutdown;
+    private int idleWorkers;
+    private int activeWorkers;
+
+    AsyncTaskExecutor() {
+    }
+
+    AsyncTaskExecutor(int poolSize, int pluginConcurrency) {
+        this.apply(poolSize, pluginConcurrency, Collections.emptyMap());
+        this.configured = true;
+    }
+
+    /**
+     * Queues internal work, which is exempt from the per-plugin concurrency
+     * limit.
+     *
+     * @param command The runnable to execute
+     */
+    @Override
+    public void execute(Runnable command) {
+        this.execute(INTERNAL_QUEUE, command);
+    }
+
+    /**
+     * Queues the runnable on behalf of the given plugin.
+     *
+     * @param pluginId The id of the plugin owning the runnable
+     * @param command The runnable to execute
+     */
+    public void execute(String pluginId, Runnable command) {
+        this.lock.lock();
+        try {
+            if (this.shutdown) {
+                throw new RejectedExecutionException("The async task executor has been shut down");
+            }
+            this.configure();
+            PluginQueue queue = this.queues.get(pluginId);
+            if (queue == null) {
+                queue = new PluginQueue(pluginId, this.getConcurrencyLimit(pluginId));
+                this.queues.put(pluginId, queue);
+            }
+            queue.tasks.add(new QueuedTask(command, System.nanoTime()));
+            this.markReady(queue);
+            this.ensureWorkers();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // Must be called while holding the lock
+    private void configure() {
+        // The scheduler is created before the configs are loaded, so they
+        // are read once the first task is executed after they are available.
+        // Tasks executed before that aren't bounded.
+        if (this.configured || !SpongeImpl.isInitialized()) {
+            return;
+        }
+        SchedulerCategory config = SpongeImpl.getGlobalConfig().getConfig().getScheduler();
+        this.apply(config.getAsyncPoolSize(), config.getAsyncPluginConcurrency(), config.getAsyncPluginConcurrencyOverrides());
+        this.configured = true;
+    }
+
+    // Must be called while holding the lock
+    private void apply(int poolSize, int pluginConcurrency, Map<String, Integer> concurrencyOverrides) {
+        this.poolSize = Math.max(poolSize, 0);
+        if (pluginConcurrency <= 0 && this.poolSize > 0) {
+            // Keep workers of a bounded pool available for other plugins
+            pluginConcurrency = Math.max(this.poolSize / 2, 1);
+        }
+        this.pluginConcurrency = Math.max(pluginConcurrency, 0);
+        this.concurrencyOverrides = concurrencyOverrides;
+        for (PluginQueue queue : this.queues.values()) {
+            queue.limit = this.getConcurrencyLimit(queue.pluginId);
+            this.markReady(queue);
+        }
+    }
+
+    private int getConcurrencyLimit(String pluginId) {
+        if (INTERNAL_QUEUE.equals(pluginId)) {
+            return Integer.MAX_VALUE;
+        }
+        Integer limit = this.concurrencyOverrides.get(pluginId);
+        if (limit == null || limit <= 0) {
+            return this.pluginConcurrency > 0 ? this.pluginConcurrency : Integer.MAX_VALUE;
+        }
+        return limit;
+    }
+
+    // Must be called while holding the lock
+    private void markReady(PluginQueue queue) {
+        if (!queue.ready && !queue.tasks.isEmpty() && queue.active < queue.limit) {
+            queue.ready = true;
+            this.ready.add(queue);
+            this.available.signal();
+        }
+    }
+
+    // Must be called while holding the lock
+    private void ensureWorkers() {
+        // Workers are started on demand, every ready plugin may keep one
+        // worker busy
+        if (this.idleWorkers < this.ready.size() && (this.poolSize == 0 || this.workers.size() < this.poolSize)) {
+            this.startWorker();
+        }
+    }
+
+    // Must be called while holding the lock
+    private void startWorker() {
+        Thread thread = new Thread(this::runWorker);
+        thread.setName("Sponge Async Task Thread #" + ++this.startedWorkers);
+        thread.setDaemon(true);
+        this.workers.add(thread);
+        this.idleWorkers++;
+        thread.start();
+    }
+
+    private void runWorker() {
+        while (true) {
+            PluginQueue queue;
+            QueuedTask task;
+            this.lock.lock();
+            try {
+                long idle = KEEP_ALIVE;
+                while ((queue = this.ready.poll()) == null) {
+                    if (this.shutdown || idle <= 0) {
+                        this.workerExited();
+                        return;
+                    }
+                    try {
+                        idle = this.available.awaitNanos(idle);
+                    } catch (InterruptedException ignored) {
+                        // Only the executor stops its workers
+                    }
+                }
+                queue.ready = false;
+                task = queue.tasks.poll();
+                queue.active++;
+                this.idleWorkers--;
+                this.activeWorkers++;
+                // Go to the back of the line, other plugins are served first
+                this.markReady(queue);
+                this.ensureWorkers();
+            } finally {
+                this.lock.unlock();
+            }
+
+            long start = System.nanoTime();
+            queue.waitTime.record(start - task.queuedAt);
+            try {
+                task.runnable.run();
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("An asynchronous task owned by {} threw an exception.", queue.pluginId, t);
+            }
+            queue.runTime.record(System.nanoTime() - start);
+
+            this.lock.lock();
+            try {
+                queue.active--;
+                queue.completed++;
+                this.activeWorkers--;
+                this.idleWorkers++;
+                this.markReady(queue);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    // Must be called while holding the lock
+    private void workerExited() {
+        this.idleWorkers--;
+        this.workers.remove(Thread.currentThread());
+        if (this.workers.isEmpty()) {
+            this.terminated.signalAll();
+        }
+    }
+
+    /**
+     * Gets the maximum amount of worker threads.
+     *
+     * @return The pool size, or zero if the pool is not bounded
+     */
+    public int getPoolSize() {
+        this.lock.lock();
+        try {
+            this.configure();
+            return this.poolSize;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the amount of worker threads which are currently running a task.
+     *
+     * @return The amount of active threads
+     */
+    public int getActiveThreads() {
+        this.lock.lock();
+        try {
+            return this.activeWorkers;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the amount of worker threads which have been started.
+     *
+     * @return The amount of threads
+     */
+    public int getThreadCount() {
+        this.lock.lock();
+        try {
+            return this.workers.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the statistics of every plugin which used the
+     * executor.
+     *
+     * @return The plugin statistics
+     */
+    public Collection<PluginStatistics> getPluginStatistics() {
+        this.lock.lock();
+        try {
+            ImmutableList.Builder<PluginStatistics> builder = ImmutableList.builder();
+            for (PluginQueue queue : this.queues.values()) {
+                builder.add(new PluginStatistics(queue));
+            }
+            return builder.build();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        this.lock.lock();
+        try {
+            this.shutdown = true;
+            this.available.signalAll();
+            if (this.workers.isEmpty()) {
+                this.terminated.signalAll();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        this.lock.lock();
+        try {
+            List<Runnable> pending = new ArrayList<>();
+            for (PluginQueue queue : this.queues.values()) {
+                for (QueuedTask task : queue.tasks) {
+                    pending.add(task.runnable);
+                }
+                queue.tasks.clear();
+            }
+            this.ready.clear();
+            this.shutdown();
+            return pending;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        this.lock.lock();
+        try {
+            return this.shutdown;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        this.lock.lock();
+        try {
+            return this.shutdown && this.workers.isEmpty();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        this.lock.lock();
+        try {
+            while (!this.shutdown || !this.workers.isEmpty()) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = this.terminated.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static final class QueuedTask {
+
+        final Runnable runnable;
+        final long queuedAt;
+
+        QueuedTask(Runnable runnable, long queuedAt) {
+            this.runnable = runnable;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    private static final class PluginQueue {
+
+        final String pluginId;
+        final Queue<QueuedTask> tasks = new ArrayDeque<>();
+        final TickHistogram waitTime = new TickHistogram();
+        final TickHistogram runTime = new TickHistogram();
+        // Guarded by the lock of the executor
+        int limit;
+        int active;
+        long completed;
+        boolean ready;
+
+        PluginQueue(String pluginId, int limit) {
+            this.pluginId = pluginId;
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * A snapshot of the executor statistics of a single plugin.
+     */
+    public static final class PluginStatistics {
+
+        private final String pluginId;
+        private final int concurrencyLimit;
+        private final int queuedTasks;
+        private final int activeTasks;
+        private final long completedTasks;
+        private final TickHistogram waitTime;
+        private final TickHistogram runTime;
+
+        PluginStatistics(PluginQueue queue) {
+            this.pluginId = queue.pluginId;
+            this.concurrencyLimit = queue.limit;
+            this.queuedTasks = queue.tasks.size();
+            this.activeTasks = queue.active;
+            this.completedTasks = queue.completed;
+            this.waitTime = queue.waitTime.snapshot();
+            this.runTime = queue.runTime.snapshot();
+        }
+
+        public String getPluginId() {
+            return this.pluginId;
+        }
+
+        public int getConcurrencyLimit() {
+            return this.concurrencyLimit;
+        }
+
+        public int getQueuedTasks() {
+            return this.queuedTasks;
+        }
+
+        public int getActiveTasks() {
+            return this.activeTasks;
+        }
+
+        public long getCompletedTasks() {
+            return this.completedTasks;
+        }
+
+        /**
+         * Gets the time the tasks spent in the queue before a worker picked
+         * them up.
+         *
+         * @return The queue latency
+         */
+        public TickHistogram getWaitTime() {
+            return this.waitTime;
+        }
+
+        /**
+         * Gets the time the tasks took to run.
+         *
+         * @return The run time
+         */
+        public TickHistogram getRunTime() {
+            return this.runTime;
+        }
+    }
+
+}
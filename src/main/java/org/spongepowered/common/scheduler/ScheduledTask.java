@@ -32,6 +32,8 @@
 import java.util.function.Consumer;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
 /**
  * An internal representation of a {@link Task} created by a plugin.
  */
@@ -49,6 +51,10 @@ public class ScheduledTask implements Task {
     private final String name;
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
+    @Nullable private volatile SchedulerBase scheduler;
+    // The next execution timestamp the task is queued with, only accessed
+    // by the ticking thread of the scheduler
+    long executionTimestamp;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
@@ -76,7 +82,7 @@ public enum ScheduledTaskState {
         }
     }
 
-    ScheduledTask(TaskSynchronicity syncType, Consumer<Task> task, String taskName, long delay, boolean delayIsTicks, long interval,
+    protected ScheduledTask(TaskSynchronicity syncType, Consumer<Task> task, String taskName, long delay, boolean delayIsTicks, long interval,
             boolean intervalIsTicks, PluginContainer pluginContainer) {
         // All tasks begin waiting.
         this.setState(ScheduledTaskState.WAITING);
@@ -130,6 +136,10 @@ public boolean cancel() {
             success = true;
         }
         this.setState(ScheduledTask.ScheduledTaskState.CANCELED);
+        SchedulerBase scheduler = this.scheduler;
+        if (scheduler != null) {
+            scheduler.removeTask(this);
+        }
         return success;
     }
 
@@ -176,6 +186,10 @@ void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
 
+    void setScheduler(SchedulerBase scheduler) {
+        this.scheduler = scheduler;
+    }
+
     ScheduledTaskState getState() {
         return this.state;
     }
@@ -30,15 +30,31 @@
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 abstract class SchedulerBase {
 
+    // The amount of cancelled tasks the queues may hold before they are purged
+    private static final int PURGE_THRESHOLD = 256;
+
+    private static final Comparator<ScheduledTask> EXECUTION_ORDER = (a, b) -> Long.compare(a.executionTimestamp, b.executionTimestamp);
+
     // The simple queue of all pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // Tasks added since the last tick, they are moved into the execution
+    // queues by the ticking thread
+    private final Queue<ScheduledTask> addedTasks = new ConcurrentLinkedQueue<>();
+    // The pending tasks ordered by their next execution, split by the
+    // kind of timestamp they are waiting for. Only accessed while ticking.
+    private final PriorityQueue<ScheduledTask> tickQueue = new PriorityQueue<>(EXECUTION_ORDER);
+    private final PriorityQueue<ScheduledTask> timeQueue = new PriorityQueue<>(EXECUTION_ORDER);
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -65,6 +81,17 @@ protected long getTimestamp(ScheduledTask task) {
         return System.nanoTime();
     }
 
+    /**
+     * Gets whether the next execution of the task is measured in ticks,
+     * otherwise it is measured in nanoseconds.
+     *
+     * @param task The task
+     * @return True if the task is waiting for a tick based timestamp
+     */
+    protected boolean isTickBased(ScheduledTask task) {
+        return false;
+    }
+
     /**
      * Adds the task to the task map, will attempt to process the task on the
      * next call to {@link #runTick}.
@@ -73,7 +100,9 @@ protected long getTimestamp(ScheduledTask task) {
      */
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
+        task.setScheduler(this);
         this.taskMap.put(task.getUniqueId(), task);
+        this.addedTasks.add(task);
     }
 
     /**
@@ -85,6 +114,30 @@ protected void removeTask(ScheduledTask task) {
         this.taskMap.remove(task.getUniqueId());
     }
 
+    /**
+     * Gets whether tasks were added since they were last moved into the
+     * execution queues.
+     *
+     * @return True if there are newly added tasks
+     */
+    protected boolean hasAddedTasks() {
+        return !this.addedTasks.isEmpty();
+    }
+
+    /**
+     * Gets the next execution timestamp of the task which is due first, in
+     * nanoseconds. Tick based tasks are not considered.
+     *
+     * <p>Must only be called from the ticking thread.</p>
+     *
+     * @return The next execution timestamp, or {@link Long#MAX_VALUE} if
+     *     there are no pending tasks
+     */
+    protected long getNextExecutionTimestamp() {
+        ScheduledTask task = this.timeQueue.peek();
+        return task == null ? Long.MAX_VALUE : task.executionTimestamp;
+    }
+
     protected Optional<Task> getTask(UUID id) {
         return Optional.<Task>ofNullable(this.taskMap.get(id));
     }
@@ -96,18 +149,73 @@ protected Set<Task> getScheduledTasks() {
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks which are due. Tasks which are not due yet are not
+     * touched, so the cost of a tick only depends on the number of due tasks.
      */
     protected final void runTick() {
         this.preTick();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            ScheduledTask task;
+            while ((task = this.addedTasks.poll()) != null) {
+                this.enqueueTask(task);
+            }
+            // Cancelled tasks are removed from the task map immediately, but
+            // stay in the queues until they are due or purged here
+            if (this.tickQueue.size() + this.timeQueue.size() > this.taskMap.size() + PURGE_THRESHOLD) {
+                this.tickQueue.removeIf(queued -> queued.getState() == ScheduledTask.ScheduledTaskState.CANCELED);
+                this.timeQueue.removeIf(queued -> queued.getState() == ScheduledTask.ScheduledTaskState.CANCELED);
+            }
+            this.processQueue(this.tickQueue);
+            this.processQueue(this.timeQueue);
             this.postTick();
         } finally {
             this.finallyPostTick();
         }
     }
 
+    private void enqueueTask(ScheduledTask task) {
+        if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+            this.removeTask(task);
+            return;
+        }
+        task.executionTimestamp = task.nextExecutionTimestamp();
+        if (task.getState() == ScheduledTask.ScheduledTaskState.SWITCHING) {
+            // The previous execution did not start yet, e.g. because the
+            // executor is saturated. Check again one period later instead of
+            // queueing the task as due over and over again.
+            long now = this.getTimestamp(task);
+            if (task.executionTimestamp <= now) {
+                task.executionTimestamp = now + Math.max(task.period, 1L);
+            }
+        }
+        (this.isTickBased(task) ? this.tickQueue : this.timeQueue).add(task);
+    }
+
+    private void processQueue(PriorityQueue<ScheduledTask> queue) {
+        // All the tasks within a queue share the same kind of timestamp
+        long now = 0L;
+        boolean hasNow = false;
+        ScheduledTask task;
+        while ((task = queue.peek()) != null) {
+            if (task.getState() != ScheduledTask.ScheduledTaskState.CANCELED) {
+                if (!hasNow) {
+                    now = this.getTimestamp(task);
+                    hasNow = true;
+                }
+                if (task.executionTimestamp > now) {
+                    break;
+                }
+            }
+            queue.poll();
+            this.processTask(task);
+            if (this.taskMap.containsKey(task.getUniqueId())) {
+                // Repeating tasks are queued again for their next execution,
+                // they are processed during the next tick at the earliest
+                this.addedTasks.add(task);
+            }
+        }
+    }
+
     /**
      * Fired when the scheduler begins to tick, before any tasks are processed.
      */
@@ -171,7 +279,7 @@ protected void processTask(ScheduledTask task) {
      * @param task The task to start
      */
     protected void startTask(final ScheduledTask task) {
-        this.executeTaskRunnable(() -> {
+        this.executeTaskRunnable(task, () -> {
             task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
             try {
                 task.getConsumer().accept(task);
@@ -185,8 +293,9 @@ protected void startTask(final ScheduledTask task) {
     /**
      * Actually run the runnable that will begin the task
      *
+     * @param task The task the runnable belongs to
      * @param runnable The runnable to run
      */
-    protected abstract void executeTaskRunnable(Runnable runnable);
+    protected abstract void executeTaskRunnable(ScheduledTask task, Runnable runnable);
 
 }
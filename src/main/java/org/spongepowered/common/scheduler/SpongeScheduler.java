@@ -154,7 +154,7 @@ public SpongeExecutorService createAsyncExecutor(Object plugin) {
      * @throws NullPointerException If the passed in plugin instance is null
      * @throws IllegalArgumentException If the object is not a plugin instance
      */
-    static PluginContainer checkPluginInstance(Object plugin) {
+    public static PluginContainer checkPluginInstance(Object plugin) {
         Optional<PluginContainer> optPlugin = SpongeImpl.getGame().getPluginManager().fromInstance(checkNotNull(plugin, "plugin"));
         checkArgument(optPlugin.isPresent(), "Provided object is not a plugin instance");
         return optPlugin.get();
@@ -180,7 +180,12 @@ String getNameFor(PluginContainer plugin, ScheduledTask.TaskSynchronicity syncTy
         return getDelegate(syncType).nextName(plugin);
     }
 
-    void submit(ScheduledTask task) {
+    /**
+     * Submits a task which was created without a {@link Task.Builder}.
+     *
+     * @param task The task to submit
+     */
+    public void submit(ScheduledTask task) {
         getDelegate(task).addTask(task);
     }
 
@@ -191,6 +196,15 @@ public void tickSyncScheduler() {
         this.syncScheduler.tick();
     }
 
+    /**
+     * Gets the executor running the asynchronous tasks.
+     *
+     * @return The async task executor
+     */
+    public AsyncTaskExecutor getAsyncExecutor() {
+        return this.asyncScheduler.getExecutor();
+    }
+
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
         return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
     }
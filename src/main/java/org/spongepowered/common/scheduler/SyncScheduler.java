@@ -62,7 +62,12 @@ protected long getTimestamp(ScheduledTask task) {
     }
 
     @Override
-    protected void executeTaskRunnable(Runnable runnable) {
+    protected boolean isTickBased(ScheduledTask task) {
+        return task.getState().isActive ? task.intervalIsTicks : task.delayIsTicks;
+    }
+
+    @Override
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         runnable.run();
     }
 
@@ -37,6 +37,8 @@
 import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.util.ban.Ban;
 import org.spongepowered.api.util.ban.BanTypes;
+import org.spongepowered.common.service.user.SpongeUserStorageService;
+import org.spongepowered.common.service.user.UserIndex;
 import org.spongepowered.common.util.UserListUtils;
 
 import java.net.InetAddress;
@@ -117,6 +119,7 @@ public boolean pardon(GameProfile profile) {
         this.getUserBanList().removeExpired();
         boolean hadBan = this.isBanned(profile);
         UserListUtils.removeEntry(this.getUserBanList(), profile);
+        SpongeUserStorageService.updateUserIndex(index -> index.remove(profile.getUniqueId(), UserIndex.BANNED));
         return hadBan;
     }
 
@@ -152,6 +155,9 @@ public Optional<? extends Ban> addBan(Ban ban) {
             Sponge.getEventManager().post(SpongeEventFactory.createBanUserEvent(Cause.source(this).build(), (Ban.Profile) ban, user));
 
             UserListUtils.addEntry(this.getUserBanList(), (UserListEntry) ban);
+            GameProfile profile = ((Ban.Profile) ban).getProfile();
+            SpongeUserStorageService.updateUserIndex(index ->
+                    index.add(profile.getUniqueId(), profile.getName().orElse(null), UserIndex.BANNED, 0));
         } else if (ban.getType().equals(BanTypes.IP)) {
             prevBan = this.getBanFor(((Ban.Ip) ban).getAddress());
 
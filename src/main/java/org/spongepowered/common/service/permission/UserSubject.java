@@ -46,6 +46,7 @@ public class UserSubject extends SpongeSubject {
     private final GameProfile player;
     private final MemorySubjectData data;
     private final UserCollection collection;
+    private volatile int cachedOpLevel = -1;
 
     public UserSubject(final GameProfile player, final UserCollection users) {
         this.player = player;
@@ -114,7 +115,19 @@ public MemorySubjectData getSubjectData() {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        Tristate ret = super.getPermissionValue(contexts, permission);
+        // The op level is kept in the ops list rather than in the subject
+        // data, so changes of it aren't tracked by the data
+        int opLevel = getOpLevel();
+        if (opLevel != this.cachedOpLevel) {
+            this.cachedOpLevel = opLevel;
+            invalidatePermissionCache();
+        }
+        return super.getPermissionValue(contexts, permission);
+    }
+
+    @Override
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
+        Tristate ret = super.resolvePermissionValue(contexts, permission);
         if (ret == Tristate.UNDEFINED) {
             ret = getDataPermissionValue(this.collection.getService().getDefaultData(), permission);
         }
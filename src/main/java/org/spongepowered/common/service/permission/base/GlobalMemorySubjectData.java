@@ -25,18 +25,23 @@
 package org.spongepowered.common.service.permission.base;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.MapMaker;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.util.Tristate;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 public class GlobalMemorySubjectData extends MemorySubjectData {
 
+    // The subjects which resolved permissions from this data
+    private final Set<SpongeSubject> subjects = Collections.newSetFromMap(new MapMaker().weakKeys().<SpongeSubject, Boolean>makeMap());
+
     /**
      * Creates a new subject data instance, using the provided service to request instances of permission subjects.
      *
@@ -46,6 +51,19 @@ public GlobalMemorySubjectData(PermissionService service) {
         super(service);
     }
 
+    void addSubject(SpongeSubject subject) {
+        this.subjects.add(subject);
+    }
+
+    /**
+     * Clears the cached permission values of the subjects using this data,
+     * must be called after every change of the permissions or parents.
+     */
+    protected void invalidateSubjects() {
+        for (SpongeSubject subject : this.subjects) {
+            subject.invalidatePermissionCache();
+        }
+    }
 
     @Override
     public Map<Set<Context>, List<Subject>> getAllParents() {
@@ -57,7 +75,9 @@ public boolean setPermission(Set<Context> contexts, String permission, Tristate
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.setPermission(contexts, permission, value);
+        boolean result = super.setPermission(contexts, permission, value);
+        invalidateSubjects();
+        return result;
     }
 
     @Override
@@ -65,7 +85,9 @@ public boolean clearPermissions(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearPermissions(contexts);
+        boolean result = super.clearPermissions(contexts);
+        invalidateSubjects();
+        return result;
     }
 
     @Override
@@ -73,7 +95,9 @@ public boolean addParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.addParent(contexts, parent);
+        boolean result = super.addParent(contexts, parent);
+        invalidateSubjects();
+        return result;
     }
 
     @Override
@@ -81,7 +105,23 @@ public boolean removeParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.removeParent(contexts, parent);
+        boolean result = super.removeParent(contexts, parent);
+        invalidateSubjects();
+        return result;
+    }
+
+    @Override
+    public boolean clearPermissions() {
+        boolean result = super.clearPermissions();
+        invalidateSubjects();
+        return result;
+    }
+
+    @Override
+    public boolean clearParents() {
+        boolean result = super.clearParents();
+        invalidateSubjects();
+        return result;
     }
 
     @Override
@@ -89,6 +129,8 @@ public boolean clearParents(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearParents(contexts);
+        boolean result = super.clearParents(contexts);
+        invalidateSubjects();
+        return result;
     }
 }
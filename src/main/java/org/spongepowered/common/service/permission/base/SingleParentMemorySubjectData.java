@@ -84,6 +84,7 @@ public boolean clearParents(Set<Context> contexts) {
 
     public boolean setParent(Subject parent) {
         this.parent = parent;
+        invalidateSubjects();
         return true;
     }
 
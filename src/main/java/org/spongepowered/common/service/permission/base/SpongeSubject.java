@@ -24,17 +24,43 @@
  */
 package org.spongepowered.common.service.permission.base;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Sets;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectData;
 import org.spongepowered.api.util.Tristate;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class SpongeSubject implements Subject {
 
+    // Plugins only check a limited set of permissions, this only guards
+    // against plugins generating permission strings
+    private static final int MAX_CACHED_PERMISSIONS = 4096;
+
+    /**
+     * The resolved permission values by context set and permission. The
+     * values are cleared whenever the data of this subject or of one of its
+     * ancestors changes.
+     */
+    private final ConcurrentMap<Set<Context>, ConcurrentMap<String, Tristate>> permissionCache = new ConcurrentHashMap<>();
+    // The subjects which resolved permissions through this subject
+    private final Set<SpongeSubject> children = Collections.newSetFromMap(new MapMaker().weakKeys().<SpongeSubject, Boolean>makeMap());
+    private final AtomicInteger cacheGeneration = new AtomicInteger();
+    // Changes of data which isn't a GlobalMemorySubjectData and of foreign
+    // parents can't be tracked, the values of such subjects aren't cached
+    private volatile boolean cacheable = true;
+
     @Override
     public SubjectData getTransientSubjectData() {
         return getSubjectData();
@@ -50,14 +76,78 @@ public boolean hasPermission(Set<Context> contexts, String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        ConcurrentMap<String, Tristate> values = this.permissionCache.get(contexts);
+        if (values != null) {
+            Tristate value = values.get(permission);
+            if (value != null) {
+                return value;
+            }
+        }
+
+        int generation = this.cacheGeneration.get();
+        Tristate value = resolvePermissionValue(contexts, permission);
+        if (this.cacheable) {
+            if (values == null) {
+                values = this.permissionCache.computeIfAbsent(ImmutableSet.copyOf(contexts), key -> new ConcurrentHashMap<>());
+            }
+            if (values.size() < MAX_CACHED_PERMISSIONS) {
+                values.put(permission, value);
+                // The data changed while resolving, the value may be outdated
+                if (this.cacheGeneration.get() != generation) {
+                    values.remove(permission);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Resolves the permission value, bypassing the cache. Every piece of data
+     * the value depends on has to be read through
+     * {@link #getDataPermissionValue}, or changes of it have to call
+     * {@link #invalidatePermissionCache()}.
+     *
+     * @param contexts The contexts
+     * @param permission The permission
+     * @return The permission value
+     */
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
         return getDataPermissionValue(getSubjectData(), permission);
     }
 
+    /**
+     * Clears the cached permission values of this subject and of all subjects
+     * which inherit from it.
+     */
+    public void invalidatePermissionCache() {
+        Set<SpongeSubject> visited = Sets.newIdentityHashSet();
+        Deque<SpongeSubject> queue = new ArrayDeque<>();
+        queue.add(this);
+        SpongeSubject subject;
+        while ((subject = queue.poll()) != null) {
+            if (visited.add(subject)) {
+                subject.cacheGeneration.incrementAndGet();
+                subject.permissionCache.clear();
+                queue.addAll(subject.children);
+            }
+        }
+    }
+
     protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
+        if (subject instanceof GlobalMemorySubjectData) {
+            ((GlobalMemorySubjectData) subject).addSubject(this);
+        } else {
+            this.cacheable = false;
+        }
         Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
 
         if (res == Tristate.UNDEFINED) {
             for (Subject parent : subject.getParents(SubjectData.GLOBAL_CONTEXT)) {
+                if (parent instanceof SpongeSubject) {
+                    ((SpongeSubject) parent).children.add(this);
+                } else {
+                    this.cacheable = false;
+                }
                 Tristate tempRes = parent.getPermissionValue(SubjectData.GLOBAL_CONTEXT, permission);
                 if (tempRes != Tristate.UNDEFINED) {
                     res = tempRes;
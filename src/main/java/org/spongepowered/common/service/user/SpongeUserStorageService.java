@@ -27,20 +27,55 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.Sets;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.service.user.UserStorageService;
 
 import java.util.Collection;
-import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public class SpongeUserStorageService implements UserStorageService {
 
     public static final String FAKEPLAYER_UUID = "41C82C87-7AfB-4024-BA57-13D2C99CAE77";
 
+    /**
+     * Starts loading the index of the users known to the loaded world on an
+     * asynchronous thread. Called once the worlds are loaded.
+     */
+    public static void loadUserIndex() {
+        UserDiscoverer.loadIndex();
+    }
+
+    /**
+     * Writes the pending changes of the user index and unloads it. Called
+     * when the server stopped.
+     */
+    public static void closeUserIndex() {
+        UserDiscoverer.closeIndex();
+    }
+
+    /**
+     * Gets the index of the users known to the loaded world.
+     *
+     * @return The user index, if a world is loaded and the index finished
+     *     loading
+     */
+    public static Optional<UserIndex> getUserIndex() {
+        return Optional.ofNullable(UserDiscoverer.getIndex());
+    }
+
+    /**
+     * Changes the index of the users known to the loaded world, once it
+     * finished loading.
+     *
+     * @param update The change
+     */
+    public static void updateUserIndex(Consumer<UserIndex> update) {
+        UserDiscoverer.updateIndex(checkNotNull(update, "update"));
+    }
+
     @Override
     public Optional<User> get(UUID uniqueId) {
         return Optional.ofNullable(UserDiscoverer.findByUuid(checkNotNull(uniqueId, "uniqueId")));
@@ -91,15 +126,7 @@ public boolean delete(User user) {
 
     @Override
     public Collection<GameProfile> match(String lastKnownName) {
-        lastKnownName = checkNotNull(lastKnownName, "lastKnownName").toLowerCase(Locale.ROOT);
-        Collection<GameProfile> allProfiles = UserDiscoverer.getAllProfiles();
-        Collection<GameProfile> matching = Sets.newHashSet();
-        for (GameProfile profile : allProfiles) {
-            if (profile.getName().isPresent() && profile.getName().get().startsWith(lastKnownName)) {
-                matching.add(profile);
-            }
-        }
-        return matching;
+        return UserDiscoverer.matchProfiles(checkNotNull(lastKnownName, "lastKnownName"));
     }
 
 }
@@ -37,19 +37,25 @@
 import net.minecraft.server.management.UserListBansEntry;
 import net.minecraft.server.management.UserListWhitelist;
 import net.minecraft.server.management.UserListWhitelistEntry;
+import net.minecraft.world.WorldServer;
 import net.minecraft.world.storage.SaveHandler;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.player.SpongeUser;
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
+import org.spongepowered.common.scheduler.AsyncTaskExecutor;
+import org.spongepowered.common.scheduler.SpongeScheduler;
 import org.spongepowered.common.world.DimensionManager;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
@@ -57,6 +63,9 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
 
 class UserDiscoverer {
 
@@ -64,6 +73,13 @@ class UserDiscoverer {
             .expireAfterAccess(1, TimeUnit.DAYS)
             .build();
 
+    private static final Object indexLock = new Object();
+    // The loaded index, the world it belongs to and the changes made while
+    // it is loading, guarded by the index lock
+    @Nullable private static UserIndex index;
+    @Nullable private static File indexWorldDir;
+    private static final List<Consumer<UserIndex>> indexUpdates = new ArrayList<>();
+
     static User create(GameProfile profile) {
         User user = (User) new SpongeUser(profile);
         userCache.put(profile.getId(), user);
@@ -101,6 +117,17 @@ static User findByUuid(UUID uniqueId) {
     }
 
     static User findByUsername(String username) {
+        UserIndex index = getIndex();
+        if (index != null) {
+            UserIndex.Entry entry = index.get(username);
+            if (entry != null) {
+                User user = findByUuid(entry.getUniqueId());
+                if (user != null) {
+                    return user;
+                }
+            }
+        }
+
         PlayerProfileCache cache = MinecraftServer.getServer().getPlayerProfileCache();
         HashSet<String> names = Sets.newHashSet(cache.getUsernames());
         if (names.contains(username.toLowerCase(Locale.ROOT))) {
@@ -120,35 +147,202 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
             profiles.add(user.getProfile());
         }
 
-        // Add all known profiles from the data files
-        SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
+        // Add all known profiles from the data files, whitelist and ban list,
+        // scanning them directly while the index is loading
+        UserIndex index = getIndex();
+        for (UserIndex.Entry entry : index != null ? index.getEntries() : scanEntries()) {
+            profiles.add((org.spongepowered.api.profile.GameProfile) new GameProfile(entry.getUniqueId(), entry.getName()));
+        }
+        return profiles;
+    }
 
-            // Some mods store other files in the 'playerdata' folder, so
-            // we need to ensure that the filename is a valid UUID
-            if (playerUuid.split("-").length != 5) {
-                continue;
+    static Collection<org.spongepowered.api.profile.GameProfile> matchProfiles(String lastKnownName) {
+        Set<org.spongepowered.api.profile.GameProfile> profiles = Sets.newHashSet();
+        String lowerName = lastKnownName.toLowerCase(Locale.ROOT);
+        for (User user : userCache.asMap().values()) {
+            if (user.getName().toLowerCase(Locale.ROOT).startsWith(lowerName)) {
+                profiles.add(user.getProfile());
+            }
+        }
+        UserIndex index = getIndex();
+        if (index != null) {
+            for (UserIndex.Entry entry : index.match(lastKnownName)) {
+                profiles.add((org.spongepowered.api.profile.GameProfile) new GameProfile(entry.getUniqueId(), entry.getName()));
+            }
+        } else {
+            for (UserIndex.Entry entry : scanEntries()) {
+                if (entry.getName() != null && entry.getName().toLowerCase(Locale.ROOT).startsWith(lowerName)) {
+                    profiles.add((org.spongepowered.api.profile.GameProfile) new GameProfile(entry.getUniqueId(), entry.getName()));
+                }
             }
+        }
+        return profiles;
+    }
 
-            GameProfile profile = MinecraftServer.getServer().getPlayerProfileCache().getProfileByUUID(UUID.fromString(playerUuid));
-            if (profile != null) {
-                profiles.add((org.spongepowered.api.profile.GameProfile) profile);
+    /**
+     * Starts loading the index of the users known to the loaded world on an
+     * asynchronous thread, if that didn't happen yet. If the world has no
+     * index yet, it is populated from the player data, the whitelist and the
+     * ban list.
+     */
+    static void loadIndex() {
+        WorldServer overworld = DimensionManager.getWorldFromDimId(0);
+        if (overworld == null) {
+            return;
+        }
+        SaveHandler saveHandler = (SaveHandler) overworld.getSaveHandler();
+        File worldDir = saveHandler.getWorldDirectory();
+        synchronized (indexLock) {
+            if (worldDir.equals(indexWorldDir)) {
+                return;
+            }
+            if (index != null) {
+                index.close();
+                index = null;
+            }
+            indexUpdates.clear();
+            indexWorldDir = worldDir;
+        }
+
+        // The lists are only changed on the main thread, so they are copied here
+        List<UserIndex.Entry> listEntries = getListEntries();
+        AsyncTaskExecutor executor = SpongeScheduler.getInstance().getAsyncExecutor();
+        executor.execute(() -> {
+            Path file = worldDir.toPath().resolve("data").resolve("sponge").resolve("users.idx");
+            UserIndex newIndex = new UserIndex(file, executor);
+            boolean loaded;
+            try {
+                loaded = newIndex.load();
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Could not read the user index {}, rebuilding it", file, e);
+                loaded = false;
+            }
+            if (!loaded) {
+                populateIndex(newIndex, saveHandler, listEntries);
+            }
+            synchronized (indexLock) {
+                if (!worldDir.equals(indexWorldDir)) {
+                    // Another world was loaded in the meantime
+                    newIndex.close();
+                    return;
+                }
+                for (Consumer<UserIndex> update : indexUpdates) {
+                    update.accept(newIndex);
+                }
+                indexUpdates.clear();
+                index = newIndex;
+            }
+        });
+    }
+
+    /**
+     * Gets the index of the users known to the loaded world.
+     *
+     * @return The index, or null if no world is loaded or the index is still
+     *     loading
+     */
+    @Nullable
+    static UserIndex getIndex() {
+        loadIndex();
+        synchronized (indexLock) {
+            return index;
+        }
+    }
+
+    /**
+     * Changes the index of the users known to the loaded world. If the index
+     * is still loading, the change is made once it finished loading.
+     *
+     * @param update The change
+     */
+    static void updateIndex(Consumer<UserIndex> update) {
+        loadIndex();
+        synchronized (indexLock) {
+            if (index != null) {
+                update.accept(index);
+            } else if (indexWorldDir != null) {
+                indexUpdates.add(update);
             }
         }
+    }
 
-        // Add all whitelisted users
+    /**
+     * Writes the pending changes of the index and unloads it.
+     */
+    static void closeIndex() {
+        synchronized (indexLock) {
+            if (index != null) {
+                index.close();
+                index = null;
+            }
+            indexUpdates.clear();
+            indexWorldDir = null;
+        }
+    }
+
+    private static List<UserIndex.Entry> getListEntries() {
+        List<UserIndex.Entry> entries = new ArrayList<>();
         UserListWhitelist whiteList = MinecraftServer.getServer().getConfigurationManager().getWhitelistedPlayers();
         for (UserListWhitelistEntry entry : whiteList.getValues().values()) {
-            profiles.add((org.spongepowered.api.profile.GameProfile) entry.value);
+            if (entry.value.getId() != null) {
+                entries.add(new UserIndex.Entry(entry.value.getId(), entry.value.getName(), UserIndex.WHITELISTED, 0));
+            }
         }
 
-        // Add all banned users
         UserListBans banList = MinecraftServer.getServer().getConfigurationManager().getBannedPlayers();
         for (UserListBansEntry entry : banList.getValues().values()) {
-            profiles.add((org.spongepowered.api.profile.GameProfile) entry.value);
+            if (entry.value.getId() != null) {
+                entries.add(new UserIndex.Entry(entry.value.getId(), entry.value.getName(), UserIndex.BANNED, 0));
+            }
         }
-        return profiles;
+        return entries;
+    }
+
+    private static void populateIndex(UserIndex index, SaveHandler saveHandler, List<UserIndex.Entry> listEntries) {
+        List<UserIndex.Entry> entries = getStoredEntries(saveHandler);
+        entries.addAll(listEntries);
+        index.addAll(entries);
+    }
+
+    /**
+     * Scans the player data, the whitelist and the ban list for the known
+     * users, like populating the index does. Used while the index is
+     * loading.
+     *
+     * @return The known users
+     */
+    private static List<UserIndex.Entry> scanEntries() {
+        WorldServer overworld = DimensionManager.getWorldFromDimId(0);
+        if (overworld == null) {
+            return new ArrayList<>();
+        }
+        List<UserIndex.Entry> entries = getStoredEntries((SaveHandler) overworld.getSaveHandler());
+        entries.addAll(getListEntries());
+        return entries;
+    }
+
+    private static List<UserIndex.Entry> getStoredEntries(SaveHandler saveHandler) {
+        List<UserIndex.Entry> entries = new ArrayList<>();
+        PlayerProfileCache cache = MinecraftServer.getServer().getPlayerProfileCache();
+        for (String playerUuid : saveHandler.getAvailablePlayerDat()) {
+            // Some mods store other files in the 'playerdata' folder, so
+            // we need to ensure that the filename is a valid UUID
+            if (playerUuid.split("-").length != 5) {
+                continue;
+            }
+            UUID uniqueId;
+            try {
+                uniqueId = UUID.fromString(playerUuid);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            GameProfile profile = cache.getProfileByUUID(uniqueId);
+            if (profile != null) {
+                long lastSeen = new File(saveHandler.playersDirectory, playerUuid + ".dat").lastModified();
+                entries.add(new UserIndex.Entry(uniqueId, profile.getName(), UserIndex.STORED, lastSeen));
+            }
+        }
+        return entries;
     }
 
     static boolean delete(UUID uniqueId) {
@@ -159,6 +353,9 @@ static boolean delete(UUID uniqueId) {
         boolean success = deleteStoredPlayerData(uniqueId);
         success = success && deleteWhitelistEntry(uniqueId);
         success = success && deleteBanlistEntry(uniqueId);
+        if (success) {
+            updateIndex(index -> index.delete(uniqueId));
+        }
         return success;
     }
 
@@ -245,13 +442,8 @@ private static User getFromBanlist(UUID uniqueId) {
     private static File getPlayerDataFile(UUID uniqueId) {
         // Note: Uses the overworld's player data
         SaveHandler saveHandler = (SaveHandler) DimensionManager.getWorldFromDimId(0).getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
-            if (uniqueId.toString().equals(playerUuid)) {
-                return new File(saveHandler.playersDirectory, playerUuid + ".dat");
-            }
-        }
-        return null;
+        File dataFile = new File(saveHandler.playersDirectory, uniqueId + ".dat");
+        return dataFile.isFile() ? dataFile : null;
     }
 
     private static boolean deleteStoredPlayerData(UUID uniqueId) {
@@ -0,0 +1,494 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nullable;
+
+/**
+ * An index of the users known to the server, mapping their unique ids to
+ * their last known names and the time they were last seen.
+ *
+ * <p>The index is held in memory and persisted to an append-only log. Every
+ * change appends the new state of one user, the log is replayed when the
+ * index is loaded and compacted once it holds a lot more records than there
+ * are users. Changes are applied to the index right away, writing them to
+ * the log and compacting it is left to the write executor.</p>
+ *
+ * <p>A user is indexed as long as it has stored data, is whitelisted or is
+ * banned, see {@link #STORED}, {@link #WHITELISTED} and {@link #BANNED}.</p>
+ */
+public final class UserIndex {
+
+    /**
+     * The user has player data, because it joined the server before.
+     */
+    public static final int STORED = 1;
+    /**
+     * The user is whitelisted.
+     */
+    public static final int WHITELISTED = 2;
+    /**
+     * The user is banned.
+     */
+    public static final int BANNED = 4;
+
+    private static final int ALL_SOURCES = STORED | WHITELISTED | BANNED;
+    // Small logs are never worth compacting
+    private static final int MIN_COMPACT_RECORDS = 1024;
+
+    private final Path file;
+    private final Executor writeExecutor;
+    private final ConcurrentMap<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Entry> byName = new ConcurrentSkipListMap<>();
+    // The changes which are applied, but not written to the log yet
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    // Guards the log, the writer and the record count
+    private final Object logLock = new Object();
+    @Nullable private Writer writer;
+    private int records;
+
+    /**
+     * Creates an index which writes changes to the log right away.
+     *
+     * @param file The log file
+     */
+    public UserIndex(Path file) {
+        this(file, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Creates an index which writes changes to the log using the given
+     * executor. Only one write is scheduled at a time, it writes all the
+     * changes made until it runs.
+     *
+     * @param file The log file
+     * @param writeExecutor The executor writing the log
+     */
+    public UserIndex(Path file, Executor writeExecutor) {
+        this.file = checkNotNull(file, "file");
+        this.writeExecutor = checkNotNull(writeExecutor, "writeExecutor");
+    }
+
+    public Path getFile() {
+        return this.file;
+    }
+
+    /**
+     * Loads the index by replaying its log, replacing the indexed users.
+     *
+     * @return False if there is no log yet and the index has to be populated
+     * @throws IOException If the log can't be read
+     */
+    public synchronized boolean load() throws IOException {
+        this.close();
+        boolean damaged = false;
+        synchronized (this.logLock) {
+            this.pending.clear();
+            this.byId.clear();
+            this.byName.clear();
+            this.records = 0;
+            if (!Files.exists(this.file)) {
+                return false;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    this.records++;
+                    Entry entry = Entry.parse(line);
+                    if (entry == null) {
+                        // Usually the last record, if the server stopped while it was written
+                        damaged = true;
+                    } else {
+                        this.apply(entry);
+                    }
+                }
+            }
+        }
+        if (damaged || this.shouldCompact()) {
+            this.compact();
+        }
+        return true;
+    }
+
+    /**
+     * Adds all the given users in one go, merging them with the indexed
+     * users like {@link #add} does, and rewrites the log once.
+     *
+     * @param entries The users to add
+     */
+    public void addAll(Iterable<Entry> entries) {
+        synchronized (this) {
+            for (Entry entry : entries) {
+                this.apply(merge(this.byId.get(entry.uniqueId), entry.uniqueId, entry.name, entry.sources, entry.lastSeen));
+            }
+        }
+        this.compact();
+    }
+
+    /**
+     * Adds or updates a user.
+     *
+     * @param uniqueId The unique id of the user
+     * @param name The name of the user, or null to keep the known name
+     * @param sources The sources to add to the user
+     * @param lastSeen The time the user was seen, in milliseconds since the
+     *     epoch, only updated if it is later than the known time
+     */
+    public synchronized void add(UUID uniqueId, @Nullable String name, int sources, long lastSeen) {
+        checkNotNull(uniqueId, "uniqueId");
+        checkArgument(sources != 0 && (sources & ~ALL_SOURCES) == 0, "Invalid sources %s", sources);
+        Entry previous = this.byId.get(uniqueId);
+        Entry entry = merge(previous, uniqueId, name, sources, lastSeen);
+        if (!entry.equals(previous)) {
+            this.append(entry);
+        }
+    }
+
+    /**
+     * Removes sources from a user, the user is removed from the index once it
+     * has no sources left.
+     *
+     * @param uniqueId The unique id of the user
+     * @param sources The sources to remove
+     */
+    public synchronized void remove(UUID uniqueId, int sources) {
+        Entry previous = this.byId.get(checkNotNull(uniqueId, "uniqueId"));
+        if (previous != null && (previous.sources & sources) != 0) {
+            this.append(new Entry(uniqueId, previous.name, previous.sources & ~sources, previous.lastSeen));
+        }
+    }
+
+    /**
+     * Removes a user from the index.
+     *
+     * @param uniqueId The unique id of the user
+     */
+    public void delete(UUID uniqueId) {
+        this.remove(uniqueId, ALL_SOURCES);
+    }
+
+    @Nullable
+    public Entry get(UUID uniqueId) {
+        return this.byId.get(checkNotNull(uniqueId, "uniqueId"));
+    }
+
+    /**
+     * Gets the user that last used the given name, ignoring case.
+     *
+     * @param name The name
+     * @return The user, or null if no indexed user has the name
+     */
+    @Nullable
+    public Entry get(String name) {
+        return this.byName.get(checkNotNull(name, "name").toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets all the indexed users. The returned collection is a view of the
+     * index.
+     *
+     * @return The users
+     */
+    public Collection<Entry> getEntries() {
+        return Collections.unmodifiableCollection(this.byId.values());
+    }
+
+    /**
+     * Gets the users whose name starts with the given prefix, ignoring case.
+     * The returned collection is a view of the index.
+     *
+     * @param prefix The prefix
+     * @return The matching users, sorted by name
+     */
+    public Collection<Entry> match(String prefix) {
+        String lowerPrefix = checkNotNull(prefix, "prefix").toLowerCase(Locale.ROOT);
+        return Collections.unmodifiableCollection(this.byName.subMap(lowerPrefix, true, lowerPrefix + Character.MAX_VALUE, true).values());
+    }
+
+    /**
+     * Gets a page of the users with a known name, sorted by name. The next
+     * page starts after the name of the last user of this page.
+     *
+     * @param after The name to start after, ignoring case, or null to start
+     *     at the first user
+     * @param limit The maximum number of users to return
+     * @return The users
+     */
+    public List<Entry> getPage(@Nullable String after, int limit) {
+        checkArgument(limit > 0, "limit must be positive");
+        Map<String, Entry> tail = after == null ? this.byName : this.byName.tailMap(after.toLowerCase(Locale.ROOT), false);
+        List<Entry> page = new ArrayList<>(Math.min(limit, 64));
+        for (Entry entry : tail.values()) {
+            page.add(entry);
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    public int size() {
+        return this.byId.size();
+    }
+
+    /**
+     * Rewrites the log with only the current state of each user.
+     */
+    public void compact() {
+        Path temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        synchronized (this.logLock) {
+            // The pending changes are already applied, so they are part of
+            // the rewritten log
+            this.pending.clear();
+            try {
+                this.closeWriter();
+                if (this.file.getParent() != null) {
+                    Files.createDirectories(this.file.getParent());
+                }
+                try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    for (Entry entry : this.byId.values()) {
+                        writer.write(entry.toRecord());
+                        writer.newLine();
+                    }
+                }
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                this.records = this.byId.size();
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Could not compact the user index {}", this.file, e);
+            }
+        }
+    }
+
+    /**
+     * Writes the pending changes and closes the log, it is opened again by
+     * the next change.
+     */
+    public void close() {
+        synchronized (this.logLock) {
+            this.writePending();
+            this.closeWriter();
+        }
+    }
+
+    private void closeWriter() {
+        if (this.writer != null) {
+            try {
+                this.writer.close();
+            } catch (IOException e) {
+                SpongeImpl.getLogger().warn("Could not close the user index {}", this.file, e);
+            }
+            this.writer = null;
+        }
+    }
+
+    private boolean shouldCompact() {
+        return this.records > MIN_COMPACT_RECORDS && this.records > this.byId.size() * 2;
+    }
+
+    private void append(Entry entry) {
+        this.apply(entry);
+        this.pending.add(entry);
+        if (this.writeScheduled.compareAndSet(false, true)) {
+            this.writeExecutor.execute(() -> {
+                synchronized (this.logLock) {
+                    this.writePending();
+                }
+            });
+        }
+    }
+
+    // Must be called while holding the log lock
+    private void writePending() {
+        // Changes made from now on schedule another write
+        this.writeScheduled.set(false);
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        try {
+            if (this.writer == null) {
+                if (this.file.getParent() != null) {
+                    Files.createDirectories(this.file.getParent());
+                }
+                this.writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            Entry entry;
+            while ((entry = this.pending.poll()) != null) {
+                this.writer.write(entry.toRecord());
+                this.writer.write('\n');
+                this.records++;
+            }
+            this.writer.flush();
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Could not write to the user index {}", this.file, e);
+            this.closeWriter();
+        }
+        if (this.shouldCompact()) {
+            this.compact();
+        }
+    }
+
+    private void apply(Entry entry) {
+        Entry previous = entry.sources == 0 ? this.byId.remove(entry.uniqueId) : this.byId.put(entry.uniqueId, entry);
+        String key = entry.sources != 0 && entry.name != null ? entry.name.toLowerCase(Locale.ROOT) : null;
+        if (key != null) {
+            this.byName.put(key, entry);
+        }
+        if (previous != null && previous.name != null) {
+            String previousKey = previous.name.toLowerCase(Locale.ROOT);
+            if (!previousKey.equals(key)) {
+                // Only unmap the old name if no other user took it over in the meantime
+                this.byName.remove(previousKey, previous);
+            }
+        }
+    }
+
+    private static Entry merge(@Nullable Entry previous, UUID uniqueId, @Nullable String name, int sources, long lastSeen) {
+        if (previous == null) {
+            return new Entry(uniqueId, name, sources, lastSeen);
+        }
+        return new Entry(uniqueId, name == null ? previous.name : name, previous.sources | sources, Math.max(previous.lastSeen, lastSeen));
+    }
+
+    /**
+     * An indexed user.
+     */
+    public static final class Entry {
+
+        final UUID uniqueId;
+        @Nullable final String name;
+        final int sources;
+        final long lastSeen;
+
+        public Entry(UUID uniqueId, @Nullable String name, int sources, long lastSeen) {
+            this.uniqueId = checkNotNull(uniqueId, "uniqueId");
+            this.name = name;
+            this.sources = sources;
+            this.lastSeen = lastSeen;
+        }
+
+        /**
+         * Parses a record of the log. Records are terminated by a tab, so a
+         * record which was only partially written is rejected.
+         */
+        @Nullable
+        static Entry parse(String record) {
+            String[] parts = record.split("\t", -1);
+            if (parts.length != 5 || !parts[4].isEmpty()) {
+                return null;
+            }
+            try {
+                return new Entry(UUID.fromString(parts[0]), parts[3].isEmpty() ? null : parts[3], Integer.parseInt(parts[1]),
+                        Long.parseLong(parts[2]));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        String toRecord() {
+            return this.uniqueId + "\t" + this.sources + "\t" + this.lastSeen + "\t" + (this.name == null ? "" : this.name) + "\t";
+        }
+
+        public UUID getUniqueId() {
+            return this.uniqueId;
+        }
+
+        @Nullable
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Gets where the user is known from, a combination of
+         * {@link #STORED}, {@link #WHITELISTED} and {@link #BANNED}.
+         *
+         * @return The sources
+         */
+        public int getSources() {
+            return this.sources;
+        }
+
+        /**
+         * Gets the time the user was last seen, in milliseconds since the
+         * epoch, or 0 if it never joined.
+         *
+         * @return The last seen time
+         */
+        public long getLastSeen() {
+            return this.lastSeen;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) obj;
+            return this.uniqueId.equals(other.uniqueId) && this.sources == other.sources && this.lastSeen == other.lastSeen
+                    && (this.name == null ? other.name == null : this.name.equals(other.name));
+        }
+
+        @Override
+        public int hashCode() {
+            return this.uniqueId.hashCode();
+        }
+
+    }
+
+}
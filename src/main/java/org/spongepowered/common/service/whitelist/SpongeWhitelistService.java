@@ -32,6 +32,8 @@
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.user.UserStorageService;
 import org.spongepowered.api.service.whitelist.WhitelistService;
+import org.spongepowered.common.service.user.SpongeUserStorageService;
+import org.spongepowered.common.service.user.UserIndex;
 import org.spongepowered.common.util.UserListUtils;
 
 import java.util.ArrayList;
@@ -64,6 +66,8 @@ public boolean isWhitelisted(GameProfile profile) {
     public boolean addProfile(GameProfile profile) {
         boolean wasWhitelisted = this.isWhitelisted(profile);
         UserListUtils.addEntry(this.getWhitelist(), new UserListWhitelistEntry((com.mojang.authlib.GameProfile) profile));
+        SpongeUserStorageService.updateUserIndex(index ->
+                index.add(profile.getUniqueId(), profile.getName().orElse(null), UserIndex.WHITELISTED, 0));
         return wasWhitelisted;
     }
 
@@ -71,6 +75,7 @@ public boolean addProfile(GameProfile profile) {
     public boolean removeProfile(GameProfile profile) {
         boolean wasWhitelisted = this.isWhitelisted(profile);
         UserListUtils.removeEntry(this.getWhitelist(), profile);
+        SpongeUserStorageService.updateUserIndex(index -> index.remove(profile.getUniqueId(), UserIndex.WHITELISTED));
         return wasWhitelisted;
     }
 
@@ -34,11 +34,20 @@
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.EnumFacing;
 import org.spongepowered.api.item.inventory.ItemStackSnapshot;
-import org.spongepowered.api.world.gen.PopulatorType;
 
 import java.util.Arrays;
 import java.util.UUID;
 
+import javax.annotation.Nullable;
+
+/**
+ * State shared between mixins.
+ *
+ * <p>The packet and inventory fields are only used while packets are
+ * processed, which always happens on the main thread outside of the world
+ * ticks, even when worlds tick in parallel. State which is used while a
+ * world ticks must be kept per thread.</p>
+ */
 public class StaticMixinHelper {
 
     public static final ImmutableList<EnumFacing> VALID_HANGING_FACES = ImmutableList.copyOf(Arrays.asList(EnumFacing.NORTH, EnumFacing.SOUTH, EnumFacing.EAST, EnumFacing.WEST));
@@ -47,31 +56,55 @@ public class StaticMixinHelper {
     public static final BlockPos HANGING_OFFSET_NORTH = new BlockPos(0, 1, -1);
     public static final BlockPos HANGING_OFFSET_SOUTH = new BlockPos(0, 1, 1);
     public static EntityPlayerMP packetPlayer = null;
-    public static boolean processingInternalForgeEvent = false;
+    // Set while an internal event is posted from a world tick
+    private static final ThreadLocal<Boolean> processingInternalForgeEvent = ThreadLocal.withInitial(() -> false);
     // Set before firing an internal Forge BlockBreak event to handle extended blockstate
     public static IBlockState breakEventExtendedState = null;
     public static ItemStack prePacketProcessItem = null;
+    // Set while the platform runs a populator
     @SuppressWarnings("rawtypes")
-    public static Class lastPopulatorClass = null;
+    private static final ThreadLocal<Class> lastPopulatorClass = new ThreadLocal<>();
     public static ItemStackSnapshot lastCursor = null;
     public static Container lastOpenContainer = null;
     public static IInventory lastOpenInventory = null;
-    public static EntityLivingBase currentTargetEntity = null;
-    public static PopulatorType runningGenerator = null;
+    // Set while an entity AI task selects its target
+    private static final ThreadLocal<EntityLivingBase> currentTargetEntity = new ThreadLocal<>();
     public static long lastInventoryOpenPacketTimeStamp = 0;
     public static boolean ignoreCreativeInventoryPacket = false;
     public static boolean convertingMapFormat = false;
     public static UUID INVALID_WORLD_UUID = UUID.fromString("00000000-0000-0000-0000-000000000000");
-    public static boolean setCustomNameTagSkip = false;
-
-    // For spawning
-    public static boolean gettingSpawnList;
-    public static boolean structureSpawning;
-    public static boolean dispenserDispensing;
 
     // For animation packet
     public static int lastAnimationPacketTick = 0;
     public static int lastSecondaryPacketTick = 0;
     public static int lastPrimaryPacketTick = 0;
     public static EntityPlayerMP lastAnimationPlayer = null;
+
+    public static boolean isProcessingInternalForgeEvent() {
+        return processingInternalForgeEvent.get();
+    }
+
+    public static void setProcessingInternalForgeEvent(boolean processing) {
+        processingInternalForgeEvent.set(processing);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Nullable
+    public static Class getLastPopulatorClass() {
+        return lastPopulatorClass.get();
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static void setLastPopulatorClass(@Nullable Class populatorClass) {
+        lastPopulatorClass.set(populatorClass);
+    }
+
+    @Nullable
+    public static EntityLivingBase getCurrentTargetEntity() {
+        return currentTargetEntity.get();
+    }
+
+    public static void setCurrentTargetEntity(@Nullable EntityLivingBase entity) {
+        currentTargetEntity.set(entity);
+    }
 }
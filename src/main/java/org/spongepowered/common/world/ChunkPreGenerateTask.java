@@ -0,0 +1,97 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.scheduler.ScheduledTask;
+
+/**
+ * The task of a {@link SpongeChunkPreGenerate}, which reports the progress
+ * of the generation.
+ */
+public final class ChunkPreGenerateTask extends ScheduledTask {
+
+    private final SpongeChunkPreGenerate.ChunkPreGenerator generator;
+
+    ChunkPreGenerateTask(SpongeChunkPreGenerate.ChunkPreGenerator generator, String name, int tickInterval, PluginContainer plugin) {
+        super(TaskSynchronicity.SYNCHRONOUS, generator, name, 0, true, tickInterval, true, plugin);
+        this.generator = generator;
+    }
+
+    /**
+     * Gets the amount of chunks which have been generated or skipped
+     * because they already existed.
+     *
+     * @return The amount of processed chunks
+     */
+    public int getProcessedChunks() {
+        return this.generator.getProcessedChunks();
+    }
+
+    /**
+     * Gets the amount of chunks which were skipped because they already
+     * existed.
+     *
+     * @return The amount of skipped chunks
+     */
+    public int getSkippedChunks() {
+        return this.generator.getSkippedChunks();
+    }
+
+    public long getTotalChunks() {
+        return this.generator.getTotalChunks();
+    }
+
+    /**
+     * Gets the progress of the generation.
+     *
+     * @return The progress, between 0 and 1
+     */
+    public double getProgress() {
+        return this.generator.getProgress();
+    }
+
+    /**
+     * Gets the amount of chunks processed per second since the
+     * generation started.
+     *
+     * @return The throughput in chunks per second
+     */
+    public double getChunksPerSecond() {
+        return this.generator.getChunksPerSecond();
+    }
+
+    /**
+     * Gets the estimated time until all the chunks are generated, based
+     * on the throughput so far.
+     *
+     * @return The estimated remaining time in milliseconds, or -1 if it
+     *     is unknown
+     */
+    public long getEstimatedTimeRemaining() {
+        return this.generator.getEstimatedTimeRemaining();
+    }
+
+}
@@ -39,6 +39,7 @@
 import net.minecraft.world.WorldProviderSurface;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.WorldServerMulti;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import net.minecraft.world.storage.ISaveHandler;
 import net.minecraft.world.storage.SaveHandler;
 import org.apache.logging.log4j.Level;
@@ -51,8 +52,10 @@
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.registry.type.world.DimensionRegistryModule;
 
 import java.io.File;
@@ -226,7 +229,9 @@ public static boolean unloadWorldFromDimId(int id) {
         if (((org.spongepowered.api.world.World) world).doesKeepSpawnLoaded()) {
             return false;
         }
-        unloadQueue.add(id);
+        if (!WorldTickExecutor.defer(() -> unloadQueue.add(id))) {
+            unloadQueue.add(id);
+        }
         return true;
     }
 
@@ -240,6 +245,11 @@ public static void setWorld(int id, WorldServer world) {
             final WorldServer server = worlds.remove(id);
             IMixinWorld spongeWorld = (IMixinWorld) server;
             spongeWorld.getActiveConfig().save();
+            // The region files may be deleted or replaced before the world is loaded again
+            IChunkLoader chunkLoader = ((IMixinChunkProviderServer) server.theChunkProviderServer).getChunkLoader();
+            if (chunkLoader instanceof IMixinAnvilChunkLoader) {
+                ((IMixinAnvilChunkLoader) chunkLoader).getChunkExistenceIndex().clear();
+            }
             ((IMixinMinecraftServer) MinecraftServer.getServer()).getWorldTickTimes().remove(id);
             SpongeImpl.getLogger().info("Unloading dimension {} ({})", id, server.getWorldInfo().getWorldName());
         }
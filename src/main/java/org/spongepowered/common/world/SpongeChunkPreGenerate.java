@@ -35,10 +35,14 @@
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.WorldBorder;
+import org.spongepowered.api.world.storage.WorldStorage;
 import org.spongepowered.common.scheduler.SpongeScheduler;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
@@ -99,9 +103,11 @@ public WorldBorder.ChunkPreGenerate tickPercentLimit(float tickPercent) {
     public Task start() {
         checkNotNull(this.plugin, "owner not set");
         checkArgument(this.chunkCount > 0 || this.tickPercent > 0, "Must use at least one of \"chunks per tick\" or \"tick percent limit\"");
-        return Task.builder().name(toString())
-            .execute(new ChunkPreGenerator(this.world, this.center, this.diameter, this.chunkCount, this.tickPercent, this.logger))
-            .intervalTicks(this.tickInterval).submit(this.plugin);
+        final ChunkPreGenerateTask task = new ChunkPreGenerateTask(
+            new ChunkPreGenerator(this.world, this.center, this.diameter, this.chunkCount, this.tickPercent, this.logger),
+            toString(), this.tickInterval, SpongeScheduler.checkPluginInstance(this.plugin));
+        SpongeScheduler.getInstance().submit(task);
+        return task;
     }
 
     @Override
@@ -138,7 +144,23 @@ public String toString() {
             '}';
     }
 
-    private static class ChunkPreGenerator implements Consumer<Task> {
+    /**
+     * Generates the chunks of a {@link SpongeChunkPreGenerate}. This is the
+     * consumer of the {@link ChunkPreGenerateTask}, which reports its
+     * progress.
+     *
+     * <p>Chunks are generated on the main thread in a spiral around the
+     * center. Whether the upcoming chunks already exist is checked ahead of
+     * time on the async scheduler, so already generated areas are skipped
+     * without loading them. Chunks at the edge of a generated area are still
+     * loaded, so they are populated once their new neighbours exist.</p>
+     *
+     * <p>The generation itself isn't spread over several threads, since the
+     * chunk providers and terrain generators of a world may only be used
+     * from the main thread. The existence checks and the region file writes
+     * are done off the main thread instead.</p>
+     */
+    public static class ChunkPreGenerator implements Consumer<Task> {
 
         private static final Vector3i[] OFFSETS = {
             Vector3i.UNIT_Z.negate().mul(2),
@@ -147,6 +169,10 @@ private static class ChunkPreGenerator implements Consumer<Task> {
             Vector3i.UNIT_X.negate().mul(2)
         };
         private static final String TIME_FORMAT = "s's 'S'ms'";
+        private static final String ETA_FORMAT = "H'h 'm'm 's's'";
+        // The minimum amount of chunk groups checked for existence ahead of
+        // the generation
+        private static final int MIN_LOOKAHEAD = 64;
         private final World world;
         private final int chunkRadius;
         private final int chunkCount;
@@ -159,7 +185,12 @@ private static class ChunkPreGenerator implements Consumer<Task> {
         private int currentIndex;
         private int nextJump;
         private int totalCount;
+        private int skippedCount;
         private long totalTime;
+        private long startTime;
+        private final long totalChunks;
+        private final int lookahead;
+        private final Deque<ChunkGroup> pendingGroups = new ArrayDeque<>();
 
         ChunkPreGenerator(World world, Vector3d center, double diameter, int chunkCount, float tickPercent, @Nullable Logger logger) {
             this.world = world;
@@ -168,6 +199,8 @@ private static class ChunkPreGenerator implements Consumer<Task> {
             this.tickPercent = tickPercent;
             this.logger = logger;
             this.tickTimeLimit = Math.round(SpongeScheduler.getInstance().getPreferredTickInterval() * tickPercent);
+            this.totalChunks = (long) Math.pow(this.chunkRadius * 2 + 1, 2);
+            this.lookahead = Math.max(MIN_LOOKAHEAD, chunkCount);
             final Optional<Vector3i> currentPosition = SpongeChunkLayout.instance.toChunk(center.toInt());
             if (currentPosition.isPresent()) {
                 this.currentPosition = currentPosition.get();
@@ -185,33 +218,137 @@ private static class ChunkPreGenerator implements Consumer<Task> {
         @Override
         public void accept(Task task) {
             final long startTime = System.currentTimeMillis();
+            if (this.startTime == 0) {
+                this.startTime = startTime;
+            }
             int count = 0;
-            do {
-                count += this.currentGenCount;
-                final Vector3i position = nextChunkPosition();
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(position.sub(Vector3i.UNIT_X), true);
-                this.world.loadChunk(position.sub(Vector3i.UNIT_Z), true);
-                this.world.loadChunk(position.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z), true);
-            } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - startTime));
+            int skipped = 0;
+            fillPendingGroups();
+            while (!this.pendingGroups.isEmpty() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - startTime)) {
+                final ChunkGroup group = this.pendingGroups.poll();
+                if (group.exists.getNow(false)) {
+                    // Already generated, loading it again would only cost time
+                    skipped += group.count;
+                } else {
+                    count += group.count;
+                    for (Vector3i position : group.positions) {
+                        this.world.loadChunk(position, true);
+                    }
+                }
+                fillPendingGroups();
+            }
+            this.totalCount += count + skipped;
+            this.skippedCount += skipped;
+            final long deltaTime = System.currentTimeMillis() - startTime;
+            this.totalTime += deltaTime;
             if (this.logger != null) {
-                this.totalCount += count;
-                final long deltaTime = System.currentTimeMillis() - startTime;
-                this.totalTime += deltaTime;
-                this.logger.info("Generated {} chunks in {}, {}% complete", count,
-                    DurationFormatUtils.formatDuration(deltaTime, TIME_FORMAT, false),
-                    GenericMath.floor(this.totalCount / Math.pow(this.chunkRadius * 2 + 1, 2) * 100)
+                this.logger.info("Generated {} chunks in {}, skipped {} existing chunks, {}% complete, {} chunks/s, ETA {}", count,
+                    DurationFormatUtils.formatDuration(deltaTime, TIME_FORMAT, false), skipped,
+                    GenericMath.floor(getProgress() * 100), GenericMath.floor(getChunksPerSecond()),
+                    DurationFormatUtils.formatDuration(getEstimatedTimeRemaining(), ETA_FORMAT, false)
                 );
             }
-            if (!hasNextChunkPosition()) {
+            if (this.pendingGroups.isEmpty()) {
                 if (this.logger != null) {
-                    this.logger.info("Done! Generated a total of {} chunks in {}", this.totalCount,
+                    this.logger.info("Done! Generated a total of {} chunks in {}", this.totalCount - this.skippedCount,
                         DurationFormatUtils.formatDuration(this.totalTime, TIME_FORMAT, false));
                 }
                 task.cancel();
             }
         }
 
+        /**
+         * Gets the amount of chunks which have been generated or skipped
+         * because they already existed.
+         *
+         * @return The amount of processed chunks
+         */
+        public int getProcessedChunks() {
+            return this.totalCount;
+        }
+
+        /**
+         * Gets the amount of chunks which were skipped because they already
+         * existed.
+         *
+         * @return The amount of skipped chunks
+         */
+        public int getSkippedChunks() {
+            return this.skippedCount;
+        }
+
+        public long getTotalChunks() {
+            return this.totalChunks;
+        }
+
+        /**
+         * Gets the progress of the generation.
+         *
+         * @return The progress, between 0 and 1
+         */
+        public double getProgress() {
+            return Math.min((double) this.totalCount / this.totalChunks, 1);
+        }
+
+        /**
+         * Gets the amount of chunks processed per second since the
+         * generation started.
+         *
+         * @return The throughput in chunks per second
+         */
+        public double getChunksPerSecond() {
+            final long elapsed = System.currentTimeMillis() - this.startTime;
+            if (this.startTime == 0 || elapsed <= 0) {
+                return 0;
+            }
+            return this.totalCount * 1000.0 / elapsed;
+        }
+
+        /**
+         * Gets the estimated time until all the chunks are generated, based
+         * on the throughput so far.
+         *
+         * @return The estimated remaining time in milliseconds, or -1 if it
+         *     is unknown
+         */
+        public long getEstimatedTimeRemaining() {
+            final double chunksPerSecond = getChunksPerSecond();
+            if (chunksPerSecond <= 0) {
+                return -1;
+            }
+            return Math.round(Math.max(this.totalChunks - this.totalCount, 0) / chunksPerSecond * 1000);
+        }
+
+        private void fillPendingGroups() {
+            while (this.pendingGroups.size() < this.lookahead && hasNextChunkPosition()) {
+                // The count of the group is determined by the previous position
+                final int count = this.currentGenCount;
+                final Vector3i position = nextChunkPosition();
+                final Vector3i[] positions = {
+                    position,
+                    position.sub(Vector3i.UNIT_X),
+                    position.sub(Vector3i.UNIT_Z),
+                    position.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z)
+                };
+                this.pendingGroups.add(new ChunkGroup(positions, count, checkExists(position)));
+            }
+        }
+
+        private CompletableFuture<Boolean> checkExists(Vector3i position) {
+            final WorldStorage storage = this.world.getWorldStorage();
+            CompletableFuture<Boolean> exists = CompletableFuture.completedFuture(true);
+            // A chunk is populated once its neighbours are loaded, so a group
+            // is only skipped if the chunks around it exist as well
+            for (int x = position.getX() - 2; x <= position.getX() + 1; x++) {
+                for (int z = position.getZ() - 2; z <= position.getZ() + 1; z++) {
+                    final CompletableFuture<Boolean> chunkExists = storage.doesChunkExist(new Vector3i(x, position.getY(), z));
+                    exists = exists.thenCombine(chunkExists, Boolean::logicalAnd);
+                }
+            }
+            // Generate the chunks if the check fails
+            return exists.exceptionally(t -> false);
+        }
+
         private boolean hasNextChunkPosition() {
             return this.currentLayer <= this.chunkRadius;
         }
@@ -246,6 +383,19 @@ private boolean checkTickTime(long tickTime) {
             return this.tickPercent <= 0 || tickTime < this.tickTimeLimit;
         }
 
+        private static final class ChunkGroup {
+
+            final Vector3i[] positions;
+            final int count;
+            final CompletableFuture<Boolean> exists;
+
+            ChunkGroup(Vector3i[] positions, int count, CompletableFuture<Boolean> exists) {
+                this.positions = positions;
+                this.count = count;
+                this.exists = exists;
+            }
+        }
+
     }
 
 }
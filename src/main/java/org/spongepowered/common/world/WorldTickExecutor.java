@@ -0,0 +1,291 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import co.aikar.timings.SpongeTimings;
+import net.minecraft.block.BlockFalling;
+import net.minecraft.crash.CrashReport;
+import net.minecraft.entity.EntityTracker;
+import net.minecraft.util.ReportedException;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Ticks worlds concurrently on a fork-join pool when the
+ * {@code parallel-world-ticking} optimization is enabled.
+ *
+ * <p>Each world is ticked, including its entities and tile entities, by a
+ * single world tick thread and everything that belongs to the world (its
+ * chunks, entities, tile entities and cause tracker) must only be touched
+ * by that thread while worlds are ticking. This gives the following
+ * contract for plugins:</p>
+ *
+ * <ul>
+ *     <li>Events caused by a world tick, such as block, entity and spawn
+ *     events, are posted on the thread ticking that world. Listeners may
+ *     read and change the world the event belongs to, but must not touch
+ *     any other world.</li>
+ *     <li>Events are not serialized between worlds, so the same listener
+ *     may be called concurrently for events of different worlds. Listeners
+ *     keeping state which is not scoped to a single world have to make it
+ *     thread safe, or submit their work as a synchronous task.</li>
+ *     <li>Events posted from a world tick thread that are not scoped to
+ *     that world, such as events posted by plugins from a listener, are
+ *     posted on that thread as well and follow the same rules.</li>
+ *     <li>Operations spanning worlds are serialized at a barrier on the main
+ *     thread after all worlds have ticked: entities changing dimension or
+ *     teleporting to another world and world unloads are deferred to the
+ *     barrier, loading a world from a world tick thread is rejected.</li>
+ *     <li>Anything else that needs the main thread should be submitted as
+ *     a synchronous task to the scheduler.</li>
+ * </ul>
+ *
+ * <p>Entity trackers, the player list, the network and scheduled tasks are
+ * all updated on the main thread after the barrier, as before. Hooks which
+ * the platform runs after a world ticked have to be passed to
+ * {@link #runAfterWorldTick(Runnable)}, so they run after the barrier as
+ * well.</p>
+ */
+public final class WorldTickExecutor {
+
+    private static final List<CompletableFuture<Void>> pendingWorlds = new ArrayList<>();
+    private static final List<EntityTracker> pendingTrackers = new ArrayList<>();
+    private static final List<Runnable> postTickHooks = new ArrayList<>();
+    private static final Queue<Runnable> barrierTasks = new ConcurrentLinkedQueue<>();
+    // Replaces BlockFalling.fallInstantly, which is set while populating chunks
+    private static final ThreadLocal<Boolean> fallInstantly = ThreadLocal.withInitial(() -> false);
+    @Nullable private static ForkJoinPool pool;
+
+    private WorldTickExecutor() {
+    }
+
+    /**
+     * Gets whether the current thread is ticking a world in parallel.
+     *
+     * @return True if called from a world tick thread
+     */
+    public static boolean isWorldTickThread() {
+        return Thread.currentThread() instanceof WorldTickThread;
+    }
+
+    /**
+     * Defers the given task to the end of tick barrier if the current thread
+     * is a world tick thread.
+     *
+     * @param task The task to run on the main thread
+     * @return True if the task was deferred, false if the caller should run
+     *     it directly
+     */
+    public static boolean defer(Runnable task) {
+        if (!isWorldTickThread()) {
+            return false;
+        }
+        barrierTasks.add(task);
+        return true;
+    }
+
+    /**
+     * Gets whether falling blocks placed by the current thread fall
+     * instantly instead of spawning falling block entities, which is the
+     * case while a chunk is populated.
+     *
+     * @return True if falling blocks fall instantly
+     */
+    public static boolean isFallInstantly() {
+        return fallInstantly.get();
+    }
+
+    /**
+     * Sets whether falling blocks placed by the current thread fall
+     * instantly. The vanilla field is updated as well, it is only read while
+     * worlds don't tick in parallel.
+     *
+     * @param instantly True if falling blocks fall instantly
+     */
+    public static void setFallInstantly(boolean instantly) {
+        fallInstantly.set(instantly);
+        BlockFalling.fallInstantly = instantly;
+    }
+
+    /**
+     * Checks that the current thread is not a world tick thread.
+     *
+     * @param action The action, used in the exception message
+     * @throws IllegalStateException If called from a world tick thread
+     */
+    public static void checkNotWorldTickThread(String action) {
+        checkState(!isWorldTickThread(), "Cannot %s while worlds are ticking in parallel, use a synchronous task instead", action);
+    }
+
+    /**
+     * Starts ticking the given world and its entities on the pool.
+     *
+     * @param world The world to tick
+     */
+    public static void tick(WorldServer world) {
+        if (pendingWorlds.isEmpty()) {
+            SpongeTimings.worldTickParallelTimer.startTiming();
+        }
+        pendingWorlds.add(CompletableFuture.runAsync(() -> tickWorld(world), getPool()));
+    }
+
+    private static void tickWorld(WorldServer world) {
+        try {
+            world.tick();
+        } catch (Throwable t) {
+            CrashReport report = CrashReport.makeCrashReport(t, "Exception ticking world");
+            world.addWorldInfoToCrashReport(report);
+            throw new ReportedException(report);
+        }
+        try {
+            world.updateEntities();
+        } catch (Throwable t) {
+            CrashReport report = CrashReport.makeCrashReport(t, "Exception ticking world entities");
+            world.addWorldInfoToCrashReport(report);
+            throw new ReportedException(report);
+        }
+    }
+
+    /**
+     * Runs a hook which expects the world it was called for to have ticked,
+     * such as the post world tick hooks of the platform. While worlds tick in
+     * parallel, the hook is run on the main thread after the barrier, before
+     * the entity trackers are updated. Otherwise it is run right away.
+     *
+     * <p>Must be called from the main thread.</p>
+     *
+     * @param hook The hook to run
+     */
+    public static void runAfterWorldTick(Runnable hook) {
+        if (pendingWorlds.isEmpty()) {
+            hook.run();
+        } else {
+            postTickHooks.add(hook);
+        }
+    }
+
+    /**
+     * Updates the given entity tracker once all worlds have ticked.
+     *
+     * @param tracker The tracker to update
+     */
+    public static void updateTrackedEntities(EntityTracker tracker) {
+        pendingTrackers.add(tracker);
+    }
+
+    /**
+     * Waits for all worlds to finish ticking and runs the work deferred to
+     * the barrier on the main thread.
+     */
+    public static void awaitWorlds() {
+        if (pendingWorlds.isEmpty()) {
+            return;
+        }
+        try {
+            for (CompletableFuture<Void> world : pendingWorlds) {
+                world.join();
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ReportedException) {
+                throw (ReportedException) e.getCause();
+            }
+            throw new ReportedException(CrashReport.makeCrashReport(e.getCause(), "Exception ticking worlds"));
+        } finally {
+            pendingWorlds.clear();
+            SpongeTimings.worldTickParallelTimer.stopTiming();
+        }
+
+        for (Runnable hook : postTickHooks) {
+            hook.run();
+        }
+        postTickHooks.clear();
+
+        for (EntityTracker tracker : pendingTrackers) {
+            tracker.updateTrackedEntities();
+        }
+        pendingTrackers.clear();
+
+        Runnable task;
+        while ((task = barrierTasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("Could not run a deferred cross world operation", t);
+            }
+        }
+    }
+
+    private static ForkJoinPool getPool() {
+        if (pool == null) {
+            int threads = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getParallelWorldTickingThreads();
+            if (threads <= 0) {
+                threads = Runtime.getRuntime().availableProcessors();
+            }
+            final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            pool = new ForkJoinPool(threads, p -> new WorldTickThread(p, classLoader), null, false);
+        }
+        return pool;
+    }
+
+    /**
+     * Stops the world tick threads.
+     */
+    public static void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pool = null;
+        }
+    }
+
+    private static final class WorldTickThread extends ForkJoinWorkerThread {
+
+        WorldTickThread(ForkJoinPool pool, ClassLoader classLoader) {
+            super(pool);
+            setName("Sponge World Tick #" + getPoolIndex());
+            setContextClassLoader(classLoader);
+        }
+
+    }
+
+}
@@ -33,7 +33,6 @@
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import net.minecraft.block.BlockFalling;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EnumCreatureType;
@@ -67,14 +66,15 @@
 import org.spongepowered.api.world.gen.Populator;
 import org.spongepowered.api.world.gen.WorldGenerator;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.CauseTracker;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.biome.IBiomeGenBase;
 import org.spongepowered.common.interfaces.world.gen.IChunkProviderGenerate;
 import org.spongepowered.common.interfaces.world.gen.IFlaggedPopulator;
 import org.spongepowered.common.interfaces.world.gen.IGenerationPopulator;
-import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
 import org.spongepowered.common.util.gen.ChunkPrimerBuffer;
+import org.spongepowered.common.world.WorldTickExecutor;
 import org.spongepowered.common.world.gen.populators.SnowPopulator;
 
 import java.util.ArrayList;
@@ -270,7 +270,7 @@ public void populate(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
         long i1 = this.rand.nextLong() / 2L * 2L + 1L;
         long j1 = this.rand.nextLong() / 2L * 2L + 1L;
         this.rand.setSeed((long) chunkX * i1 + (long) chunkZ * j1 ^ this.world.getSeed());
-        BlockFalling.fallInstantly = true;
+        WorldTickExecutor.setFallInstantly(true);
 
         BlockPos blockpos = new BlockPos(chunkX * 16, 0, chunkZ * 16);
         BiomeType biome = (BiomeType) this.world.getBiomeGenForCoords(blockpos.add(16, 0, 16));
@@ -301,8 +301,9 @@ public void populate(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
 
         Sponge.getGame().getEventManager().post(SpongeEventFactory.createPopulateChunkEventPre(populateCause, populators, chunk));
         List<String> flags = Lists.newArrayList();
+        final CauseTracker causeTracker = ((IMixinWorld) this.world).getCauseTracker();
         for (Populator populator : populators) {
-            StaticMixinHelper.runningGenerator = populator.getType();
+            causeTracker.setRunningGenerator(populator.getType());
             if(Sponge.getGame().getEventManager().post(SpongeEventFactory.createPopulateChunkEventPopulate(populateCause, populator, chunk))) {
                 continue;
             }
@@ -324,7 +325,7 @@ public void populate(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
                 timing.stopTimingIfSync();
             }
         }
-        StaticMixinHelper.runningGenerator = null;
+        causeTracker.setRunningGenerator(null);
 
         // If we wrapped a custom chunk provider then we should call its
         // populate method so that its particular changes are used.
@@ -345,7 +346,7 @@ public void populate(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
                 SpongeEventFactory.createPopulateChunkEventPost(populateCause, ImmutableList.copyOf(populators), chunk);
         SpongeImpl.postEvent(event);
 
-        BlockFalling.fallInstantly = false;
+        WorldTickExecutor.setFallInstantly(false);
         this.chunkGeneratorTiming.stopTimingIfSync();
         spongeWorld.getTimingsHandler().chunkPopulate.stopTimingIfSync();
     }
@@ -0,0 +1,286 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An in memory index of the chunks that have been generated in a world,
+ * with one bit per chunk.
+ *
+ * <p>The bits of a region are read from the location header of its region
+ * file the first time the region is queried, and chunks are marked as they
+ * are handed to the chunk loader for saving. The server never removes
+ * chunks, but region files can be deleted or replaced by plugins and
+ * external tools, so the modification time and size of a region file are
+ * checked again at most every {@link #REVALIDATE_INTERVAL} and the header is
+ * read again when either changed. Marked chunks which were not found in the
+ * header yet are kept, their writes are still pending.</p>
+ */
+public final class ChunkExistenceIndex {
+
+    private static final int HEADER_SIZE = MappedRegionFile.CHUNKS * 4;
+    static final long REVALIDATE_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+
+    private final Path regionDir;
+    private final long revalidateInterval;
+    private final ConcurrentMap<Long, Region> regions = new ConcurrentHashMap<>();
+
+    public ChunkExistenceIndex(Path worldDir) {
+        this(worldDir, REVALIDATE_INTERVAL);
+    }
+
+    ChunkExistenceIndex(Path worldDir, long revalidateInterval) {
+        this.regionDir = worldDir.resolve("region");
+        this.revalidateInterval = revalidateInterval;
+    }
+
+    private static long regionKey(int regionX, int regionZ) {
+        return (long) regionX << 32 | regionZ & 0xFFFFFFFFL;
+    }
+
+    private static int chunkIndex(int chunkX, int chunkZ) {
+        return (chunkX & 31) | (chunkZ & 31) << 5;
+    }
+
+    private Region getRegion(int chunkX, int chunkZ) {
+        return this.regions.computeIfAbsent(regionKey(chunkX >> 5, chunkZ >> 5),
+                key -> new Region(this.regionDir.resolve("r." + (chunkX >> 5) + "." + (chunkZ >> 5) + ".mca")));
+    }
+
+    private Region getLoadedRegion(int chunkX, int chunkZ) {
+        Region region = this.getRegion(chunkX, chunkZ);
+        if (!region.loaded || System.nanoTime() - region.validatedAt >= this.revalidateInterval) {
+            region.load(this.revalidateInterval);
+        }
+        return region;
+    }
+
+    /**
+     * Marks the chunk as generated.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     */
+    public void markExists(int chunkX, int chunkZ) {
+        this.getRegion(chunkX, chunkZ).set(chunkIndex(chunkX, chunkZ));
+    }
+
+    /**
+     * Gets whether the chunk has been generated, reading the header of its
+     * region file if the region is not indexed yet.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return True if the chunk exists
+     */
+    public boolean exists(int chunkX, int chunkZ) {
+        return this.getLoadedRegion(chunkX, chunkZ).get(chunkIndex(chunkX, chunkZ));
+    }
+
+    /**
+     * Gets whether all the regions containing the given range of chunks are
+     * indexed and were validated recently, so they can be queried without
+     * touching the disk.
+     *
+     * @param minX The minimum chunk x coordinate
+     * @param minZ The minimum chunk z coordinate
+     * @param maxX The maximum chunk x coordinate, inclusive
+     * @param maxZ The maximum chunk z coordinate, inclusive
+     * @return True if the range is fully indexed
+     */
+    public boolean isIndexed(int minX, int minZ, int maxX, int maxZ) {
+        for (int regionX = minX >> 5; regionX <= maxX >> 5; regionX++) {
+            for (int regionZ = minZ >> 5; regionZ <= maxZ >> 5; regionZ++) {
+                Region region = this.regions.get(regionKey(regionX, regionZ));
+                if (region == null || !region.loaded || System.nanoTime() - region.validatedAt >= this.revalidateInterval) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets which chunks in the given range have been generated. The bit of
+     * a chunk in the returned set is at {@code (x - minX) + (z - minZ) *
+     * (maxX - minX + 1)}.
+     *
+     * @param minX The minimum chunk x coordinate
+     * @param minZ The minimum chunk z coordinate
+     * @param maxX The maximum chunk x coordinate, inclusive
+     * @param maxZ The maximum chunk z coordinate, inclusive
+     * @return The generated chunks
+     */
+    public BitSet exists(int minX, int minZ, int maxX, int maxZ) {
+        int width = maxX - minX + 1;
+        BitSet result = new BitSet(width * (maxZ - minZ + 1));
+        // Walk region by region so each region is only looked up once
+        for (int regionX = minX >> 5; regionX <= maxX >> 5; regionX++) {
+            int fromX = Math.max(minX, regionX << 5);
+            int toX = Math.min(maxX, (regionX << 5) + 31);
+            for (int regionZ = minZ >> 5; regionZ <= maxZ >> 5; regionZ++) {
+                int fromZ = Math.max(minZ, regionZ << 5);
+                int toZ = Math.min(maxZ, (regionZ << 5) + 31);
+                Region region = this.getLoadedRegion(fromX, fromZ);
+                if (region.isEmpty()) {
+                    continue;
+                }
+                for (int z = fromZ; z <= toZ; z++) {
+                    for (int x = fromX; x <= toX; x++) {
+                        if (region.get(chunkIndex(x, z))) {
+                            result.set((x - minX) + (z - minZ) * width);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Forgets the indexed region, it is read again from disk when next
+     * queried. Used when a region file is deleted or replaced.
+     *
+     * @param regionX The region x coordinate
+     * @param regionZ The region z coordinate
+     */
+    public void invalidate(int regionX, int regionZ) {
+        this.regions.remove(regionKey(regionX, regionZ));
+    }
+
+    /**
+     * Forgets all the indexed regions, they are read again from disk when
+     * next queried.
+     */
+    public void clear() {
+        this.regions.clear();
+    }
+
+    private static final class Region {
+
+        private final Path file;
+        // The chunks of the header and the marked chunks
+        private final AtomicLongArray bits = new AtomicLongArray(MappedRegionFile.CHUNKS / 64);
+        // The marked chunks which were not seen in the header yet, guarded by this
+        private final long[] marked = new long[MappedRegionFile.CHUNKS / 64];
+        private long lastModified = -1;
+        private long size = -1;
+        volatile boolean loaded;
+        volatile long validatedAt;
+
+        Region(Path file) {
+            this.file = file;
+        }
+
+        boolean get(int index) {
+            return (this.bits.get(index >>> 6) & 1L << index) != 0;
+        }
+
+        synchronized void set(int index) {
+            this.marked[index >>> 6] |= 1L << index;
+            this.bits.set(index >>> 6, this.bits.get(index >>> 6) | 1L << index);
+        }
+
+        boolean isEmpty() {
+            for (int i = 0; i < this.bits.length(); i++) {
+                if (this.bits.get(i) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        synchronized void load(long revalidateInterval) {
+            if (this.loaded && System.nanoTime() - this.validatedAt < revalidateInterval) {
+                return;
+            }
+            long lastModified = 0;
+            long size = 0;
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(this.file, BasicFileAttributes.class);
+                lastModified = attributes.lastModifiedTime().toMillis();
+                size = attributes.size();
+            } catch (NoSuchFileException e) {
+                // A missing region is empty
+            } catch (IOException e) {
+                // Leave unreadable regions unloaded so they are tried again,
+                // and keep the bits of loaded ones
+                if (this.loaded) {
+                    this.validatedAt = System.nanoTime();
+                }
+                return;
+            }
+            if (!this.loaded || lastModified != this.lastModified || size != this.size) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                if (size != 0) {
+                    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+                        while (header.hasRemaining() && channel.read(header) != -1) {
+                            // Keep reading until the header is complete
+                        }
+                    } catch (NoSuchFileException e) {
+                        header.clear();
+                    } catch (IOException e) {
+                        if (!this.loaded) {
+                            return;
+                        }
+                        header.clear();
+                    }
+                }
+                long[] words = new long[this.marked.length];
+                // A truncated header is treated as an empty region, like RegionFile does
+                if (!header.hasRemaining()) {
+                    for (int index = 0; index < MappedRegionFile.CHUNKS; index++) {
+                        if (header.getInt(index * 4) != 0) {
+                            words[index >>> 6] |= 1L << index;
+                        }
+                    }
+                }
+                for (int word = 0; word < words.length; word++) {
+                    this.marked[word] &= ~words[word];
+                    this.bits.set(word, words[word] | this.marked[word]);
+                }
+                this.lastModified = lastModified;
+                this.size = size;
+                this.loaded = true;
+            }
+            this.validatedAt = System.nanoTime();
+        }
+
+    }
+
+}
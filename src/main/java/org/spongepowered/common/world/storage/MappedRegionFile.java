@@ -0,0 +1,206 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * A read only view of a region file, backed by a memory mapping of the
+ * whole file.
+ *
+ * <p>Unlike {@link net.minecraft.world.chunk.storage.RegionFile} the file
+ * is not kept open and no seeks are needed to read the chunks, which makes
+ * scanning whole region files a lot cheaper. The chunks are inflated with
+ * an {@link Inflater} that is reused per thread.</p>
+ */
+public final class MappedRegionFile {
+
+    public static final int CHUNKS = 1024;
+
+    private static final int SECTOR_SIZE = 4096;
+    private static final int HEADER_SIZE = SECTOR_SIZE * 2;
+    private static final byte VERSION_GZIP = 1;
+    private static final byte VERSION_DEFLATE = 2;
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final ByteBuffer buffer;
+
+    private MappedRegionFile(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps the region file at the given path.
+     *
+     * @param path The path of the region file
+     * @return The mapped region file
+     * @throws IOException If the file could not be mapped
+     */
+    public static MappedRegionFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedRegionFile(buffer);
+        }
+    }
+
+    static MappedRegionFile wrap(ByteBuffer buffer) {
+        return new MappedRegionFile(buffer);
+    }
+
+    /**
+     * Gets whether the chunk at the given index within the region is present.
+     * The index of a chunk is {@code x + z * 32}, using the coordinates of the
+     * chunk within the region.
+     *
+     * @param index The index of the chunk
+     * @return True if the chunk is present
+     */
+    public boolean hasChunk(int index) {
+        return this.getLocation(index) != 0;
+    }
+
+    /**
+     * Gets the amount of chunks present in the region file.
+     *
+     * @return The amount of chunks
+     */
+    public int getChunkCount() {
+        int count = 0;
+        for (int index = 0; index < CHUNKS; index++) {
+            if (this.getLocation(index) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the last time the chunk was saved, in seconds since the epoch.
+     *
+     * @param index The index of the chunk
+     * @return The timestamp, or 0 if unknown
+     */
+    public int getTimestamp(int index) {
+        if (this.buffer.limit() < HEADER_SIZE) {
+            return 0;
+        }
+        return this.buffer.getInt(SECTOR_SIZE + index * 4);
+    }
+
+    private int getLocation(int index) {
+        if (this.buffer.limit() < HEADER_SIZE) {
+            return 0;
+        }
+        return this.buffer.getInt(index * 4);
+    }
+
+    /**
+     * Gets a stream of the decompressed data of the chunk. The stream shares
+     * its inflater with other streams created on the same thread, so it must
+     * be consumed before the next one is requested.
+     *
+     * @param index The index of the chunk
+     * @return The data stream, or null if the chunk is not present or invalid
+     */
+    @Nullable
+    public DataInputStream getChunkDataInputStream(int index) {
+        int location = this.getLocation(index);
+        if (location == 0) {
+            return null;
+        }
+        long offset = (long) (location >>> 8) * SECTOR_SIZE;
+        long sectors = location & 0xFF;
+        if (offset < HEADER_SIZE || offset + 5 > this.buffer.limit()) {
+            return null;
+        }
+        int length = this.buffer.getInt((int) offset);
+        if (length <= 1 || length > sectors * SECTOR_SIZE || offset + 4 + length > this.buffer.limit()) {
+            return null;
+        }
+        byte version = this.buffer.get((int) offset + 4);
+        ByteBuffer payload = this.buffer.duplicate();
+        payload.position((int) offset + 5);
+        payload.limit((int) offset + 4 + length);
+        InputStream input = new ByteBufferInputStream(payload.slice());
+        try {
+            if (version == VERSION_DEFLATE) {
+                Inflater inflater = INFLATER.get();
+                inflater.reset();
+                input = new InflaterInputStream(input, inflater);
+            } else if (version == VERSION_GZIP) {
+                input = new GZIPInputStream(input);
+            } else {
+                return null;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return new DataInputStream(new BufferedInputStream(input));
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            length = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, length);
+            return length;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+
+}
@@ -25,91 +25,75 @@
 package org.spongepowered.common.world.storage;
 
 import com.google.common.base.Throwables;
-import com.google.common.collect.Sets;
-import net.minecraft.world.chunk.storage.RegionFile;
+import com.google.common.collect.Lists;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.world.storage.ChunkDataStream;
 
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Set;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
-public class SpongeChunkDataStream implements ChunkDataStream {
-
-    private static class RegionFileItr {
-
-        private final RegionFile file;
-        public int index;
-
-        public RegionFileItr(RegionFile regionFile) {
-            this.file = regionFile;
-        }
-
-        public int getNext() {
-            int index = this.index;
-            int[] offsets = this.file.offsets;
-            while (index != -1 && index < offsets.length && offsets[index] == 0) {
-                index++;
-            }
-            if (index >= offsets.length) {
-                return -1;
-            }
-            return index;
-        }
+import javax.annotation.Nullable;
 
-        public DataInputStream getStreamAt(int index) {
-            int x = index & 31;
-            int z = index >>> 5;
-            return this.file.getChunkDataInputStream(x, z);
-        }
-
-    }
+public class SpongeChunkDataStream implements ChunkDataStream {
 
-    private final Set<Path> openedFiles = Sets.newHashSet();
-    private RegionFileItr regionFileItr;
     private final Path worldDir;
+    @Nullable private List<Path> regionFiles;
+    // The amount of chunks in the region files from each index on
+    @Nullable private int[] remainingChunks;
+    private int fileIndex;
+    @Nullable private MappedRegionFile regionFile;
+    private int chunkIndex;
 
     public SpongeChunkDataStream(Path worldDir) {
         this.worldDir = worldDir;
     }
 
-    private boolean itrAvailable() {
-        if (this.regionFileItr != null) {
-            return true;
+    private List<Path> getRegionFiles() {
+        if (this.regionFiles == null) {
+            this.regionFiles = Lists.newArrayList(WorldStorageUtil.listRegionFiles(this.worldDir));
         }
-        Iterable<Path> files = WorldStorageUtil.listRegionFiles(this.worldDir);
-        for (Path file : files) {
-            if (!this.openedFiles.contains(file)) {
-                this.regionFileItr = new RegionFileItr(WorldStorageUtil.getRegionFile(file));
-                this.openedFiles.add(file);
-                return true;
-            }
-        }
-        return false;
+        return this.regionFiles;
     }
 
-    private int getNextIndex() {
-        int next;
-        while (itrAvailable()) {
-            if ((next = this.regionFileItr.getNext()) == -1) {
-                this.regionFileItr = null;
-            } else {
-                return next;
+    private boolean advance() {
+        List<Path> files = this.getRegionFiles();
+        while (true) {
+            if (this.regionFile != null) {
+                while (this.chunkIndex < MappedRegionFile.CHUNKS) {
+                    if (this.regionFile.hasChunk(this.chunkIndex)) {
+                        return true;
+                    }
+                    this.chunkIndex++;
+                }
+                this.regionFile = null;
+            }
+            if (this.fileIndex >= files.size()) {
+                return false;
             }
+            this.regionFile = openRegionFile(files.get(this.fileIndex++));
+            this.chunkIndex = 0;
         }
-        return -1;
     }
 
-    @Override
-    public DataContainer next() {
-        int next = getNextIndex();
-        if (next == -1) {
-            throw new NoSuchElementException();
+    @Nullable
+    private static MappedRegionFile openRegionFile(Path file) {
+        try {
+            return MappedRegionFile.open(file);
+        } catch (IOException e) {
+            // Treat unreadable region files as empty, like RegionFile does
+            return null;
         }
-        this.regionFileItr.index = next + 1;
-        DataInputStream stream = this.regionFileItr.getStreamAt(next);
+    }
+
+    @Nullable
+    private static DataContainer readChunk(MappedRegionFile regionFile, int index) {
+        DataInputStream stream = regionFile.getChunkDataInputStream(index);
         try {
             return WorldStorageUtil.readDataFromRegion(stream);
         } catch (IOException e) {
@@ -117,34 +101,74 @@ public DataContainer next() {
         }
     }
 
+    @Override
+    public DataContainer next() {
+        if (!this.advance()) {
+            throw new NoSuchElementException();
+        }
+        return readChunk(this.regionFile, this.chunkIndex++);
+    }
+
     @Override
     public boolean hasNext() {
-        return getNextIndex() != -1;
+        return this.advance();
     }
 
     @Override
     public int available() {
-        // Advance to the end of the stream, counting along the way. Store
-        // previous state and reset to it afterwards.
-        RegionFileItr currentItr = this.regionFileItr;
-        Set<Path> currentOpenedFiles = Sets.newHashSet(this.openedFiles);
+        // Only the headers of the region files need to be read to count the
+        // chunks, the current position is left untouched
         int count = 0;
-        int index = getNextIndex();
-        while (index != -1) {
-            count++;
-            this.regionFileItr.index = index + 1;
-            index = getNextIndex();
+        if (this.regionFile != null) {
+            for (int index = this.chunkIndex; index < MappedRegionFile.CHUNKS; index++) {
+                if (this.regionFile.hasChunk(index)) {
+                    count++;
+                }
+            }
         }
-        this.regionFileItr = currentItr;
-        this.openedFiles.clear();
-        this.openedFiles.addAll(currentOpenedFiles);
-        return count;
+        return count + this.getRemainingChunks()[this.fileIndex];
+    }
+
+    private int[] getRemainingChunks() {
+        if (this.remainingChunks == null) {
+            List<Path> files = this.getRegionFiles();
+            int[] remainingChunks = new int[files.size() + 1];
+            for (int i = files.size() - 1; i >= 0; i--) {
+                MappedRegionFile regionFile = openRegionFile(files.get(i));
+                remainingChunks[i] = remainingChunks[i + 1] + (regionFile == null ? 0 : regionFile.getChunkCount());
+            }
+            this.remainingChunks = remainingChunks;
+        }
+        return this.remainingChunks;
     }
 
     @Override
     public void reset() {
-        this.regionFileItr = null;
-        this.openedFiles.clear();
+        this.regionFiles = null;
+        this.remainingChunks = null;
+        this.fileIndex = 0;
+        this.regionFile = null;
+        this.chunkIndex = 0;
+    }
+
+    /**
+     * Gets a parallel stream over the data of all the chunks of the world,
+     * with the region files being scanned concurrently. The stream is not
+     * affected by, and does not affect, the position of this data stream.
+     *
+     * <p>Use {@link WorldStorageUtil#parallelStream(ChunkDataStream)} to get
+     * the stream of a {@link ChunkDataStream} of any type.</p>
+     *
+     * @return The parallel stream of chunk data
+     */
+    public Stream<DataContainer> parallelStream() {
+        return Lists.newArrayList(WorldStorageUtil.listRegionFiles(this.worldDir)).parallelStream()
+                .map(SpongeChunkDataStream::openRegionFile)
+                .filter(Objects::nonNull)
+                .flatMap(regionFile -> IntStream.range(0, MappedRegionFile.CHUNKS)
+                        .filter(regionFile::hasChunk)
+                        .mapToObj(index -> readChunk(regionFile, index)))
+                .filter(Objects::nonNull);
     }
 
 }
@@ -24,15 +24,17 @@
  */
 package org.spongepowered.common.world.storage;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.Lists;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.storage.IChunkLoader;
-import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.world.storage.ChunkDataStream;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.common.data.util.NbtDataUtil;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
@@ -44,9 +46,16 @@
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class WorldStorageUtil {
 
@@ -56,7 +65,62 @@ public static CompletableFuture<Boolean> doesChunkExist(WorldServer world, IChun
         if (!(chunkLoader instanceof IMixinAnvilChunkLoader) || !SpongeChunkLayout.instance.isValidChunk(x, chunkCoords.getY(), z)) {
             return CompletableFuture.completedFuture(false);
         }
-        return SpongeScheduler.getInstance().submitAsyncTask(() -> ((IMixinAnvilChunkLoader) chunkLoader).chunkExists(world, x, z));
+        ChunkExistenceIndex index = ((IMixinAnvilChunkLoader) chunkLoader).getChunkExistenceIndex();
+        if (index.isIndexed(x, z, x, z)) {
+            return CompletableFuture.completedFuture(index.exists(x, z));
+        }
+        return SpongeScheduler.getInstance().submitAsyncTask(() -> index.exists(x, z));
+    }
+
+    /**
+     * Gets which chunks in the given range of chunk coordinates exist. The
+     * bit of a chunk in the resulting set is at {@code (x - min.getX()) +
+     * (z - min.getZ()) * (max.getX() - min.getX() + 1)}, invalid chunks are
+     * never set.
+     *
+     * <p>Ranges which are already indexed are answered immediately, others
+     * with a single async task reading the missing region headers.</p>
+     *
+     * @param chunkLoader The chunk loader of the world
+     * @param min The minimum chunk coordinates
+     * @param max The maximum chunk coordinates, inclusive
+     * @return The existing chunks
+     */
+    public static CompletableFuture<BitSet> doesChunkExist(IChunkLoader chunkLoader, Vector3i min, Vector3i max) {
+        checkArgument(min.getX() <= max.getX() && min.getZ() <= max.getZ(), "min must not be greater than max");
+        if (!(chunkLoader instanceof IMixinAnvilChunkLoader)) {
+            return CompletableFuture.completedFuture(new BitSet());
+        }
+        ChunkExistenceIndex index = ((IMixinAnvilChunkLoader) chunkLoader).getChunkExistenceIndex();
+        // Clamp to the valid chunks, the bits keep their offsets from min
+        Vector3i spaceMin = SpongeChunkLayout.instance.getSpaceMin();
+        Vector3i spaceMax = SpongeChunkLayout.instance.getSpaceMax();
+        int minX = Math.max(min.getX(), spaceMin.getX());
+        int minZ = Math.max(min.getZ(), spaceMin.getZ());
+        int maxX = Math.min(max.getX(), spaceMax.getX());
+        int maxZ = Math.min(max.getZ(), spaceMax.getZ());
+        if (minX > maxX || minZ > maxZ || min.getY() > 0 || max.getY() < 0) {
+            return CompletableFuture.completedFuture(new BitSet());
+        }
+        Supplier<BitSet> query = () -> {
+            BitSet chunks = index.exists(minX, minZ, maxX, maxZ);
+            if (minX == min.getX() && minZ == min.getZ() && maxX == max.getX()) {
+                return chunks;
+            }
+            int width = max.getX() - min.getX() + 1;
+            int clampedWidth = maxX - minX + 1;
+            BitSet result = new BitSet();
+            for (int i = chunks.nextSetBit(0); i >= 0; i = chunks.nextSetBit(i + 1)) {
+                int x = minX + i % clampedWidth;
+                int z = minZ + i / clampedWidth;
+                result.set((x - min.getX()) + (z - min.getZ()) * width);
+            }
+            return result;
+        };
+        if (index.isIndexed(minX, minZ, maxX, maxZ)) {
+            return CompletableFuture.completedFuture(query.get());
+        }
+        return SpongeScheduler.getInstance().submitAsyncTask(query::get);
     }
 
     public static CompletableFuture<Optional<DataContainer>> getChunkData(WorldServer world, IChunkLoader chunkLoader, Vector3i chunkCoords) {
@@ -91,6 +155,34 @@ public static DataContainer readDataFromRegion(DataInputStream stream) throws IO
         return NbtTranslator.getInstance().translateFrom(level);
     }
 
+    /**
+     * Gets a stream over the data of the chunks of the given data stream.
+     * The region files of a {@link SpongeChunkDataStream} are scanned
+     * concurrently, independent of its position. Other data streams are
+     * read sequentially from their current position.
+     *
+     * @param stream The chunk data stream
+     * @return The stream of chunk data
+     */
+    public static Stream<DataContainer> parallelStream(ChunkDataStream stream) {
+        if (stream instanceof SpongeChunkDataStream) {
+            return ((SpongeChunkDataStream) stream).parallelStream();
+        }
+        final Iterator<DataContainer> iterator = new Iterator<DataContainer>() {
+
+            @Override
+            public boolean hasNext() {
+                return stream.hasNext();
+            }
+
+            @Override
+            public DataContainer next() {
+                return stream.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
     public static Iterable<Path> listRegionFiles(Path worldDir) {
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(worldDir.resolve("region"), "*.mca")) {
             return Lists.newArrayList(stream);
@@ -99,20 +191,4 @@ public static Iterable<Path> listRegionFiles(Path worldDir) {
         }
     }
 
-    // Similar to RegionFileCache#createOrLoadRegionFile except this uses direct
-    // file name instead of x,z
-    public static RegionFile getRegionFile(Path regionFilePath) {
-        File file = regionFilePath.toFile();
-        RegionFile regionFile = RegionFileCache.regionsByFilename.get(file);
-        if (regionFile != null) {
-            return regionFile;
-        }
-        if (RegionFileCache.regionsByFilename.size() >= 256) {
-            RegionFileCache.clearRegionFileReferences();
-        }
-        regionFile = new RegionFile(file);
-        RegionFileCache.regionsByFilename.put(file, regionFile);
-        return regionFile;
-    }
-
 }
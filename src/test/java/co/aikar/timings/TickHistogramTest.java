@@ -0,0 +1,82 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package co.aikar.timings;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TickHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        for (long value = 0; value < 1 << 20; value++) {
+            int bucket = TickHistogram.bucketFor(value);
+            long limit = TickHistogram.bucketLimit(bucket);
+            Assert.assertTrue(limit >= value);
+            Assert.assertTrue(limit - value <= Math.max(value / 8, 1));
+            if (bucket > 0) {
+                Assert.assertTrue(TickHistogram.bucketLimit(bucket - 1) < value);
+            }
+        }
+        Assert.assertEquals(TickHistogram.bucketFor(Long.MAX_VALUE), TickHistogram.bucketFor(Long.MAX_VALUE / 2));
+    }
+
+    @Test
+    public void testPercentiles() {
+        TickHistogram histogram = new TickHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000000L);
+        }
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(100000, histogram.getMax());
+        Assert.assertEquals(50500, histogram.getMean());
+        long p50 = histogram.getPercentile(0.5);
+        Assert.assertTrue(p50 >= 50000 && p50 <= 50000 * 9 / 8);
+        long p99 = histogram.getPercentile(0.99);
+        Assert.assertTrue(p99 >= 99000 && p99 <= 100000);
+        Assert.assertEquals(100000, histogram.getPercentile(1));
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getPercentile(0.5));
+    }
+
+    @Test
+    public void testSnapshot() {
+        TickHistogram histogram = new TickHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(10000);
+        }
+        histogram.record(100000000);
+
+        TickHistogram snapshot = histogram.snapshot();
+        histogram.record(200000000);
+        Assert.assertEquals(100, snapshot.getCount());
+        Assert.assertEquals(10, snapshot.getPercentile(0.5));
+        Assert.assertEquals(10, snapshot.getPercentile(0.99));
+        Assert.assertEquals(100000, snapshot.getPercentile(1));
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class FlyweightPoolTest {
+
+    private static final FlyweightPool.Factory<List<Object>> FACTORY = (type, args) -> Arrays.asList(args.clone());
+
+    private final FlyweightPool<List<Object>> pool = new FlyweightPool<>(100);
+
+    private List<Object> get(Object... args) throws Exception {
+        return this.pool.get(List.class, args, FACTORY);
+    }
+
+    @Test
+    public void testSharesInstances() throws Exception {
+        Object[][] keys = {{true}, {false}, {5}, {-128}, {1023}, {1024}, {-129}, {2.5D}, {"key"}, {null}, {}, {7, 0, 15}, {"a", null, 3.0D}};
+        for (Object[] args : keys) {
+            List<Object> first = get(args.clone());
+            assertEquals(Arrays.asList(args), first);
+            assertSame(first, get(args.clone()));
+        }
+        assertEquals(keys.length, this.pool.getMisses());
+        assertEquals(keys.length, this.pool.getHits());
+        assertEquals(keys.length, this.pool.size());
+        assertNotSame(get(7, 0, 15), get(7, 0, 16));
+    }
+
+    @Test
+    public void testPopulatesEnums() throws Exception {
+        List<Object> seconds = get("unit", TimeUnit.SECONDS);
+        // The other constants are created ahead of time, they are no misses
+        assertEquals(1, this.pool.getMisses());
+        assertEquals(TimeUnit.values().length, this.pool.size());
+        assertSame(seconds, get("unit", TimeUnit.SECONDS));
+        assertEquals(ImmutableList.of("unit", TimeUnit.DAYS), get("unit", TimeUnit.DAYS));
+        assertEquals(1, this.pool.getMisses());
+        assertEquals(2, this.pool.getHits());
+    }
+
+    @Test
+    public void testDifferentArgumentCounts() throws Exception {
+        List<Object> single = get(1);
+        List<Object> pair = get(1, 2);
+        assertEquals(ImmutableList.of(1, 2), pair);
+        assertSame(single, get(1));
+        // Pooled in the overflow cache
+        assertSame(pair, get(1, 2));
+    }
+
+    @Test
+    public void testLimit() throws Exception {
+        FlyweightPool<List<Object>> pool = new FlyweightPool<>(10);
+        for (int i = 0; i < 20; i++) {
+            pool.get(List.class, new Object[] {i}, FACTORY);
+        }
+        assertSame(pool.get(List.class, new Object[] {0}, FACTORY), pool.get(List.class, new Object[] {0}, FACTORY));
+        // Instances past the limit are kept in the overflow cache
+        assertSame(pool.get(List.class, new Object[] {15}, FACTORY), pool.get(List.class, new Object[] {15}, FACTORY));
+
+        // Which evicts instances instead of growing past its limit
+        for (int i = 20; i < 1000; i++) {
+            pool.get(List.class, new Object[] {i}, FACTORY);
+        }
+        assertTrue(pool.size() <= 20);
+        assertSame(pool.get(List.class, new Object[] {0}, FACTORY), pool.get(List.class, new Object[] {0}, FACTORY));
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.MemoryDataContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class NbtDataStreamTest {
+
+    static DataContainer createContainer() {
+        DataContainer container = new MemoryDataContainer();
+        container.set(DataQuery.of("byte"), (byte) 1)
+                .set(DataQuery.of("short"), (short) 2)
+                .set(DataQuery.of("int"), 3)
+                .set(DataQuery.of("long"), 4L)
+                .set(DataQuery.of("float"), 5F)
+                .set(DataQuery.of("double"), 6D)
+                .set(DataQuery.of("string"), "seven")
+                .set(DataQuery.of("boolean"), true)
+                .set(DataQuery.of("my.key.to.data"), 8)
+                .set(DataQuery.of("strings"), ImmutableList.of("a", "b"))
+                .set(DataQuery.of("lists"), ImmutableList.of(ImmutableList.of(1, 2), ImmutableList.of()))
+                .set(DataQuery.of("empty"), ImmutableList.of());
+        container.createView(DataQuery.of("nested")).set(DataQuery.of("inner"), "value").set(DataQuery.of("flag"), false);
+        DataContainer element = new MemoryDataContainer().set(DataQuery.of("id"), "minecraft:stone").set(DataQuery.of("Count"), (byte) 64);
+        container.set(DataQuery.of("items"), ImmutableList.of(element, element));
+        return container;
+    }
+
+    static byte[] write(DataContainer container) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        NbtDataWriter.write(container, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    static byte[] writeCompound(NBTTagCompound compound) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(compound, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void testWriterMatchesTranslator() throws IOException {
+        DataContainer container = createContainer();
+        NBTTagCompound compound = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(write(container))));
+        assertEquals(NbtTranslator.getInstance().translateData(container), compound);
+    }
+
+    @Test
+    public void testReaderMatchesTranslator() throws IOException {
+        NBTTagCompound compound = NbtTranslator.getInstance().translateData(createContainer());
+        DataContainer container = NbtDataReader.read(new DataInputStream(new ByteArrayInputStream(writeCompound(compound))));
+        assertEquals(NbtTranslator.getInstance().translateFrom(compound), container);
+        assertEquals(createContainer(), container);
+    }
+
+    @Test
+    public void testArrays() throws IOException {
+        DataContainer container = new MemoryDataContainer()
+                .set(DataQuery.of("bytes"), new byte[] {1, 2, 3})
+                .set(DataQuery.of("boxedBytes"), new Byte[] {4, 5})
+                .set(DataQuery.of("ints"), new int[] {6, 7, 8})
+                .set(DataQuery.of("boxedInts"), new Integer[] {9});
+        DataContainer read = NbtDataReader.read(new DataInputStream(new ByteArrayInputStream(write(container))));
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) read.get(DataQuery.of("bytes")).get());
+        assertArrayEquals(new byte[] {4, 5}, (byte[]) read.get(DataQuery.of("boxedBytes")).get());
+        assertArrayEquals(new int[] {6, 7, 8}, (int[]) read.get(DataQuery.of("ints")).get());
+        assertArrayEquals(new int[] {9}, (int[]) read.get(DataQuery.of("boxedInts")).get());
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsNonCompoundRoot() throws IOException {
+        NbtDataReader.read(new DataInputStream(new ByteArrayInputStream(new byte[] {8, 0, 0, 0, 0})));
+    }
+
+}
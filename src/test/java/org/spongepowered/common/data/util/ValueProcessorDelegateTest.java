@@ -0,0 +1,136 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.data.DataTransactionResult;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.data.value.ValueContainer;
+import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.api.entity.living.Living;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.common.data.ValueProcessor;
+
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+public class ValueProcessorDelegateTest {
+
+    @SuppressWarnings("unchecked")
+    private final Key<Value<Double>> key = mock(Key.class);
+
+    @Test
+    public void testSkipsUnsupportedProcessors() {
+        TestProcessor item = new TestProcessor(ItemStack.class, 1.0D);
+        TestProcessor living = new TestProcessor(Living.class, 2.0D);
+        ValueProcessorDelegate<Double, Value<Double>> delegate = new ValueProcessorDelegate<>(this.key, ImmutableList.of(item, living));
+
+        Living entity = mock(Living.class);
+        assertEquals(Optional.of(2.0D), delegate.getValueFromContainer(entity));
+        assertEquals(Optional.of(2.0D), delegate.getValueFromContainer(entity));
+        assertTrue(delegate.supports(entity));
+        assertEquals(0, item.checks);
+        assertEquals(3, living.checks);
+
+        assertEquals(Optional.of(1.0D), delegate.getValueFromContainer(mock(ItemStack.class)));
+        assertFalse(delegate.supports(mock(ValueContainer.class)));
+    }
+
+    @Test
+    public void testFallsBackToLowerPriorities() {
+        TestProcessor empty = new TestProcessor(Living.class, null);
+        TestProcessor other = new TestProcessor(ItemStack.class, 1.0D);
+        TestProcessor fallback = new TestProcessor(Living.class, 2.0D);
+        ValueProcessorDelegate<Double, Value<Double>> delegate = new ValueProcessorDelegate<>(this.key,
+                ImmutableList.of(empty, other, fallback));
+
+        assertEquals(Optional.of(2.0D), delegate.getValueFromContainer(mock(Living.class)));
+        assertEquals(1, empty.checks);
+        assertEquals(1, fallback.checks);
+    }
+
+    static final class TestProcessor implements ValueProcessor<Double, Value<Double>> {
+
+        private final Class<?> containerClass;
+        @Nullable private final Double value;
+        int checks;
+
+        TestProcessor(Class<?> containerClass, @Nullable Double value) {
+            this.containerClass = containerClass;
+            this.value = value;
+        }
+
+        @Override
+        public Key<? extends BaseValue<Double>> getKey() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getPriority() {
+            return 100;
+        }
+
+        @Override
+        public Optional<Double> getValueFromContainer(ValueContainer<?> container) {
+            return Optional.ofNullable(this.value);
+        }
+
+        @Override
+        public Optional<Value<Double>> getApiValueFromContainer(ValueContainer<?> container) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean supports(ValueContainer<?> container) {
+            this.checks++;
+            return this.containerClass.isInstance(container);
+        }
+
+        @Override
+        public boolean canSupport(Class<?> containerClass) {
+            return this.containerClass.isAssignableFrom(containerClass);
+        }
+
+        @Override
+        public DataTransactionResult offerToStore(ValueContainer<?> container, Double value) {
+            return DataTransactionResult.failNoData();
+        }
+
+        @Override
+        public DataTransactionResult removeFrom(ValueContainer<?> container) {
+            return DataTransactionResult.failNoData();
+        }
+
+    }
+
+}
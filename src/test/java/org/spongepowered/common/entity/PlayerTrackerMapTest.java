@@ -0,0 +1,91 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PlayerTrackerMapTest {
+
+    @Test
+    public void testOwnerAndNotifier() {
+        PlayerTrackerMap map = new PlayerTrackerMap();
+        assertEquals(-1, map.getOwner(0));
+        assertEquals(-1, map.getNotifier(0));
+
+        map.setOwner(0, 3);
+        map.setNotifier(0, 0);
+        assertTrue(map.contains(0));
+        assertEquals(3, map.getOwner(0));
+        assertEquals(0, map.getNotifier(0));
+        assertEquals(1, map.size());
+
+        // Clearing both indices untracks the position
+        map.set(0, -1, -1);
+        assertFalse(map.contains(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testManyPositions() {
+        PlayerTrackerMap map = new PlayerTrackerMap();
+        for (int i = 0; i < 10000; i++) {
+            map.set(i * 16, i, i + 1);
+        }
+        assertEquals(10000, map.size());
+        for (int i = 0; i < 10000; i += 2) {
+            map.remove(i * 16);
+        }
+        assertEquals(5000, map.size());
+        for (int i = 0; i < 10000; i++) {
+            if (i % 2 == 0) {
+                assertFalse(map.contains(i * 16));
+            } else {
+                assertEquals(i, map.getOwner(i * 16));
+                assertEquals(i + 1, map.getNotifier(i * 16));
+            }
+        }
+    }
+
+    @Test
+    public void testArrayRoundTrip() {
+        PlayerTrackerMap map = new PlayerTrackerMap();
+        map.set(Integer.MIN_VALUE, 1, -1);
+        map.set(-1, -1, 2);
+        map.set(42, 5, 6);
+
+        PlayerTrackerMap copy = PlayerTrackerMap.fromArray(map.toArray());
+        assertEquals(3, copy.size());
+        assertEquals(1, copy.getOwner(Integer.MIN_VALUE));
+        assertEquals(2, copy.getNotifier(-1));
+        assertEquals(5, copy.getOwner(42));
+        assertArrayEquals(map.toArray(), copy.toArray());
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Test;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncListenerExecutorTest {
+
+    private AsyncListenerExecutor executor;
+
+    @After
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    private static RegisteredListener<Event> listener(String pluginId, EventListener<Event> listener) {
+        PluginContainer plugin = mock(PluginContainer.class);
+        when(plugin.getId()).thenReturn(pluginId);
+        return new RegisteredListener<>(plugin, Event.class, Order.POST, listener, false, true);
+    }
+
+    private static List<RegisteredListener<?>> listeners(RegisteredListener<?> listener) {
+        return ImmutableList.<RegisteredListener<?>>of(listener);
+    }
+
+    @Test
+    public void testDeliversInOrder() throws InterruptedException {
+        this.executor = new AsyncListenerExecutor(2, 100, AsyncListenerExecutor.OverflowPolicy.BLOCK, 5, TimeUnit.SECONDS);
+        List<Event> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(50);
+        List<RegisteredListener<?>> listeners = listeners(listener("test", event -> {
+            received.add(event);
+            done.countDown();
+        }));
+
+        List<Event> posted = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Event event = mock(Event.class);
+            posted.add(event);
+            this.executor.post(event, listeners);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(posted, received);
+    }
+
+    @Test
+    public void testDropOldest() throws InterruptedException {
+        this.executor = new AsyncListenerExecutor(1, 2, AsyncListenerExecutor.OverflowPolicy.DROP_OLDEST, 0, TimeUnit.SECONDS);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Event> received = new CopyOnWriteArrayList<>();
+        List<RegisteredListener<?>> listeners = listeners(listener("slow", event -> {
+            started.countDown();
+            release.await();
+            received.add(event);
+        }));
+
+        Event first = mock(Event.class);
+        this.executor.post(first, listeners);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // The first event is being handled, the queue holds the last two
+        Event[] events = new Event[4];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = mock(Event.class);
+            this.executor.post(events[i], listeners);
+        }
+
+        AsyncListenerExecutor.PluginStatistics stats = this.executor.getPluginStatistics().iterator().next();
+        assertEquals(2, stats.getQueuedEvents());
+        assertEquals(2, stats.getDroppedEvents());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(ImmutableList.of(first, events[2], events[3]), received);
+    }
+
+    @Test
+    public void testDropNewest() throws InterruptedException {
+        this.executor = new AsyncListenerExecutor(1, 1, AsyncListenerExecutor.OverflowPolicy.DROP_NEWEST, 0, TimeUnit.SECONDS);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<RegisteredListener<?>> listeners = listeners(listener("slow", event -> {
+            started.countDown();
+            release.await();
+        }));
+
+        this.executor.post(mock(Event.class), listeners);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            this.executor.post(mock(Event.class), listeners);
+        }
+
+        AsyncListenerExecutor.PluginStatistics stats = this.executor.getPluginStatistics().iterator().next();
+        assertEquals(1, stats.getQueuedEvents());
+        assertEquals(2, stats.getDroppedEvents());
+        release.countDown();
+    }
+
+    @Test
+    public void testSlowPluginDoesNotDelayOthers() throws InterruptedException {
+        this.executor = new AsyncListenerExecutor(2, 100, AsyncListenerExecutor.OverflowPolicy.DROP_NEWEST, 0, TimeUnit.SECONDS);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fast = new CountDownLatch(10);
+        List<RegisteredListener<?>> slowListeners = listeners(listener("slow", event -> release.await()));
+        List<RegisteredListener<?>> fastListeners = listeners(listener("fast", event -> fast.countDown()));
+
+        for (int i = 0; i < 10; i++) {
+            this.executor.post(mock(Event.class), slowListeners);
+            this.executor.post(mock(Event.class), fastListeners);
+        }
+
+        assertTrue(fast.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import co.aikar.timings.Timing;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventDispatcherTest {
+
+    private final PluginContainer plugin = mock(PluginContainer.class);
+    private final Timing timing = mock(Timing.class);
+    private final EventDispatcherFactory factory = new EventDispatcherFactory("org.spongepowered.common.event.dispatcher",
+            getClass().getClassLoader());
+
+    private RegisteredListener<Event> listener(EventListener<Event> listener) throws Exception {
+        RegisteredListener<Event> registration = new RegisteredListener<>(this.plugin, Event.class, Order.DEFAULT, listener, false);
+        // Don't create plugin timings outside of a server
+        Field timer = RegisteredListener.class.getDeclaredField("listenerTimer");
+        timer.setAccessible(true);
+        timer.set(registration, this.timing);
+        return registration;
+    }
+
+    @Test
+    public void testCallsListenersInOrder() throws Exception {
+        List<Integer> called = new ArrayList<>();
+        ImmutableList.Builder<RegisteredListener<?>> listeners = ImmutableList.builder();
+        for (int i = 0; i < 10; i++) {
+            final int index = i;
+            listeners.add(listener(event -> called.add(index)));
+        }
+
+        EventDispatcher dispatcher = this.factory.create(listeners.build());
+        dispatcher.dispatch(mock(Event.class));
+        assertEquals(ImmutableList.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), called);
+    }
+
+    @Test
+    public void testContinuesAfterException() throws Exception {
+        List<Integer> called = new ArrayList<>();
+        EventDispatcher dispatcher = this.factory.create(ImmutableList.of(
+                listener(event -> called.add(0)),
+                listener(event -> {
+                    throw new IllegalStateException("Expected by the test");
+                }),
+                listener(event -> called.add(2))));
+
+        dispatcher.dispatch(mock(Event.class));
+        assertEquals(ImmutableList.of(0, 2), called);
+    }
+
+    @Test
+    public void testMaxListeners() throws Exception {
+        int[] called = new int[1];
+        ImmutableList.Builder<RegisteredListener<?>> listeners = ImmutableList.builder();
+        for (int i = 0; i < EventDispatcherFactory.MAX_LISTENERS; i++) {
+            listeners.add(listener(event -> called[0]++));
+        }
+
+        this.factory.create(listeners.build()).dispatch(mock(Event.class));
+        assertEquals(EventDispatcherFactory.MAX_LISTENERS, called[0]);
+    }
+
+}
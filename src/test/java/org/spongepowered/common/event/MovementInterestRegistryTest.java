@@ -0,0 +1,122 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.UUID;
+
+public class MovementInterestRegistryTest {
+
+    private static final UUID WORLD = UUID.randomUUID();
+    private static final UUID OTHER_WORLD = UUID.randomUUID();
+
+    private final SpongeEventManager eventManager = mock(SpongeEventManager.class);
+    private final MovementInterestRegistry registry = new MovementInterestRegistry(this.eventManager);
+
+    @Test
+    public void testChunks() {
+        this.registry.register(mock(PluginContainer.class))
+                .addChunk(WORLD, 0, 0)
+                .addChunk(WORLD, -1, -33)
+                .addChunk(WORLD, 31, 32);
+
+        assertTrue(this.registry.covers(WORLD, 0, 0));
+        assertTrue(this.registry.covers(WORLD, -1, -33));
+        assertTrue(this.registry.covers(WORLD, 31, 32));
+        assertFalse(this.registry.covers(WORLD, 1, 0));
+        assertFalse(this.registry.covers(WORLD, -1, -32));
+        assertFalse(this.registry.covers(WORLD, 31, 0));
+        assertFalse(this.registry.covers(OTHER_WORLD, 0, 0));
+    }
+
+    @Test
+    public void testArea() {
+        this.registry.register(mock(PluginContainer.class)).addArea(WORLD, new Vector3i(15, 0, -17), new Vector3i(-16, 255, 16));
+
+        for (int x = -1; x <= 0; x++) {
+            for (int z = -2; z <= 1; z++) {
+                assertTrue(this.registry.covers(WORLD, x, z));
+            }
+        }
+        assertFalse(this.registry.covers(WORLD, -2, 0));
+        assertFalse(this.registry.covers(WORLD, 1, 0));
+        assertFalse(this.registry.covers(WORLD, 0, -3));
+        assertFalse(this.registry.covers(WORLD, 0, 2));
+    }
+
+    @Test
+    public void testEntityTypes() {
+        EntityType type = mock(EntityType.class);
+        when(type.getEntityClass()).thenAnswer(invocation -> Entity.class);
+        this.registry.register(mock(PluginContainer.class)).addEntityType(type);
+
+        assertTrue(this.registry.covers(Entity.class));
+        assertFalse(this.registry.covers(Object.class));
+    }
+
+    @Test
+    public void testUnregister() {
+        MovementInterestRegistry.Interest first = this.registry.register(mock(PluginContainer.class)).addChunk(WORLD, 5, 5);
+        MovementInterestRegistry.Interest second = this.registry.register(mock(PluginContainer.class)).addChunk(WORLD, 5, 5).addChunk(WORLD, 6, 6);
+
+        first.unregister();
+        assertTrue(this.registry.covers(WORLD, 5, 5));
+        second.clear();
+        assertFalse(this.registry.covers(WORLD, 5, 5));
+        second.addChunk(WORLD, 6, 6).unregister();
+        assertFalse(this.registry.covers(WORLD, 6, 6));
+    }
+
+    @Test
+    public void testUnfilteredListenersAreLookedUpOnce() {
+        when(this.eventManager.hasListeners(eq(Event.class), any())).thenReturn(true);
+        assertTrue(this.registry.hasUnfilteredListeners(Event.class));
+        when(this.eventManager.hasListeners(eq(Event.class), any())).thenReturn(false);
+        assertTrue(this.registry.hasUnfilteredListeners(Event.class));
+        verify(this.eventManager, times(1)).hasListeners(eq(Event.class), any());
+
+        this.registry.onListenersChanged();
+        assertFalse(this.registry.hasUnfilteredListeners(Event.class));
+        when(this.eventManager.hasListeners(eq(Event.class), any())).thenReturn(true);
+        this.registry.register(mock(PluginContainer.class));
+        assertTrue(this.registry.hasUnfilteredListeners(Event.class));
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.util.List;
+
+public class RegisteredListenerCacheTest {
+
+    private static final List<Class<?>> TYPES = ImmutableList.of(SubEvent.class, Event.class);
+
+    private final PluginContainer plugin = mock(PluginContainer.class);
+    private long sequence;
+
+    private RegisteredListener<Event> listener(Order order) {
+        return listener(Event.class, order);
+    }
+
+    private <T extends Event> RegisteredListener<T> listener(Class<T> eventClass, Order order) {
+        RegisteredListener<T> listener = new RegisteredListener<>(this.plugin, eventClass, order, event -> {}, false);
+        listener.setSequence(this.sequence++);
+        return listener;
+    }
+
+    @Test
+    public void testWithKeepsOrder() {
+        RegisteredListener<Event> early = listener(Order.EARLY);
+        RegisteredListener<Event> late = listener(Order.LATE);
+        RegisteredListener<Event> defaultFirst = listener(Order.DEFAULT);
+        RegisteredListener<Event> defaultSecond = listener(Order.DEFAULT);
+
+        RegisteredListener.Cache cache = new RegisteredListener.Cache(TYPES, ImmutableList.of(early, defaultFirst, late));
+        cache = cache.with(ImmutableList.of(defaultSecond));
+
+        assertEquals(ImmutableList.of(early, defaultFirst, defaultSecond, late), cache.getListeners());
+        assertEquals(ImmutableList.of(defaultFirst, defaultSecond), cache.getListenersByOrder(Order.DEFAULT));
+    }
+
+    @Test
+    public void testWithMatchesBake() {
+        RegisteredListener<Event> base = listener(Order.DEFAULT);
+        RegisteredListener<SubEvent> sub = listener(SubEvent.class, Order.DEFAULT);
+        RegisteredListener<Event> early = listener(Order.EARLY);
+
+        RegisteredListener.Cache baked = new RegisteredListener.Cache(TYPES, ImmutableList.of(early, base, sub));
+        RegisteredListener.Cache patched = new RegisteredListener.Cache(TYPES, ImmutableList.of(base)).with(ImmutableList.of(sub, early));
+
+        assertEquals(ImmutableList.of(early, sub, base), baked.getListeners());
+        assertEquals(baked.getListeners(), patched.getListeners());
+    }
+
+    @Test
+    public void testWithout() {
+        RegisteredListener<Event> first = listener(Order.FIRST);
+        RegisteredListener<Event> last = listener(Order.LAST);
+
+        RegisteredListener.Cache cache = new RegisteredListener.Cache(TYPES, ImmutableList.of(first, last));
+        assertSame(cache, cache.without(handler -> false));
+
+        cache = cache.without(handler -> handler == first);
+        assertEquals(ImmutableList.of(last), cache.getListeners());
+        assertEquals(ImmutableList.of(), cache.getListenersByOrder(Order.FIRST));
+    }
+
+    @Test
+    public void testAsyncListenersByOrder() {
+        RegisteredListener<Event> sync = listener(Order.POST);
+        RegisteredListener<Event> async = new RegisteredListener<>(this.plugin, Event.class, Order.POST, event -> {}, false, true);
+        async.setSequence(this.sequence++);
+
+        RegisteredListener.Cache cache = new RegisteredListener.Cache(TYPES, ImmutableList.of(sync, async));
+        assertEquals(ImmutableList.of(sync), cache.getListenersByOrder(Order.POST));
+        assertEquals(ImmutableList.of(async), cache.getAsyncListenersByOrder(Order.POST));
+        assertEquals(ImmutableList.of(), cache.getAsyncListenersByOrder(Order.DEFAULT));
+    }
+
+    private interface SubEvent extends Event {
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entityactivation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class ActivationGridTest {
+
+    static final int MAX_RANGE = 32;
+
+    // Player and entity boxes as minX, minY, minZ, maxX, maxY, maxZ
+    static double[][] createBoxes(Random random, int count, int spread, double width, double height) {
+        double[][] boxes = new double[count][];
+        for (int i = 0; i < count; i++) {
+            double x = random.nextDouble() * spread - spread / 2;
+            double y = random.nextDouble() * 300 - 20;
+            double z = random.nextDouble() * spread - spread / 2;
+            boxes[i] = new double[] {x - width / 2, y, z - width / 2, x + width / 2, y + height, z + width / 2};
+        }
+        return boxes;
+    }
+
+    static int chunk(double coordinate) {
+        return (int) Math.floor(coordinate) >> 4;
+    }
+
+    static ActivationGrid createGrid(double[][] players) {
+        ActivationGrid grid = new ActivationGrid();
+        for (double[] player : players) {
+            grid.addPlayer(player[0], player[1], player[2], player[3], player[4], player[5], MAX_RANGE);
+        }
+        return grid;
+    }
+
+    private static boolean isInRange(ActivationGrid grid, double[] entity, int range) {
+        double posX = (entity[0] + entity[3]) / 2;
+        double posZ = (entity[2] + entity[5]) / 2;
+        return grid.isInRange(chunk(posX), chunk(posZ), posX, entity[1], posZ,
+                entity[0], entity[1], entity[2], entity[3], entity[4], entity[5], range);
+    }
+
+    // The per player check of the previous implementation
+    private static boolean isInRangeOfAnyPlayer(double[][] players, double[] entity, int range) {
+        return isInRangeOfAnyPlayer(players, chunk((entity[0] + entity[3]) / 2), chunk((entity[2] + entity[5]) / 2), entity, range);
+    }
+
+    private static boolean isInRangeOfAnyPlayer(double[][] players, int chunkX, int chunkZ, double[] entity, int range) {
+        for (double[] player : players) {
+            if (chunkX < chunk(player[0] - MAX_RANGE) || chunkX > chunk(player[3] + MAX_RANGE)
+                    || chunkZ < chunk(player[2] - MAX_RANGE) || chunkZ > chunk(player[5] + MAX_RANGE)) {
+                continue;
+            }
+            if (entity[3] > player[0] - range && entity[0] < player[3] + range
+                    && entity[4] > player[1] - ActivationGrid.VERTICAL_RANGE && entity[1] < player[4] + ActivationGrid.VERTICAL_RANGE
+                    && entity[5] > player[2] - range && entity[2] < player[5] + range) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testMatchesPerPlayerCheck() {
+        Random random = new Random(42);
+        int[] ranges = {0, 8, 16, 32, 48};
+        for (int spread : new int[] {64, 256, 1024}) {
+            double[][] players = createBoxes(random, 20, spread, 0.6, 1.8);
+            double[][] entities = createBoxes(random, 5000, spread + 128, 0.9, 1.4);
+            ActivationGrid grid = createGrid(players);
+            for (double[] entity : entities) {
+                int range = ranges[random.nextInt(ranges.length)];
+                Assert.assertEquals(isInRangeOfAnyPlayer(players, entity, range), isInRange(grid, entity, range));
+            }
+        }
+    }
+
+    @Test
+    public void testEntityOutsideOfChunk() {
+        // Entities are only moved to another chunk list after they moved
+        Random random = new Random(42);
+        double[][] players = createBoxes(random, 20, 128, 0.6, 1.8);
+        double[][] entities = createBoxes(random, 5000, 256, 0.9, 1.4);
+        ActivationGrid grid = createGrid(players);
+        for (double[] entity : entities) {
+            double posX = (entity[0] + entity[3]) / 2;
+            double posZ = (entity[2] + entity[5]) / 2;
+            int chunkX = chunk(posX) + random.nextInt(3) - 1;
+            int chunkZ = chunk(posZ) + random.nextInt(3) - 1;
+            int range = random.nextInt(40);
+            Assert.assertEquals(isInRangeOfAnyPlayer(players, chunkX, chunkZ, entity, range), grid.isInRange(chunkX, chunkZ, posX, entity[1], posZ,
+                    entity[0], entity[1], entity[2], entity[3], entity[4], entity[5], range));
+        }
+    }
+
+    @Test
+    public void testCoverage() {
+        ActivationGrid grid = createGrid(new double[][] {{0.2, 64, 0.2, 0.8, 65.8, 0.8}});
+        Assert.assertNotNull(grid.getCell(0, 0));
+        Assert.assertNotNull(grid.getCell(-2, 2));
+        Assert.assertNull(grid.getCell(-3, 0));
+        Assert.assertNull(grid.getCell(0, 3));
+        Assert.assertEquals(25, grid.getCells().size());
+        grid.clear();
+        Assert.assertNull(grid.getCell(0, 0));
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.entitycollisions;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+public class EntityCollisionGridTest {
+
+    private static final int CHUNK_X = -3;
+    private static final int SECTION_Y = 4;
+    private static final int CHUNK_Z = 7;
+
+    private static final class TestEntry implements EntityCollisionGrid.Entry {
+
+        // minX, minY, minZ, maxX, maxY, maxZ
+        final double[] box = new double[6];
+        @Nullable EntityCollisionGrid grid;
+        int cell;
+
+        void moveTo(Random random, double spread) {
+            // Entities may be slightly outside of their section until the world moves them
+            double x = CHUNK_X * 16 - spread + random.nextDouble() * (16 + spread * 2);
+            double y = SECTION_Y * 16 - spread + random.nextDouble() * (16 + spread * 2);
+            double z = CHUNK_Z * 16 - spread + random.nextDouble() * (16 + spread * 2);
+            double width = 0.2 + random.nextDouble() * 2;
+            double height = 0.2 + random.nextDouble() * 3;
+            this.box[0] = x - width / 2;
+            this.box[1] = y;
+            this.box[2] = z - width / 2;
+            this.box[3] = x + width / 2;
+            this.box[4] = y + height;
+            this.box[5] = z + width / 2;
+        }
+
+        boolean intersects(double[] query) {
+            return this.box[0] < query[3] && this.box[3] > query[0] && this.box[1] < query[4] && this.box[4] > query[1]
+                    && this.box[2] < query[5] && this.box[5] > query[2];
+        }
+
+        @Nullable
+        @Override
+        public EntityCollisionGrid getCollisionGrid() {
+            return this.grid;
+        }
+
+        @Override
+        public int getCollisionCell() {
+            return this.cell;
+        }
+
+        @Override
+        public void setCollisionCell(@Nullable EntityCollisionGrid grid, int cell) {
+            this.grid = grid;
+            this.cell = cell;
+        }
+
+    }
+
+    private static void add(EntityCollisionGrid grid, TestEntry entry) {
+        grid.add(entry, entry.box[0], entry.box[1], entry.box[2], entry.box[3], entry.box[4], entry.box[5]);
+    }
+
+    private static double[] createQuery(Random random) {
+        TestEntry query = new TestEntry();
+        query.moveTo(random, 4);
+        return query.box;
+    }
+
+    private static Set<EntityCollisionGrid.Entry> query(EntityCollisionGrid grid, double[] box) {
+        Set<EntityCollisionGrid.Entry> found = new HashSet<>();
+        grid.forEach(box[0], box[1], box[2], box[3], box[4], box[5], entry -> {
+            Assert.assertTrue("Visited twice", found.add(entry));
+            return true;
+        });
+        return found;
+    }
+
+    private static void assertFindsIntersecting(EntityCollisionGrid grid, List<TestEntry> entries, Random random) {
+        for (int i = 0; i < 200; i++) {
+            double[] box = createQuery(random);
+            Set<EntityCollisionGrid.Entry> found = query(grid, box);
+            for (TestEntry entry : entries) {
+                if (entry.intersects(box)) {
+                    Assert.assertTrue("Intersecting entity not visited", found.contains(entry));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testQueryFindsIntersectingEntities() {
+        Random random = new Random(7);
+        EntityCollisionGrid grid = new EntityCollisionGrid(CHUNK_X, SECTION_Y, CHUNK_Z);
+        List<TestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            TestEntry entry = new TestEntry();
+            entry.moveTo(random, 3);
+            add(grid, entry);
+            entries.add(entry);
+        }
+        Assert.assertEquals(500, grid.size());
+        assertFindsIntersecting(grid, entries, random);
+    }
+
+    @Test
+    public void testQueryAfterMovesAndRemovals() {
+        Random random = new Random(11);
+        EntityCollisionGrid grid = new EntityCollisionGrid(CHUNK_X, SECTION_Y, CHUNK_Z);
+        List<TestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            TestEntry entry = new TestEntry();
+            entry.moveTo(random, 3);
+            add(grid, entry);
+            entries.add(entry);
+        }
+        for (int round = 0; round < 10; round++) {
+            for (TestEntry entry : entries) {
+                entry.moveTo(random, 3);
+                grid.update(entry, entry.box[0], entry.box[1], entry.box[2], entry.box[3], entry.box[4], entry.box[5]);
+            }
+            for (Iterator<TestEntry> it = entries.iterator(); it.hasNext(); ) {
+                TestEntry entry = it.next();
+                if (random.nextInt(10) == 0) {
+                    grid.remove(entry);
+                    Assert.assertNull(entry.getCollisionGrid());
+                    it.remove();
+                }
+            }
+            Assert.assertEquals(entries.size(), grid.size());
+            assertFindsIntersecting(grid, entries, random);
+            // Removed entities are never visited again
+            Set<EntityCollisionGrid.Entry> all = query(grid, new double[] {-1e6, -1e6, -1e6, 1e6, 1e6, 1e6});
+            Assert.assertEquals(new HashSet<EntityCollisionGrid.Entry>(entries), all);
+        }
+    }
+
+    @Test
+    public void testAddingMovesBetweenGrids() {
+        EntityCollisionGrid first = new EntityCollisionGrid(CHUNK_X, SECTION_Y, CHUNK_Z);
+        EntityCollisionGrid second = new EntityCollisionGrid(CHUNK_X, SECTION_Y + 1, CHUNK_Z);
+        TestEntry entry = new TestEntry();
+        entry.moveTo(new Random(3), 0);
+        add(first, entry);
+        add(second, entry);
+        Assert.assertEquals(0, first.size());
+        Assert.assertEquals(1, second.size());
+        Assert.assertSame(second, entry.getCollisionGrid());
+        // Removing from a grid the entity is not in does nothing
+        first.remove(entry);
+        Assert.assertEquals(1, second.size());
+    }
+
+    @Test
+    public void testAlwaysVisitsEntitiesWithParts() {
+        Random random = new Random(13);
+        EntityCollisionGrid grid = new EntityCollisionGrid(CHUNK_X, SECTION_Y, CHUNK_Z);
+        TestEntry multipart = new TestEntry();
+        multipart.moveTo(random, 0);
+        grid.addAlwaysVisited(multipart);
+        TestEntry entry = new TestEntry();
+        entry.moveTo(random, 0);
+        add(grid, entry);
+        Assert.assertEquals(2, grid.size());
+
+        // A query far away from both entities still visits the one with parts
+        double[] box = {CHUNK_X * 16 - 100, SECTION_Y * 16 - 100, CHUNK_Z * 16 - 100, CHUNK_X * 16 - 99, SECTION_Y * 16 - 99, CHUNK_Z * 16 - 99};
+        Assert.assertEquals(Collections.singleton(multipart), query(grid, box));
+        // Moves don't put it into a cell
+        grid.update(multipart, box[0], box[1], box[2], box[3], box[4], box[5]);
+        Assert.assertEquals(Collections.singleton(multipart), query(grid, box));
+
+        grid.remove(multipart);
+        Assert.assertNull(multipart.getCollisionGrid());
+        Assert.assertEquals(1, grid.size());
+        Assert.assertTrue(query(grid, box).isEmpty());
+    }
+
+    @Test
+    public void testQueryStopsAtMaxResults() {
+        Random random = new Random(5);
+        EntityCollisionGrid grid = new EntityCollisionGrid(CHUNK_X, SECTION_Y, CHUNK_Z);
+        for (int i = 0; i < 100; i++) {
+            TestEntry entry = new TestEntry();
+            entry.moveTo(random, 0);
+            add(grid, entry);
+        }
+        EntityCollisionQuery<TestEntry> query = new EntityCollisionQuery<>();
+        List<TestEntry> results = new ArrayList<>();
+        double[] box = {-1e6, -1e6, -1e6, 1e6, 1e6, 1e6};
+        for (Iterator<TestEntry> it = query.start(grid, box[0], box[1], box[2], box[3], box[4], box[5], results, 8); it.hasNext(); ) {
+            results.add(it.next());
+        }
+        Assert.assertEquals(8, results.size());
+
+        results.clear();
+        for (Iterator<TestEntry> it = query.start(grid, box[0], box[1], box[2], box[3], box[4], box[5], results, -1); it.hasNext(); ) {
+            results.add(it.next());
+        }
+        Assert.assertEquals(100, results.size());
+    }
+
+}
@@ -0,0 +1,281 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import org.junit.Test;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.profile.GameProfileManager;
+import org.spongepowered.api.profile.property.ProfileProperty;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class ProfileResolverTest {
+
+    private static final UUID NOTCH = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final UUID JEB = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+    private static final UUID MISSING = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private final StubBackend backend = new StubBackend();
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final GameProfileManager manager = mock(GameProfileManager.class);
+    private long now = 1000000;
+
+    public ProfileResolverTest() {
+        when(this.manager.createProfile(any(UUID.class), anyString()))
+                .thenAnswer(invocation -> profile((UUID) invocation.getArguments()[0], (String) invocation.getArguments()[1]));
+        when(this.manager.createProfileProperty(anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> property((String) invocation.getArguments()[0], (String) invocation.getArguments()[1],
+                        (String) invocation.getArguments()[2]));
+        GameProfile notch = profile(NOTCH, "Notch");
+        notch.getPropertyMap().put("textures", property("textures", "value", "signature"));
+        this.backend.profiles.put(NOTCH, notch);
+        this.backend.profiles.put(JEB, profile(JEB, "jeb_"));
+    }
+
+    private ProfileResolver resolver(Path file) {
+        return new ProfileResolver(this.backend, this.tasks::add, this.manager, file, 100, 10, 2, 60, 5, 120, TimeUnit.SECONDS, () -> this.now);
+    }
+
+    private void runTasks() {
+        while (!this.tasks.isEmpty()) {
+            this.tasks.remove(0).run();
+        }
+    }
+
+    @Test
+    public void testCoalescesAndBatches() throws Exception {
+        ProfileResolver resolver = resolver(null);
+        CompletableFuture<Optional<GameProfile>> first = resolver.getById(NOTCH, true);
+        CompletableFuture<Optional<GameProfile>> second = resolver.getById(NOTCH, true);
+        CompletableFuture<Optional<GameProfile>> jeb = resolver.getById(JEB, true);
+        CompletableFuture<Optional<GameProfile>> missing = resolver.getById(MISSING, true);
+        assertEquals(1, this.tasks.size());
+        runTasks();
+
+        assertEquals(ImmutableList.of(ImmutableList.of(NOTCH, JEB, MISSING)), this.backend.idLookups);
+        assertSame(this.backend.profiles.get(NOTCH), first.get().get());
+        assertSame(first.get().get(), second.get().get());
+        assertEquals(Optional.of("jeb_"), jeb.get().get().getName());
+        assertFalse(missing.get().isPresent());
+        assertEquals(1, resolver.getCoalesced());
+        assertEquals(1, resolver.getBatches());
+    }
+
+    @Test
+    public void testLimitsConcurrentBatches() throws Exception {
+        ProfileResolver resolver = resolver(null);
+        List<CompletableFuture<Optional<GameProfile>>> profiles = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            profiles.add(resolver.getById(new UUID(0, i + 100), true));
+        }
+        assertEquals(2, this.tasks.size());
+        runTasks();
+
+        assertEquals(3, this.backend.idLookups.size());
+        assertEquals(10, this.backend.idLookups.get(0).size());
+        assertEquals(10, this.backend.idLookups.get(1).size());
+        assertEquals(5, this.backend.idLookups.get(2).size());
+        for (CompletableFuture<Optional<GameProfile>> profile : profiles) {
+            assertFalse(profile.get().isPresent());
+        }
+    }
+
+    @Test
+    public void testCachesResults() throws Exception {
+        ProfileResolver resolver = resolver(null);
+        resolver.getById(NOTCH, true);
+        resolver.getById(MISSING, true);
+        runTasks();
+
+        assertTrue(resolver.getById(NOTCH, true).get().isPresent());
+        assertFalse(resolver.getById(MISSING, true).get().isPresent());
+        assertEquals(Optional.of(NOTCH), resolver.getByName("NOTCH", true).get().map(GameProfile::getUniqueId));
+        assertTrue(this.tasks.isEmpty());
+        assertEquals(3, resolver.getHits());
+
+        // Not found results expire sooner than found profiles
+        this.now += TimeUnit.SECONDS.toMillis(10);
+        assertTrue(resolver.getById(NOTCH, true).isDone());
+        assertFalse(resolver.getById(MISSING, true).isDone());
+        runTasks();
+        assertEquals(2, this.backend.idLookups.size());
+    }
+
+    @Test
+    public void testServesStaleProfiles() throws Exception {
+        ProfileResolver resolver = resolver(null);
+        resolver.getById(NOTCH, true);
+        runTasks();
+
+        this.now += TimeUnit.SECONDS.toMillis(90);
+        CompletableFuture<Optional<GameProfile>> stale = resolver.getById(NOTCH, true);
+        assertTrue(stale.isDone());
+        assertTrue(stale.get().isPresent());
+        assertEquals(1, this.tasks.size());
+        runTasks();
+        assertEquals(2, this.backend.idLookups.size());
+
+        // Too old to be served while it is looked up again
+        this.now += TimeUnit.SECONDS.toMillis(200);
+        assertFalse(resolver.getById(NOTCH, true).isDone());
+    }
+
+    @Test
+    public void testBypassesCache() throws Exception {
+        ProfileResolver resolver = resolver(null);
+        resolver.getById(NOTCH, true);
+        runTasks();
+
+        CompletableFuture<Optional<GameProfile>> profile = resolver.getById(NOTCH, false);
+        assertFalse(profile.isDone());
+        runTasks();
+        assertTrue(profile.get().isPresent());
+        assertEquals(ImmutableList.of(true, false), this.backend.useCache);
+    }
+
+    @Test
+    public void testFailedLookupsAreNotCached() throws Exception {
+        ProfileResolver resolver = resolver(null);
+        this.backend.fail = true;
+        CompletableFuture<Optional<GameProfile>> failed = resolver.getByName("Notch", true);
+        runTasks();
+        try {
+            failed.get();
+            throw new AssertionError("Expected the lookup to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+
+        this.backend.fail = false;
+        CompletableFuture<Optional<GameProfile>> profile = resolver.getByName("Notch", true);
+        runTasks();
+        assertEquals(Optional.of(NOTCH), profile.get().map(GameProfile::getUniqueId));
+    }
+
+    @Test
+    public void testPersistsCache() throws Exception {
+        Path file = Files.createTempDirectory("sponge-profiles").resolve("profilecache.json");
+        ProfileResolver resolver = resolver(file);
+        resolver.getById(NOTCH, true);
+        resolver.getById(MISSING, true);
+        resolver.getByName("jeb_", true);
+        runTasks();
+        resolver.save();
+
+        ProfileResolver loaded = resolver(file);
+        loaded.load();
+        GameProfile notch = loaded.getById(NOTCH, true).get().get();
+        assertEquals(Optional.of("Notch"), notch.getName());
+        ProfileProperty textures = notch.getPropertyMap().get("textures").iterator().next();
+        assertEquals("value", textures.getValue());
+        assertEquals(Optional.of("signature"), textures.getSignature());
+        assertFalse(loaded.getById(MISSING, true).get().isPresent());
+        assertEquals(Optional.of(JEB), loaded.getByName("JEB_", true).get().map(GameProfile::getUniqueId));
+        assertTrue(this.tasks.isEmpty());
+        assertEquals(3, loaded.getHits());
+    }
+
+    private static GameProfile profile(UUID uniqueId, String name) {
+        GameProfile profile = mock(GameProfile.class);
+        Multimap<String, ProfileProperty> properties = HashMultimap.create();
+        when(profile.getUniqueId()).thenReturn(uniqueId);
+        when(profile.getName()).thenReturn(Optional.ofNullable(name));
+        when(profile.getPropertyMap()).thenReturn(properties);
+        when(profile.isFilled()).thenReturn(name != null);
+        return profile;
+    }
+
+    private static ProfileProperty property(String name, String value, String signature) {
+        ProfileProperty property = mock(ProfileProperty.class);
+        when(property.getName()).thenReturn(name);
+        when(property.getValue()).thenReturn(value);
+        when(property.getSignature()).thenReturn(Optional.ofNullable(signature));
+        return property;
+    }
+
+    private static final class StubBackend implements ProfileBackend {
+
+        final Map<UUID, GameProfile> profiles = new HashMap<>();
+        final List<List<UUID>> idLookups = new ArrayList<>();
+        final List<Boolean> useCache = new ArrayList<>();
+        boolean fail;
+
+        @Override
+        public Map<UUID, Optional<GameProfile>> lookupByIds(Collection<UUID> uniqueIds, boolean useCache) throws IOException {
+            if (this.fail) {
+                throw new IOException("Expected by the test");
+            }
+            this.idLookups.add(ImmutableList.copyOf(uniqueIds));
+            this.useCache.add(useCache);
+            Map<UUID, Optional<GameProfile>> result = new HashMap<>();
+            for (UUID uniqueId : uniqueIds) {
+                result.put(uniqueId, Optional.ofNullable(this.profiles.get(uniqueId)));
+            }
+            return result;
+        }
+
+        @Override
+        public Map<String, Optional<GameProfile>> lookupByNames(Collection<String> names, boolean useCache) throws IOException {
+            if (this.fail) {
+                throw new IOException("Expected by the test");
+            }
+            Map<String, Optional<GameProfile>> result = new HashMap<>();
+            for (GameProfile profile : this.profiles.values()) {
+                String name = profile.getName().get();
+                if (names.contains(name.toLowerCase())) {
+                    // Like the real backend, use the actual case of the name
+                    result.put(name, Optional.of(profile));
+                }
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncTaskExecutorTest {
+
+    private static final int POOL_SIZE = 8;
+
+    private final AsyncTaskExecutor executor = new AsyncTaskExecutor(POOL_SIZE, 0);
+
+    @After
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testPluginConcurrencyLimit() throws InterruptedException {
+        int limit = POOL_SIZE / 2;
+        CountDownLatch started = new CountDownLatch(limit);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        for (int i = 0; i < POOL_SIZE * 2; i++) {
+            this.executor.execute("flood", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+                running.decrementAndGet();
+            });
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Another plugin still gets a worker while the first one is blocked
+        CountDownLatch other = new CountDownLatch(1);
+        this.executor.execute("other", other::countDown);
+        assertTrue(other.await(5, TimeUnit.SECONDS));
+        assertEquals(limit, maxRunning.get());
+
+        release.countDown();
+    }
+
+    @Test
+    public void testInternalWorkNotLimited() throws InterruptedException {
+        // More internal tasks than a single plugin may run at the same time
+        int count = POOL_SIZE / 2 + 1;
+        CountDownLatch started = new CountDownLatch(count);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < count; i++) {
+            this.executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void testUnboundedByDefault() throws InterruptedException {
+        AsyncTaskExecutor executor = new AsyncTaskExecutor();
+        try {
+            // Blocking tasks of the same plugin never wait for each other
+            int count = 64;
+            CountDownLatch started = new CountDownLatch(count);
+            CountDownLatch release = new CountDownLatch(1);
+            for (int i = 0; i < count; i++) {
+                executor.execute("blocking", () -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                });
+            }
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(0, executor.getPoolSize());
+            release.countDown();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testStatistics() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            this.executor.execute("test", done::countDown);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        AsyncTaskExecutor.PluginStatistics stats = this.executor.getPluginStatistics().iterator().next();
+        assertEquals("test", stats.getPluginId());
+        assertEquals(10, stats.getWaitTime().getCount());
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.scheduler.Task;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class SyncSchedulerTest {
+
+    private final PluginContainer plugin = mock(PluginContainer.class);
+    private final SyncScheduler scheduler = new SyncScheduler();
+
+    private ScheduledTask schedule(Consumer<Task> consumer, long delayTicks, long intervalTicks) {
+        ScheduledTask task = new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, consumer, "test", delayTicks, true, intervalTicks,
+                true, this.plugin);
+        this.scheduler.addTask(task);
+        return task;
+    }
+
+    @Test
+    public void testDelayedTask() {
+        AtomicInteger runs = new AtomicInteger();
+        schedule(task -> runs.incrementAndGet(), 5, 0);
+
+        for (int i = 0; i < 4; i++) {
+            this.scheduler.tick();
+        }
+        assertEquals(0, runs.get());
+        this.scheduler.tick();
+        assertEquals(1, runs.get());
+        assertTrue(this.scheduler.getScheduledTasks().isEmpty());
+    }
+
+    @Test
+    public void testRepeatingTask() {
+        AtomicInteger runs = new AtomicInteger();
+        schedule(task -> runs.incrementAndGet(), 0, 2);
+
+        for (int i = 0; i < 7; i++) {
+            this.scheduler.tick();
+        }
+        // Runs at ticks 1, 3, 5 and 7
+        assertEquals(4, runs.get());
+    }
+
+    @Test
+    public void testCancelledTask() {
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledTask task = schedule(t -> runs.incrementAndGet(), 1, 0);
+
+        task.cancel();
+        assertFalse(this.scheduler.getTask(task.getUniqueId()).isPresent());
+        this.scheduler.tick();
+        this.scheduler.tick();
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void testManyPendingTasks() {
+        AtomicInteger runs = new AtomicInteger();
+        for (int i = 0; i < 100000; i++) {
+            schedule(task -> runs.incrementAndGet(), 1000000, 0);
+        }
+        schedule(task -> runs.incrementAndGet(), 1, 0);
+
+        this.scheduler.tick();
+        this.scheduler.tick();
+        assertEquals(1, runs.get());
+        assertEquals(100000, this.scheduler.getScheduledTasks().size());
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.service.permission.MemorySubjectData;
+import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.service.permission.SubjectCollection;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class SpongeSubjectTest {
+
+    private final PermissionService service = mock(PermissionService.class);
+    private final TestCollection collection = new TestCollection();
+
+    @Before
+    public void setUp() {
+        when(this.service.getSubjects(anyString())).thenReturn(this.collection);
+    }
+
+    List<TestSubject> createChain(int depth) {
+        List<TestSubject> chain = new ArrayList<>();
+        for (int i = 0; i < depth; i++) {
+            TestSubject subject = this.collection.get("subject" + i);
+            if (i > 0) {
+                subject.getSubjectData().addParent(SubjectData.GLOBAL_CONTEXT, chain.get(i - 1));
+            }
+            chain.add(subject);
+        }
+        return chain;
+    }
+
+    @Test
+    public void testInheritedPermissions() {
+        List<TestSubject> chain = createChain(10);
+        TestSubject root = chain.get(0);
+        TestSubject leaf = chain.get(9);
+        assertEquals(Tristate.UNDEFINED, leaf.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "sponge.test.node"));
+
+        root.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "sponge.test", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, leaf.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "sponge.test.node"));
+
+        // A change in the middle of the chain has to invalidate the subjects below it
+        chain.get(5).getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "sponge.test.node", Tristate.FALSE);
+        assertEquals(Tristate.FALSE, leaf.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "sponge.test.node"));
+        assertEquals(Tristate.TRUE, chain.get(4).getPermissionValue(SubjectData.GLOBAL_CONTEXT, "sponge.test.node"));
+
+        chain.get(8).getSubjectData().clearParents(SubjectData.GLOBAL_CONTEXT);
+        assertEquals(Tristate.UNDEFINED, leaf.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "sponge.test.node"));
+    }
+
+    private final class TestCollection extends SpongeSubjectCollection {
+
+        private final Map<String, TestSubject> subjects = new HashMap<>();
+
+        TestCollection() {
+            super("test");
+        }
+
+        @Override
+        public TestSubject get(String identifier) {
+            return this.subjects.computeIfAbsent(identifier, TestSubject::new);
+        }
+
+        @Override
+        public boolean hasRegistered(String identifier) {
+            return this.subjects.containsKey(identifier);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterable<Subject> getAllSubjects() {
+            return (Iterable) this.subjects.values();
+        }
+    }
+
+    final class TestSubject extends SpongeSubject {
+
+        private final String identifier;
+        private final MemorySubjectData data = new GlobalMemorySubjectData(SpongeSubjectTest.this.service);
+
+        TestSubject(String identifier) {
+            this.identifier = identifier;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return this.identifier;
+        }
+
+        @Override
+        public Optional<CommandSource> getCommandSource() {
+            return Optional.empty();
+        }
+
+        @Override
+        public SubjectCollection getContainingCollection() {
+            return SpongeSubjectTest.this.collection;
+        }
+
+        @Override
+        public MemorySubjectData getSubjectData() {
+            return this.data;
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class UserIndexTest {
+
+    private static final UUID FIRST = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final UUID SECOND = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+
+    private static Path createFile() throws IOException {
+        return Files.createTempDirectory("sponge-users").resolve("data").resolve("users.idx");
+    }
+
+    private static UserIndex reload(UserIndex index) throws IOException {
+        index.close();
+        UserIndex reloaded = new UserIndex(index.getFile());
+        assertTrue(reloaded.load());
+        return reloaded;
+    }
+
+    @Test
+    public void testReplaysLog() throws IOException {
+        UserIndex index = new UserIndex(createFile());
+        assertFalse(index.load());
+        index.add(FIRST, "Notch", UserIndex.STORED, 100);
+        index.add(SECOND, "jeb_", UserIndex.WHITELISTED, 0);
+        index.add(SECOND, null, UserIndex.BANNED, 0);
+
+        index = reload(index);
+        assertEquals(2, index.size());
+        assertEquals(FIRST, index.get("notch").getUniqueId());
+        assertEquals(100, index.get(FIRST).getLastSeen());
+        assertEquals("jeb_", index.get(SECOND).getName());
+        assertEquals(UserIndex.WHITELISTED | UserIndex.BANNED, index.get(SECOND).getSources());
+    }
+
+    @Test
+    public void testRemovesUsersWithoutSources() throws IOException {
+        UserIndex index = new UserIndex(createFile());
+        index.add(FIRST, "Notch", UserIndex.WHITELISTED | UserIndex.BANNED, 0);
+        index.remove(FIRST, UserIndex.BANNED);
+        assertEquals(UserIndex.WHITELISTED, index.get(FIRST).getSources());
+        index.remove(FIRST, UserIndex.WHITELISTED);
+        assertNull(index.get(FIRST));
+        assertNull(index.get("Notch"));
+
+        index = reload(index);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testNameChanges() throws IOException {
+        UserIndex index = new UserIndex(createFile());
+        index.add(FIRST, "Notch", UserIndex.STORED, 100);
+        index.add(FIRST, "NotNotch", UserIndex.STORED, 200);
+        assertNull(index.get("Notch"));
+        assertEquals(FIRST, index.get("NOTNOTCH").getUniqueId());
+
+        // Another user took over the old name of the second user
+        index.add(SECOND, "Notch", UserIndex.STORED, 300);
+        index.add(FIRST, "Notch", UserIndex.STORED, 400);
+        index.add(SECOND, "jeb_", UserIndex.STORED, 500);
+        assertEquals(FIRST, index.get("Notch").getUniqueId());
+
+        index = reload(index);
+        assertEquals(FIRST, index.get("Notch").getUniqueId());
+        assertEquals(SECOND, index.get("jeb_").getUniqueId());
+        assertNull(index.get("NotNotch"));
+    }
+
+    @Test
+    public void testIgnoresPartialRecord() throws IOException {
+        UserIndex index = new UserIndex(createFile());
+        index.add(FIRST, "Notch", UserIndex.STORED, 100);
+        index.close();
+        Files.write(index.getFile(), (SECOND + "\t1\t100\tje").getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        index = reload(index);
+        assertEquals(1, index.size());
+        index.add(SECOND, "jeb_", UserIndex.STORED, 200);
+
+        index = reload(index);
+        assertEquals(2, index.size());
+        assertEquals(SECOND, index.get("jeb_").getUniqueId());
+    }
+
+    @Test
+    public void testMatchAndPages() throws IOException {
+        UserIndex index = new UserIndex(createFile());
+        List<UserIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            entries.add(new UserIndex.Entry(new UUID(0, i), String.format("User%02d", i), UserIndex.STORED, i));
+        }
+        index.addAll(entries);
+        assertEquals(10, index.match("user1").size());
+        assertEquals(100, index.match("USER").size());
+        assertEquals(0, index.match("users").size());
+
+        List<UUID> paged = new ArrayList<>();
+        String after = null;
+        List<UserIndex.Entry> page;
+        while (!(page = index.getPage(after, 30)).isEmpty()) {
+            for (UserIndex.Entry entry : page) {
+                paged.add(entry.getUniqueId());
+            }
+            after = page.get(page.size() - 1).getName();
+        }
+        assertEquals(100, paged.size());
+        assertEquals(ImmutableList.of(new UUID(0, 0), new UUID(0, 1)), paged.subList(0, 2));
+
+        // Everything was written at once
+        assertEquals(100, Files.readAllLines(index.getFile(), StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    public void testWritesInBatches() throws IOException {
+        List<Runnable> writes = new ArrayList<>();
+        UserIndex index = new UserIndex(createFile(), writes::add);
+        index.add(FIRST, "Notch", UserIndex.STORED, 100);
+        index.add(SECOND, "jeb_", UserIndex.STORED, 200);
+        assertEquals(FIRST, index.get("Notch").getUniqueId());
+        assertFalse(Files.exists(index.getFile()));
+
+        assertEquals(1, writes.size());
+        writes.get(0).run();
+        assertEquals(2, Files.readAllLines(index.getFile(), StandardCharsets.UTF_8).size());
+
+        // Closing the index writes the changes which are still pending
+        index.add(FIRST, "Notch", UserIndex.STORED, 300);
+        index = reload(index);
+        assertEquals(300, index.get(FIRST).getLastSeen());
+    }
+
+    @Test
+    public void testCompactsLog() throws IOException {
+        UserIndex index = new UserIndex(createFile());
+        for (int i = 0; i < 5000; i++) {
+            index.add(FIRST, "Notch", UserIndex.STORED, i);
+        }
+        assertTrue(Files.readAllLines(index.getFile(), StandardCharsets.UTF_8).size() <= 1025);
+
+        index = reload(index);
+        assertEquals(4999, index.get(FIRST).getLastSeen());
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+public class ChunkExistenceIndexTest {
+
+    private static Path createWorld() throws IOException {
+        Path worldDir = Files.createTempDirectory("sponge-world");
+        Files.createDirectory(worldDir.resolve("region"));
+        return worldDir;
+    }
+
+    private static void writeRegion(Path worldDir, int regionX, int regionZ, int... indices) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8192);
+        for (int index : indices) {
+            header.putInt(index * 4, 2 << 8 | 1);
+        }
+        Files.write(worldDir.resolve("region").resolve("r." + regionX + "." + regionZ + ".mca"), header.array());
+    }
+
+    @Test
+    public void testReadsRegionHeaders() throws IOException {
+        Path worldDir = createWorld();
+        writeRegion(worldDir, 0, 0, 0, 1 + 2 * 32);
+        writeRegion(worldDir, -1, 0, 31);
+        ChunkExistenceIndex index = new ChunkExistenceIndex(worldDir);
+
+        Assert.assertFalse(index.isIndexed(0, 0, 0, 0));
+        Assert.assertTrue(index.exists(0, 0));
+        Assert.assertTrue(index.exists(1, 2));
+        Assert.assertFalse(index.exists(2, 1));
+        Assert.assertTrue(index.isIndexed(0, 0, 31, 31));
+        Assert.assertTrue(index.exists(-1, 0));
+        Assert.assertFalse(index.exists(-1, 1));
+        Assert.assertFalse(index.exists(100, 100));
+    }
+
+    @Test
+    public void testMarkExists() throws IOException {
+        ChunkExistenceIndex index = new ChunkExistenceIndex(createWorld());
+        index.markExists(-40, 70);
+
+        Assert.assertFalse(index.isIndexed(-40, 70, -40, 70));
+        Assert.assertTrue(index.exists(-40, 70));
+        Assert.assertFalse(index.exists(-39, 70));
+        index.markExists(-39, 70);
+        Assert.assertTrue(index.exists(-39, 70));
+    }
+
+    @Test
+    public void testRange() throws IOException {
+        Path worldDir = createWorld();
+        writeRegion(worldDir, 0, 0, 31 + 31 * 32);
+        writeRegion(worldDir, -1, -1, 31 + 31 * 32);
+        ChunkExistenceIndex index = new ChunkExistenceIndex(worldDir);
+        index.markExists(32, 0);
+
+        BitSet chunks = index.exists(-2, -2, 32, 31);
+        int width = 35;
+        Assert.assertEquals(3, chunks.cardinality());
+        Assert.assertTrue(chunks.get(1 + 1 * width));
+        Assert.assertTrue(chunks.get(33 + 33 * width));
+        Assert.assertTrue(chunks.get(34 + 2 * width));
+        Assert.assertTrue(index.isIndexed(-2, -2, 32, 31));
+    }
+
+    @Test
+    public void testRevalidatesChangedRegions() throws IOException {
+        Path worldDir = createWorld();
+        Path regionFile = worldDir.resolve("region").resolve("r.0.0.mca");
+        writeRegion(worldDir, 0, 0, 0);
+        ChunkExistenceIndex index = new ChunkExistenceIndex(worldDir, 0);
+        index.markExists(1, 0);
+
+        Assert.assertTrue(index.exists(0, 0));
+        Assert.assertTrue(index.exists(1, 0));
+        // Replaced by an external tool, the file grows by a sector
+        writeRegion(worldDir, 0, 0, 2);
+        Files.write(regionFile, new byte[4096], StandardOpenOption.APPEND);
+        Assert.assertFalse(index.exists(0, 0));
+        Assert.assertTrue(index.exists(2, 0));
+        // The write of the marked chunk is still pending
+        Assert.assertTrue(index.exists(1, 0));
+
+        Files.delete(regionFile);
+        Assert.assertFalse(index.exists(2, 0));
+        Assert.assertTrue(index.exists(1, 0));
+
+        index.invalidate(0, 0);
+        Assert.assertFalse(index.exists(1, 0));
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class MappedRegionFileTest {
+
+    private static byte[] compress(byte[] data, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream stream = gzip ? new GZIPOutputStream(out) : new DeflaterOutputStream(out)) {
+            stream.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeChunk(ByteBuffer buffer, int index, int sector, byte version, byte[] payload) {
+        buffer.putInt(index * 4, sector << 8 | 1);
+        buffer.putInt(4096 + index * 4, 1234);
+        buffer.putInt(sector * 4096, payload.length + 1);
+        buffer.put(sector * 4096 + 4, version);
+        for (int i = 0; i < payload.length; i++) {
+            buffer.put(sector * 4096 + 5 + i, payload[i]);
+        }
+    }
+
+    private static byte[] readFully(DataInputStream stream, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        stream.readFully(bytes);
+        Assert.assertEquals(-1, stream.read());
+        return bytes;
+    }
+
+    @Test
+    public void testReadChunks() throws IOException {
+        byte[] first = "first chunk".getBytes("UTF-8");
+        byte[] second = "second chunk".getBytes("UTF-8");
+        ByteBuffer buffer = ByteBuffer.allocate(4096 * 4);
+        writeChunk(buffer, 0, 2, (byte) 2, compress(first, false));
+        writeChunk(buffer, 33, 3, (byte) 1, compress(second, true));
+        MappedRegionFile regionFile = MappedRegionFile.wrap(buffer);
+
+        Assert.assertEquals(2, regionFile.getChunkCount());
+        Assert.assertTrue(regionFile.hasChunk(0));
+        Assert.assertTrue(regionFile.hasChunk(33));
+        Assert.assertFalse(regionFile.hasChunk(1));
+        Assert.assertEquals(1234, regionFile.getTimestamp(33));
+        Assert.assertArrayEquals(first, readFully(regionFile.getChunkDataInputStream(0), first.length));
+        Assert.assertArrayEquals(second, readFully(regionFile.getChunkDataInputStream(33), second.length));
+        Assert.assertNull(regionFile.getChunkDataInputStream(1));
+    }
+
+    @Test
+    public void testInvalidChunks() {
+        ByteBuffer buffer = ByteBuffer.allocate(4096 * 3);
+        // Points past the end of the file
+        buffer.putInt(0, 5 << 8 | 1);
+        // Points into the header
+        buffer.putInt(4, 1 << 8 | 1);
+        // Unknown compression
+        buffer.putInt(8, 2 << 8 | 1);
+        buffer.putInt(2 * 4096, 10);
+        buffer.put(2 * 4096 + 4, (byte) 3);
+        MappedRegionFile regionFile = MappedRegionFile.wrap(buffer);
+
+        Assert.assertNull(regionFile.getChunkDataInputStream(0));
+        Assert.assertNull(regionFile.getChunkDataInputStream(1));
+        Assert.assertNull(regionFile.getChunkDataInputStream(2));
+    }
+
+    @Test
+    public void testTruncatedHeader() {
+        MappedRegionFile regionFile = MappedRegionFile.wrap(ByteBuffer.allocate(100));
+        Assert.assertEquals(0, regionFile.getChunkCount());
+        Assert.assertNull(regionFile.getChunkDataInputStream(0));
+    }
+
+}